@@ -17,18 +17,31 @@
 package example.app.config;
 
 import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.gemfire.config.annotation.ClientCacheApplication;
 import org.springframework.data.gemfire.config.annotation.EnableCachingDefinedRegions;
 
+import example.app.service.support.AddressKeyGenerator;
+import example.app.service.support.CacheStatisticsRegistry;
+
 /**
  * The {@link CachingExampleConfiguration} class is the Contacts Application, Caching Example
  * Spring {@link Configuration} class to enable caching using Spring Data Geode along with Apache Geode
  * as the [JSR-107] caching provider.
  *
+ * The application's {@link CacheManager} is decorated to record per-cache hit, miss and eviction statistics
+ * in the {@link CacheStatisticsRegistry}, which is published to JMX.  Addresses are cached by their canonical
+ * {@link example.app.repo.support.AddressKey}, generated by the {@link AddressKeyGenerator}.
+ *
  * @author John Blum
  * @see org.springframework.data.gemfire.cache.GemfireCacheManager
  * @see org.springframework.data.gemfire.cache.config.EnableGemfireCaching
+ * @see example.app.service.support.AddressKeyGenerator
+ * @see example.app.service.support.CacheStatisticsRegistry
  * @since 1.0.0
  */
 @ClientCacheApplication(name = "CachingExampleApplication")
@@ -36,4 +49,28 @@ import org.springframework.data.gemfire.config.annotation.EnableCachingDefinedRe
 @SuppressWarnings("unused")
 public class CachingExampleConfiguration {
 
+  @Bean(AddressKeyGenerator.BEAN_NAME)
+  public AddressKeyGenerator addressKeyGenerator() {
+    return new AddressKeyGenerator();
+  }
+
+  @Bean(initMethod = "register", destroyMethod = "unregister")
+  public CacheStatisticsRegistry cacheStatisticsRegistry() {
+    return new CacheStatisticsRegistry();
+  }
+
+  // NOTE static so the BeanPostProcessor does not force early initialization of this configuration class
+  @Bean
+  public static BeanPostProcessor cacheStatisticsRecordingCacheManagerPostProcessor(
+      ObjectProvider<CacheStatisticsRegistry> cacheStatisticsRegistry) {
+
+    return new BeanPostProcessor() {
+
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return (bean instanceof CacheManager ? cacheStatisticsRegistry.getObject().decorate((CacheManager) bean)
+          : bean);
+      }
+    };
+  }
 }
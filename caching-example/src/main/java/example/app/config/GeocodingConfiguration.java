@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.util.StringUtils;
+
+import example.app.repo.GeocodingRepository;
+import example.app.repo.provider.GazetteerGeocodingRepository;
+import example.app.repo.provider.GoogleMapsApiGeocodingRepository;
+import example.app.repo.support.TieredGeocodingRepository;
+
+/**
+ * The {@link GeocodingConfiguration} class is a Spring {@link Configuration} class selecting
+ * the {@link GeocodingRepository} used by the {@link example.app.service.GeocodingService}.
+ *
+ * Without a gazetteer ({@literal example.app.geocoding.gazetteer}), addresses are geocoded with the Google Maps API.
+ * With a gazetteer, addresses are geocoded offline first and the Google Maps API is only called for addresses
+ * not in the gazetteer, unless {@literal example.app.geocoding.offline} is {@literal true}, in which case
+ * the Google Maps API is never called and addresses not in the gazetteer fall back to their ZIP code centroid.
+ * Startup fails when the Google Maps API would be called and no {@literal google.apis.maps.geocoding.key} is set.
+ *
+ * @author John Blum
+ * @see example.app.repo.provider.GazetteerGeocodingRepository
+ * @see example.app.repo.provider.GoogleMapsApiGeocodingRepository
+ * @see example.app.repo.support.TieredGeocodingRepository
+ * @since 1.0.0
+ */
+@Configuration
+@SuppressWarnings("unused")
+public class GeocodingConfiguration {
+
+  @Bean
+  @Primary
+  public GeocodingRepository geocodingRepository(GoogleMapsApiGeocodingRepository googleGeocodingRepository,
+      ResourceLoader resourceLoader, @Value("${example.app.geocoding.gazetteer:}") String gazetteerLocation,
+      @Value("${example.app.geocoding.offline:false}") boolean offline,
+      @Value("${google.apis.maps.geocoding.key:}") String googleApiKey) throws IOException {
+
+    if (!StringUtils.hasText(gazetteerLocation)) {
+      return assertGoogleApiKey(googleGeocodingRepository, googleApiKey);
+    }
+
+    Resource gazetteer = resourceLoader.getResource(gazetteerLocation);
+
+    GazetteerGeocodingRepository gazetteerGeocodingRepository = GazetteerGeocodingRepository.load(gazetteer);
+
+    if (offline) {
+      return gazetteerGeocodingRepository;
+    }
+
+    // NOTE a ZIP code centroid would mask the precise location the Google Maps API can find
+    gazetteerGeocodingRepository.setZipCodeCentroidFallback(false);
+
+    return new TieredGeocodingRepository(gazetteerGeocodingRepository,
+      assertGoogleApiKey(googleGeocodingRepository, googleApiKey));
+  }
+
+  /* (non-Javadoc) */
+  // NOTE the key is only required when the Google Maps API tier is used; fail at startup rather than on first use
+  private GeocodingRepository assertGoogleApiKey(GeocodingRepository googleGeocodingRepository, String googleApiKey) {
+
+    if (!StringUtils.hasText(googleApiKey)) {
+      throw new IllegalStateException("Property [google.apis.maps.geocoding.key] is required"
+        + " unless [example.app.geocoding.offline] is true and [example.app.geocoding.gazetteer] is set");
+    }
+
+    return googleGeocodingRepository;
+  }
+}
@@ -0,0 +1,575 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.provider;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.springframework.core.io.Resource;
+import org.springframework.data.geo.Point;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import example.app.model.Address;
+import example.app.model.State;
+import example.app.repo.GeocodingException;
+import example.app.repo.support.AddressKey;
+import example.app.repo.support.GeocodingRepositoryAdapter;
+
+/**
+ * The GazetteerGeocodingRepository class is an implementation of the {@link example.app.repo.GeocodingRepository}
+ * interface converting addresses and geographic coordinates offline, with a gazetteer of ZIP code centroids
+ * and street address ranges loaded into memory.
+ *
+ * The gazetteer is a text file of comma-delimited records, one per line; blank lines and lines starting with
+ * {@literal #} are ignored:
+ *
+ * <pre>
+ *   Z,zipCode,city,state,latitude,longitude
+ *   S,zipCode,street,fromNumber,toNumber,fromLatitude,fromLongitude,toLatitude,toLongitude
+ * </pre>
+ *
+ * A street record describes a street segment along which the house numbers run from {@literal fromNumber}
+ * to {@literal toNumber}; a house number is located by linear interpolation along the segment.
+ *
+ * Records are held in sorted, parallel primitive arrays (no object per record) so an address is geocoded with
+ * a binary search, and street segments are indexed in a grid of cells so geographic coordinates are reverse
+ * geocoded by searching the cells nearest the coordinates first.  Lookups never block on I/O and the latency
+ * is predictable, which makes this repository suitable for load tests and as the first tier in front of
+ * a remote geocoding service.
+ *
+ * @author John Blum
+ * @see example.app.model.Address
+ * @see example.app.repo.support.GeocodingRepositoryAdapter
+ * @see org.springframework.data.geo.Point
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class GazetteerGeocodingRepository extends GeocodingRepositoryAdapter {
+
+  public static final double DEFAULT_CELL_SIZE = 0.01d;
+
+  public static final int DEFAULT_MAXIMUM_RINGS = 10;
+
+  protected static final Pattern HOUSE_NUMBER_AND_STREET = Pattern.compile("^\\s*(\\d{1,9})[a-zA-Z]?\\s+(.+)$");
+
+  private boolean zipCodeCentroidFallback = true;
+
+  private final double cellSize;
+
+  private final int maximumRings;
+
+  private final String[] names;
+
+  private final int[] zipCodes;
+  private final int[] zipCodeCities;
+  private final byte[] zipCodeStates;
+  private final float[] zipCodeLatitudes;
+  private final float[] zipCodeLongitudes;
+
+  private final int[] streetZipCodes;
+  private final int[] streetKeys;
+  private final int[] streetNames;
+  private final int[] streetFromNumbers;
+  private final int[] streetToNumbers;
+  private final float[] streetFromLatitudes;
+  private final float[] streetFromLongitudes;
+  private final float[] streetToLatitudes;
+  private final float[] streetToLongitudes;
+
+  private final Map<Long, int[]> grid;
+
+  /**
+   * Factory method used to load the gazetteer from the given {@link Resource}.
+   *
+   * @param gazetteer {@link Resource} of the gazetteer file.
+   * @return a new {@link GazetteerGeocodingRepository} for the gazetteer.
+   * @throws IOException if the gazetteer cannot be read.
+   * @throws IllegalArgumentException if a record of the gazetteer is not valid.
+   * @see #load(Resource, double, int)
+   */
+  public static GazetteerGeocodingRepository load(Resource gazetteer) throws IOException {
+    return load(gazetteer, DEFAULT_CELL_SIZE, DEFAULT_MAXIMUM_RINGS);
+  }
+
+  /**
+   * Factory method used to load the gazetteer from the given {@link Resource}.
+   *
+   * @param gazetteer {@link Resource} of the gazetteer file.
+   * @param cellSize size, in degrees, of the grid cells indexing street segments.
+   * @param maximumRings number of rings of cells around the coordinates searched when reverse geocoding.
+   * @return a new {@link GazetteerGeocodingRepository} for the gazetteer.
+   * @throws IOException if the gazetteer cannot be read.
+   * @throws IllegalArgumentException if a record of the gazetteer is not valid.
+   */
+  public static GazetteerGeocodingRepository load(Resource gazetteer, double cellSize, int maximumRings)
+      throws IOException {
+
+    Assert.notNull(gazetteer, "Gazetteer Resource must not be null");
+    Assert.isTrue(cellSize > 0.0d, String.format("Cell size [%s] must be greater than 0", cellSize));
+    Assert.isTrue(maximumRings >= 0, String.format("Maximum rings [%d] must not be negative", maximumRings));
+
+    Records records = new Records();
+
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+
+      int lineNumber = 0;
+
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+
+        lineNumber++;
+
+        if (StringUtils.hasText(line) && !line.trim().startsWith("#")) {
+          try {
+            records.add(StringUtils.commaDelimitedListToStringArray(line));
+          }
+          catch (RuntimeException cause) {
+            throw new IllegalArgumentException(String.format("Gazetteer [%1$s] record on line [%2$d] is not valid",
+              gazetteer.getDescription(), lineNumber), cause);
+          }
+        }
+      }
+    }
+
+    return new GazetteerGeocodingRepository(records, cellSize, maximumRings);
+  }
+
+  /* (non-Javadoc) */
+  static String normalizeStreet(String street) {
+    return AddressKey.normalizeStreet(street);
+  }
+
+  /* (non-Javadoc) */
+  static int toZipCode(String zipCode) {
+
+    String digits = String.valueOf(zipCode).trim();
+
+    digits = (digits.length() > 5 ? digits.substring(0, 5) : digits);
+
+    return (digits.length() == 5 && digits.chars().allMatch(Character::isDigit) ? Integer.parseInt(digits) : -1);
+  }
+
+  /* (non-Javadoc) */
+  private GazetteerGeocodingRepository(Records records, double cellSize, int maximumRings) {
+
+    this.cellSize = cellSize;
+    this.maximumRings = maximumRings;
+    this.names = records.names.toArray(new String[records.names.size()]);
+
+    int[] zipCodeOrder = IntStream.range(0, records.zipCodes.size()).boxed()
+      .sorted(Comparator.comparingInt(records.zipCodes::get))
+      .mapToInt(Integer::intValue).toArray();
+
+    this.zipCodes = permuteInts(records.zipCodes, zipCodeOrder);
+    this.zipCodeCities = permuteInts(records.zipCodeCities, zipCodeOrder);
+    this.zipCodeStates = new byte[zipCodeOrder.length];
+    this.zipCodeLatitudes = permuteFloats(records.zipCodeLatitudes, zipCodeOrder);
+    this.zipCodeLongitudes = permuteFloats(records.zipCodeLongitudes, zipCodeOrder);
+
+    for (int index = 0; index < zipCodeOrder.length; index++) {
+      this.zipCodeStates[index] = records.zipCodeStates.get(zipCodeOrder[index]);
+    }
+
+    for (int index = 1; index < this.zipCodes.length; index++) {
+      Assert.isTrue(this.zipCodes[index - 1] != this.zipCodes[index],
+        String.format("ZIP code [%05d] is defined more than once", this.zipCodes[index]));
+    }
+
+    int[] streetOrder = IntStream.range(0, records.streetZipCodes.size()).boxed()
+      .sorted(Comparator.<Integer>comparingInt(records.streetZipCodes::get)
+        .thenComparing(index -> this.names[records.streetKeys.get(index)])
+        .thenComparingInt(index -> Math.min(records.streetFromNumbers.get(index), records.streetToNumbers.get(index))))
+      .mapToInt(Integer::intValue).toArray();
+
+    this.streetZipCodes = permuteInts(records.streetZipCodes, streetOrder);
+    this.streetKeys = permuteInts(records.streetKeys, streetOrder);
+    this.streetNames = permuteInts(records.streetNames, streetOrder);
+    this.streetFromNumbers = permuteInts(records.streetFromNumbers, streetOrder);
+    this.streetToNumbers = permuteInts(records.streetToNumbers, streetOrder);
+    this.streetFromLatitudes = permuteFloats(records.streetFromLatitudes, streetOrder);
+    this.streetFromLongitudes = permuteFloats(records.streetFromLongitudes, streetOrder);
+    this.streetToLatitudes = permuteFloats(records.streetToLatitudes, streetOrder);
+    this.streetToLongitudes = permuteFloats(records.streetToLongitudes, streetOrder);
+
+    for (int zipCode : this.streetZipCodes) {
+      Assert.isTrue(Arrays.binarySearch(this.zipCodes, zipCode) >= 0,
+        String.format("Street segments of ZIP code [%05d] require a ZIP code record", zipCode));
+    }
+
+    this.grid = index();
+  }
+
+  /* (non-Javadoc) */
+  private static int[] permuteInts(List<Integer> values, int[] order) {
+    return Arrays.stream(order).map(values::get).toArray();
+  }
+
+  /* (non-Javadoc) */
+  private static float[] permuteFloats(List<Float> values, int[] order) {
+
+    float[] permutedValues = new float[order.length];
+
+    for (int index = 0; index < order.length; index++) {
+      permutedValues[index] = values.get(order[index]);
+    }
+
+    return permutedValues;
+  }
+
+  // NOTE a street segment is indexed in every cell overlapped by its bounding box, so every point of the segment
+  // lies in a cell the segment is indexed in
+  /* (non-Javadoc) */
+  private Map<Long, int[]> index() {
+
+    Map<Long, List<Integer>> cells = new HashMap<>();
+
+    for (int street = 0; street < this.streetZipCodes.length; street++) {
+
+      long fromRow = cell(Math.min(this.streetFromLatitudes[street], this.streetToLatitudes[street]));
+      long toRow = cell(Math.max(this.streetFromLatitudes[street], this.streetToLatitudes[street]));
+      long fromColumn = cell(Math.min(this.streetFromLongitudes[street], this.streetToLongitudes[street]));
+      long toColumn = cell(Math.max(this.streetFromLongitudes[street], this.streetToLongitudes[street]));
+
+      for (long row = fromRow; row <= toRow; row++) {
+        for (long column = fromColumn; column <= toColumn; column++) {
+          cells.computeIfAbsent(cellKey(row, column), key -> new ArrayList<>()).add(street);
+        }
+      }
+    }
+
+    Map<Long, int[]> grid = new HashMap<>(cells.size());
+
+    cells.forEach((key, streets) -> grid.put(key, streets.stream().mapToInt(Integer::intValue).toArray()));
+
+    return grid;
+  }
+
+  /* (non-Javadoc) */
+  private long cell(double degrees) {
+    return (long) Math.floor(degrees / this.cellSize);
+  }
+
+  /* (non-Javadoc) */
+  private static long cellKey(long row, long column) {
+    return ((row << 32) ^ (column & 0xFFFFFFFFL));
+  }
+
+  /**
+   * Sets whether an address whose street or house number is not in the gazetteer is geocoded to the centroid of
+   * its ZIP code, rather than not found.  Defaults to {@literal true}.
+   *
+   * @param zipCodeCentroidFallback boolean value indicating whether to fall back to ZIP code centroids.
+   */
+  public void setZipCodeCentroidFallback(boolean zipCodeCentroidFallback) {
+    this.zipCodeCentroidFallback = zipCodeCentroidFallback;
+  }
+
+  public boolean isZipCodeCentroidFallback() {
+    return this.zipCodeCentroidFallback;
+  }
+
+  /**
+   * Returns the number of street segments in the gazetteer.
+   *
+   * @return the number of street segments.
+   */
+  public int getStreetCount() {
+    return this.streetZipCodes.length;
+  }
+
+  /**
+   * Returns the number of ZIP codes in the gazetteer.
+   *
+   * @return the number of ZIP codes.
+   */
+  public int getZipCodeCount() {
+    return this.zipCodes.length;
+  }
+
+  @Override
+  public Point geocode(Address address) {
+
+    Assert.notNull(address, "Address must not be null");
+
+    int zipCode = toZipCode(address.getZipCode());
+
+    Matcher houseNumberAndStreet = HOUSE_NUMBER_AND_STREET.matcher(String.valueOf(address.getStreet()));
+
+    if (zipCode >= 0 && houseNumberAndStreet.matches()) {
+
+      Optional<Point> point = interpolate(zipCode, normalizeStreet(houseNumberAndStreet.group(2)),
+        Integer.parseInt(houseNumberAndStreet.group(1)));
+
+      if (point.isPresent()) {
+        return point.get();
+      }
+    }
+
+    int zipCodeIndex = (zipCode >= 0 ? Arrays.binarySearch(this.zipCodes, zipCode) : -1);
+
+    if (isZipCodeCentroidFallback() && zipCodeIndex >= 0) {
+      return new Point(this.zipCodeLatitudes[zipCodeIndex], this.zipCodeLongitudes[zipCodeIndex]);
+    }
+
+    throw new GeocodingException(String.format(
+      "geographic coordinates (latitude/longitude) for address [%s] not found", address));
+  }
+
+  /* (non-Javadoc) */
+  private Optional<Point> interpolate(int zipCode, String streetKey, int houseNumber) {
+
+    for (int street = firstStreet(zipCode, streetKey); street < this.streetZipCodes.length
+        && this.streetZipCodes[street] == zipCode && this.names[this.streetKeys[street]].equals(streetKey);
+        street++) {
+
+      int fromNumber = this.streetFromNumbers[street];
+      int toNumber = this.streetToNumbers[street];
+
+      if (houseNumber >= Math.min(fromNumber, toNumber) && houseNumber <= Math.max(fromNumber, toNumber)) {
+
+        double fraction = (fromNumber == toNumber ? 0.5d
+          : (double) (houseNumber - fromNumber) / (toNumber - fromNumber));
+
+        return Optional.of(new Point(latitudeAt(street, fraction), longitudeAt(street, fraction)));
+      }
+    }
+
+    return Optional.empty();
+  }
+
+  // NOTE binary search for the first street segment of the given ZIP code and street, in sort order
+  /* (non-Javadoc) */
+  private int firstStreet(int zipCode, String streetKey) {
+
+    int low = 0;
+    int high = this.streetZipCodes.length;
+
+    while (low < high) {
+
+      int middle = (low + high) >>> 1;
+
+      int comparison = (this.streetZipCodes[middle] != zipCode
+        ? Integer.compare(this.streetZipCodes[middle], zipCode)
+        : this.names[this.streetKeys[middle]].compareTo(streetKey));
+
+      if (comparison < 0) {
+        low = middle + 1;
+      }
+      else {
+        high = middle;
+      }
+    }
+
+    return low;
+  }
+
+  // NOTE cells are searched in rings of increasing distance; street segments outside ring r are at least
+  // r cells away, so the search stops once the nearest street segment found is closer than that
+  @Override
+  public Address reverseGeocode(Point point) {
+
+    Assert.notNull(point, "Point must not be null");
+
+    double latitude = point.getX();
+    double longitude = point.getY();
+    double longitudeScale = Math.max(Math.cos(Math.toRadians(latitude)), 0.01d);
+
+    long row = cell(latitude);
+    long column = cell(longitude);
+
+    int nearestStreet = -1;
+
+    double nearestDistance = Double.MAX_VALUE;
+    double nearestFraction = 0.0d;
+
+    for (int ring = 0; ring <= this.maximumRings; ring++) {
+
+      for (long cellRow = row - ring; cellRow <= row + ring; cellRow++) {
+        for (long cellColumn = column - ring; cellColumn <= column + ring; cellColumn++) {
+
+          if (Math.max(Math.abs(cellRow - row), Math.abs(cellColumn - column)) == ring) {
+            for (int street : this.grid.getOrDefault(cellKey(cellRow, cellColumn), new int[0])) {
+
+              double fraction = project(street, latitude, longitude, longitudeScale);
+
+              double distance = distance(street, fraction, latitude, longitude, longitudeScale);
+
+              if (distance < nearestDistance) {
+                nearestStreet = street;
+                nearestDistance = distance;
+                nearestFraction = fraction;
+              }
+            }
+          }
+        }
+      }
+
+      if (nearestStreet >= 0 && nearestDistance <= ring * this.cellSize * longitudeScale) {
+        break;
+      }
+    }
+
+    if (nearestStreet < 0) {
+      throw new GeocodingException(String.format(
+        "address for geographic coordinates (latitude/longitude) [%s] not found", point));
+    }
+
+    return toAddress(nearestStreet, nearestFraction);
+  }
+
+  /* (non-Javadoc) */
+  private double project(int street, double latitude, double longitude, double longitudeScale) {
+
+    double fromX = this.streetFromLongitudes[street] * longitudeScale;
+    double fromY = this.streetFromLatitudes[street];
+    double deltaX = this.streetToLongitudes[street] * longitudeScale - fromX;
+    double deltaY = this.streetToLatitudes[street] - fromY;
+    double lengthSquared = deltaX * deltaX + deltaY * deltaY;
+
+    return (lengthSquared > 0.0d ? Math.max(0.0d, Math.min(1.0d,
+      ((longitude * longitudeScale - fromX) * deltaX + (latitude - fromY) * deltaY) / lengthSquared)) : 0.0d);
+  }
+
+  /* (non-Javadoc) */
+  private double distance(int street, double fraction, double latitude, double longitude, double longitudeScale) {
+
+    return Math.hypot((longitude - longitudeAt(street, fraction)) * longitudeScale,
+      latitude - latitudeAt(street, fraction));
+  }
+
+  /* (non-Javadoc) */
+  private double latitudeAt(int street, double fraction) {
+    return this.streetFromLatitudes[street]
+      + fraction * (this.streetToLatitudes[street] - this.streetFromLatitudes[street]);
+  }
+
+  /* (non-Javadoc) */
+  private double longitudeAt(int street, double fraction) {
+    return this.streetFromLongitudes[street]
+      + fraction * (this.streetToLongitudes[street] - this.streetFromLongitudes[street]);
+  }
+
+  /* (non-Javadoc) */
+  private Address toAddress(int street, double fraction) {
+
+    int zipCodeIndex = Arrays.binarySearch(this.zipCodes, this.streetZipCodes[street]);
+
+    long houseNumber = Math.round(this.streetFromNumbers[street]
+      + fraction * (this.streetToNumbers[street] - this.streetFromNumbers[street]));
+
+    return Address.newAddress(houseNumber + " " + this.names[this.streetNames[street]],
+      this.names[this.zipCodeCities[zipCodeIndex]], State.values()[this.zipCodeStates[zipCodeIndex]],
+      String.format("%05d", this.zipCodes[zipCodeIndex]));
+  }
+
+  /* (non-Javadoc) */
+  private static final class Records {
+
+    private final List<String> names = new ArrayList<>();
+
+    private final Map<String, Integer> nameIndex = new HashMap<>();
+
+    private final List<Integer> zipCodes = new ArrayList<>();
+    private final List<Integer> zipCodeCities = new ArrayList<>();
+    private final List<Byte> zipCodeStates = new ArrayList<>();
+    private final List<Float> zipCodeLatitudes = new ArrayList<>();
+    private final List<Float> zipCodeLongitudes = new ArrayList<>();
+
+    private final List<Integer> streetZipCodes = new ArrayList<>();
+    private final List<Integer> streetKeys = new ArrayList<>();
+    private final List<Integer> streetNames = new ArrayList<>();
+    private final List<Integer> streetFromNumbers = new ArrayList<>();
+    private final List<Integer> streetToNumbers = new ArrayList<>();
+    private final List<Float> streetFromLatitudes = new ArrayList<>();
+    private final List<Float> streetFromLongitudes = new ArrayList<>();
+    private final List<Float> streetToLatitudes = new ArrayList<>();
+    private final List<Float> streetToLongitudes = new ArrayList<>();
+
+    private void add(String[] fields) {
+
+      String type = fields[0].trim();
+
+      if ("Z".equalsIgnoreCase(type)) {
+        Assert.isTrue(fields.length == 6, "ZIP code records require 6 fields");
+        this.zipCodes.add(zipCode(fields[1]));
+        this.zipCodeCities.add(name(fields[2]));
+        this.zipCodeStates.add((byte) state(fields[3]).ordinal());
+        this.zipCodeLatitudes.add(Float.parseFloat(fields[4].trim()));
+        this.zipCodeLongitudes.add(Float.parseFloat(fields[5].trim()));
+      }
+      else if ("S".equalsIgnoreCase(type)) {
+        Assert.isTrue(fields.length == 9, "Street records require 9 fields");
+        Assert.hasText(fields[2], "Street is required");
+        this.streetZipCodes.add(zipCode(fields[1]));
+        this.streetKeys.add(name(normalizeStreet(fields[2])));
+        this.streetNames.add(name(fields[2]));
+        this.streetFromNumbers.add(Integer.parseInt(fields[3].trim()));
+        this.streetToNumbers.add(Integer.parseInt(fields[4].trim()));
+        this.streetFromLatitudes.add(Float.parseFloat(fields[5].trim()));
+        this.streetFromLongitudes.add(Float.parseFloat(fields[6].trim()));
+        this.streetToLatitudes.add(Float.parseFloat(fields[7].trim()));
+        this.streetToLongitudes.add(Float.parseFloat(fields[8].trim()));
+      }
+      else {
+        throw new IllegalArgumentException(String.format("Record type [%s] is not Z or S", type));
+      }
+    }
+
+    // NOTE names are interned so cities and streets repeated across records are stored once
+    private int name(String name) {
+
+      String trimmedName = name.trim();
+
+      return this.nameIndex.computeIfAbsent(trimmedName, key -> {
+        this.names.add(key);
+        return this.names.size() - 1;
+      });
+    }
+
+    private int zipCode(String value) {
+
+      int zipCode = toZipCode(value);
+
+      Assert.isTrue(zipCode >= 0, String.format("ZIP code [%s] is not valid", value));
+
+      return zipCode;
+    }
+
+    private State state(String value) {
+
+      State state = Optional.ofNullable(State.valueOfAbbreviation(value.trim()))
+        .orElseGet(() -> State.valueOfName(value.trim()));
+
+      Assert.notNull(state, String.format("State [%s] is not valid", value));
+
+      return state;
+    }
+  }
+}
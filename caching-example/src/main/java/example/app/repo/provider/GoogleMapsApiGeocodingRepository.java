@@ -52,7 +52,7 @@ import example.app.repo.support.GeocodingRepositoryAdapter;
 @SuppressWarnings("unused")
 public class GoogleMapsApiGeocodingRepository extends GeocodingRepositoryAdapter {
 
-  @Value("${google.apis.maps.geocoding.key}")
+  @Value("${google.apis.maps.geocoding.key:}")
   private String apiKey;
 
   protected GeoApiContext newGeoApiContext() {
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.support;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+import example.app.model.Address;
+import example.app.model.State;
+
+/**
+ * The {@link AddressKey} class is an immutable, canonical key identifying the physical location of an {@link Address}.
+ *
+ * Two {@link Address Addresses} differing only in letter case, whitespace, punctuation, street suffix and directional
+ * abbreviations (e.g. "Pkwy" and "Parkway") or ZIP+4 extension have equal keys.  Unlike {@link Address#equals(Object)},
+ * the key ignores the {@link Address#getLocation() location}, {@link Address#getId() identifier}
+ * and {@link Address#getType() type}, none of which affect where the {@link Address} is.
+ *
+ * The key is held as a single {@link String} with its hash code computed once, so hashing and comparing keys
+ * in a cache is cheap.
+ *
+ * @author John Blum
+ * @see java.io.Serializable
+ * @see example.app.model.Address
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public final class AddressKey implements Serializable {
+
+  private static final long serialVersionUID = 4513326482193364957L;
+
+  protected static final char SEPARATOR = '|';
+
+  private static final Map<String, String> STREET_ABBREVIATIONS;
+
+  static {
+
+    Map<String, String> streetAbbreviations = new HashMap<>();
+
+    streetAbbreviations.put("avenue", "ave");
+    streetAbbreviations.put("boulevard", "blvd");
+    streetAbbreviations.put("court", "ct");
+    streetAbbreviations.put("drive", "dr");
+    streetAbbreviations.put("east", "e");
+    streetAbbreviations.put("highway", "hwy");
+    streetAbbreviations.put("lane", "ln");
+    streetAbbreviations.put("north", "n");
+    streetAbbreviations.put("northeast", "ne");
+    streetAbbreviations.put("northwest", "nw");
+    streetAbbreviations.put("parkway", "pkwy");
+    streetAbbreviations.put("place", "pl");
+    streetAbbreviations.put("road", "rd");
+    streetAbbreviations.put("south", "s");
+    streetAbbreviations.put("southeast", "se");
+    streetAbbreviations.put("southwest", "sw");
+    streetAbbreviations.put("street", "st");
+    streetAbbreviations.put("west", "w");
+
+    STREET_ABBREVIATIONS = Collections.unmodifiableMap(streetAbbreviations);
+  }
+
+  private final int hashCode;
+
+  private final String key;
+
+  /**
+   * Factory method used to construct the canonical {@link AddressKey} of the given {@link Address}.
+   *
+   * @param address {@link Address} to key.
+   * @return the canonical {@link AddressKey} of the given {@link Address}.
+   * @throws IllegalArgumentException if {@link Address} is {@literal null}.
+   * @see example.app.model.Address
+   */
+  public static AddressKey of(Address address) {
+
+    Assert.notNull(address, "Address cannot be null");
+
+    State state = address.getState();
+
+    return new AddressKey(normalizeStreet(address.getStreet()) + SEPARATOR
+      + normalizeWords(address.getCity()) + SEPARATOR
+      + (state != null ? state.getAbbreviation() : "") + SEPARATOR
+      + normalizeZipCode(address.getZipCode()));
+  }
+
+  /**
+   * Normalizes the given street to lower case words separated by a single space, with street suffixes
+   * and directionals abbreviated (e.g. "SW 5th Avenue" becomes "sw 5th ave").
+   *
+   * @param street street to normalize.
+   * @return the normalized street, or an empty {@link String} if {@code street} is {@literal null}.
+   */
+  public static String normalizeStreet(String street) {
+
+    StringBuilder normalizedStreet = new StringBuilder(street != null ? street.length() : 0);
+
+    for (String word : normalizeWords(street).split(" ")) {
+      if (!word.isEmpty()) {
+        normalizedStreet.append(normalizedStreet.length() > 0 ? " " : "")
+          .append(STREET_ABBREVIATIONS.getOrDefault(word, word));
+      }
+    }
+
+    return normalizedStreet.toString();
+  }
+
+  /* (non-Javadoc) */
+  private static String normalizeWords(String value) {
+    return (value != null ? value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", " ").trim() : "");
+  }
+
+  // NOTE a ZIP+4 extension narrows down the delivery route, not the location of a street address
+  /* (non-Javadoc) */
+  private static String normalizeZipCode(String zipCode) {
+
+    String digits = (zipCode != null ? zipCode.replaceAll("[^0-9]", "") : "");
+
+    return (digits.length() > 5 ? digits.substring(0, 5) : digits);
+  }
+
+  /* (non-Javadoc) */
+  private AddressKey(String key) {
+    this.key = key;
+    this.hashCode = key.hashCode();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean equals(Object obj) {
+
+    if (this == obj) {
+      return true;
+    }
+
+    if (!(obj instanceof AddressKey)) {
+      return false;
+    }
+
+    AddressKey that = (AddressKey) obj;
+
+    return (this.hashCode == that.hashCode && this.key.equals(that.key));
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public int hashCode() {
+    return this.hashCode;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public String toString() {
+    return this.key;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.geo.Point;
+import org.springframework.util.Assert;
+
+import example.app.model.Address;
+import example.app.repo.GeocodingException;
+import example.app.repo.GeocodingRepository;
+
+/**
+ * The TieredGeocodingRepository class is a composite {@link GeocodingRepository} trying each tier in order until
+ * one converts the address or geographic coordinates, e.g. an offline gazetteer in front of a remote geocoding
+ * web service.
+ *
+ * A tier that does not find the address or coordinates (throwing a {@link GeocodingException}), or does not support
+ * the operation, passes the request on to the next tier; the failure of the last tier is rethrown.
+ *
+ * @author John Blum
+ * @see example.app.repo.GeocodingRepository
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class TieredGeocodingRepository implements GeocodingRepository {
+
+  private final List<GeocodingRepository> tiers;
+
+  public TieredGeocodingRepository(GeocodingRepository... tiers) {
+
+    Assert.notEmpty(tiers, "At least one GeocodingRepository tier is required");
+    Assert.noNullElements(tiers, "GeocodingRepository tiers must not be null");
+
+    this.tiers = Collections.unmodifiableList(Arrays.asList(tiers));
+  }
+
+  public List<GeocodingRepository> getTiers() {
+    return this.tiers;
+  }
+
+  @Override
+  public Point geocode(Address address) {
+    return firstOf(tier -> tier.geocode(address));
+  }
+
+  @Override
+  public Address reverseGeocode(Point point) {
+    return firstOf(tier -> tier.reverseGeocode(point));
+  }
+
+  /* (non-Javadoc) */
+  private <T> T firstOf(Function<GeocodingRepository, T> operation) {
+
+    RuntimeException failure = null;
+
+    for (GeocodingRepository tier : getTiers()) {
+      try {
+        return operation.apply(tier);
+      }
+      catch (GeocodingException | UnsupportedOperationException cause) {
+        failure = cause;
+      }
+    }
+
+    throw failure;
+  }
+}
@@ -16,23 +16,59 @@
 
 package example.app.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.apache.geode.cache.Region;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.geo.Point;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import example.app.model.Address;
+import example.app.repo.GeocodingException;
 import example.app.repo.GeocodingRepository;
+import example.app.repo.support.AddressKey;
 import example.app.service.support.AbstractCacheableService;
+import example.app.service.support.AddressKeyGenerator;
+import example.app.service.support.CacheStatistics;
 
 /**
  * The GeocodingService class is a Spring {@link Service} component capable of converting addresses
  * to geographic coordinates and geographic coordinates to addresses.
  *
+ * Addresses are cached by their canonical {@link AddressKey}, so logically identical addresses written differently
+ * (e.g. "Pkwy" and "Parkway") share a cache entry.
+ *
+ * Concurrent cache misses for the same address (or geographic coordinates) are coalesced into a single call
+ * to the {@link GeocodingRepository}; the callers arriving while the call is in flight wait for, and share,
+ * its result.  The result is cached before the call stops being in flight, so a caller arriving in between
+ * finds it in the cache rather than calling the {@link GeocodingRepository} again.
+ *
+ * {@link #geocodeAll(Collection)} geocodes a batch of addresses with a single bulk cache lookup, at most
+ * {@link #getConcurrency()} concurrent calls to the {@link GeocodingRepository} and a single bulk cache write.
+ *
  * @author John Blum
  * @see example.app.model.Address
  * @see example.app.repo.GeocodingRepository
+ * @see example.app.repo.support.AddressKey
  * @see example.app.service.support.AbstractCacheableService
  * @see org.springframework.cache.annotation.Cacheable
  * @see org.springframework.data.geo.Point
@@ -40,31 +76,331 @@ import example.app.service.support.AbstractCacheableService;
  */
 @Service
 @SuppressWarnings("unused")
-public class GeocodingService extends AbstractCacheableService {
+public class GeocodingService extends AbstractCacheableService implements DisposableBean {
+
+  public static final int DEFAULT_CONCURRENCY = 4;
+
+  protected static final String ADDRESS_TO_LATITUDE_LONGITUDE = "AddressToLatitudeLongitude";
+  protected static final String LATITUDE_LONGITUDE_TO_ADDRESS = "LatitudeLongitudeToAddress";
+
+  private final ConcurrentMap<AddressKey, CompletableFuture<Point>> geocodesInFlight = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<Point, CompletableFuture<Address>> reverseGeocodesInFlight =
+    new ConcurrentHashMap<>();
+
+  private CacheManager cacheManager;
+
+  private volatile ExecutorService executor;
 
   private final GeocodingRepository geocodingRepository;
 
+  @Value("${example.app.geocoding.concurrency:" + DEFAULT_CONCURRENCY + "}")
+  private int concurrency = DEFAULT_CONCURRENCY;
+
   @Autowired
   public GeocodingService(GeocodingRepository geocodingRepository) {
     Assert.notNull(geocodingRepository, "GeocodingRepository cannot be null");
     this.geocodingRepository = geocodingRepository;
   }
 
+  @Autowired(required = false)
+  public void setCacheManager(CacheManager cacheManager) {
+    this.cacheManager = cacheManager;
+  }
+
+  protected CacheManager getCacheManager() {
+    return this.cacheManager;
+  }
+
+  public void setConcurrency(int concurrency) {
+    Assert.isTrue(concurrency > 0, String.format("Concurrency [%d] must be greater than 0", concurrency));
+    this.concurrency = concurrency;
+  }
+
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  // NOTE the pool size bounds the number of concurrent requests sent to the geocoding provider by geocodeAll
+  protected ExecutorService getExecutor() {
+
+    if (this.executor == null) {
+      synchronized (this) {
+        if (this.executor == null) {
+
+          CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("geocoding-");
+
+          threadFactory.setDaemon(true);
+
+          this.executor = Executors.newFixedThreadPool(getConcurrency(), threadFactory);
+        }
+      }
+    }
+
+    return this.executor;
+  }
+
   @SuppressWarnings("all")
   protected GeocodingRepository getGeocodingRepository() {
     Assert.state(geocodingRepository != null, "GeocodingRepository was not properly configured and initialized");
     return this.geocodingRepository;
   }
 
-  @Cacheable(value = "AddressToLatitudeLongitude")
+  @Cacheable(value = ADDRESS_TO_LATITUDE_LONGITUDE, keyGenerator = AddressKeyGenerator.BEAN_NAME)
   public Point geocode(Address address) {
     setCacheMiss();
-    return getGeocodingRepository().geocode(address);
+    return singleFlight(this.geocodesInFlight, ADDRESS_TO_LATITUDE_LONGITUDE, AddressKey.of(address),
+      () -> geocodeOnCacheMiss(address));
+  }
+
+  /**
+   * Geocodes all the given addresses, answering from the cache where possible.
+   *
+   * The cache is read and written in bulk.  Duplicate addresses, including addresses with the same
+   * {@link AddressKey}, are geocoded once, and addresses being geocoded by a concurrent call to
+   * {@link #geocode(Address)} or {@link #geocodeAll(Collection)} are not geocoded again.
+   *
+   * @param addresses {@link Collection} of {@link Address Addresses} to geocode.
+   * @return a {@link Map} of each distinct {@link Address} to its geographic coordinates, in the order given.
+   * @throws GeocodingException if any address could not be geocoded; the geocoded addresses are cached
+   * nonetheless.
+   */
+  public Map<Address, Point> geocodeAll(Collection<Address> addresses) {
+
+    Assert.notNull(addresses, "Addresses cannot be null");
+
+    Map<Address, AddressKey> addressKeys = new LinkedHashMap<>();
+    Map<AddressKey, Address> distinctAddresses = new LinkedHashMap<>();
+
+    for (Address address : addresses) {
+      if (address != null && !addressKeys.containsKey(address)) {
+        AddressKey addressKey = AddressKey.of(address);
+        addressKeys.put(address, addressKey);
+        distinctAddresses.putIfAbsent(addressKey, address);
+      }
+    }
+
+    Cache cache = resolveCache(ADDRESS_TO_LATITUDE_LONGITUDE);
+
+    Map<AddressKey, Point> points = getAll(cache, distinctAddresses.keySet());
+
+    Map<AddressKey, CompletableFuture<Point>> geocodes = new LinkedHashMap<>();
+    Map<AddressKey, CompletableFuture<Point>> ownGeocodes = new LinkedHashMap<>();
+
+    distinctAddresses.forEach((addressKey, address) -> {
+      if (!points.containsKey(addressKey)) {
+
+        CompletableFuture<Point> newGeocode = new CompletableFuture<>();
+        CompletableFuture<Point> geocodeInFlight = this.geocodesInFlight.putIfAbsent(addressKey, newGeocode);
+
+        if (geocodeInFlight != null) {
+          geocodes.put(addressKey, geocodeInFlight);
+        }
+        else {
+          geocodes.put(addressKey, newGeocode);
+          ownGeocodes.put(addressKey, newGeocode);
+          execute(newGeocode, () -> geocodeOnCacheMiss(address));
+        }
+      }
+    });
+
+    // NOTE this call's geocodes stay in flight until they are written to the cache in bulk
+    try {
+      if (!geocodes.isEmpty()) {
+        points.putAll(geocodeAndCacheAll(cache, geocodes, distinctAddresses.size()));
+      }
+    }
+    finally {
+      ownGeocodes.forEach(this.geocodesInFlight::remove);
+    }
+
+    Map<Address, Point> orderedPoints = new LinkedHashMap<>(addressKeys.size());
+
+    addressKeys.forEach((address, addressKey) -> orderedPoints.put(address, points.get(addressKey)));
+
+    return orderedPoints;
+  }
+
+  /* (non-Javadoc) */
+  private Map<AddressKey, Point> geocodeAndCacheAll(Cache cache, Map<AddressKey, CompletableFuture<Point>> geocodes,
+      int addressCount) {
+
+    setCacheMiss();
+
+    Map<AddressKey, Point> geocodedPoints = new LinkedHashMap<>(geocodes.size());
+
+    List<RuntimeException> failures = new ArrayList<>();
+
+    geocodes.forEach((addressKey, geocode) -> {
+      try {
+        geocodedPoints.put(addressKey, join(geocode));
+      }
+      catch (RuntimeException cause) {
+        failures.add(cause);
+      }
+    });
+
+    putAll(cache, geocodedPoints);
+
+    if (!failures.isEmpty()) {
+
+      GeocodingException exception = new GeocodingException(String.format(
+        "failed to geocode [%1$d] of [%2$d] addresses", failures.size(), addressCount), failures.get(0));
+
+      failures.stream().skip(1).forEach(exception::addSuppressed);
+
+      throw exception;
+    }
+
+    return geocodedPoints;
   }
 
-  @Cacheable(value = "LatitudeLongitudeToAddress")
+  @Cacheable(value = LATITUDE_LONGITUDE_TO_ADDRESS)
   public Address reverseGeocode(Point point) {
     setCacheMiss();
-    return getGeocodingRepository().reverseGeocode(point);
+    return singleFlight(this.reverseGeocodesInFlight, LATITUDE_LONGITUDE_TO_ADDRESS, point,
+      () -> load(LATITUDE_LONGITUDE_TO_ADDRESS, () -> getGeocodingRepository().reverseGeocode(point)));
+  }
+
+  /* (non-Javadoc) */
+  private Point geocodeOnCacheMiss(Address address) {
+    return load(ADDRESS_TO_LATITUDE_LONGITUDE, () -> getGeocodingRepository().geocode(address));
+  }
+
+  // NOTE the first caller for a key makes the call on its own thread; callers arriving before it completes wait
+  // for the same result (or exception) rather than calling the geocoding provider again; the result is cached
+  // here, while the call is still in flight, since the @Cacheable proxy only caches it after the call is removed
+  /* (non-Javadoc) */
+  protected <K, V> V singleFlight(ConcurrentMap<K, CompletableFuture<V>> callsInFlight, String cacheName, K key,
+      Supplier<V> call) {
+
+    CompletableFuture<V> newCall = new CompletableFuture<>();
+    CompletableFuture<V> callInFlight = callsInFlight.putIfAbsent(key, newCall);
+
+    if (callInFlight != null) {
+      return join(callInFlight);
+    }
+
+    try {
+      V value = call.get();
+      put(resolveCache(cacheName), key, value);
+      newCall.complete(value);
+      return value;
+    }
+    catch (RuntimeException | Error cause) {
+      newCall.completeExceptionally(cause);
+      throw cause;
+    }
+    finally {
+      callsInFlight.remove(key, newCall);
+    }
+  }
+
+  /* (non-Javadoc) */
+  private <T> void execute(CompletableFuture<T> future, Supplier<T> call) {
+
+    try {
+      getExecutor().execute(() -> {
+        try {
+          future.complete(call.get());
+        }
+        catch (RuntimeException | Error cause) {
+          future.completeExceptionally(cause);
+        }
+      });
+    }
+    catch (RuntimeException cause) {
+      future.completeExceptionally(cause);
+    }
+  }
+
+  /* (non-Javadoc) */
+  private <T> T join(CompletableFuture<T> future) {
+
+    try {
+      return future.join();
+    }
+    catch (CompletionException cause) {
+      if (cause.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) cause.getCause();
+      }
+
+      throw new GeocodingException(cause.getCause());
+    }
+  }
+
+  /* (non-Javadoc) */
+  private Cache resolveCache(String name) {
+    return (getCacheManager() != null ? getCacheManager().getCache(name) : null);
+  }
+
+  // NOTE Apache Geode caches are Regions, which are read in a single getAll; other caches are read key by key;
+  // reading the Region directly bypasses the statistics recording Cache decorator, so hits and misses are recorded here
+  /* (non-Javadoc) */
+  @SuppressWarnings("unchecked")
+  private Map<AddressKey, Point> getAll(Cache cache, Set<AddressKey> addressKeys) {
+
+    Map<AddressKey, Point> points = new LinkedHashMap<>(addressKeys.size());
+
+    if (cache != null && !addressKeys.isEmpty()) {
+      if (cache.getNativeCache() instanceof Region) {
+        ((Region<AddressKey, Point>) cache.getNativeCache()).getAll(addressKeys).forEach((addressKey, point) -> {
+          if (point != null) {
+            points.put(addressKey, point);
+          }
+        });
+
+        CacheStatistics statistics = getCacheStatistics(ADDRESS_TO_LATITUDE_LONGITUDE);
+
+        statistics.recordHits(points.size());
+        statistics.recordMisses(addressKeys.size() - points.size());
+      }
+      else {
+        for (AddressKey addressKey : addressKeys) {
+          Point point = cache.get(addressKey, Point.class);
+
+          if (point != null) {
+            points.put(addressKey, point);
+          }
+        }
+      }
+    }
+
+    return points;
+  }
+
+  /* (non-Javadoc) */
+  private void put(Cache cache, Object key, Object value) {
+
+    if (cache != null && value != null) {
+      cache.put(key, value);
+    }
+  }
+
+  /* (non-Javadoc) */
+  @SuppressWarnings("unchecked")
+  private void putAll(Cache cache, Map<AddressKey, Point> points) {
+
+    if (cache != null && !points.isEmpty()) {
+      if (cache.getNativeCache() instanceof Region) {
+        ((Region<AddressKey, Point>) cache.getNativeCache()).putAll(points);
+      }
+      else {
+        points.forEach(cache::put);
+      }
+    }
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void destroy() {
+
+    ExecutorService executor = this.executor;
+
+    if (executor != null) {
+      executor.shutdownNow();
+    }
   }
 }
@@ -16,22 +16,44 @@
 
 package example.app.service.support;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Collection;
+import java.util.function.Supplier;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.util.Assert;
 
 /**
  * The AbstractCacheableService class is an abstract base class extended by {@link Cacheable} service classes
  * that want to record and track cache hits and misses.
  *
+ * Whether the last call was a cache miss is tracked per calling {@link Thread}, so concurrent callers
+ * do not observe each other's misses.  Statistics are tracked per cache name in {@link CacheStatistics} held by
+ * a {@link CacheStatisticsRegistry}, which is shared with the application's decorated
+ * {@link org.springframework.cache.CacheManager} when one is configured.
+ *
  * @author John Blum
  * @see org.springframework.cache.annotation.Cacheable
+ * @see example.app.service.support.CacheStatistics
+ * @see example.app.service.support.CacheStatisticsRegistry
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
 public abstract class AbstractCacheableService {
 
-  private final AtomicBoolean cacheMiss = new AtomicBoolean(false);
+  private final ThreadLocal<Boolean> cacheMiss = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+  private volatile CacheStatisticsRegistry cacheStatisticsRegistry = new CacheStatisticsRegistry();
+
+  @Autowired(required = false)
+  public void setCacheStatisticsRegistry(CacheStatisticsRegistry cacheStatisticsRegistry) {
+    Assert.notNull(cacheStatisticsRegistry, "CacheStatisticsRegistry cannot be null");
+    this.cacheStatisticsRegistry = cacheStatisticsRegistry;
+  }
+
+  protected CacheStatisticsRegistry getCacheStatisticsRegistry() {
+    return this.cacheStatisticsRegistry;
+  }
 
   /* (non-Javadoc) */
   public boolean isCacheHit() {
@@ -40,11 +62,69 @@ public abstract class AbstractCacheableService {
 
   /* (non-Javadoc) */
   public boolean isCacheMiss() {
-    return cacheMiss.compareAndSet(true, false);
+
+    boolean cacheMiss = this.cacheMiss.get();
+
+    this.cacheMiss.set(Boolean.FALSE);
+
+    return cacheMiss;
   }
 
   /* (non-Javadoc) */
   protected boolean setCacheMiss() {
-    return cacheMiss.getAndSet(true);
+
+    boolean cacheMiss = this.cacheMiss.get();
+
+    this.cacheMiss.set(Boolean.TRUE);
+
+    return cacheMiss;
+  }
+
+  /**
+   * Returns the {@link CacheStatistics} of the cache with the given name.
+   *
+   * @param cacheName name of the cache.
+   * @return the {@link CacheStatistics} of the named cache.
+   * @see example.app.service.support.CacheStatistics
+   */
+  public CacheStatistics getCacheStatistics(String cacheName) {
+    return getCacheStatisticsRegistry().getCacheStatistics(cacheName);
+  }
+
+  /**
+   * Returns the {@link CacheStatistics} of all the caches recorded so far.
+   *
+   * @return a {@link Collection} of {@link CacheStatistics}.
+   * @see example.app.service.support.CacheStatistics
+   */
+  public Collection<CacheStatistics> getCacheStatistics() {
+    return getCacheStatisticsRegistry().getCacheStatistics();
+  }
+
+  /**
+   * Loads a value on a miss of the named cache, recording the time taken to load the value
+   * in the {@link CacheStatistics} of the named cache.
+   *
+   * @param <T> {@link Class} type of the loaded value.
+   * @param cacheName name of the cache that missed.
+   * @param loader {@link Supplier} loading the value.
+   * @return the loaded value.
+   */
+  protected <T> T load(String cacheName, Supplier<T> loader) {
+
+    CacheStatistics statistics = getCacheStatistics(cacheName);
+
+    long startTime = System.nanoTime();
+
+    boolean successful = false;
+
+    try {
+      T value = loader.get();
+      successful = true;
+      return value;
+    }
+    finally {
+      statistics.recordLoad(System.nanoTime() - startTime, successful);
+    }
   }
 }
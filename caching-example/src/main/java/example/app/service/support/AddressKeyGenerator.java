@@ -0,0 +1,53 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.lang.reflect.Method;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleKeyGenerator;
+
+import example.app.model.Address;
+import example.app.repo.support.AddressKey;
+
+/**
+ * The {@link AddressKeyGenerator} class is a Spring Cache {@link KeyGenerator} keying the cache entries
+ * of methods with a single {@link Address} parameter by the canonical {@link AddressKey} of the {@link Address}.
+ *
+ * Logically identical {@link Address Addresses} therefore share a single cache entry.  All other method invocations
+ * are keyed by the {@link SimpleKeyGenerator}.
+ *
+ * @author John Blum
+ * @see org.springframework.cache.interceptor.KeyGenerator
+ * @see example.app.model.Address
+ * @see example.app.repo.support.AddressKey
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class AddressKeyGenerator implements KeyGenerator {
+
+  public static final String BEAN_NAME = "addressKeyGenerator";
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Object generate(Object target, Method method, Object... params) {
+    return (params.length == 1 && params[0] instanceof Address ? AddressKey.of((Address) params[0])
+      : SimpleKeyGenerator.generateKey(params));
+  }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link CacheStatistics} class records the hits, misses, loads, evictions, expirations and removals
+ * of a single, named cache.
+ *
+ * Evictions and expirations are entries removed by the cache provider itself (e.g. a Region's LRU eviction
+ * or entry expiration), while removals are entries explicitly evicted or cleared by the application.
+ *
+ * Every counter is a {@link LongAdder}, which stripes updates across cells under contention, so concurrent
+ * callers recording statistics for the same cache do not contend on a single memory location.
+ *
+ * @author John Blum
+ * @see java.util.concurrent.atomic.LongAdder
+ * @see example.app.service.support.CacheStatisticsRegistry
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class CacheStatistics {
+
+  protected static final String CACHE_STATISTICS_TO_STRING =
+    "{ name = %1$s, hits = %2$d, misses = %3$d, loads = %4$d, loadFailures = %5$d, evictions = %6$d,"
+      + " expirations = %7$d, removals = %8$d }";
+
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadTime = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder removals = new LongAdder();
+
+  private final String name;
+
+  /**
+   * Constructs an instance of {@link CacheStatistics} for the cache with the given name.
+   *
+   * @param name name of the cache.
+   * @throws IllegalArgumentException if {@code name} is {@literal null} or empty.
+   */
+  public CacheStatistics(String name) {
+    Assert.hasText(name, "Cache name is required");
+    this.name = name;
+  }
+
+  /**
+   * Returns the name of the cache.
+   *
+   * @return the name of the cache.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Records the given number of cache hits.
+   *
+   * @param count number of cache hits.
+   */
+  public void recordHits(long count) {
+    this.hits.add(count);
+  }
+
+  /**
+   * Records the given number of cache misses.
+   *
+   * @param count number of cache misses.
+   */
+  public void recordMisses(long count) {
+    this.misses.add(count);
+  }
+
+  /**
+   * Records a load of a value on a cache miss.
+   *
+   * @param nanoseconds time taken to load the value in nanoseconds.
+   * @param successful boolean indicating whether the value was loaded.
+   */
+  public void recordLoad(long nanoseconds, boolean successful) {
+
+    this.loads.increment();
+    this.loadTime.add(nanoseconds);
+
+    if (!successful) {
+      this.loadFailures.increment();
+    }
+  }
+
+  /**
+   * Records the given number of cache entries evicted by the cache provider, e.g. by LRU eviction.
+   *
+   * @param count number of cache entries evicted.
+   */
+  public void recordEvictions(long count) {
+    this.evictions.add(count);
+  }
+
+  /**
+   * Records the given number of cache entries that expired.
+   *
+   * @param count number of cache entries expired.
+   */
+  public void recordExpirations(long count) {
+    this.expirations.add(count);
+  }
+
+  /**
+   * Records the given number of cache entries explicitly evicted or cleared by the application.
+   *
+   * @param count number of cache entries removed.
+   */
+  public void recordRemovals(long count) {
+    this.removals.add(count);
+  }
+
+  public long getHitCount() {
+    return this.hits.sum();
+  }
+
+  public long getMissCount() {
+    return this.misses.sum();
+  }
+
+  public long getRequestCount() {
+    return getHitCount() + getMissCount();
+  }
+
+  /**
+   * Returns the ratio of cache hits to all cache requests, or {@literal 0.0} if the cache was not accessed yet.
+   *
+   * @return the cache hit ratio.
+   */
+  public double getHitRatio() {
+
+    long hits = getHitCount();
+    long total = hits + getMissCount();
+
+    return (total > 0 ? (double) hits / total : 0.0d);
+  }
+
+  public long getLoadCount() {
+    return this.loads.sum();
+  }
+
+  public long getLoadFailureCount() {
+    return this.loadFailures.sum();
+  }
+
+  public long getTotalLoadTime(TimeUnit timeUnit) {
+    return timeUnit.convert(this.loadTime.sum(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Returns the average time taken to load a value on a cache miss, or {@literal 0.0} if no value was loaded yet.
+   *
+   * @param timeUnit {@link TimeUnit} of the returned average.
+   * @return the average load time in the given {@link TimeUnit}.
+   */
+  public double getAverageLoadTime(TimeUnit timeUnit) {
+
+    long loads = getLoadCount();
+
+    return (loads > 0 ? (double) this.loadTime.sum() / loads / TimeUnit.NANOSECONDS.convert(1L, timeUnit) : 0.0d);
+  }
+
+  public long getEvictionCount() {
+    return this.evictions.sum();
+  }
+
+  public long getExpirationCount() {
+    return this.expirations.sum();
+  }
+
+  public long getRemovalCount() {
+    return this.removals.sum();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public String toString() {
+    return String.format(CACHE_STATISTICS_TO_STRING, getName(), getHitCount(), getMissCount(), getLoadCount(),
+      getLoadFailureCount(), getEvictionCount(), getExpirationCount(), getRemovalCount());
+  }
+}
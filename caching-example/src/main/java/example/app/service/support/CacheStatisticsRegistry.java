@@ -0,0 +1,506 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.geode.cache.CacheListener;
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link CacheStatisticsRegistry} class holds the {@link CacheStatistics} of every cache, by cache name.
+ *
+ * Cache hits are answered by Spring's caching infrastructure without ever invoking the cacheable service method,
+ * so hits and misses are recorded by decorating the application's {@link CacheManager} with
+ * {@link #decorate(CacheManager)}, while {@link AbstractCacheableService cacheable services} record the time
+ * taken to load values on cache misses.  The statistics are published to JMX with {@link #register()}.
+ *
+ * Entries evicted or expired by the cache provider never pass through the {@link Cache} interface, so when
+ * a {@link Cache} is backed by a Geode {@link Region}, a {@link CacheListener} is added to the {@link Region}
+ * to count LRU evictions and expirations.  Entries explicitly evicted or cleared are counted as removals.
+ * Overflow to disk is not counted as an eviction since the entry remains in the cache.
+ *
+ * @author John Blum
+ * @see org.springframework.cache.Cache
+ * @see org.springframework.cache.CacheManager
+ * @see example.app.service.support.CacheStatistics
+ * @see example.app.service.support.CacheStatisticsRegistryMXBean
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class CacheStatisticsRegistry implements CacheStatisticsRegistryMXBean {
+
+  public static final String DEFAULT_NAME = "CacheStatistics";
+
+  protected static final String OBJECT_NAME = "example.app.cache:type=CacheStatistics,name=%s";
+
+  private final ConcurrentMap<String, CacheStatistics> cacheStatistics = new ConcurrentHashMap<>();
+
+  protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+  private volatile ObjectName objectName;
+
+  private final String name;
+
+  /**
+   * Constructs an instance of the {@link CacheStatisticsRegistry} with the {@link #DEFAULT_NAME}.
+   */
+  public CacheStatisticsRegistry() {
+    this(DEFAULT_NAME);
+  }
+
+  /**
+   * Constructs an instance of the {@link CacheStatisticsRegistry} with the given name, which identifies
+   * this registry in JMX.
+   *
+   * @param name name of this {@link CacheStatisticsRegistry}.
+   * @throws IllegalArgumentException if {@code name} is {@literal null} or empty.
+   */
+  public CacheStatisticsRegistry(String name) {
+    Assert.hasText(name, "Name is required");
+    this.name = name;
+  }
+
+  /**
+   * Returns the name of this {@link CacheStatisticsRegistry}.
+   *
+   * @return the name of this {@link CacheStatisticsRegistry}.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the {@link CacheStatistics} of the cache with the given name, creating them on first use.
+   *
+   * @param cacheName name of the cache.
+   * @return the {@link CacheStatistics} of the named cache.
+   * @throws IllegalArgumentException if {@code cacheName} is {@literal null} or empty.
+   */
+  public CacheStatistics getCacheStatistics(String cacheName) {
+
+    Assert.hasText(cacheName, "Cache name is required");
+
+    CacheStatistics statistics = this.cacheStatistics.get(cacheName);
+
+    return (statistics != null ? statistics : this.cacheStatistics.computeIfAbsent(cacheName, CacheStatistics::new));
+  }
+
+  /**
+   * Returns the {@link CacheStatistics} of all the caches recorded so far.
+   *
+   * @return a {@link Collection} of {@link CacheStatistics}.
+   */
+  public Collection<CacheStatistics> getCacheStatistics() {
+    return Collections.unmodifiableCollection(this.cacheStatistics.values());
+  }
+
+  /**
+   * Decorates the given {@link CacheManager} so that reads, removals, evictions and expirations
+   * of its {@link Cache Caches} are recorded in this registry.
+   *
+   * @param cacheManager {@link CacheManager} to decorate.
+   * @return a {@link CacheManager} recording the statistics of the given {@link CacheManager CacheManager's} caches.
+   * @throws IllegalArgumentException if {@link CacheManager} is {@literal null}.
+   * @see org.springframework.cache.CacheManager
+   */
+  public CacheManager decorate(CacheManager cacheManager) {
+
+    Assert.notNull(cacheManager, "CacheManager must not be null");
+
+    return (cacheManager instanceof StatisticsRecordingCacheManager ? cacheManager
+      : new StatisticsRecordingCacheManager(cacheManager));
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getHitCounts() {
+    return collect(CacheStatistics::getHitCount);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getMissCounts() {
+    return collect(CacheStatistics::getMissCount);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Double> getHitRatios() {
+    return collect(CacheStatistics::getHitRatio);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getLoadCounts() {
+    return collect(CacheStatistics::getLoadCount);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Double> getAverageLoadTimes() {
+    return collect(statistics -> statistics.getAverageLoadTime(TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getEvictionCounts() {
+    return collect(CacheStatistics::getEvictionCount);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getExpirationCounts() {
+    return collect(CacheStatistics::getExpirationCount);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getRemovalCounts() {
+    return collect(CacheStatistics::getRemovalCount);
+  }
+
+  /* (non-Javadoc) */
+  private <T> Map<String, T> collect(Function<CacheStatistics, T> statistic) {
+
+    Map<String, T> statistics = new TreeMap<>();
+
+    for (CacheStatistics cacheStatistics : getCacheStatistics()) {
+      statistics.put(cacheStatistics.getName(), statistic.apply(cacheStatistics));
+    }
+
+    return statistics;
+  }
+
+  /**
+   * Registers this {@link CacheStatisticsRegistry} with the platform {@link MBeanServer}.  Registration failures
+   * are logged rather than thrown so that publishing statistics never prevents the application from caching.
+   */
+  public synchronized void register() {
+
+    if (this.objectName == null) {
+      try {
+        ObjectName objectName = new ObjectName(String.format(OBJECT_NAME, ObjectName.quote(getName())));
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+        this.objectName = objectName;
+      }
+      catch (JMException cause) {
+        logger.warn(String.format("Failed to register CacheStatistics [%s] in JMX", getName()), cause);
+      }
+    }
+  }
+
+  /**
+   * Unregisters this {@link CacheStatisticsRegistry} from the platform {@link MBeanServer}.
+   */
+  public synchronized void unregister() {
+
+    if (this.objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+      }
+      catch (JMException cause) {
+        logger.warn(String.format("Failed to unregister CacheStatistics [%s] from JMX", getName()), cause);
+      }
+      finally {
+        this.objectName = null;
+      }
+    }
+  }
+
+  /**
+   * The {@link StatisticsRecordingCacheManager} class is a {@link CacheManager} decorator handing out
+   * {@link StatisticsRecordingCache StatisticsRecordingCaches}.
+   */
+  protected class StatisticsRecordingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+
+    private final ConcurrentMap<String, StatisticsRecordingCache> caches = new ConcurrentHashMap<>();
+
+    protected StatisticsRecordingCacheManager(CacheManager delegate) {
+      this.delegate = delegate;
+    }
+
+    protected CacheManager getDelegate() {
+      return this.delegate;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Cache getCache(String name) {
+
+      Cache cache = getDelegate().getCache(name);
+
+      if (cache == null) {
+        return null;
+      }
+
+      // NOTE the delegate may replace a cache (e.g. after a Region is recreated), so the decorator must follow it;
+      // decorating the cache and adding the eviction listener is atomic per cache name, so concurrent callers
+      // cannot both find the Region without a listener and each add one
+      return this.caches.compute(name, (cacheName, recordingCache) -> {
+
+        if (recordingCache == null || recordingCache.getDelegate() != cache) {
+          recordingCache = new StatisticsRecordingCache(cache, getCacheStatistics(cacheName));
+          listenForEvictions(cache.getNativeCache(), recordingCache.getStatistics());
+        }
+
+        return recordingCache;
+      });
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Collection<String> getCacheNames() {
+      return getDelegate().getCacheNames();
+    }
+
+    /* (non-Javadoc) */
+    @SuppressWarnings("unchecked")
+    private void listenForEvictions(Object nativeCache, CacheStatistics statistics) {
+
+      if (nativeCache instanceof Region) {
+
+        Region<Object, Object> region = (Region<Object, Object>) nativeCache;
+
+        boolean listening = Arrays.stream(region.getAttributes().getCacheListeners())
+          .anyMatch(listener -> listener instanceof EvictionStatisticsListener);
+
+        if (!listening) {
+          region.getAttributesMutator().addCacheListener(new EvictionStatisticsListener(statistics));
+        }
+      }
+    }
+  }
+
+  /**
+   * The {@link StatisticsRecordingCache} class is a {@link Cache} decorator recording hits, misses and removals
+   * in the {@link CacheStatistics} of the decorated {@link Cache}.
+   */
+  protected static class StatisticsRecordingCache implements Cache {
+
+    private final Cache delegate;
+
+    private final CacheStatistics statistics;
+
+    protected StatisticsRecordingCache(Cache delegate, CacheStatistics statistics) {
+      this.delegate = delegate;
+      this.statistics = statistics;
+    }
+
+    protected Cache getDelegate() {
+      return this.delegate;
+    }
+
+    protected CacheStatistics getStatistics() {
+      return this.statistics;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public String getName() {
+      return getDelegate().getName();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public Object getNativeCache() {
+      return getDelegate().getNativeCache();
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public ValueWrapper get(Object key) {
+      return record(getDelegate().get(key));
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+      return record(getDelegate().get(key, type));
+    }
+
+    // NOTE the value loader only runs on a cache miss; its load time is recorded by the cacheable service itself
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+      boolean[] miss = { false };
+
+      T value = getDelegate().get(key, () -> {
+        miss[0] = true;
+        return valueLoader.call();
+      });
+
+      if (miss[0]) {
+        this.statistics.recordMisses(1L);
+      }
+      else {
+        this.statistics.recordHits(1L);
+      }
+
+      return value;
+    }
+
+    /* (non-Javadoc) */
+    private <T> T record(T value) {
+
+      if (value != null) {
+        this.statistics.recordHits(1L);
+      }
+      else {
+        this.statistics.recordMisses(1L);
+      }
+
+      return value;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void put(Object key, Object value) {
+      getDelegate().put(key, value);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+      return getDelegate().putIfAbsent(key, value);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void evict(Object key) {
+      getDelegate().evict(key);
+      this.statistics.recordRemovals(1L);
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void clear() {
+
+      Object nativeCache = getNativeCache();
+
+      long size = (nativeCache instanceof Map ? ((Map<?, ?>) nativeCache).size() : 0L);
+
+      getDelegate().clear();
+      this.statistics.recordRemovals(size);
+    }
+  }
+
+  /**
+   * The {@link EvictionStatisticsListener} class is a Geode {@link CacheListener} recording the entries
+   * evicted or expired by a {@link Region} in the {@link CacheStatistics} of the {@link Cache} it backs.
+   */
+  protected static class EvictionStatisticsListener extends CacheListenerAdapter<Object, Object> {
+
+    private final CacheStatistics statistics;
+
+    protected EvictionStatisticsListener(CacheStatistics statistics) {
+      this.statistics = statistics;
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void afterDestroy(EntryEvent<Object, Object> event) {
+      record(event.getOperation());
+    }
+
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void afterInvalidate(EntryEvent<Object, Object> event) {
+      record(event.getOperation());
+    }
+
+    /* (non-Javadoc) */
+    private void record(Operation operation) {
+
+      if (operation.isEviction()) {
+        this.statistics.recordEvictions(1L);
+      }
+      else if (operation.isExpiration()) {
+        this.statistics.recordExpirations(1L);
+      }
+    }
+  }
+}
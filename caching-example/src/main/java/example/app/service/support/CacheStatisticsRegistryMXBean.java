@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.util.Map;
+
+/**
+ * The {@link CacheStatisticsRegistryMXBean} interface defines the JMX management interface
+ * of the {@link CacheStatisticsRegistry}.
+ *
+ * All maps are keyed by cache name and all load times are in milliseconds.
+ *
+ * @author John Blum
+ * @see example.app.service.support.CacheStatisticsRegistry
+ * @since 1.0.0
+ */
+public interface CacheStatisticsRegistryMXBean {
+
+  Map<String, Long> getHitCounts();
+
+  Map<String, Long> getMissCounts();
+
+  Map<String, Double> getHitRatios();
+
+  Map<String, Long> getLoadCounts();
+
+  Map<String, Double> getAverageLoadTimes();
+
+  Map<String, Long> getEvictionCounts();
+
+  Map<String, Long> getExpirationCounts();
+
+  Map<String, Long> getRemovalCounts();
+
+}
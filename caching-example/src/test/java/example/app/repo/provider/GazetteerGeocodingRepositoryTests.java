@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.provider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.geo.Point;
+
+import example.app.model.Address;
+import example.app.model.State;
+import example.app.repo.GeocodingException;
+
+/**
+ * Unit tests for {@link GazetteerGeocodingRepository}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.repo.provider.GazetteerGeocodingRepository
+ * @since 1.0.0
+ */
+public class GazetteerGeocodingRepositoryTests {
+
+  private static final String GAZETTEER = String.join("\n",
+    "# test gazetteer",
+    "Z,97201,Portland,OR,45.5079,-122.6903",
+    "Z,97204,Portland,Oregon,45.5186,-122.6742",
+    "",
+    "S,97201,SW 5th Ave,1400,1498,45.5130,-122.6800,45.5120,-122.6800",
+    "S,97204,SW 5th Ave,1100,1298,45.5160,-122.6780,45.5140,-122.6780",
+    "S,97204,SW Main St,500,598,45.5150,-122.6760,45.5150,-122.6740");
+
+  @Rule
+  public ExpectedException exception = ExpectedException.none();
+
+  private GazetteerGeocodingRepository geocodingRepository;
+
+  /* (non-Javadoc) */
+  private static ByteArrayResource toResource(String gazetteer) {
+    return new ByteArrayResource(gazetteer.getBytes(StandardCharsets.UTF_8), "test gazetteer");
+  }
+
+  @Before
+  public void setup() throws Exception {
+    geocodingRepository = GazetteerGeocodingRepository.load(toResource(GAZETTEER));
+  }
+
+  @Test
+  public void loadIndexesAllRecords() {
+    assertThat(geocodingRepository.getZipCodeCount()).isEqualTo(2);
+    assertThat(geocodingRepository.getStreetCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void loadRejectsStreetsOfUnknownZipCodes() throws Exception {
+
+    exception.expect(IllegalArgumentException.class);
+    exception.expectMessage("Street segments of ZIP code [97205] require a ZIP code record");
+
+    GazetteerGeocodingRepository.load(toResource("S,97205,SW Main St,1000,1098,45.5,-122.6,45.6,-122.6"));
+  }
+
+  @Test
+  public void geocodeInterpolatesHouseNumberAlongStreet() {
+
+    Point point = geocodingRepository.geocode(
+      Address.newAddress("1449 Southwest 5th Avenue", "Portland", State.OREGON, "97201"));
+
+    assertThat(point.getX()).isCloseTo(45.5125d, within(0.0001d));
+    assertThat(point.getY()).isCloseTo(-122.6800d, within(0.0001d));
+  }
+
+  @Test
+  public void geocodeFallsBackToZipCodeCentroid() {
+
+    Address address = Address.newAddress("1 Nowhere Rd.", "Portland", State.OREGON, "97204");
+
+    Point point = geocodingRepository.geocode(address);
+
+    assertThat(point.getX()).isCloseTo(45.5186d, within(0.0001d));
+    assertThat(point.getY()).isCloseTo(-122.6742d, within(0.0001d));
+
+    geocodingRepository.setZipCodeCentroidFallback(false);
+
+    exception.expect(GeocodingException.class);
+    exception.expectMessage("not found");
+
+    geocodingRepository.geocode(address);
+  }
+
+  @Test
+  public void reverseGeocodeFindsNearestStreet() {
+
+    Address address = geocodingRepository.reverseGeocode(new Point(45.5150d, -122.6745d));
+
+    assertThat(address.getStreet()).isEqualTo("574 SW Main St");
+    assertThat(address.getCity()).isEqualTo("Portland");
+    assertThat(address.getState()).isEqualTo(State.OREGON);
+    assertThat(address.getZipCode()).isEqualTo("97204");
+  }
+
+  @Test
+  public void reverseGeocodeRoundTripsGeocode() {
+
+    Address address = Address.newAddress("1211 SW 5th Ave", "Portland", State.OREGON, "97204");
+
+    assertThat(geocodingRepository.reverseGeocode(geocodingRepository.geocode(address))).isEqualTo(address);
+  }
+
+  @Test
+  public void reverseGeocodeFarFromAnyStreetThrowsGeocodingException() {
+
+    exception.expect(GeocodingException.class);
+    exception.expectMessage("not found");
+
+    geocodingRepository.reverseGeocode(new Point(40.7128d, -74.0060d));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.springframework.data.geo.Point;
+
+import example.app.model.Address;
+import example.app.model.State;
+
+/**
+ * Unit tests for {@link AddressKey}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.model.Address
+ * @see example.app.repo.support.AddressKey
+ * @since 1.0.0
+ */
+public class AddressKeyTests {
+
+  private static final Address ADDRESS =
+    Address.newAddress("15220 NW Greenbrier Pkwy", "Beaverton", State.OREGON, "97006");
+
+  @Test
+  public void logicallyIdenticalAddressesHaveEqualKeys() {
+
+    AddressKey addressKey = AddressKey.of(ADDRESS);
+
+    Address rewrittenAddress = Address.newAddress("  15220 Northwest GREENBRIER Parkway. ", "BEAVERTON ",
+      State.OREGON, "97006-1234");
+
+    rewrittenAddress.setLocation(new Point(45.5311d, -122.8296d));
+
+    assertThat(AddressKey.of(rewrittenAddress)).isEqualTo(addressKey);
+    assertThat(AddressKey.of(rewrittenAddress).hashCode()).isEqualTo(addressKey.hashCode());
+    assertThat(addressKey.toString()).isEqualTo("15220 nw greenbrier pkwy|beaverton|OR|97006");
+  }
+
+  @Test
+  public void differentAddressesHaveDifferentKeys() {
+
+    assertThat(AddressKey.of(Address.newAddress("15220 NW Greenbrier Pkwy", "Beaverton", State.WASHINGTON,
+      "97006"))).isNotEqualTo(AddressKey.of(ADDRESS));
+
+    assertThat(AddressKey.of(Address.newAddress("15220 SW Greenbrier Pkwy", "Beaverton", State.OREGON,
+      "97006"))).isNotEqualTo(AddressKey.of(ADDRESS));
+  }
+
+  @Test
+  public void normalizeStreetAbbreviatesSuffixesAndDirectionals() {
+    assertThat(AddressKey.normalizeStreet("1400 Southwest 5th Avenue")).isEqualTo("1400 sw 5th ave");
+    assertThat(AddressKey.normalizeStreet(null)).isEmpty();
+  }
+}
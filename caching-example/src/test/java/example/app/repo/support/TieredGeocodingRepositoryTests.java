@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.data.geo.Point;
+
+import example.app.model.Address;
+import example.app.model.State;
+import example.app.repo.GeocodingException;
+import example.app.repo.GeocodingRepository;
+
+/**
+ * Unit tests for {@link TieredGeocodingRepository}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.repo.support.TieredGeocodingRepository
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class TieredGeocodingRepositoryTests {
+
+  private static final Address ADDRESS = Address.newAddress("100 Main St.", "Portland", State.OREGON, "97205");
+
+  private static final Point POINT = new Point(45.5206d, -122.6885d);
+
+  @Mock
+  private GeocodingRepository mockLocalGeocodingRepository;
+
+  @Mock
+  private GeocodingRepository mockRemoteGeocodingRepository;
+
+  @Test
+  public void geocodeIsAnsweredByFirstTierThatFindsAddress() {
+
+    when(mockLocalGeocodingRepository.geocode(ADDRESS)).thenReturn(POINT);
+
+    assertThat(new TieredGeocodingRepository(mockLocalGeocodingRepository, mockRemoteGeocodingRepository)
+      .geocode(ADDRESS)).isEqualTo(POINT);
+
+    verify(mockRemoteGeocodingRepository, never()).geocode(ADDRESS);
+  }
+
+  @Test
+  public void geocodeFallsThroughToNextTier() {
+
+    when(mockLocalGeocodingRepository.geocode(ADDRESS)).thenThrow(new GeocodingException("not found"));
+    when(mockRemoteGeocodingRepository.geocode(ADDRESS)).thenReturn(POINT);
+
+    assertThat(new TieredGeocodingRepository(mockLocalGeocodingRepository, mockRemoteGeocodingRepository)
+      .geocode(ADDRESS)).isEqualTo(POINT);
+  }
+
+  @Test
+  public void reverseGeocodeSkipsTiersNotSupportingIt() {
+
+    when(mockLocalGeocodingRepository.reverseGeocode(POINT)).thenThrow(new UnsupportedOperationException());
+    when(mockRemoteGeocodingRepository.reverseGeocode(POINT)).thenReturn(ADDRESS);
+
+    assertThat(new TieredGeocodingRepository(mockLocalGeocodingRepository, mockRemoteGeocodingRepository)
+      .reverseGeocode(POINT)).isEqualTo(ADDRESS);
+  }
+
+  @Test(expected = GeocodingException.class)
+  public void geocodeRethrowsFailureOfLastTier() {
+
+    when(mockLocalGeocodingRepository.geocode(ADDRESS)).thenThrow(new GeocodingException("not found"));
+    when(mockRemoteGeocodingRepository.geocode(ADDRESS)).thenThrow(new GeocodingException("not found"));
+
+    new TieredGeocodingRepository(mockLocalGeocodingRepository, mockRemoteGeocodingRepository).geocode(ADDRESS);
+  }
+}
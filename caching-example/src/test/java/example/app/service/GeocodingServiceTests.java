@@ -0,0 +1,275 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.Region;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.geo.Point;
+
+import example.app.model.Address;
+import example.app.model.State;
+import example.app.repo.GeocodingException;
+import example.app.repo.GeocodingRepository;
+import example.app.repo.support.AddressKey;
+import example.app.service.support.CacheStatistics;
+
+/**
+ * Unit tests for the request coalescing and batch geocoding of the {@link GeocodingService} class.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.service.GeocodingService
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GeocodingServiceTests {
+
+  private static final Address ADDRESS_ONE = Address.newAddress("100 Main St.", "Portland", State.OREGON, "97205");
+  private static final Address ADDRESS_TWO = Address.newAddress("5050 Halfway Lane", "Portland", State.MAINE, "04101");
+  private static final Address ADDRESS_THREE = Address.newAddress("1 Elm St.", "Salem", State.OREGON, "97301");
+
+  private static final Point POINT_ONE = new Point(45.5152d, -122.6784d);
+  private static final Point POINT_TWO = new Point(43.6591d, -70.2568d);
+  private static final Point POINT_THREE = new Point(44.9429d, -123.0351d);
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+  @Mock
+  private GeocodingRepository mockGeocodingRepository;
+
+  private GeocodingService geocodingService;
+
+  @Before
+  public void setup() {
+    geocodingService = new GeocodingService(mockGeocodingRepository);
+  }
+
+  @After
+  public void tearDown() {
+    callers.shutdownNow();
+    geocodingService.destroy();
+  }
+
+  @Test
+  public void concurrentGeocodesOfSameAddressAreCoalesced() throws Exception {
+
+    CountDownLatch inFlight = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(mockGeocodingRepository.geocode(ADDRESS_ONE)).thenAnswer(invocation -> {
+      inFlight.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return POINT_ONE;
+    });
+
+    Future<Point> leader = callers.submit(() -> geocodingService.geocode(ADDRESS_ONE));
+
+    assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+    List<Future<Point>> followers = new ArrayList<>();
+
+    for (int count = 0; count < 4; count++) {
+      followers.add(callers.submit(() -> geocodingService.geocode(ADDRESS_ONE)));
+    }
+
+    release.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(POINT_ONE);
+
+    for (Future<Point> follower : followers) {
+      assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(POINT_ONE);
+    }
+
+    verify(mockGeocodingRepository, times(1)).geocode(ADDRESS_ONE);
+  }
+
+  @Test
+  public void geocodeIsCachedBeforeItStopsBeingInFlight() throws Exception {
+
+    CacheManager cacheManager = new ConcurrentMapCacheManager(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE);
+    Cache cache = cacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE);
+
+    geocodingService.setCacheManager(cacheManager);
+
+    when(mockGeocodingRepository.geocode(ADDRESS_ONE)).thenReturn(POINT_ONE);
+
+    CountDownLatch returned = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    // NOTE the leader emulates the @Cacheable proxy, which caches the result only after geocode returns
+    Future<Point> leader = callers.submit(() -> {
+      Point point = geocodingService.geocode(ADDRESS_ONE);
+      returned.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      cache.put(AddressKey.of(ADDRESS_ONE), point);
+      return point;
+    });
+
+    assertThat(returned.await(5, TimeUnit.SECONDS)).isTrue();
+
+    Future<Point> follower = callers.submit(() -> {
+      Point point = cache.get(AddressKey.of(ADDRESS_ONE), Point.class);
+      return (point != null ? point : geocodingService.geocode(ADDRESS_ONE));
+    });
+
+    assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(POINT_ONE);
+
+    release.countDown();
+
+    assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(POINT_ONE);
+
+    verify(mockGeocodingRepository, times(1)).geocode(ADDRESS_ONE);
+  }
+
+  @Test
+  public void geocodeAllGeocodesDistinctCacheMissesOnce() {
+
+    CacheManager cacheManager = new ConcurrentMapCacheManager(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE);
+
+    cacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE).put(AddressKey.of(ADDRESS_ONE), POINT_ONE);
+
+    geocodingService.setCacheManager(cacheManager);
+
+    when(mockGeocodingRepository.geocode(ADDRESS_TWO)).thenReturn(POINT_TWO);
+    when(mockGeocodingRepository.geocode(ADDRESS_THREE)).thenReturn(POINT_THREE);
+
+    Map<Address, Point> points =
+      geocodingService.geocodeAll(Arrays.asList(ADDRESS_THREE, ADDRESS_ONE, ADDRESS_TWO, ADDRESS_THREE));
+
+    assertThat(points.keySet()).containsExactly(ADDRESS_THREE, ADDRESS_ONE, ADDRESS_TWO);
+    assertThat(points.values()).containsExactly(POINT_THREE, POINT_ONE, POINT_TWO);
+    assertThat(geocodingService.isCacheMiss()).isTrue();
+    assertThat(cacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE)
+      .get(AddressKey.of(ADDRESS_THREE), Point.class)).isEqualTo(POINT_THREE);
+
+    verify(mockGeocodingRepository, never()).geocode(ADDRESS_ONE);
+    verify(mockGeocodingRepository, times(1)).geocode(ADDRESS_TWO);
+    verify(mockGeocodingRepository, times(1)).geocode(ADDRESS_THREE);
+  }
+
+  @Test
+  public void geocodeAllGeocodesLogicallyIdenticalAddressesOnce() {
+
+    Address addressOneRewritten = Address.newAddress("100 MAIN STREET", "portland", State.OREGON, "97205-1234");
+
+    when(mockGeocodingRepository.geocode(ADDRESS_ONE)).thenReturn(POINT_ONE);
+
+    Map<Address, Point> points = geocodingService.geocodeAll(Arrays.asList(ADDRESS_ONE, addressOneRewritten));
+
+    assertThat(points).containsEntry(ADDRESS_ONE, POINT_ONE).containsEntry(addressOneRewritten, POINT_ONE);
+
+    verify(mockGeocodingRepository, times(1)).geocode(any(Address.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void geocodeAllReadsAndWritesRegionInBulk() {
+
+    Cache mockCache = mock(Cache.class);
+    CacheManager mockCacheManager = mock(CacheManager.class);
+    Region<AddressKey, Point> mockRegion = mock(Region.class);
+
+    when(mockCacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE)).thenReturn(mockCache);
+    when(mockCache.getNativeCache()).thenReturn(mockRegion);
+    when(mockRegion.getAll(any())).thenReturn(Collections.singletonMap(AddressKey.of(ADDRESS_ONE), POINT_ONE));
+    when(mockGeocodingRepository.geocode(ADDRESS_TWO)).thenReturn(POINT_TWO);
+
+    geocodingService.setCacheManager(mockCacheManager);
+
+    assertThat(geocodingService.geocodeAll(Arrays.asList(ADDRESS_ONE, ADDRESS_TWO)))
+      .containsEntry(ADDRESS_ONE, POINT_ONE)
+      .containsEntry(ADDRESS_TWO, POINT_TWO);
+
+    verify(mockRegion, times(1)).getAll(any());
+    verify(mockRegion, times(1)).putAll(Collections.singletonMap(AddressKey.of(ADDRESS_TWO), POINT_TWO));
+    verify(mockCache, never()).put(any(), any());
+
+    CacheStatistics statistics = geocodingService.getCacheStatistics(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE);
+
+    assertThat(statistics.getHitCount()).isEqualTo(1L);
+    assertThat(statistics.getMissCount()).isEqualTo(1L);
+    assertThat(statistics.getLoadCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void cacheMissIsTrackedPerThread() throws Exception {
+
+    when(mockGeocodingRepository.geocode(ADDRESS_ONE)).thenReturn(POINT_ONE);
+
+    assertThat(callers.submit(() -> geocodingService.geocode(ADDRESS_ONE)).get(5, TimeUnit.SECONDS))
+      .isEqualTo(POINT_ONE);
+
+    assertThat(geocodingService.isCacheMiss()).isFalse();
+
+    geocodingService.geocode(ADDRESS_ONE);
+
+    assertThat(geocodingService.isCacheMiss()).isTrue();
+    assertThat(geocodingService.isCacheMiss()).isFalse();
+    assertThat(geocodingService.getCacheStatistics(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE).getLoadCount())
+      .isEqualTo(2L);
+  }
+
+  @Test(expected = GeocodingException.class)
+  public void geocodeAllCachesGeocodedAddressesBeforeFailing() {
+
+    CacheManager cacheManager = new ConcurrentMapCacheManager(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE);
+
+    geocodingService.setCacheManager(cacheManager);
+
+    when(mockGeocodingRepository.geocode(ADDRESS_ONE)).thenReturn(POINT_ONE);
+    when(mockGeocodingRepository.geocode(ADDRESS_TWO)).thenThrow(new GeocodingException("not found"));
+
+    try {
+      geocodingService.geocodeAll(Arrays.asList(ADDRESS_ONE, ADDRESS_TWO));
+    }
+    finally {
+      assertThat(cacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE)
+        .get(AddressKey.of(ADDRESS_ONE), Point.class)).isEqualTo(POINT_ONE);
+      assertThat(cacheManager.getCache(GeocodingService.ADDRESS_TO_LATITUDE_LONGITUDE)
+        .get(AddressKey.of(ADDRESS_TWO))).isNull();
+    }
+  }
+}
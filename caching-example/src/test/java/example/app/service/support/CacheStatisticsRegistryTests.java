@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.AttributesMutator;
+import org.apache.geode.cache.CacheListener;
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Unit tests for {@link CacheStatisticsRegistry}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.service.support.CacheStatistics
+ * @see example.app.service.support.CacheStatisticsRegistry
+ * @since 1.0.0
+ */
+public class CacheStatisticsRegistryTests {
+
+  private final CacheStatisticsRegistry registry = new CacheStatisticsRegistry();
+
+  @Test
+  public void decoratedCacheManagerRecordsHitsMissesAndRemovals() {
+
+    CacheManager cacheManager = registry.decorate(new ConcurrentMapCacheManager("Factorials", "Squares"));
+
+    Cache factorials = cacheManager.getCache("Factorials");
+
+    assertThat(factorials.get(5L)).isNull();
+
+    factorials.put(5L, 120L);
+
+    assertThat(factorials.get(5L).get()).isEqualTo(120L);
+    assertThat(factorials.get(5L, Long.class)).isEqualTo(120L);
+    assertThat(factorials.get(6L, () -> 720L)).isEqualTo(720L);
+    assertThat(cacheManager.getCache("Squares").get(2L)).isNull();
+
+    factorials.evict(5L);
+    factorials.clear();
+
+    CacheStatistics statistics = registry.getCacheStatistics("Factorials");
+
+    assertThat(statistics.getHitCount()).isEqualTo(2L);
+    assertThat(statistics.getMissCount()).isEqualTo(2L);
+    assertThat(statistics.getHitRatio()).isEqualTo(0.5d);
+    assertThat(statistics.getRemovalCount()).isEqualTo(2L);
+    assertThat(statistics.getEvictionCount()).isZero();
+    assertThat(registry.getHitCounts()).containsEntry("Factorials", 2L).containsEntry("Squares", 0L);
+    assertThat(registry.getMissCounts()).containsEntry("Squares", 1L);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void regionEvictionsAndExpirationsAreRecorded() {
+
+    Region<Object, Object> mockRegion = mock(Region.class);
+    RegionAttributes<Object, Object> mockRegionAttributes = mock(RegionAttributes.class);
+    AttributesMutator<Object, Object> mockAttributesMutator = mock(AttributesMutator.class);
+    Cache mockCache = mock(Cache.class);
+    CacheManager mockCacheManager = mock(CacheManager.class);
+
+    when(mockRegion.getAttributes()).thenReturn(mockRegionAttributes);
+    when(mockRegion.getAttributesMutator()).thenReturn(mockAttributesMutator);
+    when(mockRegionAttributes.getCacheListeners()).thenReturn(new CacheListener[0]);
+    when(mockCache.getNativeCache()).thenReturn(mockRegion);
+    when(mockCacheManager.getCache("Factorials")).thenReturn(mockCache);
+
+    registry.decorate(mockCacheManager).getCache("Factorials");
+
+    ArgumentCaptor<CacheListener<Object, Object>> listener = ArgumentCaptor.forClass(CacheListener.class);
+
+    verify(mockAttributesMutator, times(1)).addCacheListener(listener.capture());
+
+    listener.getValue().afterDestroy(newEntryEvent(Operation.EVICT_DESTROY));
+    listener.getValue().afterDestroy(newEntryEvent(Operation.EXPIRE_DESTROY));
+    listener.getValue().afterInvalidate(newEntryEvent(Operation.EXPIRE_INVALIDATE));
+    listener.getValue().afterDestroy(newEntryEvent(Operation.DESTROY));
+
+    CacheStatistics statistics = registry.getCacheStatistics("Factorials");
+
+    assertThat(statistics.getEvictionCount()).isEqualTo(1L);
+    assertThat(statistics.getExpirationCount()).isEqualTo(2L);
+    assertThat(statistics.getRemovalCount()).isZero();
+    assertThat(registry.getExpirationCounts()).containsEntry("Factorials", 2L);
+  }
+
+  @SuppressWarnings("unchecked")
+  private EntryEvent<Object, Object> newEntryEvent(Operation operation) {
+
+    EntryEvent<Object, Object> mockEntryEvent = mock(EntryEvent.class);
+
+    when(mockEntryEvent.getOperation()).thenReturn(operation);
+
+    return mockEntryEvent;
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void concurrentGetCacheAddsOneEvictionListener() throws Exception {
+
+    Region<Object, Object> mockRegion = mock(Region.class);
+    RegionAttributes<Object, Object> mockRegionAttributes = mock(RegionAttributes.class);
+    AttributesMutator<Object, Object> mockAttributesMutator = mock(AttributesMutator.class);
+    Cache mockCache = mock(Cache.class);
+    CacheManager mockCacheManager = mock(CacheManager.class);
+
+    when(mockRegion.getAttributes()).thenReturn(mockRegionAttributes);
+    when(mockRegion.getAttributesMutator()).thenReturn(mockAttributesMutator);
+    when(mockRegionAttributes.getCacheListeners()).thenReturn(new CacheListener[0]);
+    when(mockCache.getNativeCache()).thenReturn(mockRegion);
+    when(mockCacheManager.getCache("Factorials")).thenReturn(mockCache);
+
+    CacheManager cacheManager = registry.decorate(mockCacheManager);
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      Future<?>[] futures = new Future<?>[8];
+
+      for (int index = 0; index < futures.length; index++) {
+        futures[index] = executor.submit(() -> {
+          for (int count = 0; count < 1000; count++) {
+            cacheManager.getCache("Factorials");
+          }
+        });
+      }
+
+      for (Future<?> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+
+      verify(mockAttributesMutator, times(1)).addCacheListener(any(CacheListener.class));
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void decorateIsIdempotent() {
+
+    CacheManager cacheManager = registry.decorate(new ConcurrentMapCacheManager("Factorials"));
+
+    assertThat(registry.decorate(cacheManager)).isSameAs(cacheManager);
+    assertThat(cacheManager.getCache("Factorials")).isSameAs(cacheManager.getCache("Factorials"));
+  }
+
+  @Test
+  public void recordsLoadsAndLoadTime() {
+
+    CacheStatistics statistics = registry.getCacheStatistics("Factorials");
+
+    statistics.recordLoad(TimeUnit.MILLISECONDS.toNanos(10L), true);
+    statistics.recordLoad(TimeUnit.MILLISECONDS.toNanos(30L), false);
+
+    assertThat(statistics.getLoadCount()).isEqualTo(2L);
+    assertThat(statistics.getLoadFailureCount()).isEqualTo(1L);
+    assertThat(statistics.getTotalLoadTime(TimeUnit.MILLISECONDS)).isEqualTo(40L);
+    assertThat(statistics.getAverageLoadTime(TimeUnit.MILLISECONDS)).isEqualTo(20.0d);
+    assertThat(registry.getAverageLoadTimes()).containsEntry("Factorials", 20.0d);
+  }
+
+  @Test
+  public void concurrentRecordingIsNotLost() throws Exception {
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    try {
+      Future<?>[] futures = new Future<?>[8];
+
+      for (int index = 0; index < futures.length; index++) {
+        futures[index] = executor.submit(() -> {
+          for (int count = 0; count < 10000; count++) {
+            registry.getCacheStatistics("Factorials").recordHits(1L);
+          }
+        });
+      }
+
+      for (Future<?> future : futures) {
+        future.get(5, TimeUnit.SECONDS);
+      }
+
+      assertThat(registry.getCacheStatistics("Factorials").getHitCount()).isEqualTo(80000L);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
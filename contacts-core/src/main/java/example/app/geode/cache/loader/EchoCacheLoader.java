@@ -17,7 +17,6 @@
 package example.app.geode.cache.loader;
 
 import org.apache.geode.cache.CacheLoaderException;
-import org.apache.geode.cache.LoaderHelper;
 
 import example.app.geode.cache.loader.support.CacheLoaderSupport;
 
@@ -39,7 +38,7 @@ public class EchoCacheLoader extends CacheLoaderSupport<Object, Object> {
 	}
 
 	@Override
-	public Object load(LoaderHelper<Object, Object> helper) throws CacheLoaderException {
-		return helper.getKey();
+	protected Object doLoad(Object key) throws CacheLoaderException {
+		return key;
 	}
 }
@@ -17,7 +17,6 @@
 package example.app.geode.cache.loader;
 
 import org.apache.geode.cache.CacheLoaderException;
-import org.apache.geode.cache.LoaderHelper;
 import org.springframework.util.Assert;
 
 import example.app.geode.cache.loader.support.CacheLoaderSupport;
@@ -44,9 +43,7 @@ public class FactorialsCacheLoader extends CacheLoaderSupport<Long, Long> {
   }
 
   @Override
-  public Long load(LoaderHelper<Long, Long> helper) throws CacheLoaderException {
-    Long key = helper.getKey();
-
+  protected Long doLoad(Long key) throws CacheLoaderException {
     Assert.isTrue(key >= 0L, String.format("Number [%d] must be greater than equal to 0", key));
 
     if (key <= 2L) {
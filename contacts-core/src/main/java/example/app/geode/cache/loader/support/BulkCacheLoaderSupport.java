@@ -0,0 +1,285 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.cache.loader.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.geode.cache.CacheLoaderException;
+import org.apache.geode.cache.Region;
+import org.springframework.util.Assert;
+
+/**
+ * The BulkCacheLoaderSupport class is an extension of {@link CacheLoaderSupport} for data sources that can load
+ * many values in a single round trip (e.g. a SQL {@literal IN} query, or a batch Geocoding request).
+ *
+ * Apache Geode invokes a {@link org.apache.geode.cache.CacheLoader} one key at a time, therefore bulk misses
+ * should be satisfied by calling {@link #loadAllAsync(Region, Collection)}, which partitions the keys missing
+ * from the {@link Region} into batches, loads the batches in parallel and applies each result to the
+ * {@link Region} with {@link Region#putAll(Map)}.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.Region
+ * @see example.app.geode.cache.loader.support.CacheLoaderSupport
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public abstract class BulkCacheLoaderSupport<K, V> extends CacheLoaderSupport<K, V> {
+
+  public static final int DEFAULT_BATCH_SIZE = 500;
+  public static final int DEFAULT_CONCURRENCY = 4;
+
+  public static final String BATCH_SIZE_PROPERTY = "batch-size";
+  public static final String CONCURRENCY_PROPERTY = "concurrency";
+
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  private volatile int concurrency = DEFAULT_CONCURRENCY;
+
+  private volatile ExecutorService executor;
+
+  private boolean defaultExecutor = false;
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void init(Properties configuration) {
+
+    super.init(configuration);
+
+    if (configuration != null) {
+      setBatchSize(Integer.parseInt(configuration.getProperty(BATCH_SIZE_PROPERTY,
+        String.valueOf(getBatchSize())).trim()));
+
+      setConcurrency(Integer.parseInt(configuration.getProperty(CONCURRENCY_PROPERTY,
+        String.valueOf(getConcurrency())).trim()));
+    }
+  }
+
+  /**
+   * Sets the maximum number of keys passed to a single invocation of {@link #loadAll(Collection)}.
+   *
+   * @param batchSize maximum number of keys loaded in a single batch.
+   * @throws IllegalArgumentException if {@code batchSize} is less than 1.
+   */
+  public void setBatchSize(int batchSize) {
+    Assert.isTrue(batchSize > 0, String.format("Batch size [%d] must be greater than 0", batchSize));
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Returns the maximum number of keys passed to a single invocation of {@link #loadAll(Collection)}.
+   *
+   * @return the maximum number of keys loaded in a single batch.
+   */
+  public int getBatchSize() {
+    return this.batchSize;
+  }
+
+  /**
+   * Sets the number of batches loaded in parallel by the default {@link ExecutorService}.
+   *
+   * @param concurrency number of batches loaded in parallel.
+   * @throws IllegalArgumentException if {@code concurrency} is less than 1.
+   */
+  public void setConcurrency(int concurrency) {
+    Assert.isTrue(concurrency > 0, String.format("Concurrency [%d] must be greater than 0", concurrency));
+    this.concurrency = concurrency;
+  }
+
+  /**
+   * Returns the number of batches loaded in parallel by the default {@link ExecutorService}.
+   *
+   * @return the number of batches loaded in parallel.
+   */
+  public int getConcurrency() {
+    return this.concurrency;
+  }
+
+  /**
+   * Sets the {@link ExecutorService} used to load batches asynchronously. A configured {@link ExecutorService}
+   * is not shutdown when this {@link org.apache.geode.cache.CacheLoader} is closed.
+   *
+   * @param executor {@link ExecutorService} used to load batches asynchronously.
+   * @see java.util.concurrent.ExecutorService
+   */
+  public synchronized void setExecutor(ExecutorService executor) {
+    this.executor = executor;
+    this.defaultExecutor = false;
+  }
+
+  /**
+   * Returns the {@link ExecutorService} used to load batches asynchronously, lazily creating a fixed Thread pool
+   * sized to {@link #getConcurrency()} if an {@link ExecutorService} was not configured.
+   *
+   * @return the {@link ExecutorService} used to load batches asynchronously.
+   * @see java.util.concurrent.ExecutorService
+   */
+  protected synchronized ExecutorService getExecutor() {
+
+    if (this.executor == null) {
+
+      AtomicInteger threadCount = new AtomicInteger(0);
+
+      this.executor = Executors.newFixedThreadPool(getConcurrency(), runnable -> {
+        Thread bulkLoadThread = new Thread(runnable, String.format("%1$s-BulkLoad-%2$d",
+          getClass().getSimpleName(), threadCount.incrementAndGet()));
+        bulkLoadThread.setDaemon(true);
+        return bulkLoadThread;
+      });
+
+      this.defaultExecutor = true;
+    }
+
+    return this.executor;
+  }
+
+  /**
+   * Loads the value for a single key by delegating to {@link #loadAll(Collection)}.
+   *
+   * @param key key of the value to load.
+   * @return the value for the given key.
+   * @throws CacheLoaderException if the value for the key could not be loaded.
+   */
+  @Override
+  protected V doLoad(K key) throws CacheLoaderException {
+    return loadAll(Collections.singletonList(key)).get(key);
+  }
+
+  /**
+   * Loads the values for all of the given keys in as few round trips to the underlying data source as possible.
+   * Keys without a value are omitted from the returned {@link Map}.
+   *
+   * @param keys {@link Collection} of keys to load.
+   * @return a {@link Map} of the keys to the loaded values.
+   * @throws CacheLoaderException if the values could not be loaded.
+   */
+  public abstract Map<K, V> loadAll(Collection<K> keys) throws CacheLoaderException;
+
+  /**
+   * Loads all of the given keys that are missing from the {@link Region} in batches, in parallel, putting each
+   * batch of loaded values into the {@link Region} with {@link Region#putAll(Map)}.
+   *
+   * @param region {@link Region} to load.
+   * @param keys {@link Collection} of keys to load.
+   * @return a {@link CompletableFuture} completed with a {@link Map} of all the values loaded when every
+   * batch has been applied to the {@link Region}.
+   * @see #loadAll(Collection)
+   */
+  public CompletableFuture<Map<K, V>> loadAllAsync(Region<K, V> region, Collection<K> keys) {
+
+    Assert.notNull(region, "Region must not be null");
+
+    List<CompletableFuture<Map<K, V>>> batchLoads = new ArrayList<>();
+
+    for (List<K> batch : partition(findMissingKeys(region, keys), getBatchSize())) {
+      batchLoads.add(CompletableFuture.supplyAsync(() -> loadBatch(region, batch), getExecutor()));
+    }
+
+    return CompletableFuture.allOf(batchLoads.toArray(new CompletableFuture[batchLoads.size()]))
+      .thenApply(ignore -> {
+
+        Map<K, V> loadedValues = new HashMap<>();
+
+        for (CompletableFuture<Map<K, V>> batchLoad : batchLoads) {
+          loadedValues.putAll(batchLoad.join());
+        }
+
+        return loadedValues;
+      });
+  }
+
+  /* (non-Javadoc) */
+  protected Collection<K> findMissingKeys(Region<K, V> region, Collection<K> keys) {
+
+    Collection<K> missingKeys = new LinkedHashSet<>();
+
+    for (K key : keys) {
+      if (!region.containsKey(key)) {
+        missingKeys.add(key);
+      }
+    }
+
+    return missingKeys;
+  }
+
+  /* (non-Javadoc) */
+  protected Map<K, V> loadBatch(Region<K, V> region, Collection<K> batch) {
+
+    Map<K, V> loadedValues = loadAll(batch);
+
+    if (!loadedValues.isEmpty()) {
+      region.putAll(loadedValues);
+    }
+
+    logger.debug("Loaded [{}] of [{}] keys into Region [{}]", loadedValues.size(), batch.size(),
+      region.getFullPath());
+
+    return loadedValues;
+  }
+
+  /* (non-Javadoc) */
+  static <T> List<List<T>> partition(Collection<T> elements, int batchSize) {
+
+    List<List<T>> batches = new ArrayList<>((elements.size() + batchSize - 1) / batchSize);
+
+    List<T> batch = new ArrayList<>(Math.min(elements.size(), batchSize));
+
+    for (T element : elements) {
+
+      batch.add(element);
+
+      if (batch.size() == batchSize) {
+        batches.add(batch);
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      batches.add(batch);
+    }
+
+    return batches;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void close() {
+
+    super.close();
+
+    synchronized (this) {
+      if (this.defaultExecutor) {
+        this.executor.shutdown();
+        this.executor = null;
+        this.defaultExecutor = false;
+      }
+    }
+  }
+}
@@ -16,8 +16,26 @@
 
 package example.app.geode.cache.loader.support;
 
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.apache.geode.cache.AttributesMutator;
 import org.apache.geode.cache.CacheLoader;
+import org.apache.geode.cache.CacheLoaderException;
+import org.apache.geode.cache.CacheStatistics;
+import org.apache.geode.cache.LoaderHelper;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.StatisticsDisabledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import example.app.geode.cache.support.DeclarableSupport;
 
@@ -25,6 +43,12 @@ import example.app.geode.cache.support.DeclarableSupport;
  * The CacheLoaderSupport class is a default implementation of the GemFire/Geode {@link CacheLoader} callback interface
  * that gets called when a cache miss for a particular key occurs.
  *
+ * Concurrent cache misses for the same key are coalesced (single-flight) so that only one Thread performs
+ * the (potentially expensive) load while the other Threads wait on and share the result. Optionally, keys
+ * that failed to load can be negatively cached for a period of time, and loaded entries can be refreshed
+ * ahead of expiration, asynchronously. The number of entries with a refresh scheduled is bounded
+ * by {@link #getRefreshAheadMaximumEntries()}.
+ *
  * @author John Blum
  * @see org.apache.geode.cache.CacheLoader
  * @see example.app.geode.cache.support.DeclarableSupport
@@ -33,11 +57,543 @@ import example.app.geode.cache.support.DeclarableSupport;
 @SuppressWarnings("unused")
 public abstract class CacheLoaderSupport<K, V> extends DeclarableSupport implements CacheLoader<K, V> {
 
+  public static final int DEFAULT_NEGATIVE_CACHE_MAXIMUM_ENTRIES = 10000;
+  public static final int DEFAULT_REFRESH_AHEAD_MAXIMUM_ENTRIES = 10000;
+
+  public static final String NEGATIVE_CACHE_MAXIMUM_ENTRIES_PROPERTY = "negative-cache-maximum-entries";
+  public static final String NEGATIVE_CACHE_TIMEOUT_PROPERTY = "negative-cache-timeout";
+  public static final String REFRESH_AHEAD_INTERVAL_PROPERTY = "refresh-ahead-interval";
+  public static final String REFRESH_AHEAD_MAXIMUM_ENTRIES_PROPERTY = "refresh-ahead-maximum-entries";
+  public static final String SINGLE_FLIGHT_ENABLED_PROPERTY = "single-flight-enabled";
+
+  protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final AtomicLong coalescedLoadCount = new AtomicLong(0L);
+  private final AtomicLong failedLoadCount = new AtomicLong(0L);
+  private final AtomicLong loadCount = new AtomicLong(0L);
+  private final AtomicLong negativeCacheHitCount = new AtomicLong(0L);
+  private final AtomicLong refreshCount = new AtomicLong(0L);
+  private final AtomicLong skippedRefreshCount = new AtomicLong(0L);
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlightLoads = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<K, Long> failedLoads = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<K, RefreshTask> refreshTasks = new ConcurrentHashMap<>();
+
+  private volatile boolean closed;
+  private volatile boolean singleFlightEnabled = true;
+
+  private volatile int negativeCacheMaximumEntries = DEFAULT_NEGATIVE_CACHE_MAXIMUM_ENTRIES;
+  private volatile int refreshAheadMaximumEntries = DEFAULT_REFRESH_AHEAD_MAXIMUM_ENTRIES;
+
+  private volatile long negativeCacheTimeout = 0L;
+  private volatile long refreshAheadInterval = 0L;
+
+  private volatile ScheduledExecutorService refreshAheadExecutor;
+
+  /**
+   * Initializes this {@link CacheLoader} from the given {@link Properties} declared in cache.xml.
+   *
+   * @param configuration {@link Properties} used to configure this {@link CacheLoader}.
+   * @see #NEGATIVE_CACHE_MAXIMUM_ENTRIES_PROPERTY
+   * @see #NEGATIVE_CACHE_TIMEOUT_PROPERTY
+   * @see #REFRESH_AHEAD_INTERVAL_PROPERTY
+   * @see #REFRESH_AHEAD_MAXIMUM_ENTRIES_PROPERTY
+   * @see #SINGLE_FLIGHT_ENABLED_PROPERTY
+   */
+  @Override
+  public void init(Properties configuration) {
+
+    super.init(configuration);
+
+    this.closed = false;
+
+    if (configuration != null) {
+      setSingleFlightEnabled(Boolean.parseBoolean(configuration.getProperty(SINGLE_FLIGHT_ENABLED_PROPERTY,
+        String.valueOf(isSingleFlightEnabled()))));
+
+      setNegativeCacheTimeout(Long.parseLong(configuration.getProperty(NEGATIVE_CACHE_TIMEOUT_PROPERTY,
+        String.valueOf(getNegativeCacheTimeout())).trim()));
+
+      setNegativeCacheMaximumEntries(Integer.parseInt(configuration.getProperty(
+        NEGATIVE_CACHE_MAXIMUM_ENTRIES_PROPERTY, String.valueOf(getNegativeCacheMaximumEntries())).trim()));
+
+      setRefreshAheadInterval(Long.parseLong(configuration.getProperty(REFRESH_AHEAD_INTERVAL_PROPERTY,
+        String.valueOf(getRefreshAheadInterval())).trim()));
+
+      setRefreshAheadMaximumEntries(Integer.parseInt(configuration.getProperty(
+        REFRESH_AHEAD_MAXIMUM_ENTRIES_PROPERTY, String.valueOf(getRefreshAheadMaximumEntries())).trim()));
+    }
+  }
+
+  /**
+   * Sets the number of milliseconds that a key which failed to load will be negatively cached, during which time
+   * subsequent loads for the key fail fast without invoking {@link #doLoad(Object)}.
+   *
+   * @param negativeCacheTimeout number of milliseconds to negatively cache a failed key; {@literal 0} disables
+   * negative caching.
+   */
+  public void setNegativeCacheTimeout(long negativeCacheTimeout) {
+    this.negativeCacheTimeout = Math.max(negativeCacheTimeout, 0L);
+  }
+
+  /**
+   * Returns the number of milliseconds that a key which failed to load will be negatively cached.
+   *
+   * @return the number of milliseconds that a key which failed to load will be negatively cached.
+   */
+  public long getNegativeCacheTimeout() {
+    return this.negativeCacheTimeout;
+  }
+
+  /**
+   * Sets the maximum number of keys negatively cached at any time.  Once reached, expired keys are swept and,
+   * if the bound is still reached, further failed keys are not negatively cached, which bounds the memory used
+   * regardless of how many distinct keys fail to load.
+   *
+   * @param negativeCacheMaximumEntries maximum number of keys negatively cached.
+   */
+  public void setNegativeCacheMaximumEntries(int negativeCacheMaximumEntries) {
+    this.negativeCacheMaximumEntries = Math.max(negativeCacheMaximumEntries, 0);
+  }
+
+  /**
+   * Returns the maximum number of keys negatively cached at any time.
+   *
+   * @return the maximum number of keys negatively cached at any time.
+   */
+  public int getNegativeCacheMaximumEntries() {
+    return this.negativeCacheMaximumEntries;
+  }
+
+  /**
+   * Returns the number of keys currently negatively cached, including expired keys not yet removed.
+   *
+   * @return the number of keys currently negatively cached.
+   */
+  public int getNegativelyCachedKeyCount() {
+    return this.failedLoads.size();
+  }
+
+  /**
+   * Sets the interval, in milliseconds, after which a loaded entry will be reloaded asynchronously. The interval
+   * should be configured slightly less than the Region's entry expiration timeout.
+   *
+   * @param refreshAheadInterval number of milliseconds after a load when the entry is refreshed;
+   * {@literal 0} disables refresh-ahead.
+   */
+  public void setRefreshAheadInterval(long refreshAheadInterval) {
+    this.refreshAheadInterval = Math.max(refreshAheadInterval, 0L);
+  }
+
+  /**
+   * Returns the interval, in milliseconds, after which a loaded entry will be reloaded asynchronously.
+   *
+   * @return the interval, in milliseconds, after which a loaded entry will be reloaded asynchronously.
+   */
+  public long getRefreshAheadInterval() {
+    return this.refreshAheadInterval;
+  }
+
+  /**
+   * Sets the maximum number of entries with a refresh scheduled at any time.  Once reached, newly loaded entries
+   * are not refreshed ahead and simply expire, which bounds the memory used to track refreshes regardless of
+   * the size of the key space.
+   *
+   * @param refreshAheadMaximumEntries maximum number of entries with a refresh scheduled.
+   */
+  public void setRefreshAheadMaximumEntries(int refreshAheadMaximumEntries) {
+    this.refreshAheadMaximumEntries = Math.max(refreshAheadMaximumEntries, 0);
+  }
+
+  /**
+   * Returns the maximum number of entries with a refresh scheduled at any time.
+   *
+   * @return the maximum number of entries with a refresh scheduled at any time.
+   */
+  public int getRefreshAheadMaximumEntries() {
+    return this.refreshAheadMaximumEntries;
+  }
+
+  /**
+   * Enables or disables the coalescing of concurrent loads for the same key.
+   *
+   * @param singleFlightEnabled boolean value indicating whether concurrent loads for the same key are coalesced.
+   */
+  public void setSingleFlightEnabled(boolean singleFlightEnabled) {
+    this.singleFlightEnabled = singleFlightEnabled;
+  }
+
+  /**
+   * Determines whether concurrent loads for the same key are coalesced.
+   *
+   * @return a boolean value indicating whether concurrent loads for the same key are coalesced.
+   */
+  public boolean isSingleFlightEnabled() {
+    return this.singleFlightEnabled;
+  }
+
+  /**
+   * Returns the number of loads that joined a load already in-flight for the same key rather than
+   * loading the value themselves.
+   *
+   * @return the number of coalesced loads.
+   */
+  public long getCoalescedLoadCount() {
+    return this.coalescedLoadCount.get();
+  }
+
+  /**
+   * Returns the number of invocations of {@link #doLoad(Object)} that failed.
+   *
+   * @return the number of failed loads.
+   */
+  public long getFailedLoadCount() {
+    return this.failedLoadCount.get();
+  }
+
+  /**
+   * Returns the number of loads currently in-flight.
+   *
+   * @return the number of loads currently in-flight.
+   */
+  public int getInFlightLoadCount() {
+    return this.inFlightLoads.size();
+  }
+
+  /**
+   * Returns the number of times {@link #doLoad(Object)} was actually invoked.
+   *
+   * @return the number of times {@link #doLoad(Object)} was actually invoked.
+   */
+  public long getLoadCount() {
+    return this.loadCount.get();
+  }
+
+  /**
+   * Returns the number of loads that failed fast because the key was negatively cached.
+   *
+   * @return the number of negative cache hits.
+   */
+  public long getNegativeCacheHitCount() {
+    return this.negativeCacheHitCount.get();
+  }
+
+  /**
+   * Returns the number of entries refreshed ahead of expiration.
+   *
+   * @return the number of entries refreshed ahead of expiration.
+   */
+  public long getRefreshCount() {
+    return this.refreshCount.get();
+  }
+
+  /**
+   * Returns the number of entries currently scheduled to be refreshed ahead of expiration.
+   *
+   * @return the number of scheduled refreshes.
+   */
+  public int getScheduledRefreshCount() {
+    return this.refreshTasks.size();
+  }
+
+  /**
+   * Returns the number of loaded entries not scheduled for refresh because
+   * {@link #getRefreshAheadMaximumEntries()} refreshes were already scheduled.
+   *
+   * @return the number of skipped refreshes.
+   */
+  public long getSkippedRefreshCount() {
+    return this.skippedRefreshCount.get();
+  }
+
+  /**
+   * Loads the value for the key identified by the given {@link LoaderHelper}, coalescing concurrent loads
+   * for the same key when single-flight is enabled.
+   *
+   * @param helper {@link LoaderHelper} containing the key and {@link Region} of the cache miss.
+   * @return the loaded value for the key.
+   * @throws CacheLoaderException if the load failed or the key is negatively cached.
+   * @see #doLoad(Object)
+   */
+  @Override
+  public V load(LoaderHelper<K, V> helper) throws CacheLoaderException {
+
+    K key = helper.getKey();
+
+    V value = loadValue(key);
+
+    scheduleRefreshAhead(helper.getRegion(), key);
+
+    return value;
+  }
+
+  /* (non-Javadoc) */
+  protected V loadValue(K key) {
+
+    assertNotNegativelyCached(key);
+
+    return (isSingleFlightEnabled() ? loadSingleFlight(key) : loadAndRecord(key));
+  }
+
+  /**
+   * Loads the value for the given key; called on a cache miss, or when an entry is refreshed ahead of expiration.
+   *
+   * @param key key of the value to load.
+   * @return the value for the given key.
+   * @throws CacheLoaderException if the value for the key could not be loaded.
+   */
+  protected abstract V doLoad(K key) throws CacheLoaderException;
+
+  /* (non-Javadoc) */
+  private void assertNotNegativelyCached(K key) {
+
+    if (getNegativeCacheTimeout() > 0L) {
+
+      Long expiresAt = this.failedLoads.get(key);
+
+      if (expiresAt != null) {
+        if (System.currentTimeMillis() < expiresAt) {
+          this.negativeCacheHitCount.incrementAndGet();
+          throw new CacheLoaderException(String.format("Load for key [%s] failed recently", key));
+        }
+
+        this.failedLoads.remove(key, expiresAt);
+      }
+    }
+  }
+
+  /* (non-Javadoc) */
+  private V loadSingleFlight(K key) {
+
+    CompletableFuture<V> load = new CompletableFuture<>();
+    CompletableFuture<V> inFlightLoad = this.inFlightLoads.putIfAbsent(key, load);
+
+    if (inFlightLoad != null) {
+      this.coalescedLoadCount.incrementAndGet();
+      return await(inFlightLoad);
+    }
+
+    try {
+      V value = loadAndRecord(key);
+      load.complete(value);
+      return value;
+    }
+    catch (RuntimeException | Error cause) {
+      load.completeExceptionally(cause);
+      throw cause;
+    }
+    finally {
+      this.inFlightLoads.remove(key, load);
+    }
+  }
+
+  /* (non-Javadoc) */
+  private V await(CompletableFuture<V> inFlightLoad) {
+
+    try {
+      return inFlightLoad.join();
+    }
+    catch (CompletionException cause) {
+      throw (cause.getCause() instanceof RuntimeException ? (RuntimeException) cause.getCause()
+        : new CacheLoaderException(cause.getCause()));
+    }
+  }
+
+  /* (non-Javadoc) */
+  private V loadAndRecord(K key) {
+
+    try {
+      this.loadCount.incrementAndGet();
+      return doLoad(key);
+    }
+    catch (RuntimeException cause) {
+
+      this.failedLoadCount.incrementAndGet();
+
+      long negativeCacheTimeout = getNegativeCacheTimeout();
+
+      if (negativeCacheTimeout > 0L) {
+        negativelyCache(key, negativeCacheTimeout);
+      }
+
+      throw cause;
+    }
+  }
+
+  // NOTE expired keys are otherwise only removed when requested again, so they are swept once the bound is reached;
+  // the size check is approximate under concurrency, but keeps the map within a few entries of the bound
+  /* (non-Javadoc) */
+  private void negativelyCache(K key, long negativeCacheTimeout) {
+
+    long now = System.currentTimeMillis();
+
+    if (!this.failedLoads.containsKey(key) && this.failedLoads.size() >= getNegativeCacheMaximumEntries()) {
+
+      this.failedLoads.values().removeIf(expiresAt -> expiresAt <= now);
+
+      if (this.failedLoads.size() >= getNegativeCacheMaximumEntries()) {
+        return;
+      }
+    }
+
+    this.failedLoads.put(key, now + negativeCacheTimeout);
+  }
+
+  /* (non-Javadoc) */
+  protected void scheduleRefreshAhead(Region<K, V> region, K key) {
+
+    long refreshAheadInterval = getRefreshAheadInterval();
+
+    if (refreshAheadInterval > 0L && region != null && !this.closed) {
+
+      // NOTE the size check is approximate under concurrency, but keeps the map within a few entries of the bound
+      if (!this.refreshTasks.containsKey(key) && this.refreshTasks.size() >= getRefreshAheadMaximumEntries()) {
+        this.skippedRefreshCount.incrementAndGet();
+        return;
+      }
+
+      RefreshTask refreshTask = new RefreshTask(region, key);
+
+      RefreshTask previousRefreshTask = this.refreshTasks.put(key, refreshTask);
+
+      if (previousRefreshTask != null) {
+        previousRefreshTask.cancel();
+      }
+
+      ScheduledExecutorService refreshAheadExecutor = resolveRefreshAheadExecutor();
+
+      if (refreshAheadExecutor != null) {
+        refreshTask.schedule(refreshAheadExecutor, refreshAheadInterval);
+      }
+      else {
+        this.refreshTasks.remove(key, refreshTask);
+      }
+    }
+  }
+
+  // NOTE returns null once closed so that a refresh completing concurrently with close does not restart the executor
+  /* (non-Javadoc) */
+  private synchronized ScheduledExecutorService resolveRefreshAheadExecutor() {
+
+    if (this.refreshAheadExecutor == null && !this.closed) {
+      this.refreshAheadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread refreshAheadThread = new Thread(runnable, getClass().getSimpleName().concat("-RefreshAhead"));
+        refreshAheadThread.setDaemon(true);
+        return refreshAheadThread;
+      });
+    }
+
+    return this.refreshAheadExecutor;
+  }
+
+  /* (non-Javadoc) */
+  protected void refresh(Region<K, V> region, K key) {
+
+    try {
+      if (isRefreshable(region, key)) {
+        region.put(key, loadValue(key));
+        this.refreshCount.incrementAndGet();
+        scheduleRefreshAhead(region, key);
+      }
+    }
+    catch (RuntimeException cause) {
+      logger.warn(String.format("Failed to refresh key [%s] in Region [%s]", key, region.getFullPath()), cause);
+    }
+  }
+
+  /**
+   * Determines whether the entry for the given key should be refreshed. An entry is refreshed only if it is still
+   * present in the {@link Region} and, when statistics are enabled, it has been read since it was last written;
+   * idle entries are left to expire.
+   *
+   * @param region {@link Region} containing the entry.
+   * @param key key of the entry to evaluate.
+   * @return a boolean value indicating whether the entry should be refreshed.
+   */
+  protected boolean isRefreshable(Region<K, V> region, K key) {
+
+    Region.Entry<K, V> entry = (region.isDestroyed() ? null : region.getEntry(key));
+
+    if (entry == null) {
+      return false;
+    }
+
+    try {
+      CacheStatistics statistics = entry.getStatistics();
+      return (statistics.getLastAccessedTime() > statistics.getLastModifiedTime());
+    }
+    catch (StatisticsDisabledException ignore) {
+      return true;
+    }
+  }
+
   /**
    * Called when the Region containing this callback is closed or destroyed, when the cache is closed,
    * or when a callback is removed from a Region using an {@link AttributesMutator}.
    */
   @Override
   public void close() {
+
+    this.closed = true;
+
+    synchronized (this) {
+      if (this.refreshAheadExecutor != null) {
+        this.refreshAheadExecutor.shutdownNow();
+        this.refreshAheadExecutor = null;
+      }
+    }
+
+    this.refreshTasks.values().forEach(RefreshTask::cancel);
+    this.refreshTasks.clear();
+    this.failedLoads.clear();
+  }
+
+  /**
+   * The {@link RefreshTask} class refreshes a single entry ahead of expiration.  When it runs, it only removes
+   * itself from the scheduled refreshes, never a refresh of the same key scheduled after it.
+   */
+  private final class RefreshTask implements Runnable {
+
+    private final K key;
+
+    private final Region<K, V> region;
+
+    private volatile boolean cancelled;
+
+    private volatile ScheduledFuture<?> future;
+
+    private RefreshTask(Region<K, V> region, K key) {
+      this.region = region;
+      this.key = key;
+    }
+
+    private void schedule(ScheduledExecutorService executor, long delay) {
+
+      this.future = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+
+      if (this.cancelled) {
+        this.future.cancel(false);
+      }
+    }
+
+    private void cancel() {
+
+      this.cancelled = true;
+
+      ScheduledFuture<?> future = this.future;
+
+      if (future != null) {
+        future.cancel(false);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (refreshTasks.remove(this.key, this) && !this.cancelled) {
+        refresh(this.region, this.key);
+      }
+    }
   }
 }
@@ -24,6 +24,8 @@ import org.cp.elements.lang.Assert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.gemfire.support.LazyWiringDeclarableSupport;
 
+import example.app.geode.security.support.SecurityMetrics;
+
 /**
  * The {@link SecurityManagerProxy} class is a Proxy delegating to an underlying Apache Geode
  * {@link org.apache.geode.security.SecurityManager} implementation, that maybe a Spring managed bean
@@ -41,6 +43,8 @@ public class SecurityManagerProxy extends LazyWiringDeclarableSupport
 
   private org.apache.geode.security.SecurityManager securityManager;
 
+  private final SecurityMetrics securityMetrics = new SecurityMetrics(getClass().getSimpleName());
+
   /**
    * Constructs an instance of the {@link SecurityManagerProxy}, whick will delegate all Apache Geode
    * security operations to a Spring managed {@link org.apache.geode.security.SecurityManager} bean.
@@ -69,6 +73,7 @@ public class SecurityManagerProxy extends LazyWiringDeclarableSupport
   public void setSecurityManager(org.apache.geode.security.SecurityManager securityManager) {
     Assert.notNull(securityManager, "SecurityManager must not be null");
     this.securityManager = securityManager;
+    getSecurityMetrics().register();
   }
 
   /**
@@ -86,12 +91,33 @@ public class SecurityManagerProxy extends LazyWiringDeclarableSupport
     return this.securityManager;
   }
 
+  /**
+   * Returns the {@link SecurityMetrics} recording the latency and outcome of requests delegated by
+   * this {@link SecurityManagerProxy}, including the cost of Spring lazy wiring and delegation.
+   *
+   * @return the {@link SecurityMetrics} of this {@link SecurityManagerProxy}.
+   * @see example.app.geode.security.support.SecurityMetrics
+   */
+  public SecurityMetrics getSecurityMetrics() {
+    return this.securityMetrics;
+  }
+
   /**
    * @inheritDoc
    */
   @Override
   public Object authenticate(Properties properties) throws AuthenticationFailedException {
-    return getSecurityManager().authenticate(properties);
+    long startTime = System.nanoTime();
+    boolean authenticated = false;
+
+    try {
+      Object principal = getSecurityManager().authenticate(properties);
+      authenticated = true;
+      return principal;
+    }
+    finally {
+      getSecurityMetrics().recordAuthentication(System.nanoTime() - startTime, authenticated);
+    }
   }
 
   /**
@@ -99,7 +125,16 @@ public class SecurityManagerProxy extends LazyWiringDeclarableSupport
    */
   @Override
   public boolean authorize(Object principal, ResourcePermission permission) {
-    return getSecurityManager().authorize(principal, permission);
+    long startTime = System.nanoTime();
+    boolean authorized = false;
+
+    try {
+      authorized = getSecurityManager().authorize(principal, permission);
+      return authorized;
+    }
+    finally {
+      getSecurityMetrics().recordAuthorization(permission, System.nanoTime() - startTime, authorized);
+    }
   }
 
   /**
@@ -107,6 +142,11 @@ public class SecurityManagerProxy extends LazyWiringDeclarableSupport
    */
   @Override
   public void close() {
-    getSecurityManager().close();
+    try {
+      getSecurityManager().close();
+    }
+    finally {
+      getSecurityMetrics().unregister();
+    }
   }
 }
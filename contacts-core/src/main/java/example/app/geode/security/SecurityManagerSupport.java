@@ -24,14 +24,21 @@ import org.apache.geode.security.ResourcePermission;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import example.app.geode.security.support.SecurityMetrics;
+
 /**
  * The {@link SecurityManagerSupport} class is an Apache Geode {@link SecurityManager} interface adapter providing
  * default implementations of the {@link SecurityManager} interface operations.
  *
+ * The latency and outcome of every authentication and authorization request are recorded in {@link SecurityMetrics},
+ * which are published to JMX when this {@link SecurityManager} is initialized.  Subclasses implement
+ * {@link #doAuthenticate(Properties)} and {@link #doAuthorize(Object, ResourcePermission)}.
+ *
  * @author John Blum
  * @see java.security.Principal
  * @see org.apache.geode.security.ResourcePermission
  * @see org.apache.geode.security.SecurityManager
+ * @see example.app.geode.security.support.SecurityMetrics
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
@@ -39,6 +46,27 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
 
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
+  private final SecurityMetrics securityMetrics = new SecurityMetrics(resolveMetricsName());
+
+  /* (non-Javadoc) */
+  private String resolveMetricsName() {
+
+    String simpleName = getClass().getSimpleName();
+
+    return (simpleName.isEmpty() ? getClass().getName() : simpleName);
+  }
+
+  /**
+   * Returns the {@link SecurityMetrics} recording the latency and outcome of requests handled by
+   * this {@link SecurityManager}.
+   *
+   * @return the {@link SecurityMetrics} of this {@link SecurityManager}.
+   * @see example.app.geode.security.support.SecurityMetrics
+   */
+  public SecurityMetrics getSecurityMetrics() {
+    return this.securityMetrics;
+  }
+
   /* (non-Javadoc)*/
   protected String getName(Object principal) {
     return (principal instanceof Principal ? ((Principal) principal).getName() : String.valueOf(principal));
@@ -59,9 +87,37 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
     return properties.getProperty(propertyName);
   }
 
+  /* (non-Javadoc)*/
+  protected boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  // NOTE the fixed argument overloads avoid allocating a varargs array on every call when debug logging is disabled
+
+  /* (non-Javadoc)*/
+  protected void logDebug(String message, Object arg) {
+    if (isDebugEnabled()) {
+      logger.debug(message, arg);
+    }
+  }
+
+  /* (non-Javadoc)*/
+  protected void logDebug(String message, Object argOne, Object argTwo) {
+    if (isDebugEnabled()) {
+      logger.debug(message, argOne, argTwo);
+    }
+  }
+
+  /* (non-Javadoc)*/
+  protected void logDebug(String message, Object argOne, Object argTwo, Object argThree) {
+    if (isDebugEnabled()) {
+      logger.debug(message, argOne, argTwo, argThree);
+    }
+  }
+
   /* (non-Javadoc)*/
   protected void logDebug(String message, Object... args) {
-    if (logger.isDebugEnabled()) {
+    if (isDebugEnabled()) {
       logger.debug(message, args);
     }
   }
@@ -74,6 +130,8 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
     if (logger.isDebugEnabled()) {
       logger.debug("Security Properties [{}]", securityProperties);
     }
+
+    getSecurityMetrics().register();
   }
 
   /**
@@ -81,6 +139,21 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
    */
   @Override
   public Object authenticate(Properties securityProperties) throws AuthenticationFailedException {
+    long startTime = System.nanoTime();
+    boolean authenticated = false;
+
+    try {
+      Object principal = doAuthenticate(securityProperties);
+      authenticated = true;
+      return principal;
+    }
+    finally {
+      getSecurityMetrics().recordAuthentication(System.nanoTime() - startTime, authenticated);
+    }
+  }
+
+  /* (non-Javadoc)*/
+  protected Object doAuthenticate(Properties securityProperties) throws AuthenticationFailedException {
     return null;
   }
 
@@ -89,6 +162,20 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
    */
   @Override
   public boolean authorize(Object principal, ResourcePermission permission) {
+    long startTime = System.nanoTime();
+    boolean authorized = false;
+
+    try {
+      authorized = doAuthorize(principal, permission);
+      return authorized;
+    }
+    finally {
+      getSecurityMetrics().recordAuthorization(permission, System.nanoTime() - startTime, authorized);
+    }
+  }
+
+  /* (non-Javadoc)*/
+  protected boolean doAuthorize(Object principal, ResourcePermission permission) {
     return (principal != null);
   }
 
@@ -100,5 +187,7 @@ public abstract class SecurityManagerSupport implements org.apache.geode.securit
     if (logger.isDebugEnabled()) {
       logger.debug("Closing SecurityManager [{}]", getClass().getName());
     }
+
+    getSecurityMetrics().unregister();
   }
 }
@@ -45,7 +45,7 @@ public class NonSecureSecurityManager extends SecurityManagerSupport {
    * @inheritDoc
    */
   @Override
-  public Object authenticate(Properties securityProperties) throws AuthenticationFailedException {
+  protected Object doAuthenticate(Properties securityProperties) throws AuthenticationFailedException {
     return SUPER_USER;
   }
 
@@ -53,8 +53,8 @@ public class NonSecureSecurityManager extends SecurityManagerSupport {
    * @inheritDoc
    */
   @Override
-  public boolean authorize(Object principal, ResourcePermission permission) {
-    logger.debug("Principal {} requires Permission {} on Resource {}", principal, permission, permission.getResource());
-    return super.authorize(principal, permission);
+  protected boolean doAuthorize(Object principal, ResourcePermission permission) {
+    logDebug("Principal {} requires Permission {} on Resource {}", principal, permission, permission.getResource());
+    return super.doAuthorize(principal, permission);
   }
 }
@@ -16,7 +16,10 @@
 
 package example.app.geode.security.provider;
 
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.geode.security.AuthenticationFailedException;
 import org.apache.geode.security.ResourcePermission;
@@ -28,8 +31,13 @@ import org.springframework.util.StringUtils;
 import example.app.geode.security.SecurityManagerSupport;
 import example.app.geode.security.model.Role;
 import example.app.geode.security.model.User;
+import example.app.geode.security.repository.CachingSecurityRepository;
 import example.app.geode.security.repository.SecurityRepository;
 import example.app.geode.security.repository.support.XmlSecurityRepository;
+import example.app.geode.security.support.CredentialsVerifier;
+import example.app.geode.security.support.PlainTextCredentialsVerifier;
+import example.app.geode.security.support.ResourcePermissionIndex;
+import example.app.geode.security.support.VerifiedCredentialsCache;
 
 /**
  * The {@link SimpleSecurityManager} class is an example Apache Geode {@link SecurityManager} provider implementation
@@ -40,6 +48,9 @@ import example.app.geode.security.repository.support.XmlSecurityRepository;
  * @see example.app.geode.security.model.Role
  * @see example.app.geode.security.model.User
  * @see example.app.geode.security.repository.SecurityRepository
+ * @see example.app.geode.security.support.CredentialsVerifier
+ * @see example.app.geode.security.support.ResourcePermissionIndex
+ * @see example.app.geode.security.support.VerifiedCredentialsCache
  * @see org.apache.geode.security.ResourcePermission
  * @see org.apache.geode.security.SecurityManager
  * @see org.springframework.stereotype.Service
@@ -49,8 +60,25 @@ import example.app.geode.security.repository.support.XmlSecurityRepository;
 @SuppressWarnings("unused")
 public class SimpleSecurityManager extends SecurityManagerSupport {
 
+  public static final int DEFAULT_MAXIMUM_CACHED_DECISIONS = 1024;
+
+  private final LongAdder decisionCacheHits = new LongAdder();
+  private final LongAdder decisionCacheMisses = new LongAdder();
+
+  private final Map<String, UserAuthorizations> authorizations = new ConcurrentHashMap<>();
+
+  private final boolean permittedOverridden = isPermittedOverridden(getClass());
+
+  private volatile CredentialsVerifier credentialsVerifier = PlainTextCredentialsVerifier.INSTANCE;
+
+  private volatile int maximumCachedDecisions = DEFAULT_MAXIMUM_CACHED_DECISIONS;
+
+  private volatile long securityRepositoryVersion = -1L;
+
   private final SecurityRepository<User> securityRepository;
 
+  private final VerifiedCredentialsCache verifiedCredentialsCache = new VerifiedCredentialsCache();
+
   /**
    * Factory method used to construct and initialize a default instance of the {@link SecurityRepository}.
    * By default, Apache Geode Security is configured with XML security configuration meta-data.
@@ -100,6 +128,12 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
   public SimpleSecurityManager(SecurityRepository<User> securityRepository) {
     Assert.notNull(securityRepository, "SecurityRepository must not be null");
     this.securityRepository = securityRepository;
+
+    getSecurityMetrics().registerCache("credentials", this.verifiedCredentialsCache::getHitCount,
+      this.verifiedCredentialsCache::getMissCount);
+
+    getSecurityMetrics().registerCache("authorization-decisions", this.decisionCacheHits::sum,
+      this.decisionCacheMisses::sum);
   }
 
   /**
@@ -113,11 +147,46 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
     return this.securityRepository;
   }
 
+  /**
+   * Sets the {@link CredentialsVerifier} used to verify the credentials provided by a {@link User}
+   * against the {@link User User's} stored credentials.  Defaults to plain text comparison.
+   *
+   * @param credentialsVerifier {@link CredentialsVerifier} used to verify {@link User} credentials.
+   * @throws IllegalArgumentException if {@link CredentialsVerifier} is {@literal null}.
+   * @see example.app.geode.security.support.CredentialsVerifier
+   */
+  public void setCredentialsVerifier(CredentialsVerifier credentialsVerifier) {
+    Assert.notNull(credentialsVerifier, "CredentialsVerifier must not be null");
+    this.credentialsVerifier = credentialsVerifier;
+    getVerifiedCredentialsCache().invalidateAll();
+  }
+
+  /**
+   * Returns the {@link CredentialsVerifier} used to verify the credentials provided by a {@link User}.
+   *
+   * @return the {@link CredentialsVerifier} used to verify {@link User} credentials.
+   * @see example.app.geode.security.support.CredentialsVerifier
+   */
+  protected CredentialsVerifier getCredentialsVerifier() {
+    return this.credentialsVerifier;
+  }
+
+  /**
+   * Returns the {@link VerifiedCredentialsCache} remembering recently verified {@link User} credentials,
+   * which can be used to configure the cache and read its hit/miss statistics.
+   *
+   * @return the {@link VerifiedCredentialsCache} remembering recently verified {@link User} credentials.
+   * @see example.app.geode.security.support.VerifiedCredentialsCache
+   */
+  public VerifiedCredentialsCache getVerifiedCredentialsCache() {
+    return this.verifiedCredentialsCache;
+  }
+
   /**
    * @inheritDoc
    */
   @Override
-  public Object authenticate(Properties securityProperties) throws AuthenticationFailedException {
+  protected Object doAuthenticate(Properties securityProperties) throws AuthenticationFailedException {
     String username = getUsername(securityProperties);
     String password = getPassword(securityProperties);
 
@@ -133,15 +202,14 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
   }
 
   /* (non-Javadoc) */
-  // NOTE User credentials or provide credentials could be encrypted so this SecurityManager would know how to
-  // decrypt or still compare the credentials.
   protected boolean isAuthentic(String username, String credentials) {
     return isAuthentic(getSecurityRepository().findBy(username), credentials);
   }
 
   /* (non-Javadoc) */
   protected boolean isAuthentic(User user, String credentials) {
-    return (user != null && ObjectUtils.equalsIgnoreNull(user.getCredentials(), credentials));
+    return (user != null && getVerifiedCredentialsCache().verify(user.getName(), user.getCredentials(),
+      credentials, getCredentialsVerifier()));
   }
 
   /* (non-Javadoc) */
@@ -158,7 +226,7 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
    * @inheritDoc
    */
   @Override
-  public boolean authorize(Object principal, ResourcePermission permission) {
+  protected boolean doAuthorize(Object principal, ResourcePermission permission) {
     logDebug("Principal [{}] is requesting access to a Resource {} with the required Permission [{}]",
       principal, permission.getResource(), permission);
 
@@ -177,26 +245,138 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
     return (principal instanceof User ? (User) principal : getSecurityRepository().findBy(getName(principal)));
   }
 
+  // NOTE a subclass overriding isPermitted decides permission by permission, which the compiled index cannot honor,
+  // so its Users' permissions are scanned and evaluated with isPermitted as before the index was introduced
   /* (non-Javadoc) */
   protected boolean isAuthorized(User user, ResourcePermission requiredPermission) {
-    boolean permitted = user.hasPermission(requiredPermission);
+    return (this.permittedOverridden ? isAuthorizedByPermissionScan(user, requiredPermission)
+      : resolveAuthorizations(user).isAuthorized(requiredPermission));
+  }
 
-    if (!permitted) {
-      OUT: for (Role role : user) {
-        for (ResourcePermission permission : role) {
-          permitted = isPermitted(permission, requiredPermission);
+  /* (non-Javadoc) */
+  private boolean isAuthorizedByPermissionScan(User user, ResourcePermission requiredPermission) {
 
-          if (permitted) {
-            break OUT;
-          }
+    for (Role role : user) {
+      for (ResourcePermission permission : role) {
+        if (isPermitted(permission, requiredPermission)) {
+          return true;
         }
       }
     }
 
-    return permitted;
+    return false;
   }
 
   /* (non-Javadoc) */
+  private static boolean isPermittedOverridden(Class<?> type) {
+
+    for (Class<?> currentType = type; currentType != null && !SimpleSecurityManager.class.equals(currentType);
+        currentType = currentType.getSuperclass()) {
+
+      try {
+        currentType.getDeclaredMethod("isPermitted", ResourcePermission.class, ResourcePermission.class);
+        return true;
+      }
+      catch (NoSuchMethodException ignore) {
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Resolves the compiled {@link UserAuthorizations} for the given {@link User}, compiling the {@link User User's}
+   * permissions if they have not been compiled yet, or if the {@link User} has changed.
+   *
+   * @param user {@link User} to resolve.
+   * @return the {@link UserAuthorizations} for the given {@link User}.
+   * @see example.app.geode.security.provider.SimpleSecurityManager.UserAuthorizations
+   */
+  protected UserAuthorizations resolveAuthorizations(User user) {
+
+    invalidateAuthorizationsIfSecurityRepositoryChanged();
+
+    UserAuthorizations authorizations = this.authorizations.get(user.getName());
+
+    if (authorizations == null || authorizations.getUser() != user) {
+      authorizations = new UserAuthorizations(user, getMaximumCachedDecisions(), this.decisionCacheHits,
+        this.decisionCacheMisses);
+      this.authorizations.put(user.getName(), authorizations);
+    }
+
+    return authorizations;
+  }
+
+  /* (non-Javadoc) */
+  private void invalidateAuthorizationsIfSecurityRepositoryChanged() {
+
+    SecurityRepository<User> securityRepository = getSecurityRepository();
+
+    if (securityRepository instanceof CachingSecurityRepository) {
+
+      long currentVersion = ((CachingSecurityRepository<User>) securityRepository).getVersion();
+
+      if (currentVersion != this.securityRepositoryVersion) {
+        this.securityRepositoryVersion = currentVersion;
+        invalidateAuthorizations();
+      }
+    }
+  }
+
+  /**
+   * Invalidates the compiled permissions and cached authorization decisions of all {@link User Users}.
+   *
+   * Invalidation happens automatically when the {@link SecurityRepository} is a {@link CachingSecurityRepository}
+   * and a {@link User} is saved, deleted or reloaded; otherwise this method must be called whenever
+   * the {@link Role Roles} of a {@link User} change.
+   */
+  public void invalidateAuthorizations() {
+    this.authorizations.clear();
+  }
+
+  /**
+   * Invalidates the compiled permissions and cached authorization decisions of the {@link User}
+   * with the given username.
+   *
+   * @param username name of the {@link User} whose authorizations are invalidated.
+   */
+  public void invalidateAuthorizations(String username) {
+    if (username != null) {
+      this.authorizations.remove(username);
+    }
+  }
+
+  /**
+   * Sets the maximum number of authorization decisions cached per {@link User}.
+   *
+   * @param maximumCachedDecisions maximum number of authorization decisions cached per {@link User};
+   * {@literal 0} disables the decision cache.
+   */
+  public void setMaximumCachedDecisions(int maximumCachedDecisions) {
+    this.maximumCachedDecisions = Math.max(maximumCachedDecisions, 0);
+    invalidateAuthorizations();
+  }
+
+  /**
+   * Returns the maximum number of authorization decisions cached per {@link User}.
+   *
+   * @return the maximum number of authorization decisions cached per {@link User}.
+   */
+  public int getMaximumCachedDecisions() {
+    return this.maximumCachedDecisions;
+  }
+
+  /**
+   * Determines whether the granted {@link ResourcePermission} implies the required {@link ResourcePermission}.
+   *
+   * By default, authorization is answered from each {@link User User's} compiled {@link ResourcePermissionIndex},
+   * which applies the same rules as this method.  Subclasses overriding this method are authorized by evaluating
+   * this method against each of the {@link User User's} granted permissions instead.
+   *
+   * @param userPermission {@link ResourcePermission} granted to the {@link User}.
+   * @param resourcePermission {@link ResourcePermission} required to access the resource.
+   * @return a boolean value indicating whether the granted permission implies the required permission.
+   */
   protected boolean isPermitted(ResourcePermission userPermission, ResourcePermission resourcePermission) {
     return userPermission.implies(resourcePermission);
   }
@@ -222,4 +402,71 @@ public class SimpleSecurityManager extends SecurityManagerSupport {
   boolean isRequiredPermissionAttribute(String value) {
     return (StringUtils.hasText(value) && !"*".equals(value.trim()));
   }
+
+  /**
+   * The {@link UserAuthorizations} class holds the {@link ResourcePermissionIndex} compiled from a {@link User User's}
+   * {@link Role Roles} along with a bounded cache of authorization decisions made for the {@link User}.
+   */
+  protected static class UserAuthorizations {
+
+    private final int maximumCachedDecisions;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    private final Map<ResourcePermission, Boolean> decisions = new ConcurrentHashMap<>();
+
+    private final ResourcePermissionIndex permissionIndex;
+
+    private final User user;
+
+    protected UserAuthorizations(User user, int maximumCachedDecisions) {
+      this(user, maximumCachedDecisions, new LongAdder(), new LongAdder());
+    }
+
+    protected UserAuthorizations(User user, int maximumCachedDecisions, LongAdder hits, LongAdder misses) {
+      this.user = user;
+      this.permissionIndex = ResourcePermissionIndex.compile(user);
+      this.maximumCachedDecisions = maximumCachedDecisions;
+      this.hits = hits;
+      this.misses = misses;
+    }
+
+    protected ResourcePermissionIndex getPermissionIndex() {
+      return this.permissionIndex;
+    }
+
+    protected User getUser() {
+      return this.user;
+    }
+
+    protected boolean isAuthorized(ResourcePermission requiredPermission) {
+
+      if (this.maximumCachedDecisions < 1) {
+        return getPermissionIndex().implies(requiredPermission);
+      }
+
+      Boolean decision = this.decisions.get(requiredPermission);
+
+      if (decision == null) {
+
+        this.misses.increment();
+
+        decision = getPermissionIndex().implies(requiredPermission);
+
+        // NOTE the decision cache is cleared rather than evicting individual entries when full; decisions are
+        // cheap to recompute from the index and clearing keeps the lookup path free of locks
+        if (this.decisions.size() >= this.maximumCachedDecisions) {
+          this.decisions.clear();
+        }
+
+        this.decisions.put(requiredPermission, decision);
+      }
+      else {
+        this.hits.increment();
+      }
+
+      return decision;
+    }
+  }
 }
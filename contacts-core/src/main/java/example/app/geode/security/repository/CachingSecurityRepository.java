@@ -16,9 +16,13 @@
 
 package example.app.geode.security.repository;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.cp.elements.lang.Assert;
 import org.slf4j.Logger;
@@ -40,14 +44,89 @@ public abstract class CachingSecurityRepository<T extends User> implements Secur
 
   protected final Logger logger = LoggerFactory.getLogger(getClass());
 
-  protected final Map<String, T> users = new ConcurrentHashMap<>();
+  private final AtomicLong version = new AtomicLong(0L);
+
+  private final AtomicReference<Map<String, T>> users = new AtomicReference<>(new ConcurrentHashMap<>());
+
+  /**
+   * Returns the current {@link Map} of cached {@link User Users} keyed by username.
+   *
+   * The returned {@link Map} may be replaced in its entirety by {@link #replaceAll(Iterable)} at any time,
+   * therefore callers performing multiple lookups should read this {@link Map} reference once.
+   *
+   * @return the current {@link Map} of cached {@link User Users} keyed by username.
+   */
+  protected Map<String, T> getUsers() {
+    return this.users.get();
+  }
+
+  /**
+   * Returns a number that changes every time a {@link User} is saved, deleted or all {@link User Users}
+   * are replaced, so that consumers caching information derived from the {@link User Users}
+   * (e.g. authorization decisions) can detect that their cache is stale.
+   *
+   * @return the current version of the cached {@link User Users}.
+   */
+  public long getVersion() {
+    return this.version.get();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public int count() {
+    return getUsers().size();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean exists(String username) {
+    return (username != null && getUsers().containsKey(username));
+  }
 
   /**
    * @inheritDoc
    */
   @Override
   public Iterable<T> findAll() {
-    return Collections.unmodifiableCollection(users.values());
+    return Collections.unmodifiableCollection(getUsers().values());
+  }
+
+  /**
+   * Finds all {@link User Users} with the given usernames; usernames of non-existing {@link User Users}
+   * are ignored.
+   *
+   * @param usernames {@link Iterable} of usernames to find.
+   * @return an {@link Iterable} of the {@link User Users} with the given usernames.
+   */
+  @Override
+  public Iterable<T> findAll(Iterable<String> usernames) {
+
+    Map<String, T> users = getUsers();
+
+    List<T> foundUsers = new ArrayList<>();
+
+    for (String username : usernames) {
+
+      T user = (username != null ? users.get(username) : null);
+
+      if (user != null) {
+        foundUsers.add(user);
+      }
+    }
+
+    return foundUsers;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public T findBy(String username) {
+    return (username != null ? getUsers().get(username) : null);
   }
 
   /**
@@ -55,9 +134,13 @@ public abstract class CachingSecurityRepository<T extends User> implements Secur
    */
   @Override
   public boolean delete(T user) {
-    // NOTE the following compound operations on the Map are not meant to be atomic
-    users.remove(user.getName());
-    return users.containsKey(user.getName());
+    boolean deleted = (user != null && getUsers().remove(user.getName()) != null);
+
+    if (deleted) {
+      this.version.incrementAndGet();
+    }
+
+    return deleted;
   }
 
   /**
@@ -66,7 +149,37 @@ public abstract class CachingSecurityRepository<T extends User> implements Secur
   @Override
   public T save(T user) {
     Assert.notNull(user, "User must not be null");
-    users.put(user.getName(), user);
+    getUsers().put(user.getName(), user);
+    this.version.incrementAndGet();
     return user;
   }
+
+  /**
+   * Atomically replaces all cached {@link User Users} with the given {@link User Users}.
+   *
+   * The new {@link User} set is built off to the side and then published with a single reference swap,
+   * so concurrent lookups observe either the old or the new {@link User} set, never a partial one,
+   * and are never blocked by a reload.
+   *
+   * @param users {@link Iterable} of {@link User Users} replacing all cached {@link User Users}.
+   * @return the {@link User Users} that were replaced.
+   * @throws IllegalArgumentException if {@code users} is {@literal null}.
+   */
+  public Iterable<T> replaceAll(Iterable<T> users) {
+
+    Assert.notNull(users, "Users must not be null");
+
+    Map<String, T> newUsers = new ConcurrentHashMap<>();
+
+    for (T user : users) {
+      Assert.notNull(user, "User must not be null");
+      newUsers.put(user.getName(), user);
+    }
+
+    Map<String, T> oldUsers = this.users.getAndSet(newUsers);
+
+    this.version.incrementAndGet();
+
+    return Collections.unmodifiableCollection(oldUsers.values());
+  }
 }
@@ -17,15 +17,21 @@
 package example.app.geode.security.repository.support;
 
 import static example.app.geode.security.model.Role.newRole;
-import static org.cp.elements.util.ArrayUtils.asArray;
+import static example.app.geode.security.model.User.newUser;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.geode.security.ResourcePermission;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
@@ -37,38 +43,53 @@ import example.app.geode.security.repository.CachingSecurityRepository;
  * The {@link JdbcSecurityRepository} class is a {@link example.app.geode.security.repository.SecurityRepository}
  * implementation that accesses security configuration meta-data stored in an RDBMS, accessed via JDBC.
  *
+ * All {@link Role Roles}, permissions and {@link User Users} are loaded with 2 join queries, streamed through
+ * {@link RowCallbackHandler RowCallbackHandlers}, regardless of the number of {@link User Users}. When a refresh
+ * interval is configured, the {@literal geode_security.security_version} table is polled in the background
+ * and the security model is reloaded and swapped in atomically whenever the version changes.
+ *
+ * A change is applied by reloading the whole security model rather than only the changed rows.  A change to
+ * a {@link Role} affects every {@link User} in the {@link Role}, and deleted rows leave no trace to query for,
+ * so a delta would require change tracking columns and tombstones in the schema.  The 2 streamed queries
+ * only run when the version changes, not on every poll.
+ *
  * @author John Blum
  * @see example.app.geode.security.model.Role
  * @see example.app.geode.security.model.User
  * @see example.app.geode.security.repository.CachingSecurityRepository
  * @see org.apache.geode.security.ResourcePermission
+ * @see org.springframework.beans.factory.DisposableBean
  * @see org.springframework.beans.factory.InitializingBean
  * @see org.springframework.jdbc.core.JdbcTemplate
+ * @see org.springframework.jdbc.core.RowCallbackHandler
  * @since 1.0.0
  */
 @Repository
 @SuppressWarnings("unused")
-public class JdbcSecurityRepository extends CachingSecurityRepository<User> implements InitializingBean {
+public class JdbcSecurityRepository extends CachingSecurityRepository<User>
+    implements InitializingBean, DisposableBean {
 
-  protected static final String ROLES_QUERY = "SELECT name FROM geode_security.roles";
-
-  protected static final String ROLE_PERMISSIONS_QUERY = ""
-    + " SELECT rolePerms.resource, rolePerms.operation, rolePerms.region_name, rolePerms.key_name"
-    + " FROM geode_security.roles_permissions rolePerms"
-    + " INNER JOIN geode_security.roles roles ON roles.id = rolePerms.role_id "
-    + " WHERE roles.name = ?";
+  protected static final String ROLES_PERMISSIONS_QUERY = ""
+    + " SELECT roles.name, rolePerms.resource, rolePerms.operation, rolePerms.region_name, rolePerms.key_name"
+    + " FROM geode_security.roles roles"
+    + " LEFT OUTER JOIN geode_security.roles_permissions rolePerms ON roles.id = rolePerms.role_id";
 
-  protected static final String USERS_QUERY = "SELECT name, credentials FROM geode_security.users";
+  protected static final String USERS_ROLES_QUERY = ""
+    + " SELECT users.name, users.credentials, roles.name"
+    + " FROM geode_security.users users"
+    + " LEFT OUTER JOIN geode_security.users_roles userRoles ON users.id = userRoles.user_id"
+    + " LEFT OUTER JOIN geode_security.roles roles ON userRoles.role_id = roles.id";
 
-  protected static final String USER_ROLES_QUERY = ""
-    + " SELECT roles.name"
-    + " FROM geode_security.roles roles"
-    + " INNER JOIN geode_security.users_roles userRoles ON roles.id = userRoles.role_id"
-    + " INNER JOIN geode_security.users users ON userRoles.user_id = users.id"
-    + " WHERE users.name = ?";
+  protected static final String SECURITY_VERSION_QUERY = "SELECT MAX(version) FROM geode_security.security_version";
 
   private final JdbcTemplate jdbcTemplate;
 
+  private volatile long refreshInterval = 0L;
+
+  private volatile Long securityVersion;
+
+  private ScheduledExecutorService refreshExecutor;
+
   /**
    * Constructs an instance of the {@link JdbcSecurityRepository} initialized with the given {@link JdbcTemplate}.
    *
@@ -93,35 +114,138 @@ public class JdbcSecurityRepository extends CachingSecurityRepository<User> impl
     return this.jdbcTemplate;
   }
 
+  /**
+   * Sets the interval, in milliseconds, at which the security version is polled for changes.
+   *
+   * @param refreshInterval interval, in milliseconds, at which the security version is polled for changes;
+   * {@literal 0} disables background refresh.
+   */
+  public void setRefreshInterval(long refreshInterval) {
+    this.refreshInterval = Math.max(refreshInterval, 0L);
+  }
+
+  /**
+   * Returns the interval, in milliseconds, at which the security version is polled for changes.
+   *
+   * @return the interval, in milliseconds, at which the security version is polled for changes.
+   */
+  public long getRefreshInterval() {
+    return this.refreshInterval;
+  }
+
   /**
    * @inheritDoc
    */
   @Override
   public void afterPropertiesSet() throws Exception {
 
-    List<Role> roles = getJdbcTemplate().query(ROLES_QUERY, (resultSet, row) -> newRole(resultSet.getString(1)));
+    long refreshInterval = getRefreshInterval();
 
-    Map<String, Role> roleMapping = new HashMap<>(roles.size());
+    reload(refreshInterval > 0L ? querySecurityVersion() : null);
 
-    for (Role role : roles) {
-      getJdbcTemplate().query(ROLE_PERMISSIONS_QUERY, asArray(role.getName()),
-        (resultSet, row) -> role.with(newResourcePermission(resultSet.getString(1),
-          resultSet.getString(2), resultSet.getString(3), resultSet.getString(4))));
+    if (refreshInterval > 0L) {
+      this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread refreshThread = new Thread(runnable, "JdbcSecurityRepository-Refresh");
+        refreshThread.setDaemon(true);
+        return refreshThread;
+      });
 
-      roleMapping.put(role.getName(), role);
+      this.refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval,
+        TimeUnit.MILLISECONDS);
     }
+  }
 
-    List<User> users = getJdbcTemplate().query(USERS_QUERY,
-      (resultSet, row) -> create(resultSet.getString(1)).with(resultSet.getString(2)));
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void destroy() {
+    if (this.refreshExecutor != null) {
+      this.refreshExecutor.shutdownNow();
+      this.refreshExecutor = null;
+    }
+  }
 
-    for (User user : users) {
-      getJdbcTemplate().query(USER_ROLES_QUERY, asArray(user.getName()),
-        (resultSet, row) -> user.in(roleMapping.get(resultSet.getString(1))));
+  /**
+   * Reloads the security model if the security version changed since the last load.
+   *
+   * @return a boolean value indicating whether the security model was reloaded.
+   */
+  protected boolean refresh() {
+
+    try {
+      Long currentSecurityVersion = querySecurityVersion();
 
-      save(user);
+      if (!Objects.equals(currentSecurityVersion, this.securityVersion)) {
+        reload(currentSecurityVersion);
+        return true;
+      }
+    }
+    catch (RuntimeException cause) {
+      logger.warn("Failed to refresh Users", cause);
     }
 
-    logger.debug("Users {}", users);
+    return false;
+  }
+
+  /* (non-Javadoc) */
+  // NOTE the version is read before the security model so that changes committed during the load trigger
+  // another reload on the next refresh
+  private void reload(Long securityVersion) {
+
+    Map<String, User> users = queryUsers(queryRoles());
+
+    replaceAll(users.values());
+
+    this.securityVersion = securityVersion;
+
+    logger.debug("Users {}", users.values());
+  }
+
+  /* (non-Javadoc) */
+  protected Long querySecurityVersion() {
+    return getJdbcTemplate().queryForObject(SECURITY_VERSION_QUERY, Long.class);
+  }
+
+  /* (non-Javadoc) */
+  protected Map<String, Role> queryRoles() {
+
+    Map<String, Role> roles = new HashMap<>();
+
+    getJdbcTemplate().query(ROLES_PERMISSIONS_QUERY, (RowCallbackHandler) resultSet -> {
+
+      Role role = roles.computeIfAbsent(resultSet.getString(1), roleName -> newRole(roleName));
+
+      String resource = resultSet.getString(2);
+
+      if (resource != null) {
+        role.with(newResourcePermission(resource, resultSet.getString(3), resultSet.getString(4),
+          resultSet.getString(5)));
+      }
+    });
+
+    return roles;
+  }
+
+  /* (non-Javadoc) */
+  protected Map<String, User> queryUsers(Map<String, Role> roles) {
+
+    Map<String, User> users = new LinkedHashMap<>();
+
+    getJdbcTemplate().query(USERS_ROLES_QUERY, (RowCallbackHandler) resultSet -> {
+
+      String credentials = resultSet.getString(2);
+
+      User user = users.computeIfAbsent(resultSet.getString(1), username -> newUser(username).with(credentials));
+
+      Role role = roles.get(resultSet.getString(3));
+
+      if (role != null) {
+        user.in(role);
+      }
+    });
+
+    return users;
   }
 
   /* (non-Javadoc) */
@@ -19,15 +19,22 @@ package example.app.geode.security.repository.support;
 import static example.app.geode.security.model.Role.newRole;
 import static example.app.geode.security.model.User.newUser;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.geode.security.ResourcePermission;
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.input.SAXBuilder;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
@@ -40,12 +47,17 @@ import example.app.geode.security.repository.CachingSecurityRepository;
 
 /**
  * The {@link XmlSecurityRepository} class is a {@link example.app.geode.security.repository.SecurityRepository}
- * implementation that accesses security configuration meta-data stored in an XML document, accessed via JDOM.
+ * implementation that accesses security configuration meta-data stored in an XML document, accessed via StAX.
+ *
+ * The XML documents are streamed, building {@link Role Roles} and {@link User Users} in a single pass without
+ * materializing a document tree. When a refresh interval is configured, the XML documents are checked for
+ * modifications in the background and the security model is reloaded and swapped in atomically whenever
+ * either document changes.
  *
  * @author John Blum
+ * @see javax.xml.stream.XMLStreamReader
  * @see org.apache.geode.security.ResourcePermission
- * @see org.jdom2.Document
- * @see org.jdom2.input.SAXBuilder
+ * @see org.springframework.beans.factory.DisposableBean
  * @see org.springframework.beans.factory.InitializingBean
  * @see org.springframework.core.io.ClassPathResource
  * @see org.springframework.core.io.Resource
@@ -57,14 +69,22 @@ import example.app.geode.security.repository.CachingSecurityRepository;
  */
 @Repository
 @SuppressWarnings("unused")
-public class XmlSecurityRepository extends CachingSecurityRepository<User> implements InitializingBean {
+public class XmlSecurityRepository extends CachingSecurityRepository<User>
+    implements InitializingBean, DisposableBean {
 
   protected static final String ROLES_PERMISSIONS_XML = "roles-permissions.xml";
   protected static final String USERS_ROLES_XML = "users-roles.xml";
 
+  private volatile long refreshInterval = 0L;
+
+  private volatile long rolesPermissionsLastModified;
+  private volatile long usersRolesLastModified;
+
   private final Resource rolesPermissions;
   private final Resource usersRoles;
 
+  private ScheduledExecutorService refreshExecutor;
+
   /**
    * Constructs an instance of {@link XmlSecurityRepository} initialized with the default
    * {@literal roles-permissions.xml} and {@literal users-roles.xml} security configuration meta-data resources.
@@ -115,31 +135,151 @@ public class XmlSecurityRepository extends CachingSecurityRepository<User> imple
     return this.usersRoles;
   }
 
+  /**
+   * Sets the interval, in milliseconds, at which the XML documents are checked for modifications.
+   *
+   * @param refreshInterval interval, in milliseconds, at which the XML documents are checked for modifications;
+   * {@literal 0} disables background refresh.
+   */
+  public void setRefreshInterval(long refreshInterval) {
+    this.refreshInterval = Math.max(refreshInterval, 0L);
+  }
+
+  /**
+   * Returns the interval, in milliseconds, at which the XML documents are checked for modifications.
+   *
+   * @return the interval, in milliseconds, at which the XML documents are checked for modifications.
+   */
+  public long getRefreshInterval() {
+    return this.refreshInterval;
+  }
+
   /**
    * @inheritDoc
    */
   @Override
   public void afterPropertiesSet() throws Exception {
-    saveAll(parseUsersRoles(getUsersRoles(), parseRolesPermissions(getRolesPermissions())));
+
+    reload();
+
+    long refreshInterval = getRefreshInterval();
+
+    if (refreshInterval > 0L) {
+      this.refreshExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread refreshThread = new Thread(runnable, "XmlSecurityRepository-Refresh");
+        refreshThread.setDaemon(true);
+        return refreshThread;
+      });
+
+      this.refreshExecutor.scheduleWithFixedDelay(this::refresh, refreshInterval, refreshInterval,
+        TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void destroy() {
+    if (this.refreshExecutor != null) {
+      this.refreshExecutor.shutdownNow();
+      this.refreshExecutor = null;
+    }
+  }
+
+  /**
+   * Reloads the security model if either XML document was modified since the last load.
+   *
+   * @return a boolean value indicating whether the security model was reloaded.
+   */
+  protected boolean refresh() {
+
+    try {
+      if (lastModified(getRolesPermissions()) != this.rolesPermissionsLastModified
+          || lastModified(getUsersRoles()) != this.usersRolesLastModified) {
+
+        reload();
+        return true;
+      }
+    }
+    catch (Exception cause) {
+      logger.warn("Failed to refresh Users", cause);
+    }
+
+    return false;
+  }
+
+  /* (non-Javadoc) */
+  // NOTE the modification times are read before the documents so that changes made during the load trigger
+  // another reload on the next refresh
+  private synchronized void reload() throws Exception {
+
+    long rolesPermissionsLastModified = lastModified(getRolesPermissions());
+    long usersRolesLastModified = lastModified(getUsersRoles());
+
+    replaceAll(parseUsersRoles(getUsersRoles(), parseRolesPermissions(getRolesPermissions())));
+
+    this.rolesPermissionsLastModified = rolesPermissionsLastModified;
+    this.usersRolesLastModified = usersRolesLastModified;
+  }
+
+  /* (non-Javadoc) */
+  private long lastModified(Resource resource) {
+
+    try {
+      return resource.lastModified();
+    }
+    catch (IOException ignore) {
+      return 0L;
+    }
+  }
+
+  /* (non-Javadoc) */
+  protected XMLStreamReader newXmlStreamReader(InputStream in) throws Exception {
+
+    XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+    xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+    return xmlInputFactory.createXMLStreamReader(in);
   }
 
   /* (non-Javadoc) */
   protected Map<String, Role> parseRolesPermissions(Resource rolesPermissions) throws Exception {
-    Document document = new SAXBuilder().build(rolesPermissions.getInputStream());
-    Element rolesElement = document.getRootElement();
 
-    Map<String, Role> roleNameMapping = new HashMap<>(rolesElement.getChildren().size());
+    Map<String, Role> roleNameMapping = new HashMap<>();
 
-    for (Element roleElement : rolesElement.getChildren()) {
-      Role role = newRole(roleElement.getAttributeValue("name"));
+    try (InputStream in = rolesPermissions.getInputStream()) {
 
-      for (Element permissionElement : roleElement.getChild("permissions").getChildren()) {
-        role.with(new ResourcePermission(permissionElement.getAttributeValue("resource"),
-          permissionElement.getAttributeValue("operation"), permissionElement.getAttributeValue("region"),
-            permissionElement.getAttributeValue("key")));
-      }
+      XMLStreamReader reader = newXmlStreamReader(in);
+
+      try {
+        Role role = null;
 
-      roleNameMapping.put(role.getName(), role);
+        while (reader.hasNext()) {
+
+          int event = reader.next();
+
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            if ("role".equals(reader.getLocalName())) {
+              role = newRole(reader.getAttributeValue(null, "name"));
+              roleNameMapping.put(role.getName(), role);
+            }
+            else if ("permission".equals(reader.getLocalName()) && role != null) {
+              role.with(new ResourcePermission(reader.getAttributeValue(null, "resource"),
+                reader.getAttributeValue(null, "operation"), reader.getAttributeValue(null, "region"),
+                  reader.getAttributeValue(null, "key")));
+            }
+          }
+          else if (event == XMLStreamConstants.END_ELEMENT && "role".equals(reader.getLocalName())) {
+            role = null;
+          }
+        }
+      }
+      finally {
+        reader.close();
+      }
     }
 
     return roleNameMapping;
@@ -147,19 +287,43 @@ public class XmlSecurityRepository extends CachingSecurityRepository<User> imple
 
   /* (non-Javadoc) */
   protected List<User> parseUsersRoles(Resource usersRoles, Map<String, Role> roles) throws Exception {
-    Document document = new SAXBuilder().build(usersRoles.getInputStream());
-    Element usersElement = document.getRootElement();
 
-    List<User> users = new ArrayList<>(usersElement.getChildren().size());
+    List<User> users = new ArrayList<>();
 
-    for (Element userElement : usersElement.getChildren()) {
-      User user = newUser(userElement.getAttributeValue("name")).with(userElement.getAttributeValue("password"));
+    try (InputStream in = usersRoles.getInputStream()) {
 
-      for (Element roleElement : userElement.getChild("roles").getChildren()) {
-        user.in(roles.get(roleElement.getAttributeValue("name")));
-      }
+      XMLStreamReader reader = newXmlStreamReader(in);
+
+      try {
+        User user = null;
+
+        while (reader.hasNext()) {
+
+          int event = reader.next();
 
-      users.add(user);
+          if (event == XMLStreamConstants.START_ELEMENT) {
+            if ("user".equals(reader.getLocalName())) {
+              user = newUser(reader.getAttributeValue(null, "name"))
+                .with(reader.getAttributeValue(null, "password"));
+              users.add(user);
+            }
+            else if ("role".equals(reader.getLocalName()) && user != null) {
+
+              Role role = roles.get(reader.getAttributeValue(null, "name"));
+
+              if (role != null) {
+                user.in(role);
+              }
+            }
+          }
+          else if (event == XMLStreamConstants.END_ELEMENT && "user".equals(reader.getLocalName())) {
+            user = null;
+          }
+        }
+      }
+      finally {
+        reader.close();
+      }
     }
 
     return users;
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+/**
+ * The {@link CredentialsVerifier} interface is a Strategy for verifying the credentials provided by a user
+ * during authentication against the credentials stored for the user (e.g. a plain text password,
+ * or a salted, slow hash of the password).
+ *
+ * @author John Blum
+ * @see example.app.geode.security.support.Pbkdf2CredentialsVerifier
+ * @see example.app.geode.security.support.PlainTextCredentialsVerifier
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface CredentialsVerifier {
+
+  /**
+   * Determines whether the {@code providedCredentials} match the {@code storedCredentials}.
+   *
+   * @param storedCredentials credentials stored for the user account.
+   * @param providedCredentials credentials provided by the user during authentication.
+   * @return a boolean value indicating whether the provided credentials match the stored credentials.
+   */
+  boolean verify(String storedCredentials, String providedCredentials);
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link LatencyHistogram} class is a lock-free, fixed-size histogram of latencies recorded in nanoseconds.
+ *
+ * Latencies are counted in power-of-2 buckets, so recording a latency is a handful of {@link LongAdder}
+ * increments with no allocation, and percentiles are accurate to within a factor of 2.
+ *
+ * @author John Blum
+ * @see java.util.concurrent.atomic.LongAdder
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class LatencyHistogram {
+
+  protected static final int BUCKET_COUNT = 40;
+
+  private final LongAccumulator maximum = new LongAccumulator(Long::max, 0L);
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder total = new LongAdder();
+
+  private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+  /**
+   * Constructs an empty instance of the {@link LatencyHistogram}.
+   */
+  public LatencyHistogram() {
+    for (int index = 0; index < this.buckets.length; index++) {
+      this.buckets[index] = new LongAdder();
+    }
+  }
+
+  /* (non-Javadoc) */
+  static int bucketIndex(long nanoseconds) {
+    return (nanoseconds <= 0L ? 0 : Math.min(Long.SIZE - Long.numberOfLeadingZeros(nanoseconds), BUCKET_COUNT - 1));
+  }
+
+  /* (non-Javadoc) */
+  static long bucketUpperBound(int index) {
+    return (index == 0 ? 0L : (1L << index) - 1L);
+  }
+
+  /**
+   * Records the given latency.
+   *
+   * @param nanoseconds latency in nanoseconds.
+   */
+  public void record(long nanoseconds) {
+
+    long latency = Math.max(nanoseconds, 0L);
+
+    this.buckets[bucketIndex(latency)].increment();
+    this.count.increment();
+    this.total.add(latency);
+    this.maximum.accumulate(latency);
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return the number of recorded latencies.
+   */
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  /**
+   * Returns the sum of all recorded latencies in the given {@link TimeUnit}.
+   *
+   * @param timeUnit {@link TimeUnit} of the returned value.
+   * @return the sum of all recorded latencies.
+   */
+  public double getTotal(TimeUnit timeUnit) {
+    return convert(this.total.sum(), timeUnit);
+  }
+
+  /**
+   * Returns the maximum recorded latency in the given {@link TimeUnit}.
+   *
+   * @param timeUnit {@link TimeUnit} of the returned value.
+   * @return the maximum recorded latency.
+   */
+  public double getMaximum(TimeUnit timeUnit) {
+    return convert(this.maximum.get(), timeUnit);
+  }
+
+  /**
+   * Returns the mean recorded latency in the given {@link TimeUnit}, or {@literal 0.0} if no latencies
+   * have been recorded.
+   *
+   * @param timeUnit {@link TimeUnit} of the returned value.
+   * @return the mean recorded latency.
+   */
+  public double getMean(TimeUnit timeUnit) {
+
+    long count = getCount();
+
+    return (count > 0 ? getTotal(timeUnit) / count : 0.0d);
+  }
+
+  /**
+   * Returns the latency, in the given {@link TimeUnit}, at or below which the given fraction of all recorded
+   * latencies fall. The value returned is the upper bound of the bucket containing the percentile.
+   *
+   * @param percentile fraction between {@literal 0.0} and {@literal 1.0} (e.g. {@literal 0.99}).
+   * @param timeUnit {@link TimeUnit} of the returned value.
+   * @return the latency at the given percentile.
+   */
+  public double getPercentile(double percentile, TimeUnit timeUnit) {
+
+    long count = getCount();
+
+    if (count == 0) {
+      return 0.0d;
+    }
+
+    long threshold = (long) Math.ceil(Math.min(Math.max(percentile, 0.0d), 1.0d) * count);
+    long cumulativeCount = 0L;
+
+    for (int index = 0; index < this.buckets.length; index++) {
+
+      cumulativeCount += this.buckets[index].sum();
+
+      if (cumulativeCount >= threshold) {
+        return convert(Math.min(bucketUpperBound(index), this.maximum.get()), timeUnit);
+      }
+    }
+
+    return getMaximum(timeUnit);
+  }
+
+  /* (non-Javadoc) */
+  private double convert(long nanoseconds, TimeUnit timeUnit) {
+    return ((double) nanoseconds / TimeUnit.NANOSECONDS.convert(1L, timeUnit));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link Pbkdf2CredentialsVerifier} class is a {@link CredentialsVerifier} for credentials stored as a salted
+ * PBKDF2 (HMAC-SHA256) hash, in the form {@literal pbkdf2:<iterations>:<base64 salt>:<base64 hash>}.
+ *
+ * Verifying a PBKDF2 hash is deliberately expensive, therefore this {@link CredentialsVerifier} should be used
+ * together with a {@link VerifiedCredentialsCache} when clients authenticate frequently.
+ *
+ * @author John Blum
+ * @see javax.crypto.SecretKeyFactory
+ * @see example.app.geode.security.support.CredentialsVerifier
+ * @see example.app.geode.security.support.VerifiedCredentialsCache
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class Pbkdf2CredentialsVerifier implements CredentialsVerifier {
+
+  public static final int DEFAULT_ITERATIONS = 100000;
+
+  protected static final int HASH_LENGTH_IN_BITS = 256;
+  protected static final int SALT_LENGTH_IN_BYTES = 16;
+
+  protected static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  protected static final String PREFIX = "pbkdf2";
+  protected static final String SEPARATOR = ":";
+
+  private final int iterations;
+
+  private final SecureRandom random = new SecureRandom();
+
+  /**
+   * Constructs an instance of the {@link Pbkdf2CredentialsVerifier} hashing credentials
+   * with {@link #DEFAULT_ITERATIONS}.
+   */
+  public Pbkdf2CredentialsVerifier() {
+    this(DEFAULT_ITERATIONS);
+  }
+
+  /**
+   * Constructs an instance of the {@link Pbkdf2CredentialsVerifier} hashing credentials
+   * with the given number of iterations.
+   *
+   * @param iterations number of PBKDF2 iterations used when hashing new credentials.
+   * @throws IllegalArgumentException if {@code iterations} is less than 1.
+   */
+  public Pbkdf2CredentialsVerifier(int iterations) {
+    Assert.isTrue(iterations > 0, String.format("Iterations [%d] must be greater than 0", iterations));
+    this.iterations = iterations;
+  }
+
+  /**
+   * Returns the number of PBKDF2 iterations used when hashing new credentials.
+   *
+   * @return the number of PBKDF2 iterations used when hashing new credentials.
+   */
+  public int getIterations() {
+    return this.iterations;
+  }
+
+  /**
+   * Hashes the given plain text credentials with a new random salt, returning the encoded form
+   * to store for the user.
+   *
+   * @param credentials plain text credentials to hash.
+   * @return the encoded, salted hash of the given credentials.
+   * @throws IllegalArgumentException if {@code credentials} is {@literal null}.
+   */
+  public String hash(String credentials) {
+
+    Assert.notNull(credentials, "Credentials must not be null");
+
+    byte[] salt = new byte[SALT_LENGTH_IN_BYTES];
+
+    this.random.nextBytes(salt);
+
+    Base64.Encoder encoder = Base64.getEncoder();
+
+    return String.join(SEPARATOR, PREFIX, String.valueOf(getIterations()), encoder.encodeToString(salt),
+      encoder.encodeToString(pbkdf2(credentials, salt, getIterations())));
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean verify(String storedCredentials, String providedCredentials) {
+
+    if (storedCredentials == null || providedCredentials == null) {
+      return false;
+    }
+
+    String[] parts = storedCredentials.split(SEPARATOR);
+
+    if (parts.length != 4 || !PREFIX.equals(parts[0])) {
+      return false;
+    }
+
+    try {
+      Base64.Decoder decoder = Base64.getDecoder();
+
+      byte[] expectedHash = decoder.decode(parts[3]);
+
+      return MessageDigest.isEqual(expectedHash,
+        pbkdf2(providedCredentials, decoder.decode(parts[2]), Integer.parseInt(parts[1])));
+    }
+    catch (IllegalArgumentException ignore) {
+      return false;
+    }
+  }
+
+  /* (non-Javadoc) */
+  private byte[] pbkdf2(String credentials, byte[] salt, int iterations) {
+
+    PBEKeySpec keySpec = new PBEKeySpec(credentials.toCharArray(), salt, iterations, HASH_LENGTH_IN_BITS);
+
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(keySpec).getEncoded();
+    }
+    catch (GeneralSecurityException cause) {
+      throw new IllegalStateException(String.format("Failed to hash credentials with [%s]", ALGORITHM), cause);
+    }
+    finally {
+      keySpec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * The {@link PlainTextCredentialsVerifier} class is a {@link CredentialsVerifier} comparing plain text credentials
+ * in constant time. Two {@literal null} credentials are considered a match.
+ *
+ * @author John Blum
+ * @see java.security.MessageDigest#isEqual(byte[], byte[])
+ * @see example.app.geode.security.support.CredentialsVerifier
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class PlainTextCredentialsVerifier implements CredentialsVerifier {
+
+  public static final PlainTextCredentialsVerifier INSTANCE = new PlainTextCredentialsVerifier();
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean verify(String storedCredentials, String providedCredentials) {
+
+    return (storedCredentials == null || providedCredentials == null
+      ? storedCredentials == providedCredentials
+      : MessageDigest.isEqual(storedCredentials.getBytes(StandardCharsets.UTF_8),
+          providedCredentials.getBytes(StandardCharsets.UTF_8)));
+  }
+}
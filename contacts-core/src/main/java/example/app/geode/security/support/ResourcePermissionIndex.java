@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.geode.security.ResourcePermission;
+import org.apache.geode.security.ResourcePermission.Operation;
+import org.apache.geode.security.ResourcePermission.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import example.app.geode.security.model.Role;
+import example.app.geode.security.model.User;
+
+/**
+ * The {@link ResourcePermissionIndex} class is an immutable lookup structure compiled from all the
+ * {@link ResourcePermission ResourcePermissions} granted to a {@link User} through the {@link User User's}
+ * {@link Role Roles}.
+ *
+ * Granted permissions are indexed by {@link Resource}, {@link Operation}, Region and key, so determining whether
+ * a required {@link ResourcePermission} is implied by any granted permission costs at most 16 hash lookups
+ * (exact and wildcard match at each level), regardless of how many {@link Role Roles} and
+ * {@link ResourcePermission ResourcePermissions} the {@link User} has.
+ *
+ * The matching rules are the same as {@link ResourcePermission#implies(org.apache.shiro.authz.Permission)}:
+ * at every level, a granted wildcard ({@literal ALL} or {@literal *}) matches any required value, otherwise
+ * the values must be equal. Comma-delimited Region and key values match any of the listed values.
+ *
+ * @author John Blum
+ * @see org.apache.geode.security.ResourcePermission
+ * @see example.app.geode.security.model.Role
+ * @see example.app.geode.security.model.User
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public final class ResourcePermissionIndex {
+
+  private final int size;
+
+  private final Map<Resource, Map<Operation, Map<String, Set<String>>>> index;
+
+  /**
+   * Factory method used to compile all the {@link ResourcePermission ResourcePermissions} granted to
+   * the given {@link User} into a {@link ResourcePermissionIndex}.
+   *
+   * @param user {@link User} whose permissions are compiled.
+   * @return a new {@link ResourcePermissionIndex} for the given {@link User}.
+   * @throws IllegalArgumentException if {@link User} is {@literal null}.
+   * @see example.app.geode.security.model.User
+   */
+  public static ResourcePermissionIndex compile(User user) {
+
+    Assert.notNull(user, "User must not be null");
+
+    List<ResourcePermission> permissions = new ArrayList<>();
+
+    for (Role role : user) {
+      for (ResourcePermission permission : role) {
+        permissions.add(permission);
+      }
+    }
+
+    return compile(permissions);
+  }
+
+  /**
+   * Factory method used to compile the given {@link ResourcePermission ResourcePermissions}
+   * into a {@link ResourcePermissionIndex}.
+   *
+   * @param permissions {@link Iterable} of granted {@link ResourcePermission ResourcePermissions} to compile.
+   * @return a new {@link ResourcePermissionIndex} for the given {@link ResourcePermission ResourcePermissions}.
+   * @throws IllegalArgumentException if the {@link Iterable} is {@literal null}.
+   * @see org.apache.geode.security.ResourcePermission
+   */
+  public static ResourcePermissionIndex compile(Iterable<ResourcePermission> permissions) {
+
+    Assert.notNull(permissions, "ResourcePermissions must not be null");
+
+    Map<Resource, Map<Operation, Map<String, Set<String>>>> index = new EnumMap<>(Resource.class);
+
+    int size = 0;
+
+    for (ResourcePermission permission : permissions) {
+
+      Map<String, Set<String>> regions = index
+        .computeIfAbsent(permission.getResource(), resource -> new EnumMap<>(Operation.class))
+        .computeIfAbsent(permission.getOperation(), operation -> new HashMap<>());
+
+      for (String region : split(permission.getRegionName())) {
+
+        Set<String> keys = regions.computeIfAbsent(region, regionName -> new HashSet<>());
+
+        for (String key : split(permission.getKey())) {
+          if (keys.add(key)) {
+            size++;
+          }
+        }
+      }
+    }
+
+    return new ResourcePermissionIndex(index, size);
+  }
+
+  /* (non-Javadoc) */
+  private static Set<String> split(String value) {
+
+    String resolvedValue = (value != null ? value : ResourcePermission.ALL);
+
+    return (resolvedValue.indexOf(',') < 0 ? Collections.singleton(resolvedValue)
+      : StringUtils.commaDelimitedListToSet(StringUtils.trimAllWhitespace(resolvedValue)));
+  }
+
+  /* (non-Javadoc) */
+  private ResourcePermissionIndex(Map<Resource, Map<Operation, Map<String, Set<String>>>> index, int size) {
+    this.index = index;
+    this.size = size;
+  }
+
+  /**
+   * Determines whether the required {@link ResourcePermission} is implied by any of the granted permissions
+   * in this index.
+   *
+   * @param requiredPermission {@link ResourcePermission} required to access a resource.
+   * @return a boolean value indicating whether the required {@link ResourcePermission} is granted.
+   * @see org.apache.geode.security.ResourcePermission
+   */
+  public boolean implies(ResourcePermission requiredPermission) {
+
+    return requiredPermission != null
+      && (impliesOperation(this.index.get(requiredPermission.getResource()), requiredPermission)
+        || impliesOperation(this.index.get(Resource.ALL), requiredPermission));
+  }
+
+  /* (non-Javadoc) */
+  private boolean impliesOperation(Map<Operation, Map<String, Set<String>>> operations,
+      ResourcePermission requiredPermission) {
+
+    return operations != null
+      && (impliesRegion(operations.get(requiredPermission.getOperation()), requiredPermission)
+        || impliesRegion(operations.get(Operation.ALL), requiredPermission));
+  }
+
+  /* (non-Javadoc) */
+  private boolean impliesRegion(Map<String, Set<String>> regions, ResourcePermission requiredPermission) {
+
+    return regions != null
+      && (impliesKey(regions.get(requiredPermission.getRegionName()), requiredPermission)
+        || impliesKey(regions.get(ResourcePermission.ALL), requiredPermission));
+  }
+
+  /* (non-Javadoc) */
+  private boolean impliesKey(Set<String> keys, ResourcePermission requiredPermission) {
+    return keys != null && (keys.contains(ResourcePermission.ALL) || keys.contains(requiredPermission.getKey()));
+  }
+
+  /**
+   * Determines whether this index contains no granted permissions.
+   *
+   * @return a boolean value indicating whether this index contains no granted permissions.
+   */
+  public boolean isEmpty() {
+    return (size() == 0);
+  }
+
+  /**
+   * Returns the number of distinct (Resource, Operation, Region, key) grants in this index.
+   *
+   * @return the number of distinct grants in this index.
+   */
+  public int size() {
+    return this.size;
+  }
+}
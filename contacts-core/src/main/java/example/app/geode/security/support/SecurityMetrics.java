@@ -0,0 +1,505 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.geode.security.ResourcePermission;
+import org.apache.geode.security.ResourcePermission.Operation;
+import org.apache.geode.security.ResourcePermission.Resource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link SecurityMetrics} class records the latency and outcome of authentication and authorization requests
+ * handled by an Apache Geode {@link org.apache.geode.security.SecurityManager}, along with the hit ratios of
+ * any caches used to make those decisions.
+ *
+ * Recording is lock-free and allocation-free on the authorization path; decision counters are indexed by
+ * {@link Resource}, {@link Operation} and Region name. The metrics are published to JMX with {@link #register()},
+ * and to Micrometer with the {@link SecurityMetricsMeterBinder}.
+ *
+ * @author John Blum
+ * @see example.app.geode.security.support.LatencyHistogram
+ * @see example.app.geode.security.support.SecurityMetricsMXBean
+ * @see example.app.geode.security.support.SecurityMetricsMeterBinder
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class SecurityMetrics implements SecurityMetricsMXBean {
+
+  protected static final String OBJECT_NAME = "example.app.geode.security:type=SecurityMetrics,name=%s";
+
+  private final LatencyHistogram authenticationLatency = new LatencyHistogram();
+  private final LatencyHistogram authorizationLatency = new LatencyHistogram();
+
+  private final List<Consumer<DecisionCounter>> decisionCounterListeners = new CopyOnWriteArrayList<>();
+
+  private final LongAdder authenticationFailures = new LongAdder();
+  private final LongAdder authorizationDenials = new LongAdder();
+
+  protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+  private final Map<Resource, Map<Operation, ConcurrentMap<String, DecisionCounter>>> decisionCounters;
+
+  private final Map<String, CacheStatistics> caches = new ConcurrentHashMap<>();
+
+  private volatile ObjectName objectName;
+
+  private final String name;
+
+  /**
+   * Constructs an instance of {@link SecurityMetrics} with the given name, which identifies
+   * the {@link org.apache.geode.security.SecurityManager} in JMX and Micrometer.
+   *
+   * @param name name of these {@link SecurityMetrics}.
+   * @throws IllegalArgumentException if {@code name} is {@literal null} or empty.
+   */
+  public SecurityMetrics(String name) {
+
+    Assert.hasText(name, "Name is required");
+
+    Map<Resource, Map<Operation, ConcurrentMap<String, DecisionCounter>>> decisionCounters =
+      new EnumMap<>(Resource.class);
+
+    for (Resource resource : Resource.values()) {
+
+      Map<Operation, ConcurrentMap<String, DecisionCounter>> operations = new EnumMap<>(Operation.class);
+
+      for (Operation operation : Operation.values()) {
+        operations.put(operation, new ConcurrentHashMap<>());
+      }
+
+      decisionCounters.put(resource, operations);
+    }
+
+    this.name = name;
+    this.decisionCounters = decisionCounters;
+  }
+
+  /**
+   * Returns the name of these {@link SecurityMetrics}.
+   *
+   * @return the name of these {@link SecurityMetrics}.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Records the latency and outcome of an authentication request.
+   *
+   * @param nanoseconds time taken to authenticate in nanoseconds.
+   * @param authenticated boolean indicating whether the authentication succeeded.
+   */
+  public void recordAuthentication(long nanoseconds, boolean authenticated) {
+
+    this.authenticationLatency.record(nanoseconds);
+
+    if (!authenticated) {
+      this.authenticationFailures.increment();
+    }
+  }
+
+  /**
+   * Records the latency and outcome of an authorization request.
+   *
+   * @param permission {@link ResourcePermission} required by the request; may be {@literal null}.
+   * @param nanoseconds time taken to authorize in nanoseconds.
+   * @param authorized boolean indicating whether the request was authorized.
+   */
+  public void recordAuthorization(ResourcePermission permission, long nanoseconds, boolean authorized) {
+
+    this.authorizationLatency.record(nanoseconds);
+
+    if (!authorized) {
+      this.authorizationDenials.increment();
+    }
+
+    if (permission != null) {
+      resolveDecisionCounter(permission).record(authorized);
+    }
+  }
+
+  /* (non-Javadoc) */
+  private DecisionCounter resolveDecisionCounter(ResourcePermission permission) {
+
+    String region = (permission.getRegionName() != null ? permission.getRegionName() : ResourcePermission.ALL);
+
+    ConcurrentMap<String, DecisionCounter> regions =
+      this.decisionCounters.get(permission.getResource()).get(permission.getOperation());
+
+    DecisionCounter decisionCounter = regions.get(region);
+
+    if (decisionCounter == null) {
+
+      DecisionCounter newDecisionCounter =
+        new DecisionCounter(permission.getResource(), permission.getOperation(), region);
+
+      decisionCounter = regions.putIfAbsent(region, newDecisionCounter);
+
+      if (decisionCounter == null) {
+        decisionCounter = newDecisionCounter;
+        this.decisionCounterListeners.forEach(listener -> listener.accept(newDecisionCounter));
+      }
+    }
+
+    return decisionCounter;
+  }
+
+  /**
+   * Registers a listener notified whenever decisions are first recorded for a new Resource, Operation
+   * and Region combination, and immediately for all existing combinations.
+   *
+   * @param listener {@link Consumer} of {@link DecisionCounter DecisionCounters}.
+   */
+  public void addDecisionCounterListener(Consumer<DecisionCounter> listener) {
+
+    this.decisionCounterListeners.add(listener);
+
+    getDecisionCounters().forEach(listener);
+  }
+
+  /**
+   * Registers a cache used by the {@link org.apache.geode.security.SecurityManager} so its hit ratio is published
+   * along with these {@link SecurityMetrics}.
+   *
+   * @param name name of the cache.
+   * @param hits {@link LongSupplier} of the number of cache hits.
+   * @param misses {@link LongSupplier} of the number of cache misses.
+   */
+  public void registerCache(String name, LongSupplier hits, LongSupplier misses) {
+    this.caches.put(name, new CacheStatistics(name, hits, misses));
+  }
+
+  /**
+   * Returns the latency histogram of authentication requests.
+   *
+   * @return the {@link LatencyHistogram} of authentication requests.
+   */
+  public LatencyHistogram getAuthenticationLatency() {
+    return this.authenticationLatency;
+  }
+
+  /**
+   * Returns the latency histogram of authorization requests.
+   *
+   * @return the {@link LatencyHistogram} of authorization requests.
+   */
+  public LatencyHistogram getAuthorizationLatency() {
+    return this.authorizationLatency;
+  }
+
+  /**
+   * Returns all the caches registered with these {@link SecurityMetrics}.
+   *
+   * @return a {@link Collection} of {@link CacheStatistics}.
+   */
+  public Collection<CacheStatistics> getCaches() {
+    return Collections.unmodifiableCollection(this.caches.values());
+  }
+
+  /**
+   * Returns the decision counters of all the Resource, Operation and Region combinations authorized so far.
+   *
+   * @return a {@link List} of {@link DecisionCounter DecisionCounters}.
+   */
+  public List<DecisionCounter> getDecisionCounters() {
+
+    List<DecisionCounter> decisionCounters = new ArrayList<>();
+
+    for (Map<Operation, ConcurrentMap<String, DecisionCounter>> operations : this.decisionCounters.values()) {
+      for (ConcurrentMap<String, DecisionCounter> regions : operations.values()) {
+        decisionCounters.addAll(regions.values());
+      }
+    }
+
+    return decisionCounters;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public long getAuthenticationCount() {
+    return this.authenticationLatency.getCount();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public long getAuthenticationFailureCount() {
+    return this.authenticationFailures.sum();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthenticationLatencyMean() {
+    return this.authenticationLatency.getMean(TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthenticationLatency99thPercentile() {
+    return this.authenticationLatency.getPercentile(0.99d, TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthenticationLatencyMax() {
+    return this.authenticationLatency.getMaximum(TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public long getAuthorizationCount() {
+    return this.authorizationLatency.getCount();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public long getAuthorizationDeniedCount() {
+    return this.authorizationDenials.sum();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthorizationLatencyMean() {
+    return this.authorizationLatency.getMean(TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthorizationLatency99thPercentile() {
+    return this.authorizationLatency.getPercentile(0.99d, TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public double getAuthorizationLatencyMax() {
+    return this.authorizationLatency.getMaximum(TimeUnit.MICROSECONDS);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getGrantedAuthorizationCounts() {
+
+    Map<String, Long> counts = new TreeMap<>();
+
+    for (DecisionCounter decisionCounter : getDecisionCounters()) {
+      counts.put(decisionCounter.toString(), decisionCounter.getGrantedCount());
+    }
+
+    return counts;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Long> getDeniedAuthorizationCounts() {
+
+    Map<String, Long> counts = new TreeMap<>();
+
+    for (DecisionCounter decisionCounter : getDecisionCounters()) {
+      counts.put(decisionCounter.toString(), decisionCounter.getDeniedCount());
+    }
+
+    return counts;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Map<String, Double> getCacheHitRatios() {
+
+    Map<String, Double> hitRatios = new TreeMap<>();
+
+    for (CacheStatistics cache : getCaches()) {
+      hitRatios.put(cache.getName(), cache.getHitRatio());
+    }
+
+    return hitRatios;
+  }
+
+  /**
+   * Registers these {@link SecurityMetrics} with the platform {@link MBeanServer}.  Registration failures are logged
+   * rather than thrown so that publishing metrics never prevents the {@link org.apache.geode.security.SecurityManager}
+   * from securing Apache Geode.
+   */
+  public synchronized void register() {
+
+    if (this.objectName == null) {
+      try {
+        ObjectName objectName = new ObjectName(String.format(OBJECT_NAME, ObjectName.quote(getName())));
+
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+
+        this.objectName = objectName;
+      }
+      catch (JMException cause) {
+        logger.warn(String.format("Failed to register SecurityMetrics [%s] in JMX", getName()), cause);
+      }
+    }
+  }
+
+  /**
+   * Unregisters these {@link SecurityMetrics} from the platform {@link MBeanServer}.
+   */
+  public synchronized void unregister() {
+
+    if (this.objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+      }
+      catch (JMException cause) {
+        logger.warn(String.format("Failed to unregister SecurityMetrics [%s] from JMX", getName()), cause);
+      }
+      finally {
+        this.objectName = null;
+      }
+    }
+  }
+
+  /**
+   * The {@link DecisionCounter} class counts granted and denied authorization decisions for a single
+   * {@link Resource}, {@link Operation} and Region combination.
+   */
+  public static final class DecisionCounter {
+
+    private final LongAdder denied = new LongAdder();
+    private final LongAdder granted = new LongAdder();
+
+    private final Operation operation;
+
+    private final Resource resource;
+
+    private final String region;
+
+    private DecisionCounter(Resource resource, Operation operation, String region) {
+      this.resource = resource;
+      this.operation = operation;
+      this.region = region;
+    }
+
+    private void record(boolean authorized) {
+      (authorized ? this.granted : this.denied).increment();
+    }
+
+    public long getDeniedCount() {
+      return this.denied.sum();
+    }
+
+    public long getGrantedCount() {
+      return this.granted.sum();
+    }
+
+    public Operation getOperation() {
+      return this.operation;
+    }
+
+    public String getRegion() {
+      return this.region;
+    }
+
+    public Resource getResource() {
+      return this.resource;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%1$s:%2$s:%3$s", getResource(), getOperation(), getRegion());
+    }
+  }
+
+  /**
+   * The {@link CacheStatistics} class exposes the hits and misses of a cache used by
+   * a {@link org.apache.geode.security.SecurityManager}.
+   */
+  public static final class CacheStatistics {
+
+    private final LongSupplier hits;
+    private final LongSupplier misses;
+
+    private final String name;
+
+    private CacheStatistics(String name, LongSupplier hits, LongSupplier misses) {
+      this.name = name;
+      this.hits = hits;
+      this.misses = misses;
+    }
+
+    public String getName() {
+      return this.name;
+    }
+
+    public long getHitCount() {
+      return this.hits.getAsLong();
+    }
+
+    public long getMissCount() {
+      return this.misses.getAsLong();
+    }
+
+    public double getHitRatio() {
+
+      long hits = getHitCount();
+      long total = hits + getMissCount();
+
+      return (total > 0 ? (double) hits / total : 0.0d);
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.util.Map;
+
+/**
+ * The {@link SecurityMetricsMXBean} interface defines the JMX management interface of {@link SecurityMetrics}.
+ *
+ * All latencies are in microseconds.
+ *
+ * @author John Blum
+ * @see example.app.geode.security.support.SecurityMetrics
+ * @since 1.0.0
+ */
+public interface SecurityMetricsMXBean {
+
+  long getAuthenticationCount();
+
+  long getAuthenticationFailureCount();
+
+  double getAuthenticationLatencyMean();
+
+  double getAuthenticationLatency99thPercentile();
+
+  double getAuthenticationLatencyMax();
+
+  long getAuthorizationCount();
+
+  long getAuthorizationDeniedCount();
+
+  double getAuthorizationLatencyMean();
+
+  double getAuthorizationLatency99thPercentile();
+
+  double getAuthorizationLatencyMax();
+
+  Map<String, Long> getGrantedAuthorizationCounts();
+
+  Map<String, Long> getDeniedAuthorizationCounts();
+
+  Map<String, Double> getCacheHitRatios();
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The {@link SecurityMetricsMeterBinder} class is a Micrometer {@link MeterBinder} publishing
+ * {@link SecurityMetrics} to a {@link MeterRegistry}.
+ *
+ * Declaring this {@link MeterBinder} as a bean in a Spring Boot application with Actuator binds
+ * the {@link SecurityMetrics} automatically.
+ *
+ * @author John Blum
+ * @see io.micrometer.core.instrument.binder.MeterBinder
+ * @see example.app.geode.security.support.SecurityMetrics
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class SecurityMetricsMeterBinder implements MeterBinder {
+
+  protected static final String METER_NAME_PREFIX = "geode.security.";
+
+  private final Collection<SecurityMetrics> securityMetrics;
+
+  /**
+   * Constructs an instance of the {@link SecurityMetricsMeterBinder} publishing the given {@link SecurityMetrics}.
+   *
+   * @param securityMetrics array of {@link SecurityMetrics} to publish.
+   * @throws IllegalArgumentException if the array is {@literal null}.
+   */
+  public SecurityMetricsMeterBinder(SecurityMetrics... securityMetrics) {
+    Assert.notNull(securityMetrics, "SecurityMetrics must not be null");
+    this.securityMetrics = Arrays.asList(securityMetrics);
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public void bindTo(MeterRegistry registry) {
+
+    for (SecurityMetrics metrics : this.securityMetrics) {
+
+      Tags tags = Tags.of("securityManager", metrics.getName());
+
+      bindLatency(registry, "authentication", metrics.getAuthenticationLatency(), tags);
+      bindLatency(registry, "authorization", metrics.getAuthorizationLatency(), tags);
+
+      FunctionCounter.builder(METER_NAME_PREFIX + "authentication.failures", metrics,
+          SecurityMetrics::getAuthenticationFailureCount)
+        .tags(tags)
+        .register(registry);
+
+      FunctionCounter.builder(METER_NAME_PREFIX + "authorization.denied", metrics,
+          SecurityMetrics::getAuthorizationDeniedCount)
+        .tags(tags)
+        .register(registry);
+
+      for (SecurityMetrics.CacheStatistics cache : metrics.getCaches()) {
+        Gauge.builder(METER_NAME_PREFIX + "cache.hit.ratio", cache, SecurityMetrics.CacheStatistics::getHitRatio)
+          .tags(tags.and("cache", cache.getName()))
+          .register(registry);
+      }
+
+      metrics.addDecisionCounterListener(decisionCounter -> {
+
+        Tags decisionTags = tags.and("resource", decisionCounter.getResource().name(),
+          "operation", decisionCounter.getOperation().name(), "region", decisionCounter.getRegion());
+
+        FunctionCounter.builder(METER_NAME_PREFIX + "authorization.decisions", decisionCounter,
+            SecurityMetrics.DecisionCounter::getGrantedCount)
+          .tags(decisionTags.and("outcome", "granted"))
+          .register(registry);
+
+        FunctionCounter.builder(METER_NAME_PREFIX + "authorization.decisions", decisionCounter,
+            SecurityMetrics.DecisionCounter::getDeniedCount)
+          .tags(decisionTags.and("outcome", "denied"))
+          .register(registry);
+      });
+    }
+  }
+
+  /* (non-Javadoc) */
+  private void bindLatency(MeterRegistry registry, String name, LatencyHistogram latency, Tags tags) {
+
+    FunctionTimer.builder(METER_NAME_PREFIX + name, latency, LatencyHistogram::getCount,
+        histogram -> histogram.getTotal(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+      .tags(tags)
+      .register(registry);
+
+    Gauge.builder(METER_NAME_PREFIX + name + ".max", latency, histogram -> histogram.getMaximum(TimeUnit.SECONDS))
+      .tags(tags)
+      .baseUnit("seconds")
+      .register(registry);
+
+    Gauge.builder(METER_NAME_PREFIX + name + ".percentile", latency,
+        histogram -> histogram.getPercentile(0.99d, TimeUnit.SECONDS))
+      .tags(tags.and("phi", "0.99"))
+      .baseUnit("seconds")
+      .register(registry);
+  }
+}
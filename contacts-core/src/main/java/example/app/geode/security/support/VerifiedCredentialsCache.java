@@ -0,0 +1,285 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link VerifiedCredentialsCache} class remembers, for a short time, the credentials a user successfully
+ * authenticated with, so repeated authentication requests from the same client (e.g. every new connection
+ * in a client Pool) do not pay for an expensive {@link CredentialsVerifier} (e.g. PBKDF2) every time.
+ *
+ * Entries are keyed by username and hold a salted SHA-256 digest of the provided credentials, never
+ * the credentials themselves. An entry is only used while it has not expired and the user's stored credentials
+ * are still the credentials that were verified, therefore changing a user's password invalidates the entry.
+ * Failed verifications are never cached.
+ *
+ * @author John Blum
+ * @see example.app.geode.security.support.CredentialsVerifier
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class VerifiedCredentialsCache {
+
+  public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+  public static final long DEFAULT_TIME_TO_LIVE = TimeUnit.MINUTES.toMillis(5);
+
+  protected static final String DIGEST_ALGORITHM = "SHA-256";
+
+  private final AtomicLong evictionCount = new AtomicLong(0L);
+  private final AtomicLong hitCount = new AtomicLong(0L);
+  private final AtomicLong missCount = new AtomicLong(0L);
+
+  private final byte[] salt = new byte[16];
+
+  private final ConcurrentMap<String, VerifiedCredentials> verifiedCredentials = new ConcurrentHashMap<>();
+
+  private volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+  private volatile long timeToLive = DEFAULT_TIME_TO_LIVE;
+
+  /**
+   * Constructs an instance of the {@link VerifiedCredentialsCache} with a random salt
+   * used to digest the provided credentials.
+   */
+  public VerifiedCredentialsCache() {
+    new SecureRandom().nextBytes(this.salt);
+  }
+
+  /**
+   * Sets the maximum number of users with verified credentials held by this cache.
+   *
+   * @param maximumSize maximum number of cached entries.
+   * @throws IllegalArgumentException if {@code maximumSize} is less than 1.
+   */
+  public void setMaximumSize(int maximumSize) {
+    Assert.isTrue(maximumSize > 0, String.format("Maximum size [%d] must be greater than 0", maximumSize));
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the maximum number of users with verified credentials held by this cache.
+   *
+   * @return the maximum number of cached entries.
+   */
+  public int getMaximumSize() {
+    return this.maximumSize;
+  }
+
+  /**
+   * Sets the number of milliseconds successfully verified credentials are remembered.  A value of 0 disables
+   * caching.
+   *
+   * @param timeToLive number of milliseconds successfully verified credentials are remembered.
+   * @throws IllegalArgumentException if {@code timeToLive} is negative.
+   */
+  public void setTimeToLive(long timeToLive) {
+    Assert.isTrue(timeToLive >= 0, String.format("Time-to-live [%d] must be greater than or equal to 0",
+      timeToLive));
+    this.timeToLive = timeToLive;
+  }
+
+  /**
+   * Returns the number of milliseconds successfully verified credentials are remembered.
+   *
+   * @return the number of milliseconds successfully verified credentials are remembered.
+   */
+  public long getTimeToLive() {
+    return this.timeToLive;
+  }
+
+  /**
+   * Returns the number of cached entries evicted before they expired to keep this cache bounded.
+   *
+   * @return the number of evicted entries.
+   */
+  public long getEvictionCount() {
+    return this.evictionCount.get();
+  }
+
+  /**
+   * Returns the number of verifications satisfied by this cache.
+   *
+   * @return the number of cache hits.
+   */
+  public long getHitCount() {
+    return this.hitCount.get();
+  }
+
+  /**
+   * Returns the number of verifications delegated to the {@link CredentialsVerifier}.
+   *
+   * @return the number of cache misses.
+   */
+  public long getMissCount() {
+    return this.missCount.get();
+  }
+
+  /**
+   * Returns the ratio of cache hits to all verifications, or {@literal 0.0} if no verifications happened yet.
+   *
+   * @return the cache hit ratio.
+   */
+  public double getHitRatio() {
+
+    long hits = getHitCount();
+    long total = hits + getMissCount();
+
+    return (total > 0 ? (double) hits / total : 0.0d);
+  }
+
+  /**
+   * Returns the number of users with verified credentials currently held by this cache.
+   *
+   * @return the number of cached entries.
+   */
+  public int size() {
+    return this.verifiedCredentials.size();
+  }
+
+  /**
+   * Determines whether the {@code providedCredentials} match the user's {@code storedCredentials}, answering from
+   * this cache when the same credentials were successfully verified for the user recently, and delegating to
+   * the given {@link CredentialsVerifier} otherwise.
+   *
+   * @param username name of the user authenticating.
+   * @param storedCredentials credentials stored for the user account.
+   * @param providedCredentials credentials provided by the user during authentication.
+   * @param verifier {@link CredentialsVerifier} used on a cache miss.
+   * @return a boolean value indicating whether the provided credentials match the stored credentials.
+   * @see example.app.geode.security.support.CredentialsVerifier
+   */
+  public boolean verify(String username, String storedCredentials, String providedCredentials,
+      CredentialsVerifier verifier) {
+
+    Assert.notNull(verifier, "CredentialsVerifier must not be null");
+
+    if (username == null || providedCredentials == null || getTimeToLive() == 0) {
+      return verifier.verify(storedCredentials, providedCredentials);
+    }
+
+    byte[] digest = digest(providedCredentials);
+
+    long now = System.currentTimeMillis();
+
+    VerifiedCredentials entry = this.verifiedCredentials.get(username);
+
+    if (entry != null && entry.isValid(storedCredentials, digest, now)) {
+      this.hitCount.incrementAndGet();
+      return true;
+    }
+
+    this.missCount.incrementAndGet();
+
+    boolean verified = verifier.verify(storedCredentials, providedCredentials);
+
+    if (verified) {
+      evictIfFull(now);
+      this.verifiedCredentials.put(username, new VerifiedCredentials(storedCredentials, digest,
+        now + getTimeToLive()));
+    }
+    else if (entry != null && !Objects.equals(entry.storedCredentials, storedCredentials)) {
+      this.verifiedCredentials.remove(username, entry);
+    }
+
+    return verified;
+  }
+
+  /* (non-Javadoc) */
+  private byte[] digest(String credentials) {
+
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+
+      messageDigest.update(this.salt);
+
+      return messageDigest.digest(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+    catch (NoSuchAlgorithmException cause) {
+      throw new IllegalStateException(String.format("[%s] is not supported", DIGEST_ALGORITHM), cause);
+    }
+  }
+
+  /* (non-Javadoc) */
+  private void evictIfFull(long now) {
+
+    if (this.verifiedCredentials.size() >= getMaximumSize()) {
+
+      this.verifiedCredentials.values().removeIf(entry -> entry.isExpired(now));
+
+      if (this.verifiedCredentials.size() >= getMaximumSize()) {
+        this.evictionCount.addAndGet(this.verifiedCredentials.size());
+        this.verifiedCredentials.clear();
+      }
+    }
+  }
+
+  /**
+   * Removes the verified credentials of the given user, forcing the next authentication of the user
+   * to be verified by the {@link CredentialsVerifier}.
+   *
+   * @param username name of the user.
+   */
+  public void invalidate(String username) {
+    if (username != null) {
+      this.verifiedCredentials.remove(username);
+    }
+  }
+
+  /**
+   * Removes the verified credentials of all users.
+   */
+  public void invalidateAll() {
+    this.verifiedCredentials.clear();
+  }
+
+  /* (non-Javadoc) */
+  private static final class VerifiedCredentials {
+
+    private final byte[] digest;
+
+    private final long expiresAt;
+
+    private final String storedCredentials;
+
+    private VerifiedCredentials(String storedCredentials, byte[] digest, long expiresAt) {
+      this.storedCredentials = storedCredentials;
+      this.digest = digest;
+      this.expiresAt = expiresAt;
+    }
+
+    private boolean isExpired(long now) {
+      return (now >= this.expiresAt);
+    }
+
+    private boolean isValid(String storedCredentials, byte[] digest, long now) {
+      return (!isExpired(now) && Objects.equals(this.storedCredentials, storedCredentials)
+        && MessageDigest.isEqual(this.digest, digest));
+    }
+  }
+}
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import org.cp.elements.lang.Identifiable;
 import org.cp.elements.lang.StringUtils;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.gemfire.mapping.annotation.Indexed;
 import org.springframework.data.gemfire.mapping.annotation.Region;
@@ -35,6 +36,8 @@ import org.springframework.data.geo.Point;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
+import example.app.model.support.AssignedOrSequenceIdentifierGenerator;
+
 /**
  * The {@link Address} class is an Abstract Data Type (ADT) that models a US address location.
  *
@@ -120,7 +123,9 @@ public class Address implements Identifiable<Long>, Serializable {
 
 	@Id
 	@javax.persistence.Id
-	@GeneratedValue
+	@GeneratedValue(generator = AssignedOrSequenceIdentifierGenerator.NAME)
+	@GenericGenerator(name = AssignedOrSequenceIdentifierGenerator.NAME,
+		strategy = AssignedOrSequenceIdentifierGenerator.STRATEGY)
 	public Long getId() {
 		return this.id;
 	}
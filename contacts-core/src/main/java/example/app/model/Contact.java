@@ -31,12 +31,15 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import org.cp.elements.lang.Identifiable;
 import org.cp.elements.util.ComparatorResultBuilder;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.gemfire.mapping.annotation.Region;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import example.app.model.support.AssignedOrSequenceIdentifierGenerator;
+
 /**
  * The {@link Contact} class is an Abstract Data Type (ADT) modeling contact information for an individual person,
  * such as address, email address and phone number.
@@ -167,7 +170,9 @@ public class Contact implements Comparable<Contact>, Identifiable<Long>, Seriali
 
 	@Id
 	@javax.persistence.Id
-	@GeneratedValue
+	@GeneratedValue(generator = AssignedOrSequenceIdentifierGenerator.NAME)
+	@GenericGenerator(name = AssignedOrSequenceIdentifierGenerator.NAME,
+		strategy = AssignedOrSequenceIdentifierGenerator.STRATEGY)
 	public Long getId() {
 		return id;
 	}
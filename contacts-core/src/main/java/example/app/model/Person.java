@@ -22,6 +22,7 @@ import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
@@ -42,11 +43,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import org.cp.elements.lang.Identifiable;
 import org.cp.elements.util.ComparatorResultBuilder;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.gemfire.mapping.annotation.Region;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
+import example.app.model.support.AssignedOrSequenceIdentifierGenerator;
+
 /**
  * The {@link Person} class is an Abstract Data Type (ADT) modeling a person.
  *
@@ -64,7 +68,7 @@ import org.springframework.util.ObjectUtils;
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @Table(name = "People")
 @Region("People")
-@JsonIgnoreProperties(value = { "age", "new", "notNew" }, ignoreUnknown = true)
+@JsonIgnoreProperties(value = { "age", "new", "normalizedName", "notNew" }, ignoreUnknown = true)
 @SuppressWarnings("unused")
 public class Person implements Comparable<Person>, Identifiable<Long>, Serializable {
 
@@ -72,6 +76,8 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
 
   private static final Map<String, Person> cachedPeople = new ConcurrentHashMap<>();
 
+  protected static final char NORMALIZED_NAME_SEPARATOR = '\u001F';
+
   public static Person newPerson(String firstName, String lastName) {
 
     Assert.hasText(firstName, "First name is required");
@@ -111,6 +117,14 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
     return String.format("%1$s %2$s", firstName.trim(), lastName.trim());
   }
 
+  public static String normalize(String name) {
+    return (name != null ? name.trim().toLowerCase(Locale.ROOT) : "");
+  }
+
+  public static String toNormalizedName(String firstName, String lastName) {
+    return normalize(lastName) + NORMALIZED_NAME_SEPARATOR + normalize(firstName);
+  }
+
   private Long id;
 
   private LocalDate birthDate;
@@ -120,13 +134,17 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
   private String firstName;
   private String lastName;
 
+  private transient String normalizedName;
+
   public void setId(Long id) {
     this.id = id;
   }
 
   @Id
   @javax.persistence.Id
-  @GeneratedValue
+  @GeneratedValue(generator = AssignedOrSequenceIdentifierGenerator.NAME)
+  @GenericGenerator(name = AssignedOrSequenceIdentifierGenerator.NAME,
+      strategy = AssignedOrSequenceIdentifierGenerator.STRATEGY)
   public Long getId() {
     return id;
   }
@@ -165,6 +183,7 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
 
   public void setFirstName(String firstName) {
     this.firstName = firstName;
+    this.normalizedName = toNormalizedName(firstName, getLastName());
   }
 
   @Column(name = "first_name")
@@ -183,6 +202,7 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
 
   public void setLastName(String lastName) {
     this.lastName = lastName;
+    this.normalizedName = toNormalizedName(getFirstName(), lastName);
   }
 
   @Column(name = "last_name")
@@ -190,6 +210,21 @@ public class Person implements Comparable<Person>, Identifiable<Long>, Serializa
     return this.lastName;
   }
 
+  // NOTE the normalized name is indexed to serve case-insensitive name lookups without lower-casing every name
+  // at query time; it is computed on write and recomputed lazily after deserialization
+  @Transient
+  public String getNormalizedName() {
+
+    String normalizedName = this.normalizedName;
+
+    if (normalizedName == null) {
+      normalizedName = toNormalizedName(getFirstName(), getLastName());
+      this.normalizedName = normalizedName;
+    }
+
+    return normalizedName;
+  }
+
   @Transient
   public String getName() {
     return toFullName(getFirstName(), getLastName());
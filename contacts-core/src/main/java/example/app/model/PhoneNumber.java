@@ -27,11 +27,14 @@ import javax.persistence.GeneratedValue;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import org.cp.elements.lang.Identifiable;
+import org.hibernate.annotations.GenericGenerator;
 import org.springframework.data.annotation.Id;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
+import example.app.model.support.AssignedOrSequenceIdentifierGenerator;
+
 /**
  * The {@link PhoneNumber} class is an Abstract Data Type (ADT) modeling a US phone number.
  *
@@ -78,7 +81,9 @@ public class PhoneNumber implements Identifiable<Long>, Serializable {
 
 	@Id
 	@javax.persistence.Id
-	@GeneratedValue
+	@GeneratedValue(generator = AssignedOrSequenceIdentifierGenerator.NAME)
+	@GenericGenerator(name = AssignedOrSequenceIdentifierGenerator.NAME,
+		strategy = AssignedOrSequenceIdentifierGenerator.STRATEGY)
 	public Long getId() {
 		return id;
 	}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.model.support;
+
+import java.io.Serializable;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * The {@link AssignedOrSequenceIdentifierGenerator} class is a Hibernate
+ * {@link org.hibernate.id.IdentifierGenerator} that keeps the identifier already assigned to an entity
+ * and only generates a new identifier from the sequence when the entity has none.
+ *
+ * This allows entities identified by Apache Geode (or Pivotal GemFire), where the identifier is the Region key,
+ * to be written to the database under the same identifier, while entities created through JPA are still
+ * identified by the database sequence.  Since identifiers are not generated by the database on insert
+ * (i.e. {@literal IDENTITY}), Hibernate is able to batch the inserts.
+ *
+ * @author John Blum
+ * @see org.hibernate.id.enhanced.SequenceStyleGenerator
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class AssignedOrSequenceIdentifierGenerator extends SequenceStyleGenerator {
+
+	public static final String NAME = "assigned-or-sequence";
+
+	public static final String STRATEGY = "example.app.model.support.AssignedOrSequenceIdentifierGenerator";
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public Serializable generate(SharedSessionContractImplementor session, Object entity) {
+
+		Serializable id = session.getEntityPersister(null, entity).getIdentifier(entity, session);
+
+		return (id != null ? id : super.generate(session, entity));
+	}
+}
@@ -17,6 +17,7 @@
 package example.app.shiro.authz;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,6 +33,9 @@ import example.app.shiro.authz.support.AuthorizationInfoSupport;
  * The {@link UserAuthorizationInfo} class is an implementation of the Apache Shiro {@link AuthorizationInfo} interface
  * backed by a {@link User} object.
  *
+ * The {@link User User's} role names and permissions are collected once, when this {@link AuthorizationInfo}
+ * is constructed.
+ *
  * @author John Blum
  * @see org.apache.shiro.authz.AuthorizationInfo
  * @see example.app.geode.security.model.Role
@@ -42,6 +46,10 @@ import example.app.shiro.authz.support.AuthorizationInfoSupport;
 @SuppressWarnings("unused")
 public class UserAuthorizationInfo extends AuthorizationInfoSupport {
 
+  private final Set<Permission> permissions;
+
+  private final Set<String> roles;
+
   private final User user;
 
   /**
@@ -68,7 +76,22 @@ public class UserAuthorizationInfo extends AuthorizationInfoSupport {
    */
   public UserAuthorizationInfo(User user) {
     Assert.notNull(user, "User must not be null");
+
+    Set<String> roles = new HashSet<>();
+    Set<Permission> permissions = new HashSet<>();
+
+    for (Role role : user) {
+
+      roles.add(role.getName());
+
+      for (Permission permission : role) {
+        permissions.add(permission);
+      }
+    }
+
     this.user = user;
+    this.roles = Collections.unmodifiableSet(roles);
+    this.permissions = Collections.unmodifiableSet(permissions);
   }
 
   /**
@@ -87,13 +110,7 @@ public class UserAuthorizationInfo extends AuthorizationInfoSupport {
    */
   @Override
   public Collection<String> getRoles() {
-    Set<String> roles = new HashSet<>();
-
-    for (Role role : getUser()) {
-      roles.add(role.getName());
-    }
-
-    return roles;
+    return this.roles;
   }
 
   /**
@@ -101,14 +118,6 @@ public class UserAuthorizationInfo extends AuthorizationInfoSupport {
    */
   @Override
   public Collection<Permission> getObjectPermissions() {
-    Set<Permission> permissions = new HashSet<>();
-
-    for (Role role : getUser()) {
-      for (Permission permission : role) {
-        permissions.add(permission);
-      }
-    }
-
-    return permissions;
+    return this.permissions;
   }
 }
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.stream.Collectors;
 
 import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.Permission;
 
 /**
  * The {@link AuthorizationInfoSupport} class is an abstract base class supporting the implementation of
@@ -39,4 +40,33 @@ public abstract class AuthorizationInfoSupport implements AuthorizationInfo {
   public Collection<String> getStringPermissions() {
     return getObjectPermissions().stream().map(Object::toString).collect(Collectors.toList());
   }
+
+  /**
+   * Determines whether the given role has been assigned.
+   *
+   * @param role name of the role.
+   * @return a boolean value indicating whether the given role has been assigned.
+   */
+  public boolean hasRole(String role) {
+    return getRoles().contains(role);
+  }
+
+  /**
+   * Determines whether the required {@link Permission} is implied by any of the granted
+   * {@link Permission Permissions}.
+   *
+   * @param permission required {@link Permission}.
+   * @return a boolean value indicating whether the required {@link Permission} has been granted.
+   * @see org.apache.shiro.authz.Permission
+   */
+  public boolean isPermitted(Permission permission) {
+
+    for (Permission grantedPermission : getObjectPermissions()) {
+      if (grantedPermission.implies(permission)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
 }
@@ -16,20 +16,33 @@
 
 package example.app.shiro.authz.support;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import org.apache.geode.security.ResourcePermission;
 import org.apache.shiro.authz.AuthorizationInfo;
 import org.apache.shiro.authz.Permission;
 
+import example.app.geode.security.support.ResourcePermissionIndex;
+
 /**
  * The {@link ComposableAuthorizationInfo} class is an Apache Shiro {@link AuthorizationInfo} implementation
  * that composes multiple Apache Shiro {@link AuthorizationInfo} objects into a composition acting as a
  * single {@link AuthorizationInfo}.
  *
+ * The composition is flattened and immutable; the roles and permissions of all composed {@link AuthorizationInfo}
+ * objects are collected once, when composed, and granted Apache Geode {@link ResourcePermission ResourcePermissions}
+ * are compiled into a {@link ResourcePermissionIndex} to answer {@link #isPermitted(Permission)} without
+ * scanning every granted permission.
+ *
  * @author John Blum
  * @see org.apache.shiro.authz.AuthorizationInfo
+ * @see example.app.geode.security.support.ResourcePermissionIndex
  * @see example.app.shiro.authz.support.AuthorizationInfoSupport
  * @since 1.0.0
  */
@@ -57,19 +70,25 @@ public class ComposableAuthorizationInfo extends AuthorizationInfoSupport {
    *
    * @param iterable {@link Iterable} of {@link AuthorizationInfo} objects to compose.
    * @return an instance of {@link ComposableAuthorizationInfo} composed of the {@link Iterable}
-   * of {@link AuthorizationInfo} objects.
+   * of {@link AuthorizationInfo} objects, even when it contains a single {@link AuthorizationInfo},
+   * or {@literal null} if the {@link Iterable} contains no {@link AuthorizationInfo} objects.
    * @throws NullPointerException if the {@link Iterable} is {@literal null}.
    * @see org.apache.shiro.authz.AuthorizationInfo
-   * @see #compose(Iterable)
    */
   public static AuthorizationInfo compose(Iterable<AuthorizationInfo> iterable) {
-    AuthorizationInfo current = null;
+
+    List<AuthorizationInfo> authorizationInfos = new ArrayList<>();
 
     for (AuthorizationInfo authorizationInfo : iterable) {
-      current = compose(current, authorizationInfo);
+      if (authorizationInfo != null) {
+        authorizationInfos.add(authorizationInfo);
+      }
     }
 
-    return current;
+    // NOTE a single AuthorizationInfo is wrapped too, so the common single principal case is answered from the index
+    return (authorizationInfos.isEmpty() ? null
+      : (authorizationInfos.size() == 1 && authorizationInfos.get(0) instanceof ComposableAuthorizationInfo
+        ? authorizationInfos.get(0) : new ComposableAuthorizationInfo(authorizationInfos)));
   }
 
   /**
@@ -78,29 +97,66 @@ public class ComposableAuthorizationInfo extends AuthorizationInfoSupport {
    *
    * @param one first {@link AuthorizationInfo} in the composition.
    * @param two second {@link AuthorizationInfo} in the composition.
-   * @return {@code two} if {@code one} is {@literal null}, {@code one} if {@code two} is {@literal null}
-   * or an instance of {@link ComposableAuthorizationInfo} if neither {@code one} or {@code two} is {@literal null}.
+   * @return an instance of {@link ComposableAuthorizationInfo} composed of the non-{@literal null}
+   * {@link AuthorizationInfo} objects, or {@literal null} if both {@code one} and {@code two} are {@literal null}.
    * @see example.app.shiro.authz.support.ComposableAuthorizationInfo
    * @see org.apache.shiro.authz.AuthorizationInfo
    */
   public static AuthorizationInfo compose(AuthorizationInfo one, AuthorizationInfo two) {
-    return (one == null ? two : (two == null ? one : new ComposableAuthorizationInfo(one, two)));
+    return compose(Arrays.asList(one, two));
   }
 
-  private final AuthorizationInfo one;
-  private final AuthorizationInfo two;
+  private final Collection<String> stringPermissions;
+
+  private final List<Permission> otherPermissions;
+
+  private final ResourcePermissionIndex resourcePermissionIndex;
+
+  private final Set<Permission> permissions;
+
+  private final Set<String> roles;
 
   /**
-   * Constructs an instance of the {@link ComposableAuthorizationInfo} class compose of 2 given Apache Shiro
+   * Constructs an instance of the {@link ComposableAuthorizationInfo} class composed of the given Apache Shiro
    * {@link AuthorizationInfo} objects.
    *
-   * @param one first {@link AuthorizationInfo} in the composition.
-   * @param two second {@link AuthorizationInfo} in the composition.
+   * @param authorizationInfos {@link Collection} of {@link AuthorizationInfo} objects to compose.
    * @see org.apache.shiro.authz.AuthorizationInfo
    */
-  private ComposableAuthorizationInfo(AuthorizationInfo one, AuthorizationInfo two) {
-    this.one = one;
-    this.two = two;
+  private ComposableAuthorizationInfo(Collection<AuthorizationInfo> authorizationInfos) {
+
+    Set<String> roles = new HashSet<>();
+    Set<Permission> permissions = new HashSet<>();
+
+    for (AuthorizationInfo authorizationInfo : authorizationInfos) {
+      addAll(roles, authorizationInfo.getRoles());
+      addAll(permissions, authorizationInfo.getObjectPermissions());
+    }
+
+    List<ResourcePermission> resourcePermissions = new ArrayList<>(permissions.size());
+    List<Permission> otherPermissions = new ArrayList<>();
+
+    for (Permission permission : permissions) {
+      if (permission instanceof ResourcePermission) {
+        resourcePermissions.add((ResourcePermission) permission);
+      }
+      else {
+        otherPermissions.add(permission);
+      }
+    }
+
+    this.roles = Collections.unmodifiableSet(roles);
+    this.permissions = Collections.unmodifiableSet(permissions);
+    this.stringPermissions = Collections.unmodifiableCollection(super.getStringPermissions());
+    this.resourcePermissionIndex = ResourcePermissionIndex.compile(resourcePermissions);
+    this.otherPermissions = otherPermissions;
+  }
+
+  /* (non-Javadoc) */
+  private static <T> void addAll(Collection<T> target, Collection<T> source) {
+    if (source != null) {
+      target.addAll(source);
+    }
   }
 
   /**
@@ -108,9 +164,7 @@ public class ComposableAuthorizationInfo extends AuthorizationInfoSupport {
    */
   @Override
   public Collection<String> getRoles() {
-    Collection<String> roles = new HashSet<>(this.one.getRoles());
-    roles.addAll(this.two.getRoles());
-    return roles;
+    return this.roles;
   }
 
   /**
@@ -118,8 +172,38 @@ public class ComposableAuthorizationInfo extends AuthorizationInfoSupport {
    */
   @Override
   public Collection<Permission> getObjectPermissions() {
-    Collection<Permission> permissions = new HashSet<>(this.one.getObjectPermissions());
-    permissions.addAll(this.two.getObjectPermissions());
-    return permissions;
+    return this.permissions;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Collection<String> getStringPermissions() {
+    return this.stringPermissions;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public boolean isPermitted(Permission permission) {
+
+    if (permission instanceof ResourcePermission
+        && this.resourcePermissionIndex.implies((ResourcePermission) permission)) {
+
+      return true;
+    }
+
+    Collection<Permission> candidatePermissions =
+      (permission instanceof ResourcePermission ? this.otherPermissions : this.permissions);
+
+    for (Permission grantedPermission : candidatePermissions) {
+      if (grantedPermission.implies(permission)) {
+        return true;
+      }
+    }
+
+    return false;
   }
 }
@@ -21,17 +21,26 @@ import static example.app.shiro.authz.UserAuthorizationInfo.newAuthorizationInfo
 import static example.app.shiro.realm.support.CredentialsMatcher.newCredentialsMatcher;
 
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.authc.AuthenticationInfo;
 import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.Permission;
 import org.apache.shiro.realm.AuthorizingRealm;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.cp.elements.lang.Assert;
 
 import example.app.geode.security.model.User;
+import example.app.geode.security.repository.CachingSecurityRepository;
 import example.app.geode.security.repository.SecurityRepository;
+import example.app.geode.security.support.CredentialsVerifier;
+import example.app.geode.security.support.VerifiedCredentialsCache;
+import example.app.shiro.authz.support.AuthorizationInfoSupport;
 import example.app.shiro.authz.support.ComposableAuthorizationInfo;
 
 /**
@@ -43,13 +52,27 @@ import example.app.shiro.authz.support.ComposableAuthorizationInfo;
  * @see org.apache.shiro.realm.AuthorizingRealm
  * @see example.app.geode.security.model.User
  * @see example.app.geode.security.repository.SecurityRepository
+ * @see example.app.geode.security.support.VerifiedCredentialsCache
+ * @see example.app.shiro.authz.support.ComposableAuthorizationInfo
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
 public class SecurityRepositoryAuthorizingRealm<T extends User> extends AuthorizingRealm {
 
+  public static final int DEFAULT_MAXIMUM_CACHED_AUTHORIZATIONS = 1024;
+
+  private final Map<PrincipalCollection, AuthorizationInfo> authorizationInfos = new ConcurrentHashMap<>();
+
+  private volatile CredentialsVerifier credentialsVerifier = newCredentialsMatcher()::match;
+
+  private volatile int maximumCachedAuthorizations = DEFAULT_MAXIMUM_CACHED_AUTHORIZATIONS;
+
+  private volatile long securityRepositoryVersion = -1L;
+
   private final SecurityRepository<T> securityRepository;
 
+  private final VerifiedCredentialsCache verifiedCredentialsCache = new VerifiedCredentialsCache();
+
   /**
    * Constructs an instance of the {@link SecurityRepositoryAuthorizingRealm} initialized with a {@link SecurityRepository}
    * containing security configuration meta-data to enforce authentication/authorization in a Apache Shiro secured
@@ -59,10 +82,12 @@ public class SecurityRepositoryAuthorizingRealm<T extends User> extends Authoriz
    * access security configuration meta-data (authentication/authorization).
    * @throws IllegalArgumentException if {@link SecurityRepository} is null.
    * @see example.app.geode.security.repository.SecurityRepository
+   * @see #verifyCredentials(AuthenticationToken, AuthenticationInfo)
    */
   public SecurityRepositoryAuthorizingRealm(SecurityRepository<T> securityRepository) {
     Assert.notNull(securityRepository, "SecurityRepository must not be null");
     this.securityRepository = securityRepository;
+    setCredentialsMatcher(this::verifyCredentials);
   }
 
   /**
@@ -76,6 +101,41 @@ public class SecurityRepositoryAuthorizingRealm<T extends User> extends Authoriz
     return this.securityRepository;
   }
 
+  /**
+   * Sets the {@link CredentialsVerifier} used by this {@link org.apache.shiro.realm.Realm} to verify
+   * the credentials in an {@link AuthenticationToken} against the {@link User User's} stored credentials.
+   *
+   * @param credentialsVerifier {@link CredentialsVerifier} used to verify {@link User} credentials.
+   * @throws IllegalArgumentException if {@link CredentialsVerifier} is {@literal null}.
+   * @see example.app.geode.security.support.CredentialsVerifier
+   */
+  public void setCredentialsVerifier(CredentialsVerifier credentialsVerifier) {
+    Assert.notNull(credentialsVerifier, "CredentialsVerifier must not be null");
+    this.credentialsVerifier = credentialsVerifier;
+    getVerifiedCredentialsCache().invalidateAll();
+  }
+
+  /**
+   * Returns the {@link CredentialsVerifier} used by this {@link org.apache.shiro.realm.Realm} to verify
+   * {@link User} credentials.
+   *
+   * @return the {@link CredentialsVerifier} used to verify {@link User} credentials.
+   * @see example.app.geode.security.support.CredentialsVerifier
+   */
+  protected CredentialsVerifier getCredentialsVerifier() {
+    return this.credentialsVerifier;
+  }
+
+  /**
+   * Returns the {@link VerifiedCredentialsCache} remembering recently verified {@link User} credentials.
+   *
+   * @return the {@link VerifiedCredentialsCache} remembering recently verified {@link User} credentials.
+   * @see example.app.geode.security.support.VerifiedCredentialsCache
+   */
+  public VerifiedCredentialsCache getVerifiedCredentialsCache() {
+    return this.verifiedCredentialsCache;
+  }
+
   /**
    * @inheritDoc
    */
@@ -88,8 +148,9 @@ public class SecurityRepositoryAuthorizingRealm<T extends User> extends Authoriz
   protected User authenticate(AuthenticationToken token) {
     User user = resolveUser(token);
 
-    if (isNotIdentified(user, token)) {
-      throw new AuthenticationException(String.format("User [%s] could not be authenticated", user));
+    if (user == null) {
+      throw new AuthenticationException(String.format("User [%s] could not be authenticated",
+        resolveUsername(token.getPrincipal())));
     }
 
     return user;
@@ -100,20 +161,35 @@ public class SecurityRepositoryAuthorizingRealm<T extends User> extends Authoriz
     return resolveUser(token.getPrincipal());
   }
 
-  /* (non-Javadoc) */
-  protected boolean isRealmAuthenticationRequired() {
-    return (getCredentialsMatcher() == null);
-  }
+  /**
+   * Verifies the credentials in the {@link AuthenticationToken} against the {@link User User's} stored credentials
+   * using the configured {@link CredentialsVerifier}, answering from the {@link VerifiedCredentialsCache}
+   * when the same credentials were verified recently.
+   *
+   * This method is installed as this {@link org.apache.shiro.realm.Realm Realm's}
+   * {@link org.apache.shiro.authc.credential.CredentialsMatcher}.
+   *
+   * @param token {@link AuthenticationToken} containing the credentials provided during login.
+   * @param info {@link AuthenticationInfo} containing the {@link User User's} stored credentials.
+   * @return a boolean value indicating whether the provided credentials match the stored credentials.
+   * @see example.app.geode.security.support.VerifiedCredentialsCache
+   */
+  protected boolean verifyCredentials(AuthenticationToken token, AuthenticationInfo info) {
 
-  /* (non-Javadoc) */
-  protected boolean isNotIdentified(User user, AuthenticationToken token) {
-    return (isRealmAuthenticationRequired() && !isIdentified(user, token));
+    Object storedCredentials = info.getCredentials();
+
+    return getVerifiedCredentialsCache().verify(resolveUsername(info.getPrincipals().getPrimaryPrincipal()),
+      (storedCredentials != null ? String.valueOf(storedCredentials) : null), resolveCredentials(token),
+      getCredentialsVerifier());
   }
 
   /* (non-Javadoc) */
-  protected boolean isIdentified(User user, AuthenticationToken token) {
-    return (user != null && newCredentialsMatcher().match(user.getCredentials(), token.getCredentials()));
-    //return (user != null && user.getCredentials().equals(token.getCredentials()));
+  protected String resolveCredentials(AuthenticationToken token) {
+
+    Object credentials = token.getCredentials();
+
+    return (credentials instanceof char[] ? String.valueOf((char[]) credentials)
+      : (credentials != null ? String.valueOf(credentials) : null));
   }
 
   /**
@@ -121,31 +197,134 @@ public class SecurityRepositoryAuthorizingRealm<T extends User> extends Authoriz
    */
   @Override
   protected AuthorizationInfo doGetAuthorizationInfo(PrincipalCollection principals) {
+
+    invalidateAuthorizationInfoIfSecurityRepositoryChanged();
+
+    AuthorizationInfo authorizationInfo = this.authorizationInfos.get(principals);
+
+    if (authorizationInfo == null) {
+
+      authorizationInfo = compose(principals);
+
+      if (authorizationInfo != null) {
+
+        // NOTE the cache is cleared rather than evicting individual entries when full, keeping lookups lock-free
+        if (this.authorizationInfos.size() >= getMaximumCachedAuthorizations()) {
+          this.authorizationInfos.clear();
+        }
+
+        this.authorizationInfos.put(principals, authorizationInfo);
+      }
+    }
+
+    return authorizationInfo;
+  }
+
+  /* (non-Javadoc) */
+  protected AuthorizationInfo compose(PrincipalCollection principals) {
+
     Object primaryPrincipal = principals.getPrimaryPrincipal();
 
-    AuthorizationInfo current = compose(null, primaryPrincipal);
+    List<AuthorizationInfo> authorizationInfos = new ArrayList<>();
+
+    addAuthorizationInfo(authorizationInfos, primaryPrincipal);
 
     for (Object principal : principals) {
       if (principal != null && principal != primaryPrincipal) {
-        current = compose(current, principal);
+        addAuthorizationInfo(authorizationInfos, principal);
       }
     }
 
-    return current;
+    return ComposableAuthorizationInfo.compose(authorizationInfos);
   }
 
   /* (non-Javadoc) */
-  protected AuthorizationInfo compose(AuthorizationInfo current, Object principal) {
-    return compose(current, resolveUser(principal));
+  private void addAuthorizationInfo(List<AuthorizationInfo> authorizationInfos, Object principal) {
+
+    User user = resolveUser(principal);
+
+    if (user != null) {
+      authorizationInfos.add(newAuthorizationInfo(user));
+    }
   }
 
   /* (non-Javadoc) */
-  protected AuthorizationInfo compose(AuthorizationInfo current, User user) {
-    if (user != null) {
-      current = ComposableAuthorizationInfo.compose(current, newAuthorizationInfo(user));
+  private void invalidateAuthorizationInfoIfSecurityRepositoryChanged() {
+
+    SecurityRepository<T> securityRepository = getSecurityRepository();
+
+    if (securityRepository instanceof CachingSecurityRepository) {
+
+      long currentVersion = ((CachingSecurityRepository<T>) securityRepository).getVersion();
+
+      if (currentVersion != this.securityRepositoryVersion) {
+        this.securityRepositoryVersion = currentVersion;
+        invalidateAuthorizationInfo();
+      }
     }
+  }
 
-    return current;
+  /**
+   * Invalidates the cached {@link AuthorizationInfo} of all principals.
+   *
+   * Invalidation happens automatically when the {@link SecurityRepository} is a {@link CachingSecurityRepository}
+   * and a {@link User} is saved, deleted or reloaded; otherwise this method must be called whenever
+   * the roles of a {@link User} change.
+   */
+  public void invalidateAuthorizationInfo() {
+    this.authorizationInfos.clear();
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  protected void clearCachedAuthorizationInfo(PrincipalCollection principals) {
+
+    super.clearCachedAuthorizationInfo(principals);
+
+    if (principals != null) {
+      this.authorizationInfos.remove(principals);
+    }
+  }
+
+  /**
+   * Sets the maximum number of principal collections with cached {@link AuthorizationInfo}.
+   *
+   * @param maximumCachedAuthorizations maximum number of cached {@link AuthorizationInfo} objects.
+   * @throws IllegalArgumentException if {@code maximumCachedAuthorizations} is less than 1.
+   */
+  public void setMaximumCachedAuthorizations(int maximumCachedAuthorizations) {
+    Assert.isTrue(maximumCachedAuthorizations > 0, String.format(
+      "Maximum cached authorizations [%d] must be greater than 0", maximumCachedAuthorizations));
+    this.maximumCachedAuthorizations = maximumCachedAuthorizations;
+  }
+
+  /**
+   * Returns the maximum number of principal collections with cached {@link AuthorizationInfo}.
+   *
+   * @return the maximum number of cached {@link AuthorizationInfo} objects.
+   */
+  public int getMaximumCachedAuthorizations() {
+    return this.maximumCachedAuthorizations;
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  protected boolean hasRole(String roleIdentifier, AuthorizationInfo info) {
+    return (info instanceof AuthorizationInfoSupport ? ((AuthorizationInfoSupport) info).hasRole(roleIdentifier)
+      : super.hasRole(roleIdentifier, info));
+  }
+
+  /**
+   * @inheritDoc
+   */
+  @Override
+  protected boolean isPermitted(Permission permission, AuthorizationInfo info) {
+    return (info instanceof AuthorizationInfoSupport ? ((AuthorizationInfoSupport) info).isPermitted(permission)
+      : super.isPermitted(permission, info));
   }
 
   /* (non-Javadoc) */
@@ -0,0 +1,3 @@
+CREATE TABLE IF NOT EXISTS geode_security.security_version (
+  version BIGINT DEFAULT 0 NOT NULL
+);
@@ -0,0 +1 @@
+INSERT INTO geode_security.security_version (version) VALUES (0);
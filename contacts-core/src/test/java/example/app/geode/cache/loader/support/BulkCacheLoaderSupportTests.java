@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.cache.loader.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.Region;
+
+/**
+ * Unit tests for {@link BulkCacheLoaderSupport}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.geode.cache.loader.support.BulkCacheLoaderSupport
+ * @since 1.0.0
+ */
+public class BulkCacheLoaderSupportTests {
+
+  private final List<Collection<Long>> batches = new CopyOnWriteArrayList<>();
+
+  private final BulkCacheLoaderSupport<Long, String> cacheLoader = new BulkCacheLoaderSupport<Long, String>() {
+
+    @Override
+    public Map<Long, String> loadAll(Collection<Long> keys) {
+
+      batches.add(keys);
+
+      Map<Long, String> values = new HashMap<>(keys.size());
+
+      for (Long key : keys) {
+        values.put(key, String.valueOf(key));
+      }
+
+      return values;
+    }
+  };
+
+  @Test
+  public void partitionSplitsElementsIntoBatches() {
+
+    List<List<Integer>> batches = BulkCacheLoaderSupport.partition(Arrays.asList(1, 2, 3, 4, 5), 2);
+
+    assertThat(batches).hasSize(3);
+    assertThat(batches.get(0)).containsExactly(1, 2);
+    assertThat(batches.get(1)).containsExactly(3, 4);
+    assertThat(batches.get(2)).containsExactly(5);
+  }
+
+  @Test
+  public void doLoadDelegatesToLoadAll() {
+    assertThat(cacheLoader.doLoad(1L)).isEqualTo("1");
+    assertThat(batches).hasSize(1);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void loadAllAsyncLoadsMissingKeysInBatches() throws Exception {
+
+    Region<Long, String> mockRegion = mock(Region.class);
+
+    when(mockRegion.containsKey(any())).thenReturn(false);
+    when(mockRegion.containsKey(eq(2L))).thenReturn(true);
+
+    cacheLoader.setBatchSize(2);
+
+    try {
+      Map<Long, String> loadedValues = cacheLoader.loadAllAsync(mockRegion, Arrays.asList(1L, 2L, 3L, 4L, 5L))
+        .get(5, TimeUnit.SECONDS);
+
+      assertThat(loadedValues).hasSize(4);
+      assertThat(loadedValues).containsKeys(1L, 3L, 4L, 5L);
+      assertThat(loadedValues).doesNotContainKey(2L);
+      assertThat(batches).hasSize(2);
+
+      verify(mockRegion, times(2)).putAll(anyMap());
+    }
+    finally {
+      cacheLoader.close();
+    }
+  }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.cache.loader.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Test;
+
+import org.apache.geode.cache.CacheLoaderException;
+import org.apache.geode.cache.LoaderHelper;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.StatisticsDisabledException;
+
+/**
+ * Unit tests for {@link CacheLoaderSupport}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.geode.cache.loader.support.CacheLoaderSupport
+ * @since 1.0.0
+ */
+public class CacheLoaderSupportTests {
+
+  @SuppressWarnings("unchecked")
+  private LoaderHelper<String, String> mockLoaderHelper(String key) {
+
+    LoaderHelper<String, String> mockLoaderHelper = mock(LoaderHelper.class);
+
+    when(mockLoaderHelper.getKey()).thenReturn(key);
+
+    return mockLoaderHelper;
+  }
+
+  @SuppressWarnings("unchecked")
+  private LoaderHelper<String, String> mockLoaderHelper(String key, Region<String, String> region) {
+
+    LoaderHelper<String, String> mockLoaderHelper = mockLoaderHelper(key);
+
+    when(mockLoaderHelper.getRegion()).thenReturn(region);
+
+    return mockLoaderHelper;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Region<String, String> mockRegion(String... keys) {
+
+    Region<String, String> mockRegion = mock(Region.class);
+
+    when(mockRegion.getFullPath()).thenReturn("/Example");
+
+    for (String key : keys) {
+
+      Region.Entry<String, String> mockEntry = mock(Region.Entry.class);
+
+      when(mockEntry.getStatistics()).thenThrow(new StatisticsDisabledException("test"));
+      when(mockRegion.getEntry(key)).thenReturn(mockEntry);
+    }
+
+    return mockRegion;
+  }
+
+  private CacheLoaderSupport<String, String> newUpperCaseCacheLoader(long refreshAheadInterval) {
+
+    CacheLoaderSupport<String, String> cacheLoader = new CacheLoaderSupport<String, String>() {
+
+      @Override
+      protected String doLoad(String key) {
+        return key.toUpperCase();
+      }
+    };
+
+    cacheLoader.setRefreshAheadInterval(refreshAheadInterval);
+
+    return cacheLoader;
+  }
+
+  private void waitFor(BooleanSupplier condition) throws InterruptedException {
+
+    long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10L);
+    }
+  }
+
+  @Test
+  public void concurrentLoadsForSameKeyAreCoalesced() throws Exception {
+
+    int threadCount = 8;
+
+    CountDownLatch loadStarted = new CountDownLatch(1);
+    CountDownLatch loadReleased = new CountDownLatch(1);
+
+    AtomicInteger invocations = new AtomicInteger(0);
+
+    CacheLoaderSupport<String, String> cacheLoader = new CacheLoaderSupport<String, String>() {
+
+      @Override
+      protected String doLoad(String key) {
+        invocations.incrementAndGet();
+        loadStarted.countDown();
+
+        try {
+          loadReleased.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ignore) {
+          Thread.currentThread().interrupt();
+        }
+
+        return key.toUpperCase();
+      }
+    };
+
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+
+    try {
+      List<Future<String>> results = new ArrayList<>(threadCount);
+
+      results.add(executor.submit(() -> cacheLoader.load(mockLoaderHelper("test"))));
+
+      assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(cacheLoader.getInFlightLoadCount()).isEqualTo(1);
+
+      for (int count = 1; count < threadCount; count++) {
+        results.add(executor.submit(() -> cacheLoader.load(mockLoaderHelper("test"))));
+      }
+
+      long timeout = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+
+      while (cacheLoader.getCoalescedLoadCount() < threadCount - 1 && System.currentTimeMillis() < timeout) {
+        Thread.sleep(10L);
+      }
+
+      loadReleased.countDown();
+
+      for (Future<String> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("TEST");
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(invocations.get()).isEqualTo(1);
+    assertThat(cacheLoader.getLoadCount()).isEqualTo(1L);
+    assertThat(cacheLoader.getCoalescedLoadCount()).isEqualTo(threadCount - 1);
+    assertThat(cacheLoader.getInFlightLoadCount()).isZero();
+  }
+
+  @Test
+  public void failedLoadIsNegativelyCached() {
+
+    AtomicInteger invocations = new AtomicInteger(0);
+
+    CacheLoaderSupport<String, String> cacheLoader = new CacheLoaderSupport<String, String>() {
+
+      @Override
+      protected String doLoad(String key) {
+        invocations.incrementAndGet();
+        throw new CacheLoaderException("test");
+      }
+    };
+
+    Properties configuration = new Properties();
+
+    configuration.setProperty(CacheLoaderSupport.NEGATIVE_CACHE_TIMEOUT_PROPERTY, "60000");
+
+    cacheLoader.init(configuration);
+
+    assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper("key"))).isInstanceOf(CacheLoaderException.class)
+      .hasMessage("test");
+
+    assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper("key"))).isInstanceOf(CacheLoaderException.class)
+      .hasMessageContaining("failed recently");
+
+    assertThat(invocations.get()).isEqualTo(1);
+    assertThat(cacheLoader.getFailedLoadCount()).isEqualTo(1L);
+    assertThat(cacheLoader.getNegativeCacheHitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void negativeCacheIsBounded() throws Exception {
+
+    CacheLoaderSupport<String, String> cacheLoader = new CacheLoaderSupport<String, String>() {
+
+      @Override
+      protected String doLoad(String key) {
+        throw new CacheLoaderException("test");
+      }
+    };
+
+    Properties configuration = new Properties();
+
+    configuration.setProperty(CacheLoaderSupport.NEGATIVE_CACHE_TIMEOUT_PROPERTY, "50");
+    configuration.setProperty(CacheLoaderSupport.NEGATIVE_CACHE_MAXIMUM_ENTRIES_PROPERTY, "2");
+
+    cacheLoader.init(configuration);
+
+    for (String key : Arrays.asList("one", "two", "three")) {
+      assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper(key))).isInstanceOf(CacheLoaderException.class)
+        .hasMessage("test");
+    }
+
+    assertThat(cacheLoader.getNegativelyCachedKeyCount()).isEqualTo(2);
+
+    Thread.sleep(100L);
+
+    assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper("four"))).isInstanceOf(CacheLoaderException.class)
+      .hasMessage("test");
+
+    assertThat(cacheLoader.getNegativelyCachedKeyCount()).isEqualTo(1);
+    assertThat(cacheLoader.getFailedLoadCount()).isEqualTo(4L);
+  }
+
+  @Test
+  public void failedLoadIsRetriedWhenNegativeCachingIsDisabled() {
+
+    AtomicInteger invocations = new AtomicInteger(0);
+
+    CacheLoaderSupport<String, String> cacheLoader = new CacheLoaderSupport<String, String>() {
+
+      @Override
+      protected String doLoad(String key) {
+        invocations.incrementAndGet();
+        throw new IllegalStateException("test");
+      }
+    };
+
+    assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper("key"))).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> cacheLoader.load(mockLoaderHelper("key"))).isInstanceOf(IllegalStateException.class);
+
+    assertThat(invocations.get()).isEqualTo(2);
+    assertThat(cacheLoader.getNegativeCacheHitCount()).isZero();
+  }
+
+  @Test
+  public void loadedEntryIsRefreshedAhead() throws Exception {
+
+    Region<String, String> mockRegion = mockRegion("key");
+
+    CacheLoaderSupport<String, String> cacheLoader = newUpperCaseCacheLoader(50L);
+
+    try {
+      assertThat(cacheLoader.load(mockLoaderHelper("key", mockRegion))).isEqualTo("KEY");
+
+      waitFor(() -> cacheLoader.getRefreshCount() > 0L);
+
+      assertThat(cacheLoader.getRefreshCount()).isGreaterThan(0L);
+      assertThat(cacheLoader.getLoadCount()).isGreaterThan(1L);
+
+      verify(mockRegion, atLeastOnce()).put(eq("key"), eq("KEY"));
+    }
+    finally {
+      cacheLoader.close();
+    }
+
+    assertThat(cacheLoader.getScheduledRefreshCount()).isZero();
+  }
+
+  @Test
+  public void removedEntryIsNotRefreshedOrRescheduled() throws Exception {
+
+    Region<String, String> mockRegion = mockRegion();
+
+    CacheLoaderSupport<String, String> cacheLoader = newUpperCaseCacheLoader(20L);
+
+    try {
+      cacheLoader.load(mockLoaderHelper("key", mockRegion));
+
+      waitFor(() -> cacheLoader.getScheduledRefreshCount() == 0);
+
+      assertThat(cacheLoader.getScheduledRefreshCount()).isZero();
+      assertThat(cacheLoader.getRefreshCount()).isZero();
+
+      verify(mockRegion, never()).put(eq("key"), eq("KEY"));
+    }
+    finally {
+      cacheLoader.close();
+    }
+  }
+
+  @Test
+  public void loadingSameKeyAgainReplacesScheduledRefresh() {
+
+    Region<String, String> mockRegion = mockRegion("key");
+
+    CacheLoaderSupport<String, String> cacheLoader = newUpperCaseCacheLoader(TimeUnit.MINUTES.toMillis(1L));
+
+    cacheLoader.load(mockLoaderHelper("key", mockRegion));
+    cacheLoader.load(mockLoaderHelper("key", mockRegion));
+
+    assertThat(cacheLoader.getScheduledRefreshCount()).isEqualTo(1);
+
+    cacheLoader.close();
+
+    assertThat(cacheLoader.getScheduledRefreshCount()).isZero();
+    assertThat(cacheLoader.getRefreshCount()).isZero();
+  }
+
+  @Test
+  public void scheduledRefreshesAreBounded() {
+
+    Region<String, String> mockRegion = mockRegion("one", "two", "three");
+
+    CacheLoaderSupport<String, String> cacheLoader = newUpperCaseCacheLoader(TimeUnit.MINUTES.toMillis(1L));
+
+    Properties configuration = new Properties();
+
+    configuration.setProperty(CacheLoaderSupport.REFRESH_AHEAD_MAXIMUM_ENTRIES_PROPERTY, "2");
+
+    cacheLoader.init(configuration);
+
+    try {
+      cacheLoader.load(mockLoaderHelper("one", mockRegion));
+      cacheLoader.load(mockLoaderHelper("two", mockRegion));
+      cacheLoader.load(mockLoaderHelper("three", mockRegion));
+      cacheLoader.load(mockLoaderHelper("one", mockRegion));
+
+      assertThat(cacheLoader.getRefreshAheadMaximumEntries()).isEqualTo(2);
+      assertThat(cacheLoader.getScheduledRefreshCount()).isEqualTo(2);
+      assertThat(cacheLoader.getSkippedRefreshCount()).isEqualTo(1L);
+    }
+    finally {
+      cacheLoader.close();
+    }
+  }
+}
@@ -32,6 +32,8 @@ import org.apache.geode.security.ResourcePermission;
 import org.apache.geode.security.ResourcePermission.Operation;
 import org.apache.geode.security.ResourcePermission.Resource;
 
+import example.app.geode.security.support.SecurityMetrics;
+
 /**
  * Unit tests for {@link SecurityManagerSupport}.
  *
@@ -125,4 +127,21 @@ public class SecurityManagerSupportTests {
   public void authorizeWithNull() {
     assertThat(securityManager.authorize(null, null)).isFalse();
   }
+
+  @Test
+  public void authenticateAndAuthorizeRecordSecurityMetrics() {
+
+    securityManager.authenticate(new Properties());
+    securityManager.authorize(mock(Principal.class), newResourcePermission(Resource.DATA, Operation.READ, "Example"));
+    securityManager.authorize(null, newResourcePermission(Resource.DATA, Operation.READ, "Example"));
+
+    SecurityMetrics securityMetrics = securityManager.getSecurityMetrics();
+
+    assertThat(securityMetrics.getAuthenticationCount()).isEqualTo(1L);
+    assertThat(securityMetrics.getAuthenticationFailureCount()).isEqualTo(0L);
+    assertThat(securityMetrics.getAuthorizationCount()).isEqualTo(2L);
+    assertThat(securityMetrics.getAuthorizationDeniedCount()).isEqualTo(1L);
+    assertThat(securityMetrics.getGrantedAuthorizationCounts()).containsEntry("DATA:READ:Example", 1L);
+    assertThat(securityMetrics.getDeniedAuthorizationCounts()).containsEntry("DATA:READ:Example", 1L);
+  }
 }
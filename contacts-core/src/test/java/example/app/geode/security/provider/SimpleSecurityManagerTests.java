@@ -224,6 +224,57 @@ public class SimpleSecurityManagerTests {
     verify(mockSecurityRepository, times(1)).findBy(eq("scientist"));
   }
 
+  @Test
+  public void authorizeCachesCompiledPermissionsPerUser() {
+    User analyst = newUser("analyst").in(newRole("ANALYST").with(newResourcePermission(Resource.DATA, Operation.READ)));
+
+    ResourcePermission dataRead = newResourcePermission(Resource.DATA, Operation.READ, "Example", "Key1");
+
+    assertThat(securityManager.authorize(analyst, dataRead)).isTrue();
+    assertThat(securityManager.authorize(analyst, dataRead)).isTrue();
+    assertThat(securityManager.resolveAuthorizations(analyst))
+      .isSameAs(securityManager.resolveAuthorizations(analyst));
+    assertThat(securityManager.authorize(analyst, newResourcePermission(Resource.DATA, Operation.WRITE))).isFalse();
+  }
+
+  @Test
+  public void authorizeRecompilesPermissionsWhenRepositoryChanges() {
+    XmlSecurityRepository securityRepository = new XmlSecurityRepository();
+    SimpleSecurityManager securityManager = new SimpleSecurityManager(securityRepository);
+
+    User analyst = securityRepository.save(newUser("analyst").in(newRole("ANALYST")));
+
+    ResourcePermission dataRead = newResourcePermission(Resource.DATA, Operation.READ, "Example");
+
+    assertThat(securityManager.authorize(analyst, dataRead)).isFalse();
+
+    analyst.in(newRole("DATA_ANALYST").with(newResourcePermission(Resource.DATA, Operation.READ)));
+    securityRepository.save(analyst);
+
+    assertThat(securityManager.authorize(analyst, dataRead)).isTrue();
+  }
+
+  @Test
+  public void authorizeUsesOverriddenIsPermitted() {
+    User analyst = newUser("analyst").in(newRole("ANALYST").with(newResourcePermission(Resource.DATA, Operation.READ)));
+
+    SimpleSecurityManager securityManager = new SimpleSecurityManager(mockSecurityRepository) {
+
+      @Override
+      protected boolean isPermitted(ResourcePermission userPermission, ResourcePermission resourcePermission) {
+        return super.isPermitted(userPermission, resourcePermission)
+          && !"Financials".equals(resourcePermission.getRegionName());
+      }
+    };
+
+    assertThat(securityManager.authorize(analyst, newResourcePermission(Resource.DATA, Operation.READ, "Example")))
+      .isTrue();
+    assertThat(securityManager.authorize(analyst, newResourcePermission(Resource.DATA, Operation.READ, "Financials")))
+      .isFalse();
+    assertThat(securityManager.authorize(analyst, newResourcePermission(Resource.DATA, Operation.WRITE, "Example")))
+      .isFalse();
+  }
+
   @Test
   public void isAuthorizedWhenResolvedUserIsNull() {
     when(mockSecurityRepository.findBy(anyString())).thenReturn(null);
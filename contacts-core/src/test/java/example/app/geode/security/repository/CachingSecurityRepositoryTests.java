@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.repository;
+
+import static example.app.geode.security.model.User.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import example.app.geode.security.model.User;
+
+/**
+ * Unit tests for {@link CachingSecurityRepository}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.geode.security.model.User
+ * @see example.app.geode.security.repository.CachingSecurityRepository
+ * @since 1.0.0
+ */
+public class CachingSecurityRepositoryTests {
+
+  private CachingSecurityRepository<User> securityRepository;
+
+  @Before
+  public void setup() {
+    securityRepository = new CachingSecurityRepository<User>() {};
+    securityRepository.saveAll(newUser("jonDoe"), newUser("janeDoe"));
+  }
+
+  @Test
+  public void findByUsernameIsSuccessful() {
+    assertThat(securityRepository.findBy("jonDoe")).isEqualTo(newUser("jonDoe"));
+    assertThat(securityRepository.findBy("pieDoe")).isNull();
+    assertThat(securityRepository.findBy(null)).isNull();
+  }
+
+  @Test
+  public void existsIsSuccessful() {
+    assertThat(securityRepository.exists("janeDoe")).isTrue();
+    assertThat(securityRepository.exists("pieDoe")).isFalse();
+    assertThat(securityRepository.exists(null)).isFalse();
+  }
+
+  @Test
+  public void findAllByUsernamesIgnoresNonExistingUsers() {
+    assertThat(securityRepository.findAll("jonDoe", "pieDoe", "janeDoe"))
+      .containsExactly(newUser("jonDoe"), newUser("janeDoe"));
+  }
+
+  @Test
+  public void deleteIsSuccessful() {
+    assertThat(securityRepository.delete("jonDoe")).isTrue();
+    assertThat(securityRepository.exists("jonDoe")).isFalse();
+    assertThat(securityRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  public void replaceAllReplacesAllUsers() {
+
+    Iterable<User> replacedUsers =
+      securityRepository.replaceAll(Arrays.asList(newUser("pieDoe"), newUser("cookieDoe")));
+
+    assertThat(replacedUsers).containsOnly(newUser("jonDoe"), newUser("janeDoe"));
+    assertThat(securityRepository.count()).isEqualTo(2);
+    assertThat(securityRepository.exists("jonDoe")).isFalse();
+    assertThat(securityRepository.exists("pieDoe")).isTrue();
+    assertThat(securityRepository.exists("cookieDoe")).isTrue();
+  }
+}
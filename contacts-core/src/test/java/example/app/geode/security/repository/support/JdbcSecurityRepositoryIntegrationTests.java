@@ -16,8 +16,11 @@
 
 package example.app.geode.security.repository.support;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import javax.sql.DataSource;
 
+import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import org.cp.elements.lang.Assert;
@@ -56,6 +59,9 @@ public class JdbcSecurityRepositoryIntegrationTests extends AbstractSecurityRepo
   @Autowired
   private JdbcSecurityRepository securityRepository;
 
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
   /**
    * @inheritDoc
    */
@@ -66,6 +72,24 @@ public class JdbcSecurityRepositoryIntegrationTests extends AbstractSecurityRepo
     return (T) this.securityRepository;
   }
 
+  @Test
+  public void refreshReloadsUsersWhenSecurityVersionChanges() {
+
+    assertThat(securityRepository.refresh()).isFalse();
+    assertThat(securityRepository.exists("auditor")).isFalse();
+
+    jdbcTemplate.update("INSERT INTO geode_security.users (name, credentials) VALUES ('auditor', 'audit')");
+
+    assertThat(securityRepository.refresh()).isFalse();
+    assertThat(securityRepository.exists("auditor")).isFalse();
+
+    jdbcTemplate.update("UPDATE geode_security.security_version SET version = version + 1");
+
+    assertThat(securityRepository.refresh()).isTrue();
+    assertUser(securityRepository.findBy("auditor"), "audit");
+    assertThat(securityRepository.refresh()).isFalse();
+  }
+
   @Configuration
   static class JdbcSecurityRepositoryConfiguration {
 
@@ -80,10 +104,12 @@ public class JdbcSecurityRepositoryIntegrationTests extends AbstractSecurityRepo
         .addScript("define-roles-permissions-table-ddl.sql")
         .addScript("define-users-table-ddl.sql")
         .addScript("define-users-roles-table-ddl.sql")
+        .addScript("define-security-version-table-ddl.sql")
         .addScript("insert-roles-dml.sql")
         .addScript("insert-roles-permissions-dml.sql")
         .addScript("insert-users-dml.sql")
         .addScript("insert-users-roles-dml.sql")
+        .addScript("insert-security-version-dml.sql")
         .build();
     }
 
@@ -94,7 +120,9 @@ public class JdbcSecurityRepositoryIntegrationTests extends AbstractSecurityRepo
 
     @Bean
     JdbcSecurityRepository securityRepository() {
-      return new JdbcSecurityRepository(hsqlTemplate());
+      JdbcSecurityRepository securityRepository = new JdbcSecurityRepository(hsqlTemplate());
+      securityRepository.setRefreshInterval(60000L);
+      return securityRepository;
     }
   }
 }
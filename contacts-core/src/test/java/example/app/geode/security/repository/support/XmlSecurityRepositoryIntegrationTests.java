@@ -16,11 +16,21 @@
 
 package example.app.geode.security.repository.support;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.Assert;
@@ -46,6 +56,9 @@ import example.app.geode.security.repository.SecurityRepository;
 @SuppressWarnings("unused")
 public class XmlSecurityRepositoryIntegrationTests extends AbstractSecurityRepositoryIntegrationTests {
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Autowired
   private XmlSecurityRepository securityRepository;
 
@@ -59,6 +72,39 @@ public class XmlSecurityRepositoryIntegrationTests extends AbstractSecurityRepos
     return (T) this.securityRepository;
   }
 
+  /* (non-Javadoc) */
+  private File write(File file, String xml, long lastModified) throws Exception {
+    Files.write(file.toPath(), xml.getBytes(StandardCharsets.UTF_8));
+    assertThat(file.setLastModified(lastModified)).isTrue();
+    return file;
+  }
+
+  @Test
+  public void refreshReloadsUsersWhenXmlChanges() throws Exception {
+
+    File rolesPermissions = write(temporaryFolder.newFile("roles-permissions.xml"),
+      "<roles><role name=\"GUEST\"><permissions/></role></roles>", 1000L);
+
+    File usersRoles = write(temporaryFolder.newFile("users-roles.xml"),
+      "<users><user name=\"guest\" password=\"guest\"><roles><role name=\"GUEST\"/></roles></user></users>",
+        1000L);
+
+    XmlSecurityRepository securityRepository =
+      new XmlSecurityRepository(new FileSystemResource(rolesPermissions), new FileSystemResource(usersRoles));
+
+    securityRepository.afterPropertiesSet();
+
+    assertUser(securityRepository.findBy("guest"), "guest");
+    assertThat(securityRepository.exists("auditor")).isFalse();
+    assertThat(securityRepository.refresh()).isFalse();
+
+    write(usersRoles, "<users><user name=\"auditor\" password=\"audit\"><roles/></user></users>", 2000L);
+
+    assertThat(securityRepository.refresh()).isTrue();
+    assertUser(securityRepository.findBy("auditor"), "audit");
+    assertThat(securityRepository.exists("guest")).isFalse();
+  }
+
   @Configuration
   static class XmlSecurityRepositoryConfiguration {
 
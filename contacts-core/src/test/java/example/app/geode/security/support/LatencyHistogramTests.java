@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.geode.security.support.LatencyHistogram
+ * @since 1.0.0
+ */
+public class LatencyHistogramTests {
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  @Test
+  public void emptyHistogramReportsZero() {
+    assertThat(histogram.getCount()).isEqualTo(0L);
+    assertThat(histogram.getMean(TimeUnit.MICROSECONDS)).isEqualTo(0.0d);
+    assertThat(histogram.getPercentile(0.99d, TimeUnit.MICROSECONDS)).isEqualTo(0.0d);
+  }
+
+  @Test
+  public void recordsCountMeanAndMaximum() {
+
+    histogram.record(1000L);
+    histogram.record(3000L);
+
+    assertThat(histogram.getCount()).isEqualTo(2L);
+    assertThat(histogram.getTotal(TimeUnit.MICROSECONDS)).isEqualTo(4.0d);
+    assertThat(histogram.getMean(TimeUnit.MICROSECONDS)).isEqualTo(2.0d);
+    assertThat(histogram.getMaximum(TimeUnit.MICROSECONDS)).isEqualTo(3.0d);
+  }
+
+  @Test
+  public void percentileIsWithinFactorOfTwo() {
+
+    for (int count = 0; count < 99; count++) {
+      histogram.record(1000L);
+    }
+
+    histogram.record(1000000L);
+
+    assertThat(histogram.getPercentile(0.50d, TimeUnit.NANOSECONDS)).isBetween(1000.0d, 2000.0d);
+    assertThat(histogram.getPercentile(0.99d, TimeUnit.NANOSECONDS)).isBetween(1000.0d, 2000.0d);
+    assertThat(histogram.getPercentile(1.0d, TimeUnit.NANOSECONDS)).isEqualTo(1000000.0d);
+  }
+
+  @Test
+  public void bucketIndexIsBounded() {
+    assertThat(LatencyHistogram.bucketIndex(-1L)).isEqualTo(0);
+    assertThat(LatencyHistogram.bucketIndex(Long.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Pbkdf2CredentialsVerifier}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.geode.security.support.Pbkdf2CredentialsVerifier
+ * @since 1.0.0
+ */
+public class Pbkdf2CredentialsVerifierTests {
+
+  private final Pbkdf2CredentialsVerifier verifier = new Pbkdf2CredentialsVerifier(1000);
+
+  @Test
+  public void hashIsSaltedAndVerifiable() {
+
+    String hash = verifier.hash("p@55w0rd");
+
+    assertThat(hash).startsWith("pbkdf2:1000:");
+    assertThat(hash).doesNotContain("p@55w0rd");
+    assertThat(verifier.hash("p@55w0rd")).isNotEqualTo(hash);
+    assertThat(verifier.verify(hash, "p@55w0rd")).isTrue();
+    assertThat(verifier.verify(hash, "wrong")).isFalse();
+  }
+
+  @Test
+  public void malformedOrMissingCredentialsAreNotVerified() {
+    assertThat(verifier.verify("p@55w0rd", "p@55w0rd")).isFalse();
+    assertThat(verifier.verify("pbkdf2:x:y:z", "p@55w0rd")).isFalse();
+    assertThat(verifier.verify(null, "p@55w0rd")).isFalse();
+    assertThat(verifier.verify(verifier.hash("p@55w0rd"), null)).isFalse();
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import static example.app.geode.security.model.Role.newRole;
+import static example.app.geode.security.model.User.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import org.apache.geode.security.ResourcePermission;
+import org.apache.geode.security.ResourcePermission.Operation;
+import org.apache.geode.security.ResourcePermission.Resource;
+
+import example.app.geode.security.model.User;
+
+/**
+ * Unit tests for {@link ResourcePermissionIndex}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.apache.geode.security.ResourcePermission
+ * @see example.app.geode.security.support.ResourcePermissionIndex
+ * @since 1.0.0
+ */
+public class ResourcePermissionIndexTests {
+
+  protected ResourcePermission newResourcePermission(Resource resource, Operation operation) {
+    return newResourcePermission(resource, operation, null);
+  }
+
+  protected ResourcePermission newResourcePermission(Resource resource, Operation operation, String region) {
+    return newResourcePermission(resource, operation, region, null);
+  }
+
+  protected ResourcePermission newResourcePermission(Resource resource, Operation operation,
+      String region, String key) {
+    return new ResourcePermission(resource, operation, region, key);
+  }
+
+  /* (non-Javadoc) */
+  private void assertImpliesSameAsResourcePermission(ResourcePermissionIndex index, ResourcePermission granted,
+      ResourcePermission required) {
+
+    assertThat(index.implies(required)).describedAs("%s implies %s", granted, required)
+      .isEqualTo(granted.implies(required));
+  }
+
+  @Test
+  public void compileIndexesAllRolePermissions() {
+
+    User user = newUser("scientist").in(
+      newRole("ANALYST").with(newResourcePermission(Resource.DATA, Operation.READ)),
+      newRole("SCIENTIST").with(newResourcePermission(Resource.DATA, Operation.READ),
+        newResourcePermission(Resource.DATA, Operation.WRITE, "Example")));
+
+    ResourcePermissionIndex index = ResourcePermissionIndex.compile(user);
+
+    assertThat(index.size()).isEqualTo(2);
+    assertThat(index.implies(newResourcePermission(Resource.DATA, Operation.READ, "Financials", "Key1"))).isTrue();
+    assertThat(index.implies(newResourcePermission(Resource.DATA, Operation.WRITE, "Example", "Key1"))).isTrue();
+    assertThat(index.implies(newResourcePermission(Resource.DATA, Operation.WRITE, "Financials"))).isFalse();
+    assertThat(index.implies(newResourcePermission(Resource.DATA, Operation.WRITE))).isFalse();
+    assertThat(index.implies(newResourcePermission(Resource.CLUSTER, Operation.READ))).isFalse();
+  }
+
+  @Test
+  public void userWithoutRolesImpliesNothing() {
+
+    ResourcePermissionIndex index = ResourcePermissionIndex.compile(newUser("guest"));
+
+    assertThat(index.isEmpty()).isTrue();
+    assertThat(index.implies(newResourcePermission(Resource.DATA, Operation.READ))).isFalse();
+    assertThat(index.implies(null)).isFalse();
+  }
+
+  @Test
+  public void indexMatchesResourcePermissionImplies() {
+
+    ResourcePermission[] permissions = {
+      newResourcePermission(Resource.CLUSTER, Operation.MANAGE),
+      newResourcePermission(Resource.DATA, Operation.READ),
+      newResourcePermission(Resource.DATA, Operation.READ, "Example"),
+      newResourcePermission(Resource.DATA, Operation.READ, "Example", "KeyOne"),
+      newResourcePermission(Resource.DATA, Operation.WRITE, "Example", "KeyTwo"),
+      newResourcePermission(Resource.DATA, Operation.NULL),
+    };
+
+    for (ResourcePermission granted : permissions) {
+
+      ResourcePermissionIndex index =
+        ResourcePermissionIndex.compile(newUser("test").in(newRole("TEST").with(granted)));
+
+      for (ResourcePermission required : permissions) {
+        assertImpliesSameAsResourcePermission(index, granted, required);
+      }
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.geode.security.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link VerifiedCredentialsCache}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.geode.security.support.VerifiedCredentialsCache
+ * @since 1.0.0
+ */
+public class VerifiedCredentialsCacheTests {
+
+  private final AtomicInteger verificationCount = new AtomicInteger(0);
+
+  private final CredentialsVerifier countingVerifier = (storedCredentials, providedCredentials) -> {
+    verificationCount.incrementAndGet();
+    return PlainTextCredentialsVerifier.INSTANCE.verify(storedCredentials, providedCredentials);
+  };
+
+  private final VerifiedCredentialsCache cache = new VerifiedCredentialsCache();
+
+  @Test
+  public void repeatedVerificationIsAnsweredFromCache() {
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+
+    assertThat(verificationCount.get()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(2);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void wrongCredentialsAreNeverCached() {
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "wrong", countingVerifier)).isFalse();
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "wrong", countingVerifier)).isFalse();
+
+    assertThat(verificationCount.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void changedStoredCredentialsInvalidateEntry() {
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(cache.verify("jonDoe", "n3wP@55", "p@55w0rd", countingVerifier)).isFalse();
+    assertThat(cache.verify("jonDoe", "n3wP@55", "n3wP@55", countingVerifier)).isTrue();
+
+    assertThat(verificationCount.get()).isEqualTo(3);
+    assertThat(cache.getHitCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void invalidateForcesVerification() {
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+
+    cache.invalidate("jonDoe");
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(verificationCount.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void zeroTimeToLiveDisablesCaching() {
+
+    cache.setTimeToLive(0L);
+
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(cache.verify("jonDoe", "p@55w0rd", "p@55w0rd", countingVerifier)).isTrue();
+    assertThat(verificationCount.get()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void cacheIsBoundedByMaximumSize() {
+
+    cache.setMaximumSize(2);
+
+    cache.verify("jonDoe", "test", "test", countingVerifier);
+    cache.verify("janeDoe", "test", "test", countingVerifier);
+    cache.verify("pieDoe", "test", "test", countingVerifier);
+
+    assertThat(cache.size()).isLessThanOrEqualTo(2);
+    assertThat(cache.getEvictionCount()).isEqualTo(2);
+  }
+}
@@ -173,4 +173,16 @@ public class PersonTests {
 
 		assertThat(jonDoe.getBirthDate()).isNull();
 	}
+
+	@Test
+	public void normalizedNameIgnoresCaseAndSurroundingWhitespace() {
+		Person jonDoe = newPerson("Jon", "Doe");
+
+		assertThat(jonDoe.getNormalizedName()).isEqualTo(Person.toNormalizedName(" jON", "DOE "));
+		assertThat(jonDoe.getNormalizedName()).isNotEqualTo(Person.toNormalizedName("Doe", "Jon"));
+
+		jonDoe.setLastName("Bloom");
+
+		assertThat(jonDoe.getNormalizedName()).isEqualTo(Person.toNormalizedName("jon", "bloom"));
+	}
 }
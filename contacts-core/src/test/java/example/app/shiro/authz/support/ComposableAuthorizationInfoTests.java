@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.shiro.authz.support;
+
+import static example.app.geode.security.model.Role.newRole;
+import static example.app.geode.security.model.User.newUser;
+import static example.app.shiro.authz.UserAuthorizationInfo.newAuthorizationInfo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.apache.geode.security.ResourcePermission;
+import org.apache.geode.security.ResourcePermission.Operation;
+import org.apache.geode.security.ResourcePermission.Resource;
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.authz.permission.WildcardPermission;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ComposableAuthorizationInfo}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.apache.shiro.authz.AuthorizationInfo
+ * @see example.app.shiro.authz.support.ComposableAuthorizationInfo
+ * @since 1.0.0
+ */
+public class ComposableAuthorizationInfoTests {
+
+  private final AuthorizationInfo analyst = newAuthorizationInfo(newUser("analyst").in(
+    newRole("ANALYST").with(new ResourcePermission(Resource.DATA, Operation.READ))));
+
+  private final AuthorizationInfo operator = newAuthorizationInfo(newUser("operator").in(
+    newRole("OPERATOR").with(new ResourcePermission(Resource.CLUSTER, Operation.MANAGE))));
+
+  @Test
+  public void composeFlattensRolesAndPermissions() {
+
+    AuthorizationInfo composition = ComposableAuthorizationInfo.compose(analyst, null, operator);
+
+    assertThat(composition).isInstanceOf(ComposableAuthorizationInfo.class);
+    assertThat(composition.getRoles()).containsOnly("ANALYST", "OPERATOR");
+    assertThat(composition.getObjectPermissions()).hasSize(2);
+    assertThat(composition.getStringPermissions()).hasSize(2);
+  }
+
+  @Test
+  public void composeSingleAuthorizationInfoIndexesIt() {
+
+    AuthorizationInfo composition = ComposableAuthorizationInfo.compose(analyst, null);
+
+    assertThat(composition).isInstanceOf(ComposableAuthorizationInfo.class);
+    assertThat(composition.getRoles()).containsOnly("ANALYST");
+    assertThat(((ComposableAuthorizationInfo) composition)
+      .isPermitted(new ResourcePermission(Resource.DATA, Operation.READ, "Example"))).isTrue();
+    assertThat(ComposableAuthorizationInfo.compose(composition)).isSameAs(composition);
+    assertThat(ComposableAuthorizationInfo.compose(null, null)).isNull();
+    assertThat(ComposableAuthorizationInfo.compose(Collections.<AuthorizationInfo>emptyList())).isNull();
+  }
+
+  @Test
+  public void composedAuthorizationInfoIsImmutable() {
+
+    AuthorizationInfo composition = ComposableAuthorizationInfo.compose(analyst, operator);
+
+    try {
+      composition.getRoles().add("ADMIN");
+    }
+    catch (UnsupportedOperationException expected) {
+    }
+
+    assertThat(composition.getRoles()).doesNotContain("ADMIN");
+  }
+
+  @Test
+  public void isPermittedUsesResourceAndShiroPermissions() {
+
+    SimpleAuthorizationInfo shiroAuthorizationInfo = new SimpleAuthorizationInfo();
+
+    shiroAuthorizationInfo.addObjectPermission(new WildcardPermission("printer:print"));
+
+    ComposableAuthorizationInfo composition = (ComposableAuthorizationInfo)
+      ComposableAuthorizationInfo.compose(analyst, operator, shiroAuthorizationInfo);
+
+    assertThat(composition.hasRole("ANALYST")).isTrue();
+    assertThat(composition.hasRole("ADMIN")).isFalse();
+    assertThat(composition.isPermitted(new ResourcePermission(Resource.DATA, Operation.READ, "Example"))).isTrue();
+    assertThat(composition.isPermitted(new ResourcePermission(Resource.CLUSTER, Operation.MANAGE))).isTrue();
+    assertThat(composition.isPermitted(new ResourcePermission(Resource.DATA, Operation.WRITE, "Example"))).isFalse();
+    assertThat(composition.isPermitted(new WildcardPermission("printer:print"))).isTrue();
+    assertThat(composition.isPermitted(new WildcardPermission("printer:scan"))).isFalse();
+  }
+}
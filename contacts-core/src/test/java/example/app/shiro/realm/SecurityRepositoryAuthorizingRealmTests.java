@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.shiro.realm;
+
+import static example.app.geode.security.model.User.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.IncorrectCredentialsException;
+import org.apache.shiro.authc.UsernamePasswordToken;
+
+import example.app.geode.security.model.User;
+import example.app.geode.security.repository.SecurityRepository;
+import example.app.geode.security.support.Pbkdf2CredentialsVerifier;
+import example.app.geode.security.support.VerifiedCredentialsCache;
+
+/**
+ * Unit tests for {@link SecurityRepositoryAuthorizingRealm}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.geode.security.support.Pbkdf2CredentialsVerifier
+ * @see example.app.shiro.realm.SecurityRepositoryAuthorizingRealm
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class SecurityRepositoryAuthorizingRealmTests {
+
+  private final AtomicInteger verifications = new AtomicInteger(0);
+
+  @Mock
+  private SecurityRepository<User> mockSecurityRepository;
+
+  private SecurityRepositoryAuthorizingRealm<User> realm;
+
+  private User jonDoe;
+
+  @Before
+  public void setup() {
+
+    Pbkdf2CredentialsVerifier credentialsVerifier = new Pbkdf2CredentialsVerifier(1000);
+
+    jonDoe = newUser("jonDoe").with(credentialsVerifier.hash("p@55w0rd"));
+
+    realm = new SecurityRepositoryAuthorizingRealm<>(mockSecurityRepository);
+    realm.setCredentialsVerifier((storedCredentials, providedCredentials) -> {
+      verifications.incrementAndGet();
+      return credentialsVerifier.verify(storedCredentials, providedCredentials);
+    });
+  }
+
+  @Test
+  public void secondLoginWithPbkdf2StoredCredentialsIsCacheHit() {
+
+    when(mockSecurityRepository.findBy("jonDoe")).thenReturn(jonDoe);
+
+    AuthenticationInfo authenticationInfo =
+      realm.getAuthenticationInfo(new UsernamePasswordToken("jonDoe", "p@55w0rd"));
+
+    assertThat(authenticationInfo).isNotNull();
+    assertThat(authenticationInfo.getPrincipals().getPrimaryPrincipal()).isEqualTo(jonDoe);
+    assertThat(realm.getAuthenticationInfo(new UsernamePasswordToken("jonDoe", "p@55w0rd"))).isNotNull();
+
+    VerifiedCredentialsCache verifiedCredentialsCache = realm.getVerifiedCredentialsCache();
+
+    assertThat(verifications.get()).isEqualTo(1);
+    assertThat(verifiedCredentialsCache.getMissCount()).isEqualTo(1L);
+    assertThat(verifiedCredentialsCache.getHitCount()).isEqualTo(1L);
+  }
+
+  @Test
+  public void loginWithIncorrectCredentialsFails() {
+
+    when(mockSecurityRepository.findBy("jonDoe")).thenReturn(jonDoe);
+
+    assertThat(realm.getAuthenticationInfo(new UsernamePasswordToken("jonDoe", "p@55w0rd"))).isNotNull();
+
+    assertThatThrownBy(() -> realm.getAuthenticationInfo(new UsernamePasswordToken("jonDoe", "wrong")))
+      .isInstanceOf(IncorrectCredentialsException.class);
+
+    assertThat(verifications.get()).isEqualTo(2);
+    assertThat(realm.getVerifiedCredentialsCache().getHitCount()).isEqualTo(0L);
+  }
+
+  @Test
+  public void loginWithUnknownUserFails() {
+
+    assertThatThrownBy(() -> realm.getAuthenticationInfo(new UsernamePasswordToken("janeDoe", "p@55w0rd")))
+      .isInstanceOf(AuthenticationException.class);
+
+    assertThat(verifications.get()).isEqualTo(0);
+  }
+}
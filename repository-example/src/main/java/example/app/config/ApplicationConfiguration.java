@@ -16,6 +16,9 @@
 
 package example.app.config;
 
+import org.apache.geode.cache.Region;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
@@ -24,11 +27,20 @@ import org.springframework.data.gemfire.function.config.EnableGemfireFunctions;
 import org.springframework.data.gemfire.repository.config.EnableGemfireRepositories;
 
 import example.app.config.gemfire.GemFireConfiguration;
+import example.app.function.ContactFunctions;
 import example.app.function.CustomerFunctions;
+import example.app.function.DuplicateContactFunctions;
+import example.app.function.executions.ContactFunctionExecutions;
 import example.app.function.executions.CustomerFunctionExecutions;
+import example.app.function.executions.DuplicateContactBlockFunctionExecutions;
+import example.app.model.Contact;
 import example.app.repo.gemfire.ContactRepository;
 import example.app.repo.gemfire.CustomerRepository;
+import example.app.repo.gemfire.support.QueryTelemetry;
+import example.app.repo.gemfire.support.QueryTelemetryBeanPostProcessor;
+import example.app.service.ContactImportService;
 import example.app.service.CustomerService;
+import example.app.service.DuplicateContactService;
 
 /**
  * Spring @{@link Configuration} class used to configure the application services and data access objects.
@@ -51,13 +63,62 @@ import example.app.service.CustomerService;
 @SuppressWarnings("unused")
 public class ApplicationConfiguration {
 
+	@Bean
+	public static QueryTelemetryBeanPostProcessor queryTelemetryBeanPostProcessor() {
+		return new QueryTelemetryBeanPostProcessor();
+	}
+
+	@Bean(destroyMethod = "report")
+	public QueryTelemetry queryTelemetry(
+			@Value("${example.app.query.slow-query-threshold:100}") long slowQueryThreshold) {
+
+		QueryTelemetry queryTelemetry = new QueryTelemetry();
+
+		queryTelemetry.setSlowQueryThreshold(slowQueryThreshold);
+
+		return queryTelemetry;
+	}
+
+	@Bean
+	public ContactFunctions contactFunctions() {
+		return new ContactFunctions();
+	}
+
 	@Bean
 	public CustomerFunctions customerFunctions() {
 		return new CustomerFunctions();
 	}
 
 	@Bean
-	public CustomerService customerService(ContactRepository contactRepository, CustomerRepository customerRepository) {
-		return new CustomerService(contactRepository, customerRepository);
+	public DuplicateContactFunctions duplicateContactFunctions() {
+		return new DuplicateContactFunctions();
+	}
+
+	@Bean
+	public ContactImportService contactImportService(@Qualifier("Contacts") Region<Long, Contact> contacts,
+			CustomerService customerService, @Value("${example.app.import.batch-size:1000}") int batchSize,
+			@Value("${example.app.import.parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+				int parallelism) {
+
+		ContactImportService contactImportService = new ContactImportService(contacts, customerService);
+
+		contactImportService.getContactImportPipeline().setBatchSize(batchSize);
+		contactImportService.getContactImportPipeline().setParallelism(parallelism);
+
+		return contactImportService;
+	}
+
+	@Bean
+	public CustomerService customerService(ContactRepository contactRepository, CustomerRepository customerRepository,
+			CustomerFunctionExecutions customerFunctionExecutions) {
+
+		return new CustomerService(contactRepository, customerRepository, customerFunctionExecutions);
+	}
+
+	@Bean
+	public DuplicateContactService duplicateContactService(ContactFunctionExecutions contactFunctionExecutions,
+			DuplicateContactBlockFunctionExecutions duplicateContactBlockFunctionExecutions) {
+
+		return new DuplicateContactService(contactFunctionExecutions, duplicateContactBlockFunctionExecutions);
 	}
 }
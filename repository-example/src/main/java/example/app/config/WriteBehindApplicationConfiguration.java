@@ -0,0 +1,191 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Region;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.gemfire.wan.AsyncEventQueueFactoryBean;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
+
+import example.app.model.Contact;
+import example.app.repo.jpa.support.ContactWriteBehindAsyncEventListener;
+import example.app.repo.jpa.support.JpaContactCacheLoader;
+import example.app.service.ContactsService;
+import example.app.service.WriteBehindContactsService;
+
+/**
+ * Spring {@link Configuration} class configuring Apache Geode (or Pivotal GemFire) as the system of record
+ * for {@link Contact Contacts}, writing changes behind to an external {@link javax.sql.DataSource}, such as
+ * a relational database (e.g. MySQL) using JPA for persistence.
+ *
+ * This is an alternative to {@link GlobalTransactionApplicationConfiguration}, which writes every {@link Contact}
+ * to both the database and Apache Geode in a global, JTA-based transaction.  Here, changes to the
+ * {@literal Contacts} Region are queued in an {@link org.apache.geode.cache.asyncqueue.AsyncEventQueue}
+ * and written to the database in batches by the {@link ContactWriteBehindAsyncEventListener}.
+ *
+ * The queue is configured with the following properties:
+ *
+ * <ul>
+ *   <li>{@literal example.app.contacts.write-behind.batch-size} (default 500)</li>
+ *   <li>{@literal example.app.contacts.write-behind.batch-time-interval} in milliseconds (default 1000)</li>
+ *   <li>{@literal example.app.contacts.write-behind.batch-conflation-enabled} (default true)</li>
+ *   <li>{@literal example.app.contacts.write-behind.disk-store} name of the Disk Store used by a persistent
+ *   queue (default Disk Store when not set)</li>
+ *   <li>{@literal example.app.contacts.write-behind.maximum-queue-memory} in megabytes (default 100)</li>
+ *   <li>{@literal example.app.contacts.write-behind.parallel} (default true)</li>
+ *   <li>{@literal example.app.contacts.write-behind.persistent} (default false)</li>
+ * </ul>
+ *
+ * {@link Contact Contacts} missing from the {@literal Contacts} Region are read through from the database by the
+ * {@link JpaContactCacheLoader}, which also warms up the Region on startup unless
+ * {@literal example.app.contacts.warm-up.enabled} is {@literal false}.  The number of key ranges read in parallel
+ * and the rows put into the Region at a time are configured with {@literal example.app.contacts.warm-up.concurrency}
+ * (default 4) and {@literal example.app.contacts.warm-up.batch-size} (default 500).
+ *
+ * @author John Blum
+ * @see org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer
+ * @see org.springframework.context.annotation.Bean
+ * @see org.springframework.context.annotation.Configuration
+ * @see org.springframework.data.gemfire.wan.AsyncEventQueueFactoryBean
+ * @see example.app.config.ApplicationConfiguration
+ * @see example.app.repo.jpa.support.ContactWriteBehindAsyncEventListener
+ * @see example.app.repo.jpa.support.JpaContactCacheLoader
+ * @see example.app.service.WriteBehindContactsService
+ * @since 1.0.0
+ */
+@Configuration
+@EnableAutoConfiguration
+@EnableJpaRepositories(basePackageClasses = example.app.repo.jpa.ContactRepository.class)
+@EntityScan(basePackageClasses = Contact.class)
+@Import(ApplicationConfiguration.class)
+@SuppressWarnings("unused")
+public class WriteBehindApplicationConfiguration {
+
+	@Value("${example.app.contacts.write-behind.batch-conflation-enabled:true}")
+	private boolean batchConflationEnabled;
+
+	@Value("${example.app.contacts.write-behind.parallel:true}")
+	private boolean parallel;
+
+	@Value("${example.app.contacts.write-behind.persistent:false}")
+	private boolean persistent;
+
+	@Value("${example.app.contacts.warm-up.enabled:true}")
+	private boolean warmUpEnabled;
+
+	@Value("${example.app.contacts.write-behind.batch-size:500}")
+	private int batchSize;
+
+	@Value("${example.app.contacts.write-behind.batch-time-interval:1000}")
+	private int batchTimeInterval;
+
+	@Value("${example.app.contacts.write-behind.maximum-queue-memory:100}")
+	private int maximumQueueMemory;
+
+	@Value("${example.app.contacts.warm-up.batch-size:500}")
+	private int warmUpBatchSize;
+
+	@Value("${example.app.contacts.warm-up.concurrency:4}")
+	private int warmUpConcurrency;
+
+	@Value("${example.app.contacts.write-behind.disk-store:}")
+	private String diskStoreName;
+
+	@Bean
+	public ContactsService contactsService(example.app.repo.gemfire.ContactRepository gemfireContactRepository) {
+		return new WriteBehindContactsService(gemfireContactRepository);
+	}
+
+	@Bean
+	public ContactWriteBehindAsyncEventListener contactWriteBehindAsyncEventListener(
+			example.app.repo.jpa.ContactRepository jpaContactRepository, EntityManagerFactory entityManagerFactory,
+			PlatformTransactionManager transactionManager) {
+
+		return new ContactWriteBehindAsyncEventListener(jpaContactRepository, entityManagerFactory,
+			transactionManager);
+	}
+
+	@Bean
+	public AsyncEventQueueFactoryBean contactsWriteBehindQueue(Cache gemfireCache,
+			ContactWriteBehindAsyncEventListener contactWriteBehindAsyncEventListener) {
+
+		AsyncEventQueueFactoryBean contactsWriteBehindQueue =
+			new AsyncEventQueueFactoryBean(gemfireCache, contactWriteBehindAsyncEventListener);
+
+		contactsWriteBehindQueue.setBatchConflationEnabled(this.batchConflationEnabled);
+		contactsWriteBehindQueue.setBatchSize(this.batchSize);
+		contactsWriteBehindQueue.setBatchTimeInterval(this.batchTimeInterval);
+		contactsWriteBehindQueue.setMaximumQueueMemory(this.maximumQueueMemory);
+		contactsWriteBehindQueue.setParallel(this.parallel);
+		contactsWriteBehindQueue.setPersistent(this.persistent);
+
+		if (StringUtils.hasText(this.diskStoreName)) {
+			contactsWriteBehindQueue.setDiskStoreReference(this.diskStoreName);
+		}
+
+		return contactsWriteBehindQueue;
+	}
+
+	@Bean
+	public JpaContactCacheLoader contactsCacheLoader(example.app.repo.jpa.ContactRepository jpaContactRepository,
+			EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+
+		JpaContactCacheLoader contactsCacheLoader =
+			new JpaContactCacheLoader(jpaContactRepository, entityManagerFactory, transactionManager);
+
+		contactsCacheLoader.setBatchSize(this.warmUpBatchSize);
+		contactsCacheLoader.setConcurrency(this.warmUpConcurrency);
+
+		return contactsCacheLoader;
+	}
+
+	@Bean
+	public ApplicationRunner contactsWarmUp(@Qualifier("Contacts") Region<Long, Contact> contacts,
+			JpaContactCacheLoader contactsCacheLoader) {
+
+		return arguments -> {
+			if (this.warmUpEnabled) {
+				contactsCacheLoader.warmUp(contacts);
+			}
+		};
+	}
+
+	// NOTE each queued batch is written in JDBC batches of the same size; inserts and updates are ordered by entity
+	// so Hibernate does not break the JDBC batches between statements for different tables
+	@Bean
+	public HibernatePropertiesCustomizer jdbcBatchingHibernatePropertiesCustomizer() {
+
+		return hibernateProperties -> {
+			hibernateProperties.put("hibernate.jdbc.batch_size", String.valueOf(this.batchSize));
+			hibernateProperties.put("hibernate.order_inserts", "true");
+			hibernateProperties.put("hibernate.order_updates", "true");
+		};
+	}
+}
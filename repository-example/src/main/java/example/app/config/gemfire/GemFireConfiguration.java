@@ -16,11 +16,16 @@
 
 package example.app.config.gemfire;
 
+import java.util.Collections;
 import java.util.Properties;
 
+import org.apache.geode.cache.CacheListener;
+import org.apache.geode.cache.CacheLoader;
 import org.apache.geode.cache.GemFireCache;
 import org.apache.geode.cache.PartitionAttributes;
 import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.asyncqueue.AsyncEventQueue;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,8 +38,15 @@ import org.springframework.data.gemfire.PartitionedRegionFactoryBean;
 import org.springframework.data.gemfire.RegionAttributesFactoryBean;
 
 import example.app.RepositoryExampleApplication;
+import example.app.config.gemfire.support.BlockingKeyPartitionResolver;
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
 import example.app.model.Contact;
 import example.app.model.Customer;
+import example.app.repo.gemfire.support.ContactRepositoryImpl;
+import example.app.repo.gemfire.support.GeoIndex;
+import example.app.repo.gemfire.support.NgramIndex;
+import example.app.repo.gemfire.support.RegionIndexListener;
+import example.app.service.support.ContactSignature;
 
 /**
  * Spring @{@link Configuration} class used to configure and bootstrap Apache Geode (or Pivotal GemFire)
@@ -87,12 +99,20 @@ public class GemFireConfiguration {
 	@Bean(name = "Contacts")
 	//@DependsOn("Customers")
 	public PartitionedRegionFactoryBean<Long, Contact> contactsRegion(GemFireCache gemfireCache,
-			@Qualifier("contactsRegionAttributes") RegionAttributes<Long, Contact> contactsRegionAttributes) {
+			@Qualifier("contactsRegionAttributes") RegionAttributes<Long, Contact> contactsRegionAttributes,
+			ObjectProvider<AsyncEventQueue> asyncEventQueues,
+			ObjectProvider<CacheLoader<Long, Contact>> cacheLoader,
+			RegionIndexListener<Long, Contact> contactsIndexListener) {
 
 		PartitionedRegionFactoryBean<Long, Contact> contactsRegion = new PartitionedRegionFactoryBean<>();
 
+		// NOTE AsyncEventQueues and the CacheLoader are only declared when changes are written behind
+		// to the database; see WriteBehindApplicationConfiguration
+		contactsRegion.setAsyncEventQueues(asyncEventQueues.stream().toArray(AsyncEventQueue[]::new));
 		contactsRegion.setAttributes(contactsRegionAttributes);
 		contactsRegion.setCache(gemfireCache);
+		contactsRegion.setCacheListeners(new CacheListener[] { contactsIndexListener });
+		contactsRegion.setCacheLoader(cacheLoader.getIfAvailable());
 		contactsRegion.setClose(false);
 		contactsRegion.setPersistent(false);
 
@@ -109,21 +129,61 @@ public class GemFireConfiguration {
 		contactsRegionAttributes.setKeyConstraint(Long.class);
 		contactsRegionAttributes.setValueConstraint(Contact.class);
 		contactsRegionAttributes.setPartitionAttributes(contactsRegionPartitionAttributes);
+		contactsRegionAttributes.setStatisticsEnabled(true);
 
 		return contactsRegionAttributes;
 	}
 
 	@Bean
-	public PartitionAttributesFactoryBean contactsRegionPartitionAttributes() {
+	public CustomerIdPartitionResolver customerIdPartitionResolver() {
+		return new CustomerIdPartitionResolver();
+	}
+
+	@Bean
+	@SuppressWarnings("unchecked")
+	public PartitionAttributesFactoryBean contactsRegionPartitionAttributes(
+			CustomerIdPartitionResolver customerIdPartitionResolver,
+			RegionIndexListener<Long, Contact> contactsIndexListener) {
 
 		PartitionAttributesFactoryBean contactsRegionPartitionAttributes = new PartitionAttributesFactoryBean();
 
 		contactsRegionPartitionAttributes.setColocatedWith("/Customers");
+		contactsRegionPartitionAttributes.setPartitionListeners(Collections.singletonList(contactsIndexListener));
+		contactsRegionPartitionAttributes.setPartitionResolver(customerIdPartitionResolver);
 		contactsRegionPartitionAttributes.setRedundantCopies(1);
 
 		return contactsRegionPartitionAttributes;
 	}
 
+	// NOTE OQL LIKE predicates with a leading or infix wildcard cannot use a HASH or FUNCTIONAL Index
+	// and scan the Region; see ContactRepositoryImpl
+	@Bean
+	public NgramIndex<Long, Contact> emailNgramIndex() {
+		return new NgramIndex<>(ContactRepositoryImpl.EMAIL_PROPERTY, Contact::getEmail);
+	}
+
+	@Bean
+	public NgramIndex<Long, Contact> lastNameNgramIndex() {
+		return new NgramIndex<>(ContactRepositoryImpl.LAST_NAME_PROPERTY,
+			contact -> (contact.getPerson() != null ? contact.getPerson().getLastName() : null));
+	}
+
+	// NOTE Address.location is a Point, which an OQL Index can only match by equality
+	@Bean
+	public GeoIndex<Long, Contact> locationGeoIndex() {
+		return new GeoIndex<>(ContactRepositoryImpl.LOCATION_PROPERTY,
+			contact -> (contact.getAddress() != null ? contact.getAddress().getLocation() : null));
+	}
+
+	@Bean
+	public RegionIndexListener<Long, Contact> contactsIndexListener(
+			@Qualifier("emailNgramIndex") NgramIndex<Long, Contact> emailNgramIndex,
+			@Qualifier("lastNameNgramIndex") NgramIndex<Long, Contact> lastNameNgramIndex,
+			@Qualifier("locationGeoIndex") GeoIndex<Long, Contact> locationGeoIndex) {
+
+		return new RegionIndexListener<>(emailNgramIndex, lastNameNgramIndex, locationGeoIndex);
+	}
+
 	@Bean(name = "Customers")
 	public PartitionedRegionFactoryBean<Long, Customer> customersRegion(GemFireCache gemfireCache,
 			@Qualifier("customersRegionAttributes") RegionAttributes<Long, Customer> customersRegionAttributes) {
@@ -153,15 +213,95 @@ public class GemFireConfiguration {
 	}
 
 	@Bean
-	public PartitionAttributesFactoryBean customersRegionPartitionAttributes() {
+	@SuppressWarnings("unchecked")
+	public PartitionAttributesFactoryBean customersRegionPartitionAttributes(
+			CustomerIdPartitionResolver customerIdPartitionResolver) {
 
 		PartitionAttributesFactoryBean customersRegionPartitionAttributes = new PartitionAttributesFactoryBean();
 
+		customersRegionPartitionAttributes.setPartitionResolver(customerIdPartitionResolver);
 		customersRegionPartitionAttributes.setRedundantCopies(1);
 
 		return customersRegionPartitionAttributes;
 	}
 
+	// NOTE scratch Region used to shuffle ContactSignatures into blocks of candidate duplicates;
+	// see DuplicateContactService
+	@Bean(name = "DuplicateContactBlocks")
+	public PartitionedRegionFactoryBean<String, ContactSignature> duplicateContactBlocksRegion(
+			GemFireCache gemfireCache,
+			@Qualifier("duplicateContactBlocksRegionAttributes")
+				RegionAttributes<String, ContactSignature> duplicateContactBlocksRegionAttributes) {
+
+		PartitionedRegionFactoryBean<String, ContactSignature> duplicateContactBlocksRegion =
+			new PartitionedRegionFactoryBean<>();
+
+		duplicateContactBlocksRegion.setAttributes(duplicateContactBlocksRegionAttributes);
+		duplicateContactBlocksRegion.setCache(gemfireCache);
+		duplicateContactBlocksRegion.setClose(false);
+		duplicateContactBlocksRegion.setPersistent(false);
+
+		return duplicateContactBlocksRegion;
+	}
+
+	@Bean
+	@SuppressWarnings("unchecked")
+	public RegionAttributesFactoryBean duplicateContactBlocksRegionAttributes(
+			@Qualifier("duplicateContactBlocksRegionPartitionAttributes")
+				PartitionAttributes duplicateContactBlocksRegionPartitionAttributes) {
+
+		RegionAttributesFactoryBean duplicateContactBlocksRegionAttributes = new RegionAttributesFactoryBean();
+
+		duplicateContactBlocksRegionAttributes.setKeyConstraint(String.class);
+		duplicateContactBlocksRegionAttributes.setValueConstraint(ContactSignature.class);
+		duplicateContactBlocksRegionAttributes.setPartitionAttributes(duplicateContactBlocksRegionPartitionAttributes);
+
+		return duplicateContactBlocksRegionAttributes;
+	}
+
+	@Bean
+	@SuppressWarnings("unchecked")
+	public PartitionAttributesFactoryBean duplicateContactBlocksRegionPartitionAttributes() {
+
+		PartitionAttributesFactoryBean duplicateContactBlocksRegionPartitionAttributes =
+			new PartitionAttributesFactoryBean();
+
+		duplicateContactBlocksRegionPartitionAttributes.setPartitionResolver(new BlockingKeyPartitionResolver());
+		duplicateContactBlocksRegionPartitionAttributes.setRedundantCopies(0);
+
+		return duplicateContactBlocksRegionPartitionAttributes;
+	}
+
+	@Bean
+	@DependsOn("Contacts")
+	public IndexFactoryBean contactIdIndex(GemFireCache gemfireCache) {
+
+		IndexFactoryBean contactIdIndex = new IndexFactoryBean();
+
+		contactIdIndex.setCache(gemfireCache);
+		contactIdIndex.setExpression("id");
+		contactIdIndex.setFrom("/Contacts");
+		contactIdIndex.setName("ContactIdIdx");
+		contactIdIndex.setType(IndexType.FUNCTIONAL);
+
+		return contactIdIndex;
+	}
+
+	@Bean
+	@DependsOn("Customers")
+	public IndexFactoryBean customerIdIndex(GemFireCache gemfireCache) {
+
+		IndexFactoryBean customerIdIndex = new IndexFactoryBean();
+
+		customerIdIndex.setCache(gemfireCache);
+		customerIdIndex.setExpression("id");
+		customerIdIndex.setFrom("/Customers");
+		customerIdIndex.setName("CustomerIdIdx");
+		customerIdIndex.setType(IndexType.FUNCTIONAL);
+
+		return customerIdIndex;
+	}
+
 	@Bean
 	@DependsOn("Contacts")
 	public IndexFactoryBean emailIndex(GemFireCache gemfireCache) {
@@ -191,4 +331,34 @@ public class GemFireConfiguration {
 
 		return lastNameIndex;
 	}
+
+	@Bean
+	@DependsOn("Contacts")
+	public IndexFactoryBean personIdIndex(GemFireCache gemfireCache) {
+
+		IndexFactoryBean personIdIndex = new IndexFactoryBean();
+
+		personIdIndex.setCache(gemfireCache);
+		personIdIndex.setExpression("person.id");
+		personIdIndex.setFrom("/Contacts");
+		personIdIndex.setName("PersonIdIdx");
+		personIdIndex.setType(IndexType.HASH);
+
+		return personIdIndex;
+	}
+
+	@Bean
+	@DependsOn("Contacts")
+	public IndexFactoryBean normalizedNameIndex(GemFireCache gemfireCache) {
+
+		IndexFactoryBean normalizedNameIndex = new IndexFactoryBean();
+
+		normalizedNameIndex.setCache(gemfireCache);
+		normalizedNameIndex.setExpression("person.normalizedName");
+		normalizedNameIndex.setFrom("/Contacts");
+		normalizedNameIndex.setName("PersonNormalizedNameIdx");
+		normalizedNameIndex.setType(IndexType.HASH);
+
+		return normalizedNameIndex;
+	}
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config.gemfire.support;
+
+import org.apache.geode.cache.EntryOperation;
+import org.apache.geode.cache.PartitionResolver;
+
+/**
+ * The {@link BlockingKeyPartitionResolver} class is an Apache Geode {@link PartitionResolver} routing entries in
+ * the {@literal /DuplicateContactBlocks} PARTITION Region by blocking key, so that all
+ * {@link example.app.service.support.ContactSignature ContactSignatures} of a block of candidate duplicates
+ * are stored in the same bucket and can be compared locally.
+ *
+ * Entries are keyed by the blocking key followed by {@link #KEY_SEPARATOR} and the ID of the
+ * {@link example.app.model.Contact}, created with {@link #newBlockEntryKey(String, long)}.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.PartitionResolver
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class BlockingKeyPartitionResolver implements PartitionResolver<String, Object> {
+
+	public static final char KEY_SEPARATOR = '\u0000';
+
+	/**
+	 * Creates the key of the entry for the given {@link example.app.model.Contact} ID in the given block.
+	 *
+	 * @param blockingKey key of the block.
+	 * @param contactId ID of the {@link example.app.model.Contact}.
+	 * @return the key of the entry.
+	 */
+	public static String newBlockEntryKey(String blockingKey, long contactId) {
+		return blockingKey + KEY_SEPARATOR + contactId;
+	}
+
+	/**
+	 * Returns the blocking key of the given entry key.
+	 *
+	 * @param key key of the entry.
+	 * @return the blocking key of the entry.
+	 */
+	public static String toBlockingKey(String key) {
+
+		int index = key.lastIndexOf(KEY_SEPARATOR);
+
+		return (index < 0 ? key : key.substring(0, index));
+	}
+
+	@Override
+	public Object getRoutingObject(EntryOperation<String, Object> entryOperation) {
+
+		Object key = entryOperation.getKey();
+
+		return (key instanceof String ? toBlockingKey((String) key) : key);
+	}
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	@Override
+	public void close() {
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config.gemfire.support;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+import example.app.model.Contact;
+import example.app.model.Person;
+
+/**
+ * The {@link ColocatedIdGenerator} class generates the IDs of {@link Person People}, including
+ * {@link example.app.model.Customer Customers}, and identifies each {@link Contact} by the colocated ID of
+ * its {@link Person} (see {@link CustomerIdPartitionResolver#toContactId(long)}), so a {@link Contact} is always
+ * stored in the same bucket as the {@link example.app.model.Customer} it belongs to.
+ *
+ * Generated IDs are never negative and strictly increase from the current time in microseconds, therefore
+ * IDs generated after a restart do not repeat IDs generated before it.  All write paths share the {@link #INSTANCE}
+ * so IDs are unique within the JVM.
+ *
+ * @author John Blum
+ * @see java.util.function.LongSupplier
+ * @see example.app.config.gemfire.support.CustomerIdPartitionResolver
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ColocatedIdGenerator implements LongSupplier {
+
+	public static final ColocatedIdGenerator INSTANCE = new ColocatedIdGenerator();
+
+	private final AtomicLong lastId = new AtomicLong(0L);
+
+	/**
+	 * Identifies the given {@link Contact} and its {@link Person} with IDs from the given {@link LongSupplier}.
+	 *
+	 * A new {@link Person} of a {@link Contact} with a colocated ID is identified by the ID the {@link Contact}
+	 * is colocated with, e.g. when re-importing exported {@link Contact Contacts}.
+	 *
+	 * @param <T> {@link Class type} of {@link Contact}.
+	 * @param contact {@link Contact} to identify.
+	 * @param personIdGenerator {@link LongSupplier} generating the ID of a new {@link Person}.
+	 * @return the given {@link Contact} identified by the colocated ID of its {@link Person}.
+	 * @throws IllegalArgumentException if the {@link Contact} or its {@link Person} is {@literal null},
+	 * or the {@link Contact} is identified by an ID other than the colocated ID of its {@link Person}.
+	 */
+	public static <T extends Contact> T identify(T contact, LongSupplier personIdGenerator) {
+
+		Assert.notNull(contact, "Contact must not be null");
+
+		Person person = contact.getPerson();
+
+		Assert.notNull(person, String.format("Contact [%s] must have a Person", contact.getId()));
+
+		if (person.isNew()) {
+			person.setId(contact.isNotNew() && contact.getId() < 0L
+				? CustomerIdPartitionResolver.toRoutingObject(contact.getId())
+				: personIdGenerator.getAsLong());
+		}
+
+		long contactId = CustomerIdPartitionResolver.toContactId(person.getId());
+
+		if (contact.isNew()) {
+			contact.setId(contactId);
+		}
+		else {
+			Assert.isTrue(contact.getId() == contactId, String.format(
+				"Contact ID [%1$d] must be [%2$d], the colocated ID of Person [%3$d]",
+					contact.getId(), contactId, person.getId()));
+		}
+
+		return contact;
+	}
+
+	/**
+	 * Returns a new, never negative ID.
+	 *
+	 * @return a new ID.
+	 */
+	@Override
+	public long getAsLong() {
+
+		long now = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+
+		return this.lastId.accumulateAndGet(now, (lastId, currentTime) -> Math.max(lastId + 1L, currentTime));
+	}
+
+	/**
+	 * Identifies the given {@link Contact} and its {@link Person} with IDs from this generator.
+	 *
+	 * @param <T> {@link Class type} of {@link Contact}.
+	 * @param contact {@link Contact} to identify.
+	 * @return the given {@link Contact} identified by the colocated ID of its {@link Person}.
+	 * @see #identify(Contact, LongSupplier)
+	 */
+	public <T extends Contact> T identify(T contact) {
+		return identify(contact, this);
+	}
+}
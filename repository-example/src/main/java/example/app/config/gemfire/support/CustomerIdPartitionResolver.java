@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config.gemfire.support;
+
+import org.apache.geode.cache.EntryOperation;
+import org.apache.geode.cache.PartitionResolver;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link CustomerIdPartitionResolver} class is an Apache Geode {@link PartitionResolver} routing entries in
+ * the colocated {@literal /Customers} and {@literal /Contacts} PARTITION Regions by customer ID, so that a
+ * {@link example.app.model.Customer} and the {@link example.app.model.Contact} information for that customer
+ * are stored in the same bucket.
+ *
+ * Apache Geode resolves the routing object of key-only operations (e.g. {@code get(key)}) from the key alone,
+ * therefore the customer ID must be derivable from the key.  Customer and Contact IDs are never negative, which
+ * leaves the sign bit to mark the key of a {@link example.app.model.Customer Customer's}
+ * {@link example.app.model.Contact}, created with {@link #toContactId(long)}.  Entries are routed by their key
+ * without the sign bit.  Since a {@link example.app.model.Customer} has a single {@link example.app.model.Contact},
+ * its key is unique to the customer and never collides with the key of any other {@link example.app.model.Contact}.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.PartitionResolver
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class CustomerIdPartitionResolver implements PartitionResolver<Long, Object> {
+
+	public static final long CUSTOMER_CONTACT_ID_BIT = Long.MIN_VALUE;
+
+	/**
+	 * Returns the ID of the {@link example.app.model.Contact} for the customer with the given ID, which is
+	 * routed to the same bucket as the customer.
+	 *
+	 * @param customerId ID of the customer to colocate with; must not be negative.
+	 * @return the ID of the customer's {@link example.app.model.Contact}.
+	 * @throws IllegalArgumentException if the customer ID is negative.
+	 */
+	public static long toContactId(long customerId) {
+
+		Assert.isTrue(customerId >= 0L, String.format("Customer ID [%d] must not be negative", customerId));
+
+		return (customerId | CUSTOMER_CONTACT_ID_BIT);
+	}
+
+	/**
+	 * Returns the routing object for the given ID.
+	 *
+	 * @param id ID of the entry.
+	 * @return the routing object for the given ID.
+	 */
+	public static Long toRoutingObject(long id) {
+		return (id & ~CUSTOMER_CONTACT_ID_BIT);
+	}
+
+	@Override
+	public Object getRoutingObject(EntryOperation<Long, Object> entryOperation) {
+
+		Object key = entryOperation.getKey();
+
+		return (key instanceof Long ? toRoutingObject((Long) key) : key);
+	}
+
+	@Override
+	public String getName() {
+		return getClass().getName();
+	}
+
+	@Override
+	public void close() {
+	}
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.gemfire.function.annotation.GemfireFunction;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Point;
+import org.springframework.data.geo.Shape;
+import org.springframework.stereotype.Component;
+
+import example.app.model.Contact;
+import example.app.repo.gemfire.support.GeoIndex;
+import example.app.repo.gemfire.support.NgramIndex;
+import example.app.repo.gemfire.support.TopK;
+
+/**
+ * The ContactFunctions class is a POJO containing various methods defining GemFire Functions
+ * to process {@link Contact} data.
+ *
+ * {@link #findContactsLike(FunctionContext, String, String)} answers an OQL {@literal LIKE} pattern on
+ * an {@link NgramIndex indexed} {@link Contact} property using the member's local {@link NgramIndex}, returning
+ * the matching {@link Contact Contacts} stored in the member's local primary buckets of the Contacts Region.
+ *
+ * {@link #findTopContactsLike(FunctionContext, String, String, Sort, int)} pushes the {@link Sort} and limit
+ * of the query down to each member, which keeps only the first matches in a bounded {@link TopK} heap
+ * and returns them in order, for the caller to merge.
+ *
+ * {@link #findContactsWithin(FunctionContext, String, Shape)} and
+ * {@link #findNearestContacts(FunctionContext, String, Point, int)} answer bounding box, within radius and
+ * k-nearest neighbor queries on a {@link Point} {@link Contact} property using the member's local {@link GeoIndex}.
+ * Nearest {@link Contact Contacts} are returned nearest first, for the caller to merge.
+ *
+ * @author John Blum
+ * @see org.springframework.data.gemfire.function.annotation.GemfireFunction
+ * @see org.apache.geode.cache.execute.RegionFunctionContext
+ * @see example.app.repo.gemfire.support.GeoIndex
+ * @see example.app.repo.gemfire.support.NgramIndex
+ * @see example.app.repo.gemfire.support.TopK
+ * @since 1.0.0
+ */
+@Component
+@SuppressWarnings("unused")
+public class ContactFunctions {
+
+	@Autowired(required = false)
+	private List<GeoIndex<Long, Contact>> geoIndexes = Collections.emptyList();
+
+	@Autowired(required = false)
+	private List<NgramIndex<Long, Contact>> ngramIndexes = Collections.emptyList();
+
+	@GemfireFunction
+	public List<Contact> findContactsLike(FunctionContext functionContext, String property, String pattern) {
+
+		List<Contact> matchingContacts = new ArrayList<>();
+
+		findContactsLike(toRegionFunctionContext(functionContext), property, pattern, matchingContacts::add,
+			() -> false);
+
+		return matchingContacts;
+	}
+
+	@GemfireFunction
+	public List<Contact> findTopContactsLike(FunctionContext functionContext, String property, String pattern,
+			Sort sort, int limit) {
+
+		TopK<Contact> topContacts = new TopK<>(TopK.comparing(sort), limit);
+
+		findContactsLike(toRegionFunctionContext(functionContext), property, pattern, topContacts::offer,
+			topContacts::isComplete);
+
+		return topContacts.toList();
+	}
+
+	// NOTE the index covers both primary and redundant buckets; only Contacts in primary buckets are matched
+	// so each Contact is returned exactly once
+	protected void findContactsLike(RegionFunctionContext functionContext, String property, String pattern,
+			Consumer<Contact> matchingContacts, BooleanSupplier done) {
+
+		NgramIndex<Long, Contact> index = getNgramIndex(property);
+
+		Region<Long, Contact> contacts = getRegion(functionContext);
+
+		for (Long key : index.findKeysLike(pattern)) {
+
+			Contact contact = (contacts.containsKey(key) ? contacts.get(key) : null);
+
+			if (contact != null) {
+
+				matchingContacts.accept(contact);
+
+				if (done.getAsBoolean()) {
+					break;
+				}
+			}
+		}
+	}
+
+	@GemfireFunction
+	public List<Contact> findContactsWithin(FunctionContext functionContext, String property, Shape area) {
+
+		GeoIndex<Long, Contact> index = getGeoIndex(property);
+
+		List<Long> keys;
+
+		if (area instanceof Box) {
+			keys = index.findKeysWithin((Box) area);
+		}
+		else if (area instanceof Circle) {
+			keys = index.findKeysWithin((Circle) area);
+		}
+		else {
+			throw new IllegalArgumentException(String.format("Shape [%s] is not supported", area));
+		}
+
+		Region<Long, Contact> contacts = getRegion(toRegionFunctionContext(functionContext));
+
+		List<Contact> contactsWithin = new ArrayList<>();
+
+		for (Long key : keys) {
+
+			Contact contact = (contacts.containsKey(key) ? contacts.get(key) : null);
+
+			if (contact != null) {
+				contactsWithin.add(contact);
+			}
+		}
+
+		return contactsWithin;
+	}
+
+	@GemfireFunction
+	public List<GeoResult<Contact>> findNearestContacts(FunctionContext functionContext, String property, Point point,
+			int limit) {
+
+		Region<Long, Contact> contacts = getRegion(toRegionFunctionContext(functionContext));
+
+		List<GeoResult<Contact>> nearestContacts = new ArrayList<>(limit);
+
+		for (GeoResult<Long> result : getGeoIndex(property).findNearestKeys(point, limit, contacts::containsKey)) {
+
+			Contact contact = contacts.get(result.getContent());
+
+			if (contact != null) {
+				nearestContacts.add(new GeoResult<>(contact, result.getDistance()));
+			}
+		}
+
+		return nearestContacts;
+	}
+
+	/* (non-Javadoc) */
+	protected GeoIndex<Long, Contact> getGeoIndex(String property) {
+
+		for (GeoIndex<Long, Contact> index : this.geoIndexes) {
+			if (index.getProperty().equals(property)) {
+				return index;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("No GeoIndex on Contact property [%s]", property));
+	}
+
+	/* (non-Javadoc) */
+	protected NgramIndex<Long, Contact> getNgramIndex(String property) {
+
+		for (NgramIndex<Long, Contact> index : this.ngramIndexes) {
+			if (index.getProperty().equals(property)) {
+				return index;
+			}
+		}
+
+		throw new IllegalArgumentException(String.format("No NgramIndex on Contact property [%s]", property));
+	}
+
+	protected <K, V> Region<K, V> getRegion(RegionFunctionContext functionContext) {
+		return FunctionSupport.getLocalData(functionContext);
+	}
+
+	protected RegionFunctionContext toRegionFunctionContext(FunctionContext functionContext) {
+		return FunctionSupport.toRegionFunctionContext(functionContext);
+	}
+}
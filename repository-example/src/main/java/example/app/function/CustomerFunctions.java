@@ -16,36 +16,47 @@
 
 package example.app.function;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.execute.FunctionContext;
 import org.apache.geode.cache.execute.RegionFunctionContext;
 import org.apache.geode.cache.partition.PartitionRegionHelper;
-import org.apache.geode.cache.query.Query;
-import org.apache.geode.cache.query.QueryService;
-import org.apache.geode.cache.query.SelectResults;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.data.gemfire.function.annotation.GemfireFunction;
-import org.springframework.data.gemfire.mapping.GemfireMappingContext;
-import org.springframework.data.gemfire.repository.support.GemfireRepositoryFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
+import example.app.config.gemfire.support.ColocatedIdGenerator;
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
+import example.app.model.Contact;
 import example.app.model.Customer;
-import example.app.repo.gemfire.CustomerRepository;
 
 /**
  * The CustomerFunctions class is a POJO containing various methods defining GemFire Functions
  * to process {@link Customer} data.
  *
+ * {@link #findAllCustomersWithContactInformation(FunctionContext)} joins the {@link Customer Customers} stored in
+ * each member's local buckets with their {@link Contact Contacts} on the {@link Customer} ID, streaming the joined
+ * {@link Customer Customers} back to the caller in chunks of {@link FunctionSupport#RESULT_CHUNK_SIZE}.  Each chunk is
+ * a {@link List} of {@link Customer Customers}.  Every {@link Contact} is stored under the colocated ID of its
+ * {@link example.app.model.Person} (see {@link ColocatedIdGenerator}), therefore a {@link Customer Customer's}
+ * {@link Contact} is looked up by key in the local buckets only, without a query.
+ *
+ * {@link #upsertContactInformation(FunctionContext, Contact)} and
+ * {@link #upsertAllContactInformation(FunctionContext, List)} find or create the {@link Customer} account and
+ * merge the {@link Contact} information on the member hosting the primary bucket of the {@link Customer},
+ * which also hosts the {@link Customer Customer's} colocated {@link Contact}.  The {@link Customer} ID
+ * must be used as the Function filter.
+ *
  * @author John Blum
  * @see org.springframework.data.gemfire.function.annotation.GemfireFunction
  * @see org.apache.geode.cache.execute.RegionFunctionContext
- * @see org.apache.geode.cache.query.QueryService
- * @see CustomerRepository
+ * @see example.app.config.gemfire.support.ColocatedIdGenerator
+ * @see example.app.repo.gemfire.CustomerRepository
  * @see <a href="http://gemfire.docs.pivotal.io/docs-gemfire/latest/developing/partitioned_regions/join_query_partitioned_regions.html">Equi-Join Query on collocated PRs</a>
  * @see <a href="http://geode.docs.pivotal.io/docs/developing/partitioned_regions/join_query_partitioned_regions.html">Equi-Join Query on collocated PRs</a>
  * @see <a href="http://gemfire.docs.pivotal.io/docs-gemfire/latest/developing/querying_basics/restrictions_and_unsupported_features.html">Query Language Restrictions and Unsupported Features</a>
@@ -56,63 +67,144 @@ import example.app.repo.gemfire.CustomerRepository;
 @SuppressWarnings("unused")
 public class CustomerFunctions {
 
-	protected static final String CUSTOMERS_WITH_CONTACTS_QUERY = ""
-		+ "SELECT DISTINCT customer FROM /Customers customer, /Contacts contact "
-		+ "WHERE customer.firstName = contact.person.firstName "
-		+ "AND customer.lastName = contact.person.lastName";
-
-	@Autowired
-	private GemfireMappingContext mappingContext;
+	protected static final String CONTACTS_REGION_PATH = "/Contacts";
 
 	@GemfireFunction
 	public List<Customer> findAllCustomersWithContactInformation(FunctionContext functionContext) {
-		return executeQueryInFunctionContext(toRegionFunctionContext(functionContext));
-		//return executeQueryWithRepository(toRegionFunctionContext(functionContext));
+		return joinCustomersWithContactsInFunctionContext(toRegionFunctionContext(functionContext));
+	}
+
+	protected List<Customer> joinCustomersWithContactsInFunctionContext(RegionFunctionContext functionContext) {
+
+		Region<Long, Contact> contacts = getContactsRegion(functionContext);
+
+		Region<Long, Customer> customers = getRegion(functionContext);
+
+		return FunctionSupport.sendInChunks(functionContext.getResultSender(), () -> customers.values().stream()
+			.filter(customer -> hasContactInformation(contacts, customer)).iterator());
 	}
 
-	protected List<Customer> executeQueryInFunctionContext(FunctionContext functionContext) {
-		return executeQueryInFunctionContext(toRegionFunctionContext(functionContext));
+	/* (non-Javadoc) */
+	protected boolean hasContactInformation(Region<Long, Contact> contacts, Customer customer) {
+
+		Long customerId = customer.getId();
+
+		return (customerId != null && customerId >= 0L
+			&& contacts.containsKey(CustomerIdPartitionResolver.toContactId(customerId)));
 	}
 
+	/* (non-Javadoc) */
 	@SuppressWarnings("unchecked")
-	protected List<Customer> executeQueryInFunctionContext(RegionFunctionContext functionContext) {
-		try {
-			QueryService queryService = getQueryService(functionContext);
-			Query query = queryService.newQuery(CUSTOMERS_WITH_CONTACTS_QUERY);
-			Object results = query.execute(functionContext);
+	protected Region<Long, Contact> getContactsRegion(RegionFunctionContext functionContext) {
+
+		Region<Long, Contact> contacts = (Region<Long, Contact>)
+			PartitionRegionHelper.getLocalColocatedRegions(functionContext).get(CONTACTS_REGION_PATH);
 
-			Assert.isInstanceOf(SelectResults.class, results);
+		Assert.state(contacts != null, String.format("Region [%s] must be colocated with Region [%s]",
+			CONTACTS_REGION_PATH, functionContext.getDataSet().getFullPath()));
 
-			return ((SelectResults<Customer>) results).asList();
+		return contacts;
+	}
+
+	@GemfireFunction(hasResult = true, optimizeForWrite = true)
+	public Contact upsertContactInformation(FunctionContext functionContext, Contact contactInformation) {
+		return upsertContactInformation(toRegionFunctionContext(functionContext), contactInformation);
+	}
+
+	// NOTE the Contacts of all Customers are sent to every member; each member only upserts the Contacts
+	// of the Customers in its share of the filter
+	@GemfireFunction(hasResult = true, optimizeForWrite = true)
+	public int upsertAllContactInformation(FunctionContext functionContext, List<Contact> contactInformation) {
+
+		RegionFunctionContext regionFunctionContext = toRegionFunctionContext(functionContext);
+
+		Set<?> customerIds = regionFunctionContext.getFilter();
+
+		int count = 0;
+
+		for (Contact contact : contactInformation) {
+			if (customerIds.contains(contact.getPerson().getId())) {
+				upsertContactInformation(regionFunctionContext, contact);
+				count++;
+			}
 		}
-		catch (Exception e) {
-			throw new DataRetrievalFailureException("Failed to find Customers with Contact information", e);
+
+		return count;
+	}
+
+	/* (non-Javadoc) */
+	protected Contact upsertContactInformation(RegionFunctionContext functionContext, Contact contactInformation) {
+
+		Assert.isInstanceOf(Customer.class, contactInformation.getPerson(), "Contact must be for a Customer");
+
+		Customer customer = (Customer) contactInformation.getPerson();
+
+		Assert.notNull(customer.getId(), String.format("Customer [%s] must be identified", customer));
+
+		Region<Long, Customer> customers = functionContext.getDataSet();
+
+		Customer existingCustomer = customers.get(customer.getId());
+
+		if (existingCustomer != null && existingCustomer.hasAccount()) {
+			customer.setAccountNumber(existingCustomer.getAccountNumber());
+		}
+		else {
+			customers.put(customer.getId(), customer.with(newAccountNumber()));
 		}
+
+		Region<Long, Contact> contacts = getContactsRegion(customers);
+
+		Long contactId = CustomerIdPartitionResolver.toContactId(customer.getId());
+
+		Contact existingContact = contacts.get(contactId);
+
+		Contact contact = (existingContact != null ? merge(existingContact, contactInformation)
+			: contactInformation.<Contact>identifiedBy(contactId));
+
+		contacts.put(contact.getId(), contact);
+
+		return contact;
 	}
 
-	protected List<Customer> executeQueryWithRepository(FunctionContext functionContext) {
-		return executeQueryWithRepository(toRegionFunctionContext(functionContext));
+	/* (non-Javadoc) */
+	protected Contact merge(Contact existingContact, Contact contactInformation) {
+
+		Optional.ofNullable(contactInformation.getAddress()).ifPresent(existingContact::with);
+		Optional.ofNullable(contactInformation.getPhoneNumber()).ifPresent(existingContact::with);
+
+		if (contactInformation.hasEmail()) {
+			existingContact.with(contactInformation.getEmail());
+		}
+
+		return existingContact;
 	}
 
-	protected List<Customer> executeQueryWithRepository(RegionFunctionContext functionContext) {
-		return newCustomerRepository(getRegion(functionContext)).findAllCustomersWithContactInformation();
+	/* (non-Javadoc) */
+	protected Region<Long, Contact> getContactsRegion(Region<?, ?> customers) {
+
+		Region<Long, Contact> contacts = customers.getRegionService().getRegion(CONTACTS_REGION_PATH);
+
+		if (contacts == null) {
+			throw new DataAccessResourceFailureException(String.format("Region [%s] not found",
+				CONTACTS_REGION_PATH));
+		}
+
+		return contacts;
 	}
 
-	protected QueryService getQueryService(RegionFunctionContext functionContext) {
-		return getRegion(functionContext).getRegionService().getQueryService();
+	protected String newAccountNumber() {
+		return UUID.randomUUID().toString();
 	}
 
-	protected <K, V> Region<K, V> getRegion(RegionFunctionContext functionContext) {
-		return PartitionRegionHelper.getLocalDataForContext(functionContext);
+	protected long newId() {
+		return ColocatedIdGenerator.INSTANCE.getAsLong();
 	}
 
-	protected CustomerRepository newCustomerRepository(Region<Long, Customer> customers) {
-		return new GemfireRepositoryFactory(Collections.singleton(customers), mappingContext)
-			.getRepository(CustomerRepository.class, null);
+	protected <K, V> Region<K, V> getRegion(RegionFunctionContext functionContext) {
+		return FunctionSupport.getLocalData(functionContext);
 	}
 
 	protected RegionFunctionContext toRegionFunctionContext(FunctionContext functionContext) {
-		Assert.isInstanceOf(RegionFunctionContext.class, functionContext);
-		return (RegionFunctionContext) functionContext;
+		return FunctionSupport.toRegionFunctionContext(functionContext);
 	}
 }
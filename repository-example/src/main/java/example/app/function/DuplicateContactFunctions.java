@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.gemfire.function.annotation.GemfireFunction;
+import org.springframework.stereotype.Component;
+
+import example.app.config.gemfire.support.BlockingKeyPartitionResolver;
+import example.app.model.Contact;
+import example.app.service.support.ContactSignature;
+import example.app.service.support.DuplicateContact;
+import example.app.service.support.DuplicateContactDetector;
+
+/**
+ * The DuplicateContactFunctions class is a POJO containing the GemFire Functions detecting duplicate
+ * {@link Contact Contacts} in 2 phases, without comparing every pair of {@link Contact Contacts}.
+ *
+ * {@link #blockContactSignatures(FunctionContext)}, executed on the Contacts Region, puts the
+ * {@link ContactSignature} of every {@link Contact} in the member's local primary buckets into the
+ * {@literal /DuplicateContactBlocks} Region, once per blocking key.  The {@link BlockingKeyPartitionResolver}
+ * routes all signatures sharing a blocking key to the same bucket.
+ *
+ * {@link #findDuplicateContacts(FunctionContext, double)}, executed on the {@literal /DuplicateContactBlocks} Region,
+ * then groups the signatures in the member's local primary buckets by blocking key, removes them from the Region
+ * and scores the pairs of every block in parallel with a {@link DuplicateContactDetector}.  The duplicates are
+ * streamed back to the caller in chunks of {@link FunctionSupport#RESULT_CHUNK_SIZE}.
+ *
+ * @author John Blum
+ * @see org.springframework.data.gemfire.function.annotation.GemfireFunction
+ * @see example.app.config.gemfire.support.BlockingKeyPartitionResolver
+ * @see example.app.service.support.DuplicateContactDetector
+ * @since 1.0.0
+ */
+@Component
+@SuppressWarnings("unused")
+public class DuplicateContactFunctions {
+
+	protected static final int PUT_ALL_BATCH_SIZE = 1000;
+	protected static final int REMOVE_ALL_BATCH_SIZE = 1000;
+
+	protected static final String DUPLICATE_CONTACT_BLOCKS_REGION_PATH = "/DuplicateContactBlocks";
+
+	@GemfireFunction
+	public int blockContactSignatures(FunctionContext functionContext) {
+
+		Region<Long, Contact> contacts = getRegion(toRegionFunctionContext(functionContext));
+
+		Region<String, ContactSignature> blocks = getDuplicateContactBlocksRegion(contacts);
+
+		Map<String, ContactSignature> batch = new HashMap<>(PUT_ALL_BATCH_SIZE);
+
+		int count = 0;
+
+		for (Contact contact : contacts.values()) {
+
+			ContactSignature signature = ContactSignature.of(contact);
+
+			for (String blockingKey : signature.getBlockingKeys()) {
+
+				batch.put(BlockingKeyPartitionResolver.newBlockEntryKey(blockingKey, signature.getId()), signature);
+
+				if (batch.size() == PUT_ALL_BATCH_SIZE) {
+					blocks.putAll(batch);
+					batch.clear();
+				}
+			}
+
+			count++;
+		}
+
+		if (!batch.isEmpty()) {
+			blocks.putAll(batch);
+		}
+
+		return count;
+	}
+
+	@GemfireFunction
+	public List<DuplicateContact> findDuplicateContacts(FunctionContext functionContext, double threshold) {
+
+		RegionFunctionContext regionFunctionContext = toRegionFunctionContext(functionContext);
+
+		Map<String, List<ContactSignature>> blocks = removeBlocks(getRegion(regionFunctionContext));
+
+		DuplicateContactDetector duplicateContactDetector = new DuplicateContactDetector();
+
+		duplicateContactDetector.setThreshold(threshold);
+
+		return FunctionSupport.sendInChunks(regionFunctionContext.getResultSender(),
+			duplicateContactDetector.detect(blocks.values()));
+	}
+
+	/* (non-Javadoc) */
+	protected Map<String, List<ContactSignature>> removeBlocks(Region<String, ContactSignature> localBlocks) {
+
+		Map<String, List<ContactSignature>> blocks = new HashMap<>();
+
+		List<String> keys = new ArrayList<>(REMOVE_ALL_BATCH_SIZE);
+
+		for (Map.Entry<String, ContactSignature> entry : localBlocks.entrySet()) {
+
+			blocks.computeIfAbsent(BlockingKeyPartitionResolver.toBlockingKey(entry.getKey()),
+				blockingKey -> new ArrayList<>()).add(entry.getValue());
+
+			keys.add(entry.getKey());
+		}
+
+		for (int index = 0, size = keys.size(); index < size; index += REMOVE_ALL_BATCH_SIZE) {
+			localBlocks.removeAll(keys.subList(index, Math.min(size, index + REMOVE_ALL_BATCH_SIZE)));
+		}
+
+		return blocks;
+	}
+
+	/* (non-Javadoc) */
+	protected Region<String, ContactSignature> getDuplicateContactBlocksRegion(Region<?, ?> contacts) {
+
+		Region<String, ContactSignature> blocks =
+			contacts.getRegionService().getRegion(DUPLICATE_CONTACT_BLOCKS_REGION_PATH);
+
+		if (blocks == null) {
+			throw new DataAccessResourceFailureException(String.format("Region [%s] not found",
+				DUPLICATE_CONTACT_BLOCKS_REGION_PATH));
+		}
+
+		return blocks;
+	}
+
+	protected <K, V> Region<K, V> getRegion(RegionFunctionContext functionContext) {
+		return FunctionSupport.getLocalData(functionContext);
+	}
+
+	protected RegionFunctionContext toRegionFunctionContext(FunctionContext functionContext) {
+		return FunctionSupport.toRegionFunctionContext(functionContext);
+	}
+}
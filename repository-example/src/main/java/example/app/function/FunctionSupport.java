@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.FunctionContext;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.apache.geode.cache.execute.ResultSender;
+import org.apache.geode.cache.partition.PartitionRegionHelper;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link FunctionSupport} class is an abstract utility class containing the helpers shared by the GemFire
+ * Functions in this package to access the local data of a Function execution and to stream the results back
+ * to the caller in chunks.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.execute.RegionFunctionContext
+ * @see org.apache.geode.cache.execute.ResultSender
+ * @see org.apache.geode.cache.partition.PartitionRegionHelper
+ * @since 1.0.0
+ */
+abstract class FunctionSupport {
+
+	static final int RESULT_CHUNK_SIZE = 500;
+
+	/**
+	 * Returns the local primary buckets of the PARTITION Region on which the Function is executing.
+	 *
+	 * @param <K> {@link Class type} of the Region keys.
+	 * @param <V> {@link Class type} of the Region values.
+	 * @param functionContext {@link RegionFunctionContext} of the Function execution.
+	 * @return a {@link Region} limited to the local primary buckets of the Function execution.
+	 * @see org.apache.geode.cache.partition.PartitionRegionHelper#getLocalDataForContext(RegionFunctionContext)
+	 */
+	static <K, V> Region<K, V> getLocalData(RegionFunctionContext functionContext) {
+		return PartitionRegionHelper.getLocalDataForContext(functionContext);
+	}
+
+	/**
+	 * Sends the given results to the caller in chunks of {@link #RESULT_CHUNK_SIZE}.
+	 *
+	 * Only full chunks are sent as they fill.  The final (possibly empty) chunk is returned, to be returned
+	 * by the Function and sent as the last result.
+	 *
+	 * @param <T> {@link Class type} of the results.
+	 * @param resultSender {@link ResultSender} used to send the full chunks.
+	 * @param results {@link Iterable} of results to send.
+	 * @return the final chunk of results, which has not been sent.
+	 */
+	static <T> List<T> sendInChunks(ResultSender<Object> resultSender, Iterable<T> results) {
+
+		List<T> chunk = new ArrayList<>(RESULT_CHUNK_SIZE);
+
+		for (T result : results) {
+
+			chunk.add(result);
+
+			if (chunk.size() == RESULT_CHUNK_SIZE) {
+				resultSender.sendResult(chunk);
+				chunk = new ArrayList<>(RESULT_CHUNK_SIZE);
+			}
+		}
+
+		return chunk;
+	}
+
+	/**
+	 * Casts the given {@link FunctionContext} to a {@link RegionFunctionContext}.
+	 *
+	 * @param functionContext {@link FunctionContext} of a Function executed on a Region.
+	 * @return the given {@link FunctionContext} as a {@link RegionFunctionContext}.
+	 * @throws IllegalArgumentException if the Function was not executed on a Region.
+	 */
+	static RegionFunctionContext toRegionFunctionContext(FunctionContext functionContext) {
+		Assert.isInstanceOf(RegionFunctionContext.class, functionContext);
+		return (RegionFunctionContext) functionContext;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function.executions;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.gemfire.function.annotation.OnRegion;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Point;
+import org.springframework.data.geo.Shape;
+
+import example.app.model.Contact;
+
+/**
+ * The ContactFunctionExecutions interface defines the GemFire Functions executed on the Contacts Region.
+ *
+ * @author John Blum
+ * @see org.springframework.data.gemfire.function.annotation.OnRegion
+ * @see example.app.function.ContactFunctions
+ * @see example.app.function.DuplicateContactFunctions
+ * @since 1.0.0
+ */
+@OnRegion(region = "Contacts")
+@SuppressWarnings("unused")
+public interface ContactFunctionExecutions {
+
+	List<Integer> blockContactSignatures();
+
+	List<List<Contact>> findContactsLike(String property, String pattern);
+
+	List<List<Contact>> findTopContactsLike(String property, String pattern, Sort sort, int limit);
+
+	List<List<Contact>> findContactsWithin(String property, Shape area);
+
+	List<List<GeoResult<Contact>>> findNearestContacts(String property, Point point, int limit);
+
+}
@@ -17,9 +17,12 @@
 package example.app.function.executions;
 
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.data.gemfire.function.annotation.Filter;
 import org.springframework.data.gemfire.function.annotation.OnRegion;
 
+import example.app.model.Contact;
 import example.app.model.Customer;
 
 /**
@@ -34,4 +37,8 @@ public interface CustomerFunctionExecutions {
 
 	List<Customer> findAllCustomersWithContactInformation();
 
+	Contact upsertContactInformation(@Filter Set<Long> customerIds, Contact contactInformation);
+
+	List<Integer> upsertAllContactInformation(@Filter Set<Long> customerIds, List<Contact> contactInformation);
+
 }
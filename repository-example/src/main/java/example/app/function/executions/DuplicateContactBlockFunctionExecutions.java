@@ -0,0 +1,40 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function.executions;
+
+import java.util.List;
+
+import org.springframework.data.gemfire.function.annotation.OnRegion;
+
+import example.app.service.support.DuplicateContact;
+
+/**
+ * The DuplicateContactBlockFunctionExecutions interface defines the GemFire Functions executed on
+ * the DuplicateContactBlocks Region.
+ *
+ * @author John Blum
+ * @see org.springframework.data.gemfire.function.annotation.OnRegion
+ * @see example.app.function.DuplicateContactFunctions
+ * @since 1.0.0
+ */
+@OnRegion(region = "DuplicateContactBlocks")
+@SuppressWarnings("unused")
+public interface DuplicateContactBlockFunctionExecutions {
+
+	List<List<DuplicateContact>> findDuplicateContacts(double threshold);
+
+}
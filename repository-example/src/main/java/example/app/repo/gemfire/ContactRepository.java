@@ -18,17 +18,15 @@ package example.app.repo.gemfire;
 
 import java.util.List;
 
-import org.springframework.data.domain.Sort;
 import org.springframework.data.gemfire.repository.GemfireRepository;
 import org.springframework.data.gemfire.repository.Query;
 import org.springframework.data.gemfire.repository.query.annotation.Hint;
-import org.springframework.data.gemfire.repository.query.annotation.Limit;
 import org.springframework.data.gemfire.repository.query.annotation.Trace;
 import org.springframework.data.repository.query.Param;
 
 import example.app.model.Contact;
-import example.app.model.Customer;
 import example.app.model.Gender;
+import example.app.model.Person;
 import example.app.model.PhoneNumber;
 import example.app.model.State;
 
@@ -39,10 +37,22 @@ import example.app.model.State;
  * @author John Blum
  * @see example.app.model.Contact
  * @see org.springframework.data.gemfire.repository.GemfireRepository
+ * @see example.app.repo.gemfire.ContactRepositoryExtension
+ * @see example.app.repo.gemfire.KeysetPagingRepository
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
-public interface ContactRepository extends GemfireRepository<Contact, Long> {
+public interface ContactRepository extends GemfireRepository<Contact, Long>, ContactRepositoryExtension,
+		KeysetPagingRepository<Contact> {
+
+	@Override
+	@Query("SELECT DISTINCT * FROM /Contacts contact ORDER BY contact.id ASC LIMIT $1")
+	List<Contact> findFirstPage(@Param("size") int size);
+
+	@Override
+	@Hint("ContactIdIdx")
+	@Query("SELECT DISTINCT * FROM /Contacts contact WHERE contact.id > $1 ORDER BY contact.id ASC LIMIT $2")
+	List<Contact> findPageAfter(@Param("id") Long id, @Param("size") int size);
 
 	@Trace
 	List<Contact> findByAddressCityAndAddressState(@Param("city") String city, @Param("state") State state);
@@ -51,9 +61,6 @@ public interface ContactRepository extends GemfireRepository<Contact, Long> {
 	@Hint("EmailIdx")
 	Contact findByEmail(@Param ("email") String email);
 
-	@Trace
-	List<Contact> findByEmailLike(@Param("email") String emailWildcard);
-
 	@Trace
 	List<Contact> findByPersonAgeGreaterThanEqualOrderByPersonLastNameAscPersonAgeDesc(@Param("age") int age);
 
@@ -61,30 +68,31 @@ public interface ContactRepository extends GemfireRepository<Contact, Long> {
 	List<Contact> findByPersonGender(@Param("gender") Gender gender);
 
 	@Trace
-	//@Query("SELECT * FROM /Contacts c WHERE c.person.firstName.equalsIgnoreCase($1) AND c.person.lastName.equalsIgnoreCase($2)")
-	//@Query("SELECT * FROM /Contacts c WHERE c.person.firstName.toLowerCase LIKE $1 AND c.person.lastName.toLowerCase LIKE $2")
-	List<Contact> findByPersonFirstNameIgnoreCaseAndPersonLastNameIgnoreCase(@Param("firstName") String firstName, @Param("lastName") String lastName);
+	@Hint("PersonNormalizedNameIdx")
+	@Query("SELECT * FROM /Contacts c WHERE c.person.normalizedName = $1")
+	List<Contact> findByPersonNormalizedName(@Param("normalizedName") String normalizedName);
 
-	@Trace
-	List<Contact> findByPersonFirstNameAndPersonLastNameAllIgnoreCase(@Param("firstName") String firstName, @Param("lastName") String lastName);
+	// NOTE case-insensitive name lookups are routed to the PersonNormalizedNameIdx rather than lower-casing
+	// the name of every Contact at query time
+	default List<Contact> findByPersonFirstNameIgnoreCaseAndPersonLastNameIgnoreCase(String firstName,
+			String lastName) {
+
+		return findByPersonNormalizedName(Person.toNormalizedName(firstName, lastName));
+	}
+
+	default List<Contact> findByPersonFirstNameAndPersonLastNameAllIgnoreCase(String firstName, String lastName) {
+		return findByPersonNormalizedName(Person.toNormalizedName(firstName, lastName));
+	}
 
 	@Trace
+	@Hint("PersonIdIdx")
 	Contact findByPersonId(@Param("id") Long id);
 
 	@Trace
 	@Hint("PersonLastNameIdx")
 	List<Contact> findByPersonLastName(@Param("lastName") String lastName);
 
-	@Trace
-	@Limit(5)
-	List<Contact> findByPersonLastNameLike(@Param("lastName") String lastNameWildcard, @Param("sort") Sort sort);
-
 	@Trace
 	List<Contact> findByPhoneNumber(@Param("phoneNumber") PhoneNumber phoneNumber);
 
-	@Query("SELECT DISTINCT customer"
-		+ " FROM /Customers customer, /Contacts contact"
-		+ " WHERE customer.firstName = contact.person.firstName AND customer.lastName = contact.person.lastName")
-	List<Customer> findAllCustomersWithContactInformation();
-
 }
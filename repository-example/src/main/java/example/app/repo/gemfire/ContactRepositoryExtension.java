@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.gemfire.repository.query.annotation.Trace;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Point;
+
+import example.app.model.Contact;
+
+/**
+ * The ContactRepositoryExtension interface is an extension of the {@link ContactRepository} to define custom
+ * {@link org.springframework.data.repository.Repository} data access operations on Apache Geode (or Pivotal GemFire).
+ *
+ * The {@link Trace @Trace} annotated methods are recorded by the
+ * {@link example.app.repo.gemfire.support.QueryTelemetryInterceptor} like the derived query methods.
+ *
+ * {@link #save(Contact)} and {@link #saveAll(Iterable)} replace the
+ * {@link org.springframework.data.repository.CrudRepository} operations to store every {@link Contact}
+ * under the colocated ID of its {@link example.app.model.Person}.
+ *
+ * @author John Blum
+ * @see example.app.model.Contact
+ * @see example.app.repo.gemfire.ContactRepository
+ * @since 1.0.0
+ */
+public interface ContactRepositoryExtension {
+
+	/*
+	@Query("SELECT * FROM /Contacts contact WHERE contact.email LIKE $1")
+	*/
+	@Trace
+	List<Contact> findByEmailLike(String emailWildcard);
+
+	/*
+	@Limit(5)
+	@Query("SELECT * FROM /Contacts contact WHERE contact.person.lastName LIKE $1 ORDER BY ...")
+	*/
+	@Trace
+	List<Contact> findByPersonLastNameLike(String lastNameWildcard, Sort sort);
+
+	List<Contact> findByAddressLocationWithin(Box box);
+
+	List<Contact> findByAddressLocationWithin(Circle circle);
+
+	GeoResults<Contact> findNearestByAddressLocation(Point point, int limit);
+
+	<S extends Contact> S save(S contact);
+
+	<S extends Contact> Iterable<S> saveAll(Iterable<S> contacts);
+
+}
@@ -16,7 +16,11 @@
 
 package example.app.repo.gemfire;
 
+import java.util.List;
+
 import org.springframework.data.gemfire.repository.GemfireRepository;
+import org.springframework.data.gemfire.repository.Query;
+import org.springframework.data.gemfire.repository.query.annotation.Hint;
 import org.springframework.data.gemfire.repository.query.annotation.Trace;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
@@ -31,10 +35,21 @@ import example.app.model.Customer;
  * @see org.springframework.data.gemfire.repository.GemfireRepository
  * @see example.app.model.Customer
  * @see example.app.repo.gemfire.CustomerRepositoryExtension
+ * @see example.app.repo.gemfire.KeysetPagingRepository
  * @since 1.0.0
  */
 @SuppressWarnings("unused")
-public interface CustomerRepository extends CrudRepository<Customer, Long>, CustomerRepositoryExtension {
+public interface CustomerRepository extends CrudRepository<Customer, Long>, CustomerRepositoryExtension,
+		KeysetPagingRepository<Customer> {
+
+	@Override
+	@Query("SELECT DISTINCT * FROM /Customers customer ORDER BY customer.id ASC LIMIT $1")
+	List<Customer> findFirstPage(@Param("size") int size);
+
+	@Override
+	@Hint("CustomerIdIdx")
+	@Query("SELECT DISTINCT * FROM /Customers customer WHERE customer.id > $1 ORDER BY customer.id ASC LIMIT $2")
+	List<Customer> findPageAfter(@Param("id") Long id, @Param("size") int size);
 
 	@Trace
 	Customer findByAccountNumber(@Param("accountNumber") String accountNumber);
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.cp.elements.lang.Identifiable;
+
+/**
+ * The {@link KeysetPagingRepository} interface is an extension for Spring Data Repositories of Apache Geode
+ * (or Pivotal GemFire) Regions keyed by {@link Long} IDs, reading the Region one page at a time in ID order.
+ *
+ * Rather than skipping over the entities of previous pages (offset paging), each page is read with a range
+ * predicate on the ID of the last entity of the previous page (i.e. the key set), which is answered from
+ * a range index, so reading page N costs the same as reading the first page.
+ *
+ * @author John Blum
+ * @see org.cp.elements.lang.Identifiable
+ * @since 1.0.0
+ */
+public interface KeysetPagingRepository<T extends Identifiable<Long>> {
+
+	int DEFAULT_PAGE_SIZE = 100;
+
+	/**
+	 * Returns the first page of entities in ID order.
+	 *
+	 * The first page is read without a lower bound on the ID, since any bound (e.g. {@link Long#MIN_VALUE})
+	 * would exclude the entity identified by the bound itself.
+	 *
+	 * @param size maximum number of entities in the page.
+	 * @return the first page of entities.
+	 */
+	List<T> findFirstPage(int size);
+
+	/**
+	 * Returns the page of entities with IDs greater than the given ID, in ID order.
+	 *
+	 * @param id ID of the last entity on the previous page.
+	 * @param size maximum number of entities in the page.
+	 * @return the next page of entities.
+	 */
+	List<T> findPageAfter(Long id, int size);
+
+	/**
+	 * Returns an {@link Iterable} over all entities in ID order, reading the entities lazily one page at a time
+	 * as the {@link Iterator} advances so that all entities are never held in memory at once.
+	 *
+	 * @param size number of entities read per page.
+	 * @return an {@link Iterable} over all entities.
+	 * @see #findPageAfter(Long, int)
+	 */
+	default Iterable<T> findAllInPages(int size) {
+
+		return () -> new Iterator<T>() {
+
+			private Iterator<T> page = Collections.emptyIterator();
+
+			private List<T> lastPage;
+
+			@Override
+			public boolean hasNext() {
+
+				if (!this.page.hasNext() && (this.lastPage == null || this.lastPage.size() == size)) {
+
+					this.lastPage = (this.lastPage == null || this.lastPage.isEmpty() ? findFirstPage(size)
+						: findPageAfter(this.lastPage.get(this.lastPage.size() - 1).getId(), size));
+
+					this.page = this.lastPage.iterator();
+				}
+
+				return this.page.hasNext();
+			}
+
+			@Override
+			public T next() {
+
+				if (!hasNext()) {
+					throw new NoSuchElementException("No more entities");
+				}
+
+				return this.page.next();
+			}
+		};
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.cache.Region;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import example.app.config.gemfire.support.ColocatedIdGenerator;
+import example.app.function.executions.ContactFunctionExecutions;
+import example.app.model.Contact;
+import example.app.repo.gemfire.ContactRepository;
+import example.app.repo.gemfire.ContactRepositoryExtension;
+
+/**
+ * The ContactRepositoryImpl class is a {@link ContactRepository} extension implementation answering
+ * {@literal LIKE} queries on the {@link Contact} email and {@link example.app.model.Person} last name
+ * with the {@link NgramIndex NgramIndexes} maintained on each member hosting the Contacts Region,
+ * rather than an OQL {@literal LIKE} predicate, which scans the Region for leading and infix wildcards.
+ *
+ * Bounding box, within radius and k-nearest neighbor queries on the {@link example.app.model.Address} location
+ * are answered by the {@link GeoIndex} maintained on each member.  Distances are in kilometers.
+ *
+ * {@link Contact Contacts} are saved under the colocated ID of their {@link example.app.model.Person},
+ * generated by the {@link ColocatedIdGenerator} when new.
+ *
+ * @author John Blum
+ * @see example.app.config.gemfire.support.ColocatedIdGenerator
+ * @see example.app.function.ContactFunctions
+ * @see example.app.repo.gemfire.ContactRepositoryExtension
+ * @see example.app.repo.gemfire.support.GeoIndex
+ * @see example.app.repo.gemfire.support.NgramIndex
+ * @see example.app.repo.gemfire.support.TopK
+ * @since 1.0.0
+ */
+@Component
+@SuppressWarnings("unused")
+public class ContactRepositoryImpl implements ContactRepositoryExtension {
+
+	public static final String EMAIL_PROPERTY = "email";
+	public static final String LAST_NAME_PROPERTY = "person.lastName";
+	public static final String LOCATION_PROPERTY = "address.location";
+
+	protected static final int LAST_NAME_LIKE_LIMIT = 5;
+
+	@Autowired
+	private ContactFunctionExecutions contactFunctionExecutions;
+
+	@Autowired
+	@Qualifier("Contacts")
+	private Region<Long, Contact> contacts;
+
+	@Override
+	public <S extends Contact> S save(S contact) {
+
+		ColocatedIdGenerator.INSTANCE.identify(contact);
+
+		contacts.put(contact.getId(), contact);
+
+		return contact;
+	}
+
+	@Override
+	public <S extends Contact> Iterable<S> saveAll(Iterable<S> contacts) {
+
+		Assert.notNull(contacts, "Contacts must not be null");
+
+		Map<Long, S> identifiedContacts = new LinkedHashMap<>();
+
+		for (S contact : contacts) {
+			identifiedContacts.put(ColocatedIdGenerator.INSTANCE.identify(contact).getId(), contact);
+		}
+
+		this.contacts.putAll(identifiedContacts);
+
+		return new ArrayList<>(identifiedContacts.values());
+	}
+
+	@Override
+	public List<Contact> findByEmailLike(String emailWildcard) {
+		return toContactList(contactFunctionExecutions.findContactsLike(EMAIL_PROPERTY, emailWildcard));
+	}
+
+	// NOTE each member returns at most LAST_NAME_LIKE_LIMIT Contacts, already sorted, which are merged here
+	@Override
+	public List<Contact> findByPersonLastNameLike(String lastNameWildcard, Sort sort) {
+
+		List<List<Contact>> results = contactFunctionExecutions.findTopContactsLike(LAST_NAME_PROPERTY,
+			lastNameWildcard, sort, LAST_NAME_LIKE_LIMIT);
+
+		Assert.notNull(results, "List cannot be null");
+
+		return TopK.merge(results, TopK.<Contact>comparing(sort), LAST_NAME_LIKE_LIMIT);
+	}
+
+	@Override
+	public List<Contact> findByAddressLocationWithin(Box box) {
+		return toContactList(contactFunctionExecutions.findContactsWithin(LOCATION_PROPERTY, box));
+	}
+
+	@Override
+	public List<Contact> findByAddressLocationWithin(Circle circle) {
+		return toContactList(contactFunctionExecutions.findContactsWithin(LOCATION_PROPERTY, circle));
+	}
+
+	// NOTE each member returns its nearest Contacts, nearest first, which are merged here
+	@Override
+	public GeoResults<Contact> findNearestByAddressLocation(Point point, int limit) {
+
+		List<List<GeoResult<Contact>>> results =
+			contactFunctionExecutions.findNearestContacts(LOCATION_PROPERTY, point, limit);
+
+		Assert.notNull(results, "List cannot be null");
+
+		return new GeoResults<>(TopK.merge(results, Comparator.comparingDouble(
+			(GeoResult<Contact> result) -> result.getDistance().getValue()), limit), Metrics.KILOMETERS);
+	}
+
+	// NOTE the Function returns a List of Contacts from each member hosting the Contacts Region
+	@SuppressWarnings("unchecked")
+	protected List<Contact> toContactList(List<?> list) {
+		Assert.notNull(list, "List cannot be null");
+
+		List<Contact> contacts = new ArrayList<>();
+
+		for (Object memberResult : list) {
+			Assert.isTrue(memberResult instanceof List, "Expected a List of Lists");
+			contacts.addAll((List<Contact>) memberResult);
+		}
+
+		return contacts;
+	}
+}
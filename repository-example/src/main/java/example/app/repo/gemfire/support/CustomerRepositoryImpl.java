@@ -16,10 +16,10 @@
 
 package example.app.repo.gemfire.support;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -48,16 +48,18 @@ public class CustomerRepositoryImpl implements CustomerRepositoryExtension {
 		return toCustomerList(customerFunctionExecutions.findAllCustomersWithContactInformation());
 	}
 
+	// NOTE the Function streams the Customers from each member in chunks, each chunk being a List of Customers
 	@SuppressWarnings("unchecked")
 	protected List<Customer> toCustomerList(List<?> list) {
 		Assert.notNull(list, "List cannot be null");
 
-		if (list.size() != 1) {
-			throw new IncorrectResultSizeDataAccessException(1, list.size());
-		}
+		List<Customer> customers = new ArrayList<>();
 
-		Assert.isTrue(list.get(0) instanceof List, "Expected a List of Lists");
+		for (Object chunk : list) {
+			Assert.isTrue(chunk instanceof List, "Expected a List of Lists");
+			customers.addAll((List<Customer>) chunk);
+		}
 
-		return (List<Customer>) list.get(0);
+		return customers;
 	}
 }
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link GeoIndex} class is an in-memory, grid-based spatial index over a {@link Point} property of the values
+ * in an Apache Geode (or Pivotal GemFire) Region, answering bounding box, within radius and k-nearest neighbor
+ * queries without scanning the Region.
+ *
+ * As everywhere in this application, {@link Point#getX()} is the latitude and {@link Point#getY()} the longitude,
+ * in degrees.  The world is divided into square cells of {@link #getCellSize()} degrees, and the keys of the values
+ * are bucketed by the cell containing their location.  Queries only visit the cells overlapping the query area, and
+ * candidates are then verified exactly, using the great-circle (haversine) distance for radius and nearest neighbor
+ * queries.  Nearest neighbor queries visit the cells in rings of increasing size around the cell containing the query
+ * point and stop as soon as the next ring is farther away than the k-th nearest location found so far.  When a ring
+ * would contain more cells than there are occupied cells left to visit, the remaining occupied cells are visited
+ * in order of their (lower bound) distance from the query point instead.
+ *
+ * The index is kept up-to-date by a {@link RegionIndexListener}.
+ *
+ * @author John Blum
+ * @see org.springframework.data.geo.Point
+ * @see example.app.repo.gemfire.support.RegionIndex
+ * @see example.app.repo.gemfire.support.RegionIndexListener
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class GeoIndex<K, V> implements RegionIndex<K, V> {
+
+	public static final double DEFAULT_CELL_SIZE = 0.1d;
+
+	protected static final double EARTH_RADIUS_IN_KILOMETERS = 6371.0088d;
+
+	protected static final double KILOMETERS_PER_DEGREE = Math.toRadians(EARTH_RADIUS_IN_KILOMETERS);
+
+	private final ConcurrentMap<Long, Set<K>> cells = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<K, Point> locations = new ConcurrentHashMap<>();
+
+	private final double cellSize;
+
+	private final Function<V, Point> locationExtractor;
+
+	private final int columns;
+
+	private final String property;
+
+	/**
+	 * Constructs an instance of {@link GeoIndex} for the given property using {@link #DEFAULT_CELL_SIZE cells}
+	 * of 0.1 degrees, roughly 11 kilometers.
+	 *
+	 * @param property name (path) of the indexed property, e.g. {@literal address.location}.
+	 * @param locationExtractor {@link Function} extracting the indexed {@link Point} from a Region value.
+	 */
+	public GeoIndex(String property, Function<V, Point> locationExtractor) {
+		this(property, locationExtractor, DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Constructs an instance of {@link GeoIndex} for the given property using cells of the given size.
+	 *
+	 * @param property name (path) of the indexed property, e.g. {@literal address.location}.
+	 * @param locationExtractor {@link Function} extracting the indexed {@link Point} from a Region value.
+	 * @param cellSize width and height of a cell in degrees.
+	 * @throws IllegalArgumentException if {@code property} is blank, {@code locationExtractor} is {@literal null}
+	 * or {@code cellSize} is not in the range (0, 180].
+	 */
+	public GeoIndex(String property, Function<V, Point> locationExtractor, double cellSize) {
+
+		Assert.hasText(property, "Property is required");
+		Assert.notNull(locationExtractor, "Location extractor is required");
+		Assert.isTrue(cellSize > 0.0d && cellSize <= 180.0d,
+			String.format("Cell size [%s] must be greater than 0 and less than or equal to 180", cellSize));
+
+		this.property = property;
+		this.locationExtractor = locationExtractor;
+		this.cellSize = cellSize;
+		this.columns = (int) Math.ceil(360.0d / cellSize);
+	}
+
+	/**
+	 * Returns the width and height of a cell in degrees.
+	 *
+	 * @return the width and height of a cell in degrees.
+	 */
+	public double getCellSize() {
+		return this.cellSize;
+	}
+
+	/**
+	 * Returns the name (path) of the indexed property.
+	 *
+	 * @return the name of the indexed property.
+	 */
+	public String getProperty() {
+		return this.property;
+	}
+
+	/**
+	 * Returns the number of indexed locations.
+	 *
+	 * @return the number of indexed locations.
+	 */
+	public int size() {
+		return this.locations.size();
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public synchronized void put(K key, V value) {
+
+		Point newLocation = (value != null ? this.locationExtractor.apply(value) : null);
+		Point oldLocation = (newLocation != null ? this.locations.put(key, newLocation) : this.locations.remove(key));
+
+		if (oldLocation != null) {
+			this.cells.computeIfPresent(toCell(oldLocation), (cell, keys) -> {
+				keys.remove(key);
+				return (keys.isEmpty() ? null : keys);
+			});
+		}
+
+		if (newLocation != null) {
+			this.cells.computeIfAbsent(toCell(newLocation), cell -> ConcurrentHashMap.newKeySet()).add(key);
+		}
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public synchronized void clear() {
+		this.cells.clear();
+		this.locations.clear();
+	}
+
+	/**
+	 * Finds the keys of all indexed locations within the given {@link Box}, boundaries included.
+	 *
+	 * The {@link Box#getFirst() first} corner is the south-west and the {@link Box#getSecond() second} corner
+	 * the north-east corner of the {@link Box}.  When the longitude of the south-west corner is greater than
+	 * the longitude of the north-east corner, the {@link Box} crosses the antimeridian, e.g. from 170 to -170 degrees.
+	 *
+	 * @param box {@link Box} defined by its south-west and north-east corners.
+	 * @return a {@link List} of keys with a location inside the {@link Box}.
+	 * @throws IllegalArgumentException if {@code box} is {@literal null} or the latitude of its south-west corner
+	 * is greater than the latitude of its north-east corner.
+	 */
+	public List<K> findKeysWithin(Box box) {
+
+		Assert.notNull(box, "Box must not be null");
+
+		Point southWest = box.getFirst();
+		Point northEast = box.getSecond();
+
+		double minimumLatitude = southWest.getX();
+		double maximumLatitude = northEast.getX();
+		double westLongitude = southWest.getY();
+		double eastLongitude = northEast.getY();
+
+		Assert.isTrue(minimumLatitude <= maximumLatitude,
+			String.format("South-west corner %1$s of Box must not be north of north-east corner %2$s",
+				southWest, northEast));
+
+		// NOTE when west > east, the box is the 2 longitude ranges [west, 180] and [-180, east], which are visited
+		// as a single range of columns wrapping around the antimeridian
+		Predicate<Double> containsLongitude = (westLongitude <= eastLongitude
+			? longitude -> longitude >= westLongitude && longitude <= eastLongitude
+			: longitude -> longitude >= westLongitude || longitude <= eastLongitude);
+
+		return findKeysWithin(minimumLatitude, maximumLatitude, westLongitude,
+			(westLongitude <= eastLongitude ? eastLongitude : eastLongitude + 360.0d),
+			location -> location.getX() >= minimumLatitude && location.getX() <= maximumLatitude
+				&& containsLongitude.test(location.getY()));
+	}
+
+	/**
+	 * Finds the keys of all indexed locations within the radius of the given {@link Circle}.
+	 *
+	 * @param circle {@link Circle} defined by a center {@link Point} and a radius {@link Distance}.
+	 * @return a {@link List} of keys with a location inside the {@link Circle}.
+	 */
+	public List<K> findKeysWithin(Circle circle) {
+
+		Assert.notNull(circle, "Circle must not be null");
+
+		Point center = circle.getCenter();
+
+		double radius = toKilometers(circle.getRadius());
+		double latitudeDelta = radius / KILOMETERS_PER_DEGREE;
+		double minimumLatitude = center.getX() - latitudeDelta;
+		double maximumLatitude = center.getX() + latitudeDelta;
+
+		// NOTE near the poles, or for large radiuses, the circle spans all longitudes
+		double cosine = Math.cos(Math.toRadians(Math.max(Math.abs(minimumLatitude), Math.abs(maximumLatitude))));
+		double longitudeDelta = (maximumLatitude >= 90.0d || minimumLatitude <= -90.0d ? 180.0d
+			: Math.min(180.0d, latitudeDelta / Math.max(cosine, 1.0e-9d)));
+
+		return findKeysWithin(minimumLatitude, maximumLatitude, center.getY() - longitudeDelta,
+			center.getY() + longitudeDelta, location -> distance(center, location) <= radius);
+	}
+
+	/**
+	 * Finds the {@literal k} indexed locations nearest to the given {@link Point}, nearest first.
+	 *
+	 * @param point {@link Point} to search from.
+	 * @param limit maximum number of locations to return ({@literal k}).
+	 * @return a {@link List} of {@link GeoResult GeoResults} with the key and the distance, in kilometers,
+	 * of the nearest locations.
+	 */
+	public List<GeoResult<K>> findNearestKeys(Point point, int limit) {
+		return findNearestKeys(point, limit, key -> true);
+	}
+
+	/**
+	 * Finds the {@literal k} indexed locations nearest to the given {@link Point} with a key accepted by
+	 * the given {@link Predicate}, nearest first.
+	 *
+	 * @param point {@link Point} to search from.
+	 * @param limit maximum number of locations to return ({@literal k}).
+	 * @param filter {@link Predicate} accepting the keys that may be returned.
+	 * @return a {@link List} of {@link GeoResult GeoResults} with the key and the distance, in kilometers,
+	 * of the nearest locations.
+	 */
+	public List<GeoResult<K>> findNearestKeys(Point point, int limit, Predicate<K> filter) {
+
+		Assert.notNull(point, "Point must not be null");
+		Assert.notNull(filter, "Filter must not be null");
+
+		TopK<GeoResult<K>> nearest = new TopK<>(byDistance(), limit);
+
+		int row = toRow(point.getX());
+		int column = toColumn(point.getY());
+		int maximumRow = toRow(90.0d);
+		int occupiedCells = this.cells.size();
+		int visitedCells = 0;
+
+		for (int ring = 0; visitedCells < occupiedCells; ring++) {
+
+			// NOTE past this point, scanning the remaining occupied cells is cheaper than visiting the next ring
+			if (2 * ring + 1 >= this.columns || (ring == 0 ? 1 : 8 * ring) > occupiedCells - visitedCells) {
+				findNearestKeysInCellsFrom(point, row, column, ring, filter, nearest);
+				break;
+			}
+
+			for (int cellRow = Math.max(row - ring, 0); cellRow <= Math.min(row + ring, maximumRow); cellRow++) {
+
+				// NOTE the inner rows of a ring only have the cells in its first and last column
+				int columnStep = (Math.abs(cellRow - row) == ring ? 1 : 2 * ring);
+
+				for (int columnOffset = -ring; columnOffset <= ring; columnOffset += columnStep) {
+
+					Set<K> cellKeys =
+						this.cells.get(toCell(cellRow, Math.floorMod(column + columnOffset, this.columns)));
+
+					if (cellKeys != null) {
+						visitedCells++;
+						offerNearest(point, cellKeys, filter, nearest);
+					}
+				}
+			}
+
+			if (nearest.isFull() && ringDistance(point, ring) >= nearest.peekLast().getDistance().getValue()) {
+				break;
+			}
+		}
+
+		return nearest.toList();
+	}
+
+	/* (non-Javadoc) */
+	private void findNearestKeysInCellsFrom(Point point, int row, int column, int ring, Predicate<K> filter,
+			TopK<GeoResult<K>> nearest) {
+
+		PriorityQueue<Map.Entry<Double, Set<K>>> cellsByDistance =
+			new PriorityQueue<>(Math.max(this.cells.size(), 1), Map.Entry.comparingByKey());
+
+		this.cells.forEach((cell, keys) -> {
+			if (toRing(row, column, cell) >= ring) {
+				cellsByDistance.add(new AbstractMap.SimpleImmutableEntry<>(minimumDistance(point, cell), keys));
+			}
+		});
+
+		while (!cellsByDistance.isEmpty()) {
+
+			Map.Entry<Double, Set<K>> cell = cellsByDistance.poll();
+
+			if (nearest.isFull() && cell.getKey() > nearest.peekLast().getDistance().getValue()) {
+				break;
+			}
+
+			offerNearest(point, cell.getValue(), filter, nearest);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void offerNearest(Point point, Set<K> cellKeys, Predicate<K> filter, TopK<GeoResult<K>> nearest) {
+
+		for (K key : cellKeys) {
+
+			Point location = this.locations.get(key);
+
+			if (location != null && filter.test(key)) {
+				nearest.offer(new GeoResult<>(key, new Distance(distance(point, location), Metrics.KILOMETERS)));
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	private List<K> findKeysWithin(double minimumLatitude, double maximumLatitude, double minimumLongitude,
+			double maximumLongitude, Predicate<Point> contains) {
+
+		List<K> keys = new ArrayList<>();
+
+		int minimumRow = toRow(Math.max(minimumLatitude, -90.0d));
+		int maximumRow = toRow(Math.min(maximumLatitude, 90.0d));
+		int minimumColumn = toColumn(minimumLongitude);
+		int columnCount = Math.min(this.columns,
+			(int) Math.floor((maximumLongitude + 180.0d) / this.cellSize) - toUnwrappedColumn(minimumLongitude) + 1);
+
+		for (int row = minimumRow; row <= maximumRow; row++) {
+			for (int offset = 0; offset < columnCount; offset++) {
+
+				// NOTE columns wrap around the antimeridian
+				Set<K> cellKeys = this.cells.get(toCell(row, (minimumColumn + offset) % this.columns));
+
+				if (cellKeys != null) {
+					for (K key : cellKeys) {
+
+						Point location = this.locations.get(key);
+
+						if (location != null && contains.test(location)) {
+							keys.add(key);
+						}
+					}
+				}
+			}
+		}
+
+		return keys;
+	}
+
+	/* (non-Javadoc) */
+	private Comparator<GeoResult<K>> byDistance() {
+		return Comparator.comparingDouble(result -> result.getDistance().getValue());
+	}
+
+	/* (non-Javadoc) */
+	private int toRing(int row, int column, long cell) {
+
+		int columnOffset = Math.abs((int) (cell % this.columns) - column);
+
+		return Math.max(Math.abs((int) (cell / this.columns) - row),
+			Math.min(columnOffset, this.columns - columnOffset));
+	}
+
+	// NOTE the query point lies in the center cell, so any location beyond the given ring is at least ring cells
+	// away in latitude, or in longitude, which is the distance to the meridian that many degrees away
+	/* (non-Javadoc) */
+	private double ringDistance(Point point, int ring) {
+
+		double degrees = ring * this.cellSize;
+
+		double longitudeDistance = EARTH_RADIUS_IN_KILOMETERS * Math.asin(Math.min(1.0d,
+			Math.cos(Math.toRadians(point.getX())) * Math.sin(Math.toRadians(Math.min(degrees, 90.0d)))));
+
+		return Math.min(degrees * KILOMETERS_PER_DEGREE, longitudeDistance);
+	}
+
+	// NOTE no point of a cell is farther from the cell's center than half its height plus half its width,
+	// so this is a lower bound of the distance to any location in the cell
+	/* (non-Javadoc) */
+	private double minimumDistance(Point point, long cell) {
+
+		int row = (int) (cell / this.columns);
+		int column = (int) (cell % this.columns);
+
+		Point center = new Point((row + 0.5d) * this.cellSize - 90.0d, (column + 0.5d) * this.cellSize - 180.0d);
+
+		return Math.max(0.0d, distance(point, center) - this.cellSize * KILOMETERS_PER_DEGREE);
+	}
+
+	/* (non-Javadoc) */
+	static double distance(Point one, Point two) {
+
+		double latitudeOne = Math.toRadians(one.getX());
+		double latitudeTwo = Math.toRadians(two.getX());
+		double latitudeDelta = latitudeTwo - latitudeOne;
+		double longitudeDelta = Math.toRadians(two.getY() - one.getY());
+
+		double haversine = Math.pow(Math.sin(latitudeDelta / 2.0d), 2)
+			+ Math.cos(latitudeOne) * Math.cos(latitudeTwo) * Math.pow(Math.sin(longitudeDelta / 2.0d), 2);
+
+		return 2.0d * EARTH_RADIUS_IN_KILOMETERS * Math.asin(Math.min(1.0d, Math.sqrt(haversine)));
+	}
+
+	/* (non-Javadoc) */
+	static double toKilometers(Distance distance) {
+		return distance.in(Metrics.KILOMETERS).getValue();
+	}
+
+	/* (non-Javadoc) */
+	private long toCell(Point location) {
+		return toCell(toRow(location.getX()), toColumn(location.getY()));
+	}
+
+	/* (non-Javadoc) */
+	private long toCell(int row, int column) {
+		return (long) row * this.columns + column;
+	}
+
+	/* (non-Javadoc) */
+	private int toRow(double latitude) {
+		return (int) Math.floor((Math.max(-90.0d, Math.min(latitude, 90.0d)) + 90.0d) / this.cellSize);
+	}
+
+	/* (non-Javadoc) */
+	private int toColumn(double longitude) {
+		return Math.floorMod(toUnwrappedColumn(longitude), this.columns);
+	}
+
+	/* (non-Javadoc) */
+	private int toUnwrappedColumn(double longitude) {
+		return (int) Math.floor((longitude + 180.0d) / this.cellSize);
+	}
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link NgramIndex} class is an in-memory, trigram (3-gram) inverted index over a {@link String} property
+ * of the values in an Apache Geode (or Pivotal GemFire) Region, used to answer OQL {@literal LIKE} patterns,
+ * including patterns with leading and infix wildcards (e.g. {@literal %@gmail.com} or {@literal %and%}),
+ * which cannot use a Geode {@literal HASH} or {@literal FUNCTIONAL} Index.
+ *
+ * Values are padded with 2 start and 2 end markers before being split into trigrams, so prefixes and suffixes
+ * anchored by the pattern (e.g. {@literal D%}) are indexed too.  The keys of the values containing all trigrams
+ * of the pattern's literal text are then verified against the pattern, so results are exact.  Patterns without
+ * any trigram (e.g. {@literal %o%}) are verified against every indexed value, which is still cheaper than
+ * a Region scan since only the indexed property is held.
+ *
+ * The index is kept up-to-date by a {@link RegionIndexListener}.
+ *
+ * @author John Blum
+ * @see example.app.repo.gemfire.support.RegionIndex
+ * @see example.app.repo.gemfire.support.RegionIndexListener
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class NgramIndex<K, V> implements RegionIndex<K, V> {
+
+	protected static final int GRAM_LENGTH = 3;
+
+	protected static final String END_PADDING = "\u0003\u0003";
+	protected static final String START_PADDING = "\u0002\u0002";
+
+	private final ConcurrentMap<String, Set<K>> postings = new ConcurrentHashMap<>();
+
+	private final ConcurrentMap<K, String> values = new ConcurrentHashMap<>();
+
+	private final Function<V, String> valueExtractor;
+
+	private final String property;
+
+	/**
+	 * Constructs an instance of {@link NgramIndex} for the given property.
+	 *
+	 * @param property name (path) of the indexed property, e.g. {@literal person.lastName}.
+	 * @param valueExtractor {@link Function} extracting the indexed property from a Region value.
+	 * @throws IllegalArgumentException if {@code property} is blank or {@code valueExtractor} is {@literal null}.
+	 */
+	public NgramIndex(String property, Function<V, String> valueExtractor) {
+
+		Assert.hasText(property, "Property is required");
+		Assert.notNull(valueExtractor, "Value extractor is required");
+
+		this.property = property;
+		this.valueExtractor = valueExtractor;
+	}
+
+	/**
+	 * Returns the name (path) of the indexed property.
+	 *
+	 * @return the name of the indexed property.
+	 */
+	public String getProperty() {
+		return this.property;
+	}
+
+	/**
+	 * Returns the number of indexed values.
+	 *
+	 * @return the number of indexed values.
+	 */
+	public int size() {
+		return this.values.size();
+	}
+
+	/**
+	 * Indexes the property of the given value for the given key, replacing any previously indexed value.
+	 *
+	 * @param key key of the Region entry.
+	 * @param value value of the Region entry; may be {@literal null}.
+	 */
+	@Override
+	public synchronized void put(K key, V value) {
+
+		String newValue = (value != null ? this.valueExtractor.apply(value) : null);
+		String oldValue = (newValue != null ? this.values.put(key, newValue) : this.values.remove(key));
+
+		if (!Objects.equals(oldValue, newValue)) {
+
+			if (oldValue != null) {
+				for (String gram : ngrams(oldValue)) {
+					this.postings.computeIfPresent(gram, (it, keys) -> {
+						keys.remove(key);
+						return (keys.isEmpty() ? null : keys);
+					});
+				}
+			}
+
+			if (newValue != null) {
+				for (String gram : ngrams(newValue)) {
+					this.postings.computeIfAbsent(gram, it -> ConcurrentHashMap.newKeySet()).add(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public synchronized void clear() {
+		this.postings.clear();
+		this.values.clear();
+	}
+
+	/**
+	 * Finds the keys of all indexed values matching the given OQL {@literal LIKE} pattern.
+	 *
+	 * @param pattern OQL {@literal LIKE} pattern where {@literal %} matches any number of characters,
+	 * {@literal _} matches a single character and {@literal \} escapes the next character.
+	 * @return the {@link Set} of keys with a value matching the pattern.
+	 */
+	public Set<K> findKeysLike(String pattern) {
+
+		LikePattern likePattern = LikePattern.compile(pattern);
+
+		Set<K> matchingKeys = new HashSet<>();
+
+		for (K key : findCandidateKeys(likePattern.getNgrams())) {
+			if (likePattern.matches(this.values.get(key))) {
+				matchingKeys.add(key);
+			}
+		}
+
+		return matchingKeys;
+	}
+
+	/* (non-Javadoc) */
+	private Set<K> findCandidateKeys(Set<String> grams) {
+
+		if (grams.isEmpty()) {
+			return this.values.keySet();
+		}
+
+		List<Set<K>> postingLists = new ArrayList<>(grams.size());
+
+		for (String gram : grams) {
+
+			Set<K> keys = this.postings.get(gram);
+
+			if (keys == null) {
+				return Collections.emptySet();
+			}
+
+			postingLists.add(keys);
+		}
+
+		postingLists.sort((keysOne, keysTwo) -> Integer.compare(keysOne.size(), keysTwo.size()));
+
+		Set<K> candidateKeys = new HashSet<>(postingLists.get(0));
+
+		for (int index = 1, size = postingLists.size(); index < size && !candidateKeys.isEmpty(); index++) {
+			candidateKeys.retainAll(postingLists.get(index));
+		}
+
+		return candidateKeys;
+	}
+
+	/* (non-Javadoc) */
+	static Set<String> ngrams(String value) {
+
+		Set<String> grams = new HashSet<>();
+
+		addNgrams(grams, START_PADDING.concat(value).concat(END_PADDING));
+
+		return grams;
+	}
+
+	/* (non-Javadoc) */
+	private static void addNgrams(Set<String> grams, String text) {
+		for (int index = 0, length = text.length(); index + GRAM_LENGTH <= length; index++) {
+			grams.add(text.substring(index, index + GRAM_LENGTH));
+		}
+	}
+
+	/**
+	 * The {@link LikePattern} class is a compiled OQL {@literal LIKE} pattern along with the trigrams
+	 * that every matching value must contain.
+	 */
+	static final class LikePattern {
+
+		private final Pattern regex;
+
+		private final Set<String> ngrams;
+
+		static LikePattern compile(String pattern) {
+
+			Assert.notNull(pattern, "Pattern must not be null");
+
+			Set<String> grams = new HashSet<>();
+
+			StringBuilder regex = new StringBuilder();
+			StringBuilder literal = new StringBuilder();
+
+			boolean anchoredAtStart = true;
+
+			for (int index = 0, length = pattern.length(); index < length; index++) {
+
+				char character = pattern.charAt(index);
+
+				if (character == '\\' && index + 1 < length) {
+					literal.append(pattern.charAt(++index));
+				}
+				else if (character == '%' || character == '_') {
+					addNgrams(grams, (anchoredAtStart ? START_PADDING : "").concat(literal.toString()));
+					regex.append(Pattern.quote(literal.toString())).append(character == '%' ? ".*" : ".");
+					literal.setLength(0);
+					anchoredAtStart = false;
+				}
+				else {
+					literal.append(character);
+				}
+			}
+
+			addNgrams(grams, (anchoredAtStart ? START_PADDING : "").concat(literal.toString()).concat(END_PADDING));
+			regex.append(Pattern.quote(literal.toString()));
+
+			return new LikePattern(Pattern.compile(regex.toString(), Pattern.DOTALL), grams);
+		}
+
+		private LikePattern(Pattern regex, Set<String> ngrams) {
+			this.regex = regex;
+			this.ngrams = ngrams;
+		}
+
+		Set<String> getNgrams() {
+			return this.ngrams;
+		}
+
+		boolean matches(String value) {
+			return (value != null && this.regex.matcher(value).matches());
+		}
+	}
+}
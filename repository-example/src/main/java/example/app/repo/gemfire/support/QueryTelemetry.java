@@ -0,0 +1,268 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link QueryTelemetry} class aggregates the execution time, rows returned, Indexes used and {@literal @Hint}
+ * outcome of every traced repository query method, per method.
+ *
+ * Queries taking longer than the {@link #getSlowQueryThreshold() slow query threshold} are logged, along with
+ * their bound parameters, to the {@literal example.app.query.slow} logger.  {@link #getUnindexedQueries()}
+ * lists the methods whose queries never used an Index, most expensive first, which are the candidates
+ * for a new Index.
+ *
+ * @author John Blum
+ * @see example.app.repo.gemfire.support.QueryTelemetryInterceptor
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class QueryTelemetry {
+
+	public static final long DEFAULT_SLOW_QUERY_THRESHOLD = 100L;
+
+	public static final String SLOW_QUERY_LOGGER_NAME = "example.app.query.slow";
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	protected final Logger slowQueryLogger = LoggerFactory.getLogger(SLOW_QUERY_LOGGER_NAME);
+
+	private final ConcurrentMap<String, QueryMetrics> metrics = new ConcurrentHashMap<>();
+
+	private volatile long slowQueryThreshold = DEFAULT_SLOW_QUERY_THRESHOLD;
+
+	/**
+	 * Sets the number of milliseconds after which a query is logged as a slow query.
+	 *
+	 * @param slowQueryThreshold number of milliseconds after which a query is slow.
+	 * @throws IllegalArgumentException if {@code slowQueryThreshold} is negative.
+	 */
+	public void setSlowQueryThreshold(long slowQueryThreshold) {
+		Assert.isTrue(slowQueryThreshold >= 0, String.format(
+			"Slow query threshold [%d] must be greater than or equal to 0", slowQueryThreshold));
+		this.slowQueryThreshold = slowQueryThreshold;
+	}
+
+	/**
+	 * Returns the number of milliseconds after which a query is logged as a slow query.
+	 *
+	 * @return the number of milliseconds after which a query is slow.
+	 */
+	public long getSlowQueryThreshold() {
+		return this.slowQueryThreshold;
+	}
+
+	/**
+	 * Returns the aggregated {@link QueryMetrics} of every recorded query method, keyed by method.
+	 *
+	 * @return an unmodifiable, sorted {@link Map} of {@link QueryMetrics} keyed by method.
+	 */
+	public Map<String, QueryMetrics> getMetrics() {
+		return Collections.unmodifiableMap(new TreeMap<>(this.metrics));
+	}
+
+	/**
+	 * Returns the {@link QueryMetrics} of the query methods that never used an Index, ordered by
+	 * total execution time, most expensive first.
+	 *
+	 * @return a {@link List} of {@link QueryMetrics} for unindexed query methods.
+	 */
+	public List<QueryMetrics> getUnindexedQueries() {
+
+		List<QueryMetrics> unindexedQueries = new ArrayList<>();
+
+		for (QueryMetrics queryMetrics : this.metrics.values()) {
+			if (!queryMetrics.isIndexed()) {
+				unindexedQueries.add(queryMetrics);
+			}
+		}
+
+		unindexedQueries.sort(Comparator.comparingLong(QueryMetrics::getTotalTime).reversed());
+
+		return unindexedQueries;
+	}
+
+	/**
+	 * Records a single execution of a query method.
+	 *
+	 * @param method name of the query method.
+	 * @param duration execution time in nanoseconds.
+	 * @param rows number of rows returned.
+	 * @param indexesUsed names of the Indexes used by the query.
+	 * @param hints names of the Indexes hinted by the query method; may be empty.
+	 * @param arguments bound parameters of the query.
+	 */
+	public void record(String method, long duration, long rows, Collection<String> indexesUsed, String[] hints,
+			Object[] arguments) {
+
+		boolean hinted = (hints != null && hints.length > 0);
+		boolean hintHonored = (hinted && Arrays.stream(hints).anyMatch(indexesUsed::contains));
+
+		long durationInMilliseconds = TimeUnit.NANOSECONDS.toMillis(duration);
+
+		boolean slow = (durationInMilliseconds >= getSlowQueryThreshold());
+
+		this.metrics.computeIfAbsent(method, QueryMetrics::new).record(duration, rows, indexesUsed, hinted,
+			hintHonored, slow);
+
+		if (slow && this.slowQueryLogger.isWarnEnabled()) {
+			this.slowQueryLogger.warn("Query [{}] took [{} ms] returning [{}] row(s) using Indexes {}{}"
+					+ " with parameters {}", method, durationInMilliseconds, rows, indexesUsed,
+				(hinted && !hintHonored ? String.format(" ignoring hint %s", Arrays.toString(hints)) : ""),
+				Arrays.deepToString(arguments));
+		}
+	}
+
+	/**
+	 * Logs the aggregated {@link QueryMetrics} of every recorded query method.
+	 */
+	public void report() {
+
+		if (this.logger.isInfoEnabled()) {
+			getMetrics().values().forEach(queryMetrics -> this.logger.info("{}", queryMetrics));
+			getUnindexedQueries().forEach(queryMetrics ->
+				this.logger.info("Query [{}] did not use an Index", queryMetrics.getMethod()));
+		}
+	}
+
+	/**
+	 * The {@link QueryMetrics} class holds the aggregated metrics of a single query method.
+	 */
+	public static final class QueryMetrics {
+
+		private final AtomicLong maximumTime = new AtomicLong(0L);
+
+		private final ConcurrentMap<String, LongAdder> indexUses = new ConcurrentHashMap<>();
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder hintedCount = new LongAdder();
+		private final LongAdder hintHonoredCount = new LongAdder();
+		private final LongAdder rows = new LongAdder();
+		private final LongAdder slowCount = new LongAdder();
+		private final LongAdder totalTime = new LongAdder();
+
+		private final String method;
+
+		QueryMetrics(String method) {
+			this.method = method;
+		}
+
+		void record(long duration, long rows, Collection<String> indexesUsed, boolean hinted, boolean hintHonored,
+				boolean slow) {
+
+			this.count.increment();
+			this.rows.add(rows);
+			this.totalTime.add(duration);
+			this.maximumTime.accumulateAndGet(duration, Math::max);
+
+			for (String index : indexesUsed) {
+				this.indexUses.computeIfAbsent(index, it -> new LongAdder()).increment();
+			}
+
+			if (slow) {
+				this.slowCount.increment();
+			}
+
+			if (hinted) {
+				this.hintedCount.increment();
+
+				if (hintHonored) {
+					this.hintHonoredCount.increment();
+				}
+			}
+		}
+
+		public String getMethod() {
+			return this.method;
+		}
+
+		public long getCount() {
+			return this.count.sum();
+		}
+
+		public long getRows() {
+			return this.rows.sum();
+		}
+
+		public long getSlowCount() {
+			return this.slowCount.sum();
+		}
+
+		public long getTotalTime() {
+			return this.totalTime.sum();
+		}
+
+		public long getMaximumTime() {
+			return this.maximumTime.get();
+		}
+
+		public long getAverageTime() {
+
+			long count = getCount();
+
+			return (count > 0 ? getTotalTime() / count : 0L);
+		}
+
+		public long getHintedCount() {
+			return this.hintedCount.sum();
+		}
+
+		public long getHintHonoredCount() {
+			return this.hintHonoredCount.sum();
+		}
+
+		public Map<String, Long> getIndexUses() {
+
+			Map<String, Long> indexUses = new TreeMap<>();
+
+			this.indexUses.forEach((index, uses) -> indexUses.put(index, uses.sum()));
+
+			return indexUses;
+		}
+
+		public boolean isIndexed() {
+			return !this.indexUses.isEmpty();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Query [%1$s] executed [%2$d] time(s), [%3$d] slow, returning [%4$d] row(s);"
+					+ " total [%5$d ms], average [%6$.3f ms], maximum [%7$d ms]; Indexes used %8$s;"
+					+ " hint honored [%9$d/%10$d]",
+				getMethod(), getCount(), getSlowCount(), getRows(), TimeUnit.NANOSECONDS.toMillis(getTotalTime()),
+				getAverageTime() / 1000000.0d, TimeUnit.NANOSECONDS.toMillis(getMaximumTime()), getIndexUses(),
+				getHintHonoredCount(), getHintedCount());
+		}
+	}
+}
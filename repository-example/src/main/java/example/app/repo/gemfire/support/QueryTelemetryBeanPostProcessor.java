@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import org.apache.geode.cache.GemFireCache;
+import org.apache.geode.cache.query.QueryService;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.Repository;
+
+/**
+ * The {@link QueryTelemetryBeanPostProcessor} class is a Spring {@link BeanPostProcessor} adding
+ * the {@link QueryTelemetryInterceptor} in front of all other advice of every Spring Data {@link Repository} proxy,
+ * so the {@link org.springframework.data.gemfire.repository.query.annotation.Trace @Trace} annotated query methods
+ * of the repositories are recorded in the {@link QueryTelemetry} bean.
+ *
+ * @author John Blum
+ * @see org.springframework.aop.framework.Advised
+ * @see org.springframework.beans.factory.config.BeanPostProcessor
+ * @see example.app.repo.gemfire.support.QueryTelemetry
+ * @see example.app.repo.gemfire.support.QueryTelemetryInterceptor
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class QueryTelemetryBeanPostProcessor implements BeanFactoryAware, BeanPostProcessor {
+
+	private BeanFactory beanFactory;
+
+	private volatile QueryService queryService;
+
+	private volatile QueryTelemetryInterceptor queryTelemetryInterceptor;
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+		this.beanFactory = beanFactory;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+
+		// NOTE the advice must come first; the repository's query executing advice does not proceed
+		if (bean instanceof Repository && bean instanceof Advised) {
+			((Advised) bean).addAdvice(0, getQueryTelemetryInterceptor());
+		}
+
+		return bean;
+	}
+
+	/* (non-Javadoc) */
+	private QueryTelemetryInterceptor getQueryTelemetryInterceptor() {
+
+		if (this.queryTelemetryInterceptor == null) {
+
+			// NOTE the Indexes are resolved on every query since they are created after the repositories
+			this.queryTelemetryInterceptor = new QueryTelemetryInterceptor(
+				this.beanFactory.getBean(QueryTelemetry.class), () -> getQueryService().getIndexes());
+		}
+
+		return this.queryTelemetryInterceptor;
+	}
+
+	/* (non-Javadoc) */
+	private QueryService getQueryService() {
+
+		if (this.queryService == null) {
+			this.queryService = this.beanFactory.getBean(GemFireCache.class).getQueryService();
+		}
+
+		return this.queryService;
+	}
+}
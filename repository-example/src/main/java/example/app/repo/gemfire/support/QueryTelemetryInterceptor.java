@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexStatistics;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.gemfire.repository.query.annotation.Hint;
+import org.springframework.data.gemfire.repository.query.annotation.Trace;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link QueryTelemetryInterceptor} class is an AOP Alliance {@link MethodInterceptor} recording
+ * the execution time, rows returned and Indexes used by every {@link Trace @Trace} annotated repository
+ * query method in {@link QueryTelemetry}.
+ *
+ * Geode does not report which Indexes a query used, so the Indexes used are the Indexes whose
+ * {@link IndexStatistics#getTotalUses() total uses} increased while the query executed.  Queries running
+ * concurrently on the same Indexes may be attributed each other's Index uses.  A {@link Hint @Hint} is honored
+ * when any of the hinted Indexes was used.
+ *
+ * @author John Blum
+ * @see org.aopalliance.intercept.MethodInterceptor
+ * @see org.apache.geode.cache.query.IndexStatistics
+ * @see org.springframework.data.gemfire.repository.query.annotation.Hint
+ * @see org.springframework.data.gemfire.repository.query.annotation.Trace
+ * @see example.app.repo.gemfire.support.QueryTelemetry
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class QueryTelemetryInterceptor implements MethodInterceptor {
+
+	private static final String[] NO_HINTS = {};
+
+	private final QueryTelemetry queryTelemetry;
+
+	private final Supplier<Collection<Index>> indexes;
+
+	/**
+	 * Constructs an instance of {@link QueryTelemetryInterceptor}.
+	 *
+	 * @param queryTelemetry {@link QueryTelemetry} recording the query executions.
+	 * @param indexes {@link Supplier} of the Indexes that may be used by the queries.
+	 * @throws IllegalArgumentException if {@code queryTelemetry} or {@code indexes} is {@literal null}.
+	 */
+	public QueryTelemetryInterceptor(QueryTelemetry queryTelemetry, Supplier<Collection<Index>> indexes) {
+
+		Assert.notNull(queryTelemetry, "QueryTelemetry must not be null");
+		Assert.notNull(indexes, "Index Supplier must not be null");
+
+		this.queryTelemetry = queryTelemetry;
+		this.indexes = indexes;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public Object invoke(MethodInvocation invocation) throws Throwable {
+
+		Method method = invocation.getMethod();
+
+		if (!AnnotatedElementUtils.hasAnnotation(method, Trace.class)) {
+			return invocation.proceed();
+		}
+
+		Map<String, Long> indexUsesBefore = getIndexUses();
+
+		long startTime = System.nanoTime();
+
+		Object result = invocation.proceed();
+
+		long duration = System.nanoTime() - startTime;
+
+		this.queryTelemetry.record(toName(method), duration, countRows(result), getIndexesUsed(indexUsesBefore),
+			getHints(method), invocation.getArguments());
+
+		return result;
+	}
+
+	/* (non-Javadoc) */
+	private Map<String, Long> getIndexUses() {
+
+		Map<String, Long> indexUses = new HashMap<>();
+
+		for (Index index : resolveIndexes()) {
+
+			IndexStatistics statistics = index.getStatistics();
+
+			if (statistics != null) {
+				indexUses.put(index.getName(), statistics.getTotalUses());
+			}
+		}
+
+		return indexUses;
+	}
+
+	/* (non-Javadoc) */
+	private List<String> getIndexesUsed(Map<String, Long> indexUsesBefore) {
+
+		List<String> indexesUsed = new ArrayList<>();
+
+		getIndexUses().forEach((index, uses) -> {
+			if (uses > indexUsesBefore.getOrDefault(index, 0L)) {
+				indexesUsed.add(index);
+			}
+		});
+
+		return indexesUsed;
+	}
+
+	/* (non-Javadoc) */
+	private Collection<Index> resolveIndexes() {
+		return Optional.ofNullable(this.indexes.get()).orElseGet(Collections::emptyList);
+	}
+
+	/* (non-Javadoc) */
+	private String[] getHints(Method method) {
+
+		Hint hint = AnnotatedElementUtils.findMergedAnnotation(method, Hint.class);
+
+		return (hint != null ? hint.value() : NO_HINTS);
+	}
+
+	/* (non-Javadoc) */
+	static long countRows(Object result) {
+
+		if (result instanceof Collection) {
+			return ((Collection<?>) result).size();
+		}
+		else if (result instanceof Optional) {
+			return (((Optional<?>) result).isPresent() ? 1L : 0L);
+		}
+
+		return (result != null ? 1L : 0L);
+	}
+
+	/* (non-Javadoc) */
+	static String toName(Method method) {
+		return String.format("%s.%s", method.getDeclaringClass().getSimpleName(), method.getName());
+	}
+}
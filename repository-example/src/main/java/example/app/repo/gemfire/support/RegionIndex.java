@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+/**
+ * The {@link RegionIndex} interface defines an in-memory index over the entries of a Region, maintained
+ * incrementally by a {@link RegionIndexListener} as entries are created, updated and destroyed.
+ *
+ * @author John Blum
+ * @see example.app.repo.gemfire.support.RegionIndexListener
+ * @since 1.0.0
+ */
+public interface RegionIndex<K, V> {
+
+	/**
+	 * Indexes the given value for the given key, replacing any previously indexed value.
+	 *
+	 * @param key key of the Region entry.
+	 * @param value value of the Region entry; may be {@literal null}.
+	 */
+	void put(K key, V value);
+
+	/**
+	 * Removes the indexed value for the given key.
+	 *
+	 * @param key key of the Region entry.
+	 */
+	default void remove(K key) {
+		put(key, null);
+	}
+
+	/**
+	 * Removes all indexed values.
+	 */
+	void clear();
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionEvent;
+import org.apache.geode.cache.partition.PartitionListener;
+import org.apache.geode.cache.partition.PartitionRegionHelper;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link RegionIndexListener} class is a Geode {@link org.apache.geode.cache.CacheListener} and
+ * {@link PartitionListener} keeping one or more {@link RegionIndex RegionIndexes} in sync with the entries
+ * of the Region, or the buckets of the PARTITION Region, hosted by this member.
+ *
+ * Entry events maintain the indexes as values are created, updated, invalidated and destroyed.  Buckets
+ * recovered or moved to this member (e.g. on rebalance or redundancy recovery) do not fire entry events,
+ * so the keys of created buckets are indexed, and the keys of removed buckets un-indexed, explicitly.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.partition.PartitionListener
+ * @see org.apache.geode.cache.util.CacheListenerAdapter
+ * @see example.app.repo.gemfire.support.RegionIndex
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class RegionIndexListener<K, V> extends CacheListenerAdapter<K, V> implements PartitionListener {
+
+	private final List<RegionIndex<K, V>> indexes;
+
+	private volatile Region<K, V> region;
+
+	/**
+	 * Constructs an instance of {@link RegionIndexListener} maintaining the given {@link RegionIndex RegionIndexes}.
+	 *
+	 * @param indexes array of {@link RegionIndex RegionIndexes} to maintain.
+	 */
+	@SafeVarargs
+	public RegionIndexListener(RegionIndex<K, V>... indexes) {
+		this(Arrays.asList(indexes));
+	}
+
+	/**
+	 * Constructs an instance of {@link RegionIndexListener} maintaining the given {@link RegionIndex RegionIndexes}.
+	 *
+	 * @param indexes {@link List} of {@link RegionIndex RegionIndexes} to maintain.
+	 * @throws IllegalArgumentException if {@code indexes} is {@literal null}.
+	 */
+	public RegionIndexListener(List<RegionIndex<K, V>> indexes) {
+		Assert.notNull(indexes, "RegionIndexes must not be null");
+		this.indexes = Collections.unmodifiableList(indexes);
+	}
+
+	/**
+	 * Returns the {@link RegionIndex RegionIndexes} maintained by this listener.
+	 *
+	 * @return the {@link RegionIndex RegionIndexes} maintained by this listener.
+	 */
+	public List<RegionIndex<K, V>> getIndexes() {
+		return this.indexes;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterCreate(EntryEvent<K, V> event) {
+		index(event.getKey(), event.getNewValue());
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterUpdate(EntryEvent<K, V> event) {
+		index(event.getKey(), event.getNewValue());
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterInvalidate(EntryEvent<K, V> event) {
+		unindex(event.getKey());
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterDestroy(EntryEvent<K, V> event) {
+		unindex(event.getKey());
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterRegionClear(RegionEvent<K, V> event) {
+		this.indexes.forEach(RegionIndex::clear);
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterRegionDestroy(RegionEvent<K, V> event) {
+		this.indexes.forEach(RegionIndex::clear);
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void afterRegionCreate(Region<?, ?> region) {
+		this.region = (Region<K, V>) region;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void afterPrimary(int bucketId) {
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void afterBucketCreated(int bucketId, Iterable<?> keys) {
+
+		Region<K, V> region = this.region;
+
+		if (region != null) {
+
+			Region<K, V> localData = getLocalData(region);
+
+			for (Object key : keys) {
+				index((K) key, localData.get(key));
+			}
+		}
+	}
+
+	// NOTE reading the keys of the created bucket through the local data view never fetches the values from
+	// another member nor invokes the CacheLoader, as Region.get(key) would for keys not hosted in the bucket yet
+	/* (non-Javadoc) */
+	protected Region<K, V> getLocalData(Region<K, V> region) {
+		return PartitionRegionHelper.getLocalData(region);
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void afterBucketRemoved(int bucketId, Iterable<?> keys) {
+		for (Object key : keys) {
+			unindex((K) key);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void index(K key, V value) {
+		for (RegionIndex<K, V> index : this.indexes) {
+			index.put(key, value);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private void unindex(K key) {
+		for (RegionIndex<K, V> index : this.indexes) {
+			index.remove(key);
+		}
+	}
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.springframework.beans.support.PropertyComparator;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+
+/**
+ * The {@link TopK} class is a bounded heap collecting the first {@literal k} elements, in {@link Comparator} order,
+ * of any number of elements offered, in {@literal O(n log k)} time and {@literal O(k)} space.
+ *
+ * Used to evaluate a limited, sorted query on each member hosting data (see
+ * {@link example.app.function.ContactFunctions}) and to merge the per-member results on the client, so only
+ * {@literal k} elements per member are ever sorted and sent over the network.  Without a {@link Comparator},
+ * any {@literal k} elements satisfy the query and {@link #isComplete()} signals the caller to stop early.
+ *
+ * @author John Blum
+ * @see java.util.PriorityQueue
+ * @see org.springframework.data.domain.Sort
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class TopK<T> {
+
+	private final int limit;
+
+	private final Comparator<? super T> comparator;
+
+	private final List<T> elements;
+
+	private final PriorityQueue<T> heap;
+
+	/**
+	 * Factory method used to construct a {@link Comparator} ordering elements by the properties
+	 * of the given {@link Sort}.
+	 *
+	 * @param <T> {@link Class} type of the elements compared.
+	 * @param sort {@link Sort} defining the order.
+	 * @return a {@link Comparator} for the {@link Sort} or {@literal null} if the {@link Sort} is {@literal null}
+	 * or unsorted.
+	 * @see org.springframework.beans.support.PropertyComparator
+	 */
+	public static <T> Comparator<T> comparing(Sort sort) {
+
+		Comparator<T> comparator = null;
+
+		if (sort != null) {
+			for (Sort.Order order : sort) {
+
+				Comparator<T> orderComparator =
+					new PropertyComparator<>(order.getProperty(), order.isIgnoreCase(), order.isAscending());
+
+				comparator = (comparator != null ? comparator.thenComparing(orderComparator) : orderComparator);
+			}
+		}
+
+		return comparator;
+	}
+
+	/**
+	 * Merges the given, individually collected results into the first {@literal k} elements overall.
+	 *
+	 * @param <T> {@link Class} type of the elements.
+	 * @param results {@link Iterable} of results to merge.
+	 * @param comparator {@link Comparator} ordering elements; may be {@literal null}.
+	 * @param limit maximum number of elements to return.
+	 * @return the first {@literal k} elements of all results, in order.
+	 */
+	public static <T> List<T> merge(Iterable<? extends Iterable<? extends T>> results, Comparator<? super T> comparator,
+			int limit) {
+
+		TopK<T> topK = new TopK<>(comparator, limit);
+
+		for (Iterable<? extends T> result : results) {
+			for (T element : result) {
+				topK.offer(element);
+
+				if (topK.isComplete()) {
+					return topK.toList();
+				}
+			}
+		}
+
+		return topK.toList();
+	}
+
+	/**
+	 * Constructs an instance of {@link TopK} keeping the first {@code limit} elements in {@link Comparator} order.
+	 *
+	 * @param comparator {@link Comparator} ordering elements; may be {@literal null} to keep the first elements
+	 * offered.
+	 * @param limit maximum number of elements to keep.
+	 * @throws IllegalArgumentException if {@code limit} is less than 1.
+	 */
+	public TopK(Comparator<? super T> comparator, int limit) {
+
+		Assert.isTrue(limit > 0, String.format("Limit [%d] must be greater than 0", limit));
+
+		this.comparator = comparator;
+		this.limit = limit;
+
+		// NOTE the heap is ordered in reverse so its head is the greatest element kept, the one evicted next
+		this.heap = (comparator != null ? new PriorityQueue<>(Math.min(limit, 1024) + 1,
+			Collections.reverseOrder(comparator)) : null);
+
+		this.elements = (comparator != null ? null : new ArrayList<>(Math.min(limit, 1024)));
+	}
+
+	/**
+	 * Determines whether no element offered from now on can be kept, which is the case once {@literal k} elements
+	 * were collected without a {@link Comparator}.
+	 *
+	 * @return a boolean value indicating whether offering more elements is pointless.
+	 */
+	public boolean isComplete() {
+		return (this.heap == null && isFull());
+	}
+
+	/**
+	 * Determines whether {@literal k} elements were collected.
+	 *
+	 * @return a boolean value indicating whether {@literal k} elements were collected.
+	 */
+	public boolean isFull() {
+		return (size() >= this.limit);
+	}
+
+	/**
+	 * Returns the number of elements collected.
+	 *
+	 * @return the number of elements collected.
+	 */
+	public int size() {
+		return (this.heap != null ? this.heap.size() : this.elements.size());
+	}
+
+	/**
+	 * Returns the last element collected, which is the greatest element kept in {@link Comparator} order.
+	 *
+	 * @return the last element collected or {@literal null} if no elements were collected.
+	 */
+	public T peekLast() {
+		return (this.heap != null ? this.heap.peek()
+			: this.elements.isEmpty() ? null : this.elements.get(this.elements.size() - 1));
+	}
+
+	/**
+	 * Offers the given element, keeping it if it is among the first {@literal k} elements offered so far.
+	 *
+	 * @param element element to offer.
+	 * @return a boolean value indicating whether the element was kept.
+	 */
+	public boolean offer(T element) {
+
+		if (this.heap == null) {
+			return (!isFull() && this.elements.add(element));
+		}
+		else if (!isFull()) {
+			return this.heap.add(element);
+		}
+		else if (this.comparator.compare(element, this.heap.peek()) < 0) {
+			this.heap.poll();
+			return this.heap.add(element);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the collected elements, in order.
+	 *
+	 * @return a new {@link List} of the collected elements, in order.
+	 */
+	public List<T> toList() {
+
+		if (this.heap == null) {
+			return new ArrayList<>(this.elements);
+		}
+
+		List<T> list = new ArrayList<>(this.heap);
+
+		list.sort(this.comparator);
+
+		return list;
+	}
+}
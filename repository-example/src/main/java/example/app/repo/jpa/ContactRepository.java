@@ -16,7 +16,16 @@
 
 package example.app.repo.jpa;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import example.app.model.Contact;
@@ -27,6 +36,7 @@ import example.app.model.Contact;
  *
  * @author John Blum
  * @see org.springframework.data.jpa.repository.JpaRepository
+ * @see org.springframework.data.jpa.repository.Query
  * @see org.springframework.stereotype.Repository
  * @see example.app.model.Contact
  * @since 1.0.0
@@ -35,4 +45,35 @@ import example.app.model.Contact;
 @Repository("jpaContactRepository")
 public interface ContactRepository extends JpaRepository<Contact, Long> {
 
+	// NOTE must be called in a transaction and the Stream must be closed; only the primary key index is read
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "10000"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query("SELECT contact.id FROM Contact contact ORDER BY contact.id ASC")
+	Stream<Long> streamIds();
+
+	// NOTE must be called in a transaction and the Stream must be closed; rows are fetched from the database
+	// 500 at a time and not tracked for changes; the Person, Address and PhoneNumber of each Contact are fetched
+	// in the same query rather than with a select per Contact
+	@QueryHints({
+		@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+		@QueryHint(name = "org.hibernate.readOnly", value = "true")
+	})
+	@Query("SELECT contact FROM Contact contact"
+		+ " LEFT JOIN FETCH contact.person"
+		+ " LEFT JOIN FETCH contact.address"
+		+ " LEFT JOIN FETCH contact.phoneNumber"
+		+ " WHERE contact.id >= :lowerBound AND contact.id < :upperBound")
+	Stream<Contact> streamByIdRange(@Param("lowerBound") Long lowerBound, @Param("upperBound") Long upperBound);
+
+	// NOTE the Person, Address and PhoneNumber of each Contact are fetched in the same query, so merging changes
+	// into the Contacts returned does not select them again
+	@Query("SELECT contact FROM Contact contact"
+		+ " LEFT JOIN FETCH contact.person"
+		+ " LEFT JOIN FETCH contact.address"
+		+ " LEFT JOIN FETCH contact.phoneNumber"
+		+ " WHERE contact.id IN :ids")
+	List<Contact> findAllWithDetailsById(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.jpa.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
+import org.apache.geode.cache.asyncqueue.AsyncEventListener;
+import org.cp.elements.lang.Identifiable;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import example.app.model.Address;
+import example.app.model.Contact;
+import example.app.model.Person;
+import example.app.model.PhoneNumber;
+import example.app.repo.jpa.ContactRepository;
+
+/**
+ * The {@link ContactWriteBehindAsyncEventListener} class is an Apache Geode (or Pivotal GemFire)
+ * {@link AsyncEventListener} that writes the batches of changes made to the {@literal Contacts} Region
+ * behind to the JPA {@link ContactRepository}.
+ *
+ * Each batch is conflated by key, so only the latest change to a {@link Contact} is written, and all the changes
+ * in a batch are written in a single JPA transaction, which Hibernate sends to the database as JDBC batches.
+ * When the transaction fails, the batch is left in the queue and redelivered.
+ *
+ * The {@link Contact Contacts} of a batch already in the database are loaded with a single query and only
+ * those are merged.  The rest are inserted without first being selected one by one.  Since JPA refuses to
+ * {@literal persist} an entity with an assigned identifier, they are inserted with Hibernate's
+ * {@link Session#save(Object)}, which keeps the identifier assigned by Apache Geode.
+ *
+ * Values loaded from the database, either on a cache miss or by the {@link JpaContactCacheLoader} warm-up,
+ * are not written back.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.asyncqueue.AsyncEvent
+ * @see org.apache.geode.cache.asyncqueue.AsyncEventListener
+ * @see org.hibernate.Session
+ * @see org.springframework.transaction.support.TransactionTemplate
+ * @see example.app.model.Contact
+ * @see example.app.repo.jpa.ContactRepository
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ContactWriteBehindAsyncEventListener implements AsyncEventListener {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ContactRepository contactRepository;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	public ContactWriteBehindAsyncEventListener(ContactRepository contactRepository,
+			EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(contactRepository, "ContactRepository is required");
+		Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+		Assert.notNull(transactionManager, "PlatformTransactionManager is required");
+
+		this.contactRepository = contactRepository;
+		this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	protected ContactRepository getContactRepository() {
+		return this.contactRepository;
+	}
+
+	protected EntityManager getEntityManager() {
+		return this.entityManager;
+	}
+
+	protected TransactionTemplate getTransactionTemplate() {
+		return this.transactionTemplate;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean processEvents(List<AsyncEvent> events) {
+
+		Map<Long, Contact> savedContacts = new LinkedHashMap<>(events.size());
+		Set<Long> deletedContactIds = new LinkedHashSet<>();
+
+		for (AsyncEvent<Long, Contact> event : (List<AsyncEvent<Long, Contact>>) (List<?>) events) {
+
+			Long id = event.getKey();
+			Operation operation = event.getOperation();
+
+			if (isLoadedFromDatabase(event)) {
+				continue;
+			}
+
+			if (operation.isDestroy()) {
+				savedContacts.remove(id);
+				deletedContactIds.add(id);
+			}
+			else if (operation.isCreate() || operation.isUpdate()) {
+				deletedContactIds.remove(id);
+				savedContacts.put(id, event.getDeserializedValue());
+			}
+		}
+
+		try {
+			getTransactionTemplate().execute(status -> {
+
+				if (!savedContacts.isEmpty()) {
+					writeBehind(savedContacts);
+				}
+
+				if (!deletedContactIds.isEmpty()) {
+					getContactRepository().deleteInBatch(getContactRepository().findAllById(deletedContactIds));
+				}
+
+				return null;
+			});
+
+			return true;
+		}
+		catch (RuntimeException cause) {
+
+			logger.warn(String.format("Failed to write [%d] saved and [%d] deleted Contacts behind;"
+				+ " the batch will be retried", savedContacts.size(), deletedContactIds.size()), cause);
+
+			return false;
+		}
+	}
+
+	/* (non-Javadoc) */
+	protected void writeBehind(Map<Long, Contact> savedContacts) {
+
+		Map<Class<?>, Map<Long, Identifiable<Long>>> managedEntities = new HashMap<>();
+
+		Map<Long, Contact> newContacts = new LinkedHashMap<>(savedContacts);
+
+		List<Contact> existingContacts = new ArrayList<>(savedContacts.size());
+
+		for (Contact existingContact : getContactRepository().findAllWithDetailsById(savedContacts.keySet())) {
+			existingContacts.add(newContacts.remove(existingContact.getId()));
+			manage(managedEntities, Person.class, existingContact.getPerson());
+			manage(managedEntities, Address.class, existingContact.getAddress());
+			manage(managedEntities, PhoneNumber.class, existingContact.getPhoneNumber());
+		}
+
+		if (!newContacts.isEmpty()) {
+
+			Set<Long> existingPersonIds =
+				findExistingIds(Person.class, newContacts.values(), Contact::getPerson, managedEntities);
+
+			Set<Long> existingAddressIds =
+				findExistingIds(Address.class, newContacts.values(), Contact::getAddress, managedEntities);
+
+			Set<Long> existingPhoneNumberIds =
+				findExistingIds(PhoneNumber.class, newContacts.values(), Contact::getPhoneNumber, managedEntities);
+
+			Session session = getEntityManager().unwrap(Session.class);
+
+			for (Contact contact : newContacts.values()) {
+
+				// NOTE a Contact referring to a Person, Address or PhoneNumber already attached to the Session
+				// as a different object is merged instead, since it cannot be saved without referring to that object
+				if (attach(session, managedEntities, Person.class, contact.getPerson(), existingPersonIds)
+						&& attach(session, managedEntities, Address.class, contact.getAddress(), existingAddressIds)
+						&& attach(session, managedEntities, PhoneNumber.class, contact.getPhoneNumber(),
+							existingPhoneNumberIds)) {
+
+					session.save(contact);
+				}
+				else {
+					getEntityManager().merge(contact);
+				}
+			}
+		}
+
+		existingContacts.forEach(getEntityManager()::merge);
+	}
+
+	/* (non-Javadoc) */
+	private void manage(Map<Class<?>, Map<Long, Identifiable<Long>>> managedEntities, Class<?> entityType,
+			Identifiable<Long> entity) {
+
+		if (entity != null) {
+			managedEntities.computeIfAbsent(entityType, type -> new HashMap<>()).put(entity.getId(), entity);
+		}
+	}
+
+	/* (non-Javadoc) */
+	private <T extends Identifiable<Long>> Set<Long> findExistingIds(Class<T> entityType, Collection<Contact> contacts,
+			Function<Contact, T> entityResolver, Map<Class<?>, Map<Long, Identifiable<Long>>> managedEntities) {
+
+		Set<Long> ids = new HashSet<>(contacts.size());
+
+		for (Contact contact : contacts) {
+
+			T entity = entityResolver.apply(contact);
+
+			if (entity != null && entity.getId() != null) {
+				ids.add(entity.getId());
+			}
+		}
+
+		ids.removeAll(managedEntities.getOrDefault(entityType, Collections.emptyMap()).keySet());
+
+		return (ids.isEmpty() ? Collections.emptySet() : new HashSet<>(getEntityManager()
+			.createQuery(String.format("SELECT entity.id FROM %s entity WHERE entity.id IN :ids",
+				entityType.getSimpleName()), Long.class)
+			.setParameter("ids", ids)
+			.getResultList()));
+	}
+
+	/* (non-Javadoc) */
+	private boolean attach(Session session, Map<Class<?>, Map<Long, Identifiable<Long>>> managedEntities,
+			Class<?> entityType, Identifiable<Long> entity, Set<Long> existingIds) {
+
+		if (entity == null) {
+			return true;
+		}
+
+		if (entity.isNew()) {
+			session.save(entity);
+			return true;
+		}
+
+		Identifiable<Long> managedEntity =
+			managedEntities.getOrDefault(entityType, Collections.emptyMap()).get(entity.getId());
+
+		if (managedEntity != null) {
+			return (managedEntity == entity);
+		}
+
+		if (existingIds.contains(entity.getId())) {
+			session.update(entity);
+		}
+		else {
+			session.save(entity);
+		}
+
+		manage(managedEntities, entityType, entity);
+
+		return true;
+	}
+
+	/* (non-Javadoc) */
+	protected boolean isLoadedFromDatabase(AsyncEvent<Long, Contact> event) {
+
+		return (event.getOperation().isLoad()
+			|| JpaContactCacheLoader.LOADED_FROM_DATABASE.equals(event.getCallbackArgument()));
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public void close() {
+	}
+}
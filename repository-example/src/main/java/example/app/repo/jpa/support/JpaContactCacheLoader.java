@@ -0,0 +1,319 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.jpa.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.apache.geode.cache.Region;
+import org.slf4j.Logger;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import example.app.geode.cache.loader.support.BulkCacheLoaderSupport;
+import example.app.model.Contact;
+import example.app.repo.jpa.ContactRepository;
+
+/**
+ * The {@link JpaContactCacheLoader} class is an Apache Geode (or Pivotal GemFire)
+ * {@link org.apache.geode.cache.CacheLoader} reading {@link Contact Contacts} missing from the {@literal Contacts}
+ * Region through to the JPA {@link ContactRepository}.
+ *
+ * {@link #warmUp(Region)} fills a cold Region from the database on startup.  The {@literal Contacts} table is split
+ * into ranges of IDs holding the same number of rows, however sparse the IDs are, that are read in parallel, each
+ * with a streaming result set fetching the {@link Contact Contacts} together with their details, and every
+ * {@link #getBatchSize() batch} of rows is put into the Region with {@link Region#putAll(Map, Object)}.  Progress
+ * and the number of rows loaded per second are logged as each range completes.
+ *
+ * Values put into the Region by this loader carry the {@link #LOADED_FROM_DATABASE} callback argument, so they are
+ * not written back to the database by the {@link ContactWriteBehindAsyncEventListener}.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.Region
+ * @see example.app.geode.cache.loader.support.BulkCacheLoaderSupport
+ * @see example.app.model.Contact
+ * @see example.app.repo.jpa.ContactRepository
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class JpaContactCacheLoader extends BulkCacheLoaderSupport<Long, Contact> {
+
+	public static final String LOADED_FROM_DATABASE = "LOADED_FROM_DATABASE";
+
+	protected static final int KEY_RANGES_PER_THREAD = 4;
+
+	private final ContactRepository contactRepository;
+
+	private final EntityManager entityManager;
+
+	private final TransactionTemplate transactionTemplate;
+
+	public JpaContactCacheLoader(ContactRepository contactRepository, EntityManagerFactory entityManagerFactory,
+			PlatformTransactionManager transactionManager) {
+
+		Assert.notNull(contactRepository, "ContactRepository is required");
+		Assert.notNull(entityManagerFactory, "EntityManagerFactory is required");
+		Assert.notNull(transactionManager, "PlatformTransactionManager is required");
+
+		this.contactRepository = contactRepository;
+		this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+	}
+
+	protected ContactRepository getContactRepository() {
+		return this.contactRepository;
+	}
+
+	protected EntityManager getEntityManager() {
+		return this.entityManager;
+	}
+
+	protected TransactionTemplate getTransactionTemplate() {
+		return this.transactionTemplate;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public Map<Long, Contact> loadAll(Collection<Long> keys) {
+
+		Map<Long, Contact> contacts = new HashMap<>(keys.size());
+
+		for (Contact contact : getContactRepository().findAllById(keys)) {
+			contacts.put(contact.getId(), contact);
+		}
+
+		return contacts;
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	protected Map<Long, Contact> loadBatch(Region<Long, Contact> region, Collection<Long> batch) {
+
+		Map<Long, Contact> loadedValues = loadAll(batch);
+
+		if (!loadedValues.isEmpty()) {
+			region.putAll(loadedValues, LOADED_FROM_DATABASE);
+		}
+
+		logger.debug("Loaded [{}] of [{}] keys into Region [{}]", loadedValues.size(), batch.size(),
+			region.getFullPath());
+
+		return loadedValues;
+	}
+
+	/**
+	 * Loads all {@link Contact Contacts} from the database into the given {@link Region} by reading ranges of IDs
+	 * in parallel.
+	 *
+	 * @param region {@link Region} to load.
+	 * @return a {@link CompletableFuture} completed with the number of {@link Contact Contacts} loaded.
+	 * @see #warmUp(Region, long, long, WarmUpProgress)
+	 */
+	public CompletableFuture<Long> warmUp(Region<Long, Contact> region) {
+
+		Assert.notNull(region, "Region must not be null");
+
+		long rows = getContactRepository().count();
+
+		List<long[]> keyRanges = split(rows, getConcurrency() * KEY_RANGES_PER_THREAD);
+
+		if (keyRanges.isEmpty()) {
+			return CompletableFuture.completedFuture(0L);
+		}
+
+		WarmUpProgress progress = new WarmUpProgress(logger, region.getFullPath(), rows, keyRanges.size());
+
+		List<CompletableFuture<Long>> keyRangeLoads = new ArrayList<>(keyRanges.size());
+
+		for (long[] keyRange : keyRanges) {
+			keyRangeLoads.add(CompletableFuture.supplyAsync(() ->
+				warmUp(region, keyRange[0], keyRange[1], progress), getExecutor()));
+		}
+
+		return CompletableFuture.allOf(keyRangeLoads.toArray(new CompletableFuture[keyRangeLoads.size()]))
+			.thenApply(ignore -> progress.complete())
+			.whenComplete((count, cause) -> {
+				if (cause != null) {
+					logger.error(String.format("Failed to warm up Region [%s]", region.getFullPath()), cause);
+				}
+			});
+	}
+
+	/* (non-Javadoc) */
+	protected long warmUp(Region<Long, Contact> region, long lowerBound, long upperBound, WarmUpProgress progress) {
+
+		Long count = getTransactionTemplate().execute(status -> {
+
+			long keyRangeCount = 0L;
+
+			Map<Long, Contact> batch = new HashMap<>(getBatchSize());
+
+			try (Stream<Contact> contacts = getContactRepository().streamByIdRange(lowerBound, upperBound)) {
+
+				Iterator<Contact> iterator = contacts.iterator();
+
+				while (iterator.hasNext()) {
+
+					Contact contact = iterator.next();
+
+					batch.put(contact.getId(), contact);
+
+					if (batch.size() == getBatchSize()) {
+						keyRangeCount += putAll(region, batch, progress);
+						batch = new HashMap<>(getBatchSize());
+					}
+				}
+			}
+
+			return keyRangeCount + putAll(region, batch, progress);
+		});
+
+		progress.keyRangeLoaded();
+
+		return (count != null ? count : 0L);
+	}
+
+	// NOTE the persistence context is cleared after each batch so a streamed key range is not held in memory
+	private long putAll(Region<Long, Contact> region, Map<Long, Contact> batch, WarmUpProgress progress) {
+
+		if (!batch.isEmpty()) {
+			region.putAll(batch, LOADED_FROM_DATABASE);
+			getEntityManager().clear();
+			progress.rowsLoaded(batch.size());
+		}
+
+		return batch.size();
+	}
+
+	// NOTE the IDs are streamed in order from the primary key index, so the key ranges are row count quantiles
+	// and IDs need not be dense
+	/* (non-Javadoc) */
+	protected List<long[]> split(long rows, int count) {
+
+		List<long[]> keyRanges = getTransactionTemplate().execute(status -> {
+			try (Stream<Long> ids = getContactRepository().streamIds()) {
+				return split(ids.iterator(), rows, count);
+			}
+		});
+
+		return (keyRanges != null ? keyRanges : new ArrayList<>());
+	}
+
+	/* (non-Javadoc) */
+	static List<long[]> split(Iterator<Long> ids, long rows, int count) {
+
+		long rowsPerKeyRange = Math.max(1L, (rows + count - 1) / count);
+
+		List<long[]> keyRanges = new ArrayList<>(count);
+
+		long lowerBound = 0L;
+		long lastId = 0L;
+		long rowCount = 0L;
+
+		while (ids.hasNext()) {
+
+			long id = ids.next();
+
+			if (rowCount == 0L) {
+				lowerBound = id;
+			}
+			else if (rowCount % rowsPerKeyRange == 0L) {
+				keyRanges.add(new long[] { lowerBound, id });
+				lowerBound = id;
+			}
+
+			lastId = id;
+			rowCount++;
+		}
+
+		if (rowCount > 0L) {
+			keyRanges.add(new long[] { lowerBound, lastId + 1L });
+		}
+
+		return keyRanges;
+	}
+
+	/* (non-Javadoc) */
+	protected static final class WarmUpProgress {
+
+		private final AtomicInteger loadedKeyRanges = new AtomicInteger(0);
+
+		private final AtomicLong loadedRows = new AtomicLong(0L);
+
+		private final int keyRanges;
+
+		private final long rows;
+		private final long startTime = System.nanoTime();
+
+		private final Logger logger;
+
+		private final String regionPath;
+
+		private WarmUpProgress(Logger logger, String regionPath, long rows, int keyRanges) {
+			this.logger = logger;
+			this.regionPath = regionPath;
+			this.rows = rows;
+			this.keyRanges = keyRanges;
+		}
+
+		private void rowsLoaded(int count) {
+			this.loadedRows.addAndGet(count);
+		}
+
+		private void keyRangeLoaded() {
+			this.logger.info("Warming up Region [{}]: [{}/{}] key ranges, [{}] of [{}] rows, [{}] rows/s",
+				this.regionPath, this.loadedKeyRanges.incrementAndGet(), this.keyRanges, this.loadedRows.get(),
+				this.rows, rowsPerSecond());
+		}
+
+		private long complete() {
+
+			long loadedRows = this.loadedRows.get();
+
+			this.logger.info("Warmed up Region [{}] with [{}] rows in [{}] ms, [{}] rows/s", this.regionPath,
+				loadedRows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startTime), rowsPerSecond());
+
+			return loadedRows;
+		}
+
+		private long rowsPerSecond() {
+
+			long elapsedTime = Math.max(1L, System.nanoTime() - this.startTime);
+
+			return (this.loadedRows.get() * TimeUnit.SECONDS.toNanos(1) / elapsedTime);
+		}
+	}
+}
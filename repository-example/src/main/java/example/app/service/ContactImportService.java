@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.ToIntFunction;
+
+import org.apache.geode.cache.PartitionAttributes;
+import org.apache.geode.cache.Region;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
+import example.app.model.Contact;
+import example.app.service.support.ContactImportFormat;
+import example.app.service.support.ContactImportPipeline;
+import example.app.service.support.ContactImportReport;
+
+/**
+ * The {@link ContactImportService} class is a Spring {@link Service @Service} class used to bulk load
+ * {@link Contact Contacts} from CSV and NDJSON files into the {@literal /Contacts} Region.
+ *
+ * {@link Contact Contacts} are validated with the same email and phone number rules as the {@link CustomerService}
+ * and written in {@literal putAll} batches grouped by the bucket hosting them, rather than with one {@code save}
+ * per {@link Contact}.
+ *
+ * @author John Blum
+ * @see org.apache.geode.cache.Region
+ * @see example.app.model.Contact
+ * @see example.app.service.CustomerService
+ * @see example.app.service.support.ContactImportPipeline
+ * @since 1.0.0
+ */
+@Service("contactImportService")
+@SuppressWarnings("unused")
+public class ContactImportService {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ContactImportPipeline contactImportPipeline;
+
+	public ContactImportService(Region<Long, Contact> contacts, CustomerService customerService) {
+
+		Assert.notNull(contacts, "Region must not be null");
+		Assert.notNull(customerService, "CustomerService must not be null");
+
+		this.contactImportPipeline = new ContactImportPipeline(contacts::putAll, newBucketResolver(contacts));
+		this.contactImportPipeline.setValidator(customerService::validateContactInformation);
+	}
+
+	// NOTE mirrors how Apache Geode hashes routing objects to buckets; should the two ever disagree, batches
+	// would merely span buckets, which costs locality but not correctness
+	/* (non-Javadoc) */
+	static ToIntFunction<Long> newBucketResolver(Region<Long, Contact> contacts) {
+
+		PartitionAttributes<?, ?> partitionAttributes = contacts.getAttributes().getPartitionAttributes();
+
+		if (partitionAttributes == null) {
+			return id -> 0;
+		}
+
+		int totalNumberOfBuckets = partitionAttributes.getTotalNumBuckets();
+
+		boolean routedByCustomerId =
+			(partitionAttributes.getPartitionResolver() instanceof CustomerIdPartitionResolver);
+
+		return id -> {
+
+			Object routingObject = (routedByCustomerId ? CustomerIdPartitionResolver.toRoutingObject(id) : id);
+
+			return Math.abs(routingObject.hashCode() % totalNumberOfBuckets);
+		};
+	}
+
+	public ContactImportPipeline getContactImportPipeline() {
+		return this.contactImportPipeline;
+	}
+
+	/**
+	 * Imports all {@link Contact Contacts} from the CSV or NDJSON file at the given {@link Path}.
+	 *
+	 * @param path {@link Path} of the file to import; the file extension determines the format.
+	 * @return the {@link ContactImportReport} of the completed import.
+	 * @throws IllegalArgumentException if the file format is not supported.
+	 * @throws IllegalStateException if the file cannot be read or a batch cannot be written.
+	 * @see example.app.service.support.ContactImportFormat#from(String)
+	 */
+	public ContactImportReport importContacts(Path path) {
+
+		Assert.notNull(path, "Path must not be null");
+
+		ContactImportFormat format = ContactImportFormat.from(path.getFileName().toString());
+
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+
+			ContactImportReport report = getContactImportPipeline().importContacts(path.toString(), reader, format);
+
+			logger.info("{}", report);
+
+			report.getErrors().forEach(error -> logger.warn("Rejected Contact from [{}]; {}", path, error));
+
+			return report;
+		}
+		catch (IOException cause) {
+			throw new IllegalStateException(String.format("Failed to read Contacts from [%s]", path), cause);
+		}
+	}
+}
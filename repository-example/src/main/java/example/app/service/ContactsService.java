@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import example.app.config.gemfire.support.ColocatedIdGenerator;
 import example.app.model.Contact;
 
 /**
@@ -70,6 +71,10 @@ public class ContactsService {
 	public Contact save(Contact contact) {
 		Assert.notNull(contact, "Contact cannot be null");
 
+		// NOTE the Contact is identified by the colocated ID of its Person before it is written to the database,
+		// so the database row and the Region entry share the same key
+		ColocatedIdGenerator.INSTANCE.identify(contact);
+
 		// NOTE reverse the order of the persistent operations with the validation
 		// in order to test global (JTA-based) transaction
 		return validatePhoneNumber(validateEmail(validateAddress(
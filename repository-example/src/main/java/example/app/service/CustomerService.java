@@ -18,7 +18,12 @@ package example.app.service;
 
 import static example.app.model.Contact.newContact;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -29,6 +34,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.Assert;
 
+import example.app.config.gemfire.support.ColocatedIdGenerator;
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
+import example.app.function.executions.CustomerFunctionExecutions;
 import example.app.model.Address;
 import example.app.model.Contact;
 import example.app.model.Customer;
@@ -48,6 +56,7 @@ import example.app.repo.gemfire.CustomerRepository;
  * @see example.app.model.Contact
  * @see example.app.model.Customer
  * @see example.app.model.PhoneNumber
+ * @see example.app.function.executions.CustomerFunctionExecutions
  * @see example.app.repo.gemfire.ContactRepository
  * @see example.app.repo.gemfire.CustomerRepository
  * @since 1.0.0
@@ -56,17 +65,28 @@ import example.app.repo.gemfire.CustomerRepository;
 @SuppressWarnings("unused")
 public class CustomerService {
 
+	protected static final int DEFAULT_UPSERT_BATCH_SIZE = 1000;
+
 	protected static final Pattern EMAIL_PATTERN =
 		Pattern.compile("[a-zA-Z0-9_]+@[a-zA-Z0-9_]+(\\.com|\\.net|\\.org|\\.edu)");
 
 	private final ContactRepository contactRepository;
 
+	private final CustomerFunctionExecutions customerFunctionExecutions;
+
 	private final CustomerRepository customerRepository;
 
-	@Autowired
 	public CustomerService(ContactRepository contactRepository, CustomerRepository customerRepository) {
+		this(contactRepository, customerRepository, null);
+	}
+
+	@Autowired
+	public CustomerService(ContactRepository contactRepository, CustomerRepository customerRepository,
+			CustomerFunctionExecutions customerFunctionExecutions) {
+
 		this.contactRepository = contactRepository;
 		this.customerRepository = customerRepository;
+		this.customerFunctionExecutions = customerFunctionExecutions;
 	}
 
 	protected ContactRepository getContactRepository() {
@@ -74,6 +94,11 @@ public class CustomerService {
 		return contactRepository;
 	}
 
+	protected CustomerFunctionExecutions getCustomerFunctionExecutions() {
+		Assert.state(customerFunctionExecutions != null, "CustomerFunctionExecutions is required");
+		return customerFunctionExecutions;
+	}
+
 	protected CustomerRepository getCustomerRepository() {
 		Assert.state(customerRepository != null, "CustomerRepository is required");
 		return customerRepository;
@@ -84,7 +109,13 @@ public class CustomerService {
 	}
 
 	protected long newId() {
-		return System.nanoTime();
+		return ColocatedIdGenerator.INSTANCE.getAsLong();
+	}
+
+	// NOTE the Contact ID is derived from the Customer ID and routed to the same bucket as the Customer, so that
+	// joins between Customers and Contacts are local to each member; see CustomerIdPartitionResolver
+	protected long newContactId(Customer customer) {
+		return CustomerIdPartitionResolver.toContactId(setId(customer).getId());
 	}
 
 	protected <T extends Identifiable<Long>> T setId(T identifiable) {
@@ -146,7 +177,7 @@ public class CustomerService {
 
 		return saveContactInformation(customer, (Contact customerContact) ->
 			Optional.ofNullable(customerContact).map(it -> it.with(validate(address)))
-				.orElseGet(() -> newContact(customer, validate(address)).identifiedBy(newId())));
+				.orElseGet(() -> newContact(customer, validate(address)).identifiedBy(newContactId(customer))));
 	}
 
 	@Transactional
@@ -154,7 +185,7 @@ public class CustomerService {
 
 		return saveContactInformation(customer, (Contact customerContact) ->
 			Optional.ofNullable(customerContact).map(it -> it.with(validate(email)))
-				.orElseGet(() -> newContact(customer, validate(email)).identifiedBy(newId())));
+				.orElseGet(() -> newContact(customer, validate(email)).identifiedBy(newContactId(customer))));
 	}
 
 	@Transactional
@@ -162,7 +193,111 @@ public class CustomerService {
 
 		return saveContactInformation(customer, (Contact customerContact) ->
 			Optional.ofNullable(customerContact).map(it -> it.with(validate(phoneNumber)))
-				.orElseGet(() -> newContact(customer, validate(phoneNumber)).identifiedBy(newId())));
+				.orElseGet(() -> newContact(customer, validate(phoneNumber)).identifiedBy(newContactId(customer))));
+	}
+
+	// NOTE the upsert methods find or create the Customer account and merge the Contact information on the server
+	// hosting the Customer in a single round trip; the Customer ID routes the Function to the Customer's bucket
+	public Contact upsertContactInformation(Customer customer, Address address) {
+		return upsertContactInformation(newContact(identify(customer), validate(address)));
+	}
+
+	public Contact upsertContactInformation(Customer customer, String email) {
+		return upsertContactInformation(newContact(identify(customer), validate(email)));
+	}
+
+	public Contact upsertContactInformation(Customer customer, PhoneNumber phoneNumber) {
+		return upsertContactInformation(newContact(identify(customer), validate(phoneNumber)));
+	}
+
+	protected Contact upsertContactInformation(Contact contactInformation) {
+
+		return getCustomerFunctionExecutions().upsertContactInformation(
+			Collections.singleton(contactInformation.getPerson().getId()), contactInformation);
+	}
+
+	public int upsertAllContactInformation(Iterable<Contact> contactInformation) {
+
+		Assert.notNull(contactInformation, "Contact information is required");
+
+		int count = 0;
+
+		List<Contact> batch = new ArrayList<>(DEFAULT_UPSERT_BATCH_SIZE);
+		Set<Long> customerIds = new HashSet<>(DEFAULT_UPSERT_BATCH_SIZE);
+
+		for (Contact contact : contactInformation) {
+
+			batch.add(validate(contact));
+			customerIds.add(contact.getPerson().getId());
+
+			if (batch.size() == DEFAULT_UPSERT_BATCH_SIZE) {
+				count += upsertAllContactInformation(customerIds, batch);
+				batch = new ArrayList<>(DEFAULT_UPSERT_BATCH_SIZE);
+				customerIds = new HashSet<>(DEFAULT_UPSERT_BATCH_SIZE);
+			}
+		}
+
+		return (batch.isEmpty() ? count : count + upsertAllContactInformation(customerIds, batch));
+	}
+
+	protected int upsertAllContactInformation(Set<Long> customerIds, List<Contact> batch) {
+
+		int count = 0;
+
+		for (Integer memberCount : getCustomerFunctionExecutions().upsertAllContactInformation(customerIds, batch)) {
+			count += (memberCount != null ? memberCount : 0);
+		}
+
+		return count;
+	}
+
+	// NOTE a Customer known only by account number costs one lookup to resolve the ID used for routing
+	protected Customer identify(Customer customer) {
+
+		Assert.notNull(customer, "Customer is required");
+
+		if (customer.isNew() && customer.hasAccount()) {
+			Optional.ofNullable(getCustomerRepository().findByAccountNumber(customer.getAccountNumber()))
+				.map(Customer::getId)
+				.ifPresent(customer::setId);
+		}
+
+		return setId(customer);
+	}
+
+	protected Contact validate(Contact contact) {
+
+		Assert.notNull(contact, "Contact is required");
+		Assert.isInstanceOf(Customer.class, contact.getPerson(), "Contact must be for a Customer");
+
+		identify((Customer) contact.getPerson());
+
+		return validateContactInformation(contact);
+	}
+
+	/**
+	 * Validates the email and phone number of the given {@link Contact} with the same rules applied to
+	 * the {@link Contact} information of a {@link Customer}, without requiring a {@link Customer} account.
+	 *
+	 * @param contact {@link Contact} to validate.
+	 * @return the given {@link Contact}.
+	 * @throws IllegalArgumentException if the {@link Contact} is {@literal null}, has no
+	 * {@link example.app.model.Person} or has an invalid email or phone number.
+	 */
+	public Contact validateContactInformation(Contact contact) {
+
+		Assert.notNull(contact, "Contact is required");
+		Assert.notNull(contact.getPerson(), "Person is required");
+
+		if (contact.hasEmail()) {
+			validate(contact.getEmail());
+		}
+
+		if (contact.hasPhoneNumber()) {
+			validate(contact.getPhoneNumber());
+		}
+
+		return contact;
 	}
 
 	protected Address validate(Address address) {
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import example.app.function.executions.ContactFunctionExecutions;
+import example.app.function.executions.DuplicateContactBlockFunctionExecutions;
+import example.app.service.support.DuplicateContact;
+import example.app.service.support.DuplicateContactDetector;
+
+/**
+ * The {@link DuplicateContactService} class is a Spring {@link Service @Service} class used to find
+ * {@link example.app.model.Contact Contacts} that likely describe the same person, despite differences in case,
+ * whitespace or formatting, as merge candidates.
+ *
+ * Detection runs on the members hosting the Contacts Region, in 2 Function executions: the first shuffles
+ * the normalized signatures of all {@link example.app.model.Contact Contacts} into blocks sharing a last name,
+ * zip code or phone number, the second scores the pairs of every block in parallel.  No pair of
+ * {@link example.app.model.Contact Contacts} without a blocking key in common is ever compared.
+ *
+ * @author John Blum
+ * @see example.app.function.DuplicateContactFunctions
+ * @see example.app.service.support.DuplicateContact
+ * @see example.app.service.support.DuplicateContactDetector
+ * @since 1.0.0
+ */
+@Service("duplicateContactService")
+@SuppressWarnings("unused")
+public class DuplicateContactService {
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final ContactFunctionExecutions contactFunctionExecutions;
+
+	private final DuplicateContactBlockFunctionExecutions duplicateContactBlockFunctionExecutions;
+
+	@Autowired
+	public DuplicateContactService(ContactFunctionExecutions contactFunctionExecutions,
+			DuplicateContactBlockFunctionExecutions duplicateContactBlockFunctionExecutions) {
+
+		this.contactFunctionExecutions = contactFunctionExecutions;
+		this.duplicateContactBlockFunctionExecutions = duplicateContactBlockFunctionExecutions;
+	}
+
+	protected ContactFunctionExecutions getContactFunctionExecutions() {
+		Assert.state(contactFunctionExecutions != null, "ContactFunctionExecutions is required");
+		return contactFunctionExecutions;
+	}
+
+	protected DuplicateContactBlockFunctionExecutions getDuplicateContactBlockFunctionExecutions() {
+		Assert.state(duplicateContactBlockFunctionExecutions != null,
+			"DuplicateContactBlockFunctionExecutions is required");
+		return duplicateContactBlockFunctionExecutions;
+	}
+
+	public List<DuplicateContact> findDuplicateContacts() {
+		return findDuplicateContacts(DuplicateContactDetector.DEFAULT_THRESHOLD);
+	}
+
+	// NOTE concurrent detections would share the DuplicateContactBlocks Region
+	public synchronized List<DuplicateContact> findDuplicateContacts(double threshold) {
+
+		long startTime = System.nanoTime();
+
+		int contactCount = getContactFunctionExecutions().blockContactSignatures().stream()
+			.mapToInt(Integer::intValue).sum();
+
+		// NOTE a pair sharing more than one blocking key may be found on more than one member
+		Map<DuplicateContact, DuplicateContact> duplicates = new LinkedHashMap<>();
+
+		for (List<DuplicateContact> chunk : getDuplicateContactBlockFunctionExecutions()
+				.findDuplicateContacts(threshold)) {
+
+			for (DuplicateContact duplicate : chunk) {
+				duplicates.merge(duplicate, duplicate, (one, two) -> (one.getScore() >= two.getScore() ? one : two));
+			}
+		}
+
+		List<DuplicateContact> result = new ArrayList<>(duplicates.values());
+
+		result.sort(Comparator.comparingDouble(DuplicateContact::getScore).reversed());
+
+		logger.info("Found [{}] duplicate pair(s) among [{}] Contacts in [{}] ms", result.size(), contactCount,
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+
+		return result;
+	}
+}
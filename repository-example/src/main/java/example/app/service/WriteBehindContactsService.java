@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service;
+
+import org.springframework.util.Assert;
+
+import example.app.config.gemfire.support.ColocatedIdGenerator;
+import example.app.model.Contact;
+
+/**
+ * The {@link WriteBehindContactsService} class is a {@link ContactsService} that uses Apache Geode
+ * (or Pivotal GemFire) as the system of record.  {@link Contact Contacts} are only saved to and removed from
+ * the {@literal Contacts} Region, and the changes are written behind to the relational database asynchronously
+ * by an {@link org.apache.geode.cache.asyncqueue.AsyncEventQueue}, so no global (JTA-based) transaction is needed.
+ *
+ * @author John Blum
+ * @see example.app.model.Contact
+ * @see example.app.repo.jpa.support.ContactWriteBehindAsyncEventListener
+ * @see example.app.service.ContactsService
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class WriteBehindContactsService extends ContactsService {
+
+	public WriteBehindContactsService(example.app.repo.gemfire.ContactRepository gemfireContactRepository) {
+		super(gemfireContactRepository, null);
+	}
+
+	// NOTE IDs come from the generator shared by all write paths, so they never collide with the IDs
+	// of Contacts saved or imported elsewhere
+	protected long newId() {
+		return ColocatedIdGenerator.INSTANCE.getAsLong();
+	}
+
+	@Override
+	public Contact save(Contact contact) {
+		Assert.notNull(contact, "Contact cannot be null");
+
+		// NOTE the Contact is stored under the colocated ID of its Person; the Person, Address and PhoneNumber
+		// are identified here too, so the database rows written behind keep the same identifiers on every write
+		// rather than being inserted again with new ones
+		ColocatedIdGenerator.identify(contact, this::newId);
+
+		if (contact.hasAddress() && contact.getAddress().isNew()) {
+			contact.getAddress().setId(newId());
+		}
+
+		if (contact.hasPhoneNumber() && contact.getPhoneNumber().isNew()) {
+			contact.getPhoneNumber().setId(newId());
+		}
+
+		return getGemFireContactRepository().save(validatePhoneNumber(validateEmail(validateAddress(contact))));
+	}
+
+	@Override
+	public void remove(Contact contact) {
+		Assert.notNull(contact, "Contact cannot be null");
+		getGemFireContactRepository().delete(contact);
+	}
+}
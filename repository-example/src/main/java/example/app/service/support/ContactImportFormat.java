@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import static example.app.model.Address.newAddress;
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import example.app.core.convert.converter.StringToPhoneNumberConverter;
+import example.app.core.mapping.json.jackson.serialization.LocalDateDeserializer;
+import example.app.model.Address;
+import example.app.model.Contact;
+import example.app.model.Gender;
+import example.app.model.Person;
+import example.app.model.PhoneNumber;
+import example.app.model.State;
+
+/**
+ * The {@link ContactImportFormat} enum is an enumeration of the line-oriented file formats
+ * the {@link ContactImportPipeline} parses {@link Contact Contacts} from.
+ *
+ * {@link #NDJSON} files contain one JSON object per line, in the same shape as
+ * the {@literal janeDoeWithAgeContact.json} fixture.  {@link #CSV} files start with a header line naming
+ * the columns, any of {@literal id}, {@literal personId}, {@literal firstName}, {@literal lastName},
+ * {@literal gender}, {@literal birthDate} (ISO-8601), {@literal age}, {@literal street}, {@literal city},
+ * {@literal state} (abbreviation or name), {@literal zipCode}, {@literal email} and {@literal phoneNumber},
+ * in any order.  Quoted CSV values may contain commas and doubled quotes, but not line breaks.
+ *
+ * In both formats, the {@link Contact} ID, when present, must be the colocated ID of its {@link Person}
+ * (see {@link example.app.config.gemfire.support.CustomerIdPartitionResolver#toContactId(long)}).
+ *
+ * @author John Blum
+ * @see example.app.model.Contact
+ * @see example.app.service.support.ContactImportPipeline
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public enum ContactImportFormat {
+
+	CSV {
+
+		@Override
+		public boolean hasHeader() {
+			return true;
+		}
+
+		@Override
+		public Function<String, Contact> newParser(String header) {
+
+			Assert.hasText(header, "CSV header is required");
+
+			Map<String, Integer> columns = new HashMap<>();
+
+			List<String> names = split(header);
+
+			for (int index = 0; index < names.size(); index++) {
+				columns.put(names.get(index).toLowerCase(Locale.ROOT), index);
+			}
+
+			Assert.isTrue(columns.containsKey("firstname") && columns.containsKey("lastname"),
+				String.format("CSV header [%s] must name the firstName and lastName columns", header));
+
+			return line -> toContact(split(line), columns);
+		}
+	},
+
+	NDJSON {
+
+		@Override
+		public boolean hasHeader() {
+			return false;
+		}
+
+		@Override
+		public Function<String, Contact> newParser(String header) {
+
+			return line -> {
+				try {
+					return OBJECT_MAPPER.readValue(line, Contact.class);
+				}
+				catch (IOException cause) {
+					throw new IllegalArgumentException(String.format("Line [%s] is not a valid JSON Contact", line),
+						cause);
+				}
+			};
+		}
+	};
+
+	private static final ObjectMapper OBJECT_MAPPER = LocalDateDeserializer.register(new ObjectMapper());
+
+	/**
+	 * Returns the {@link ContactImportFormat} of the file with the given name, determined by the file extension.
+	 *
+	 * @param filename name of the file to import.
+	 * @return the {@link ContactImportFormat} of the named file.
+	 * @throws IllegalArgumentException if the file extension is not {@literal .csv}, {@literal .ndjson},
+	 * {@literal .jsonl} or {@literal .json}.
+	 */
+	public static ContactImportFormat from(String filename) {
+
+		String extension = String.valueOf(StringUtils.getFilenameExtension(filename)).toLowerCase(Locale.ROOT);
+
+		switch (extension) {
+			case "csv":
+				return CSV;
+			case "json":
+			case "jsonl":
+			case "ndjson":
+				return NDJSON;
+			default:
+				throw new IllegalArgumentException(String.format("Cannot import Contacts from file [%s]", filename));
+		}
+	}
+
+	/* (non-Javadoc) */
+	static List<String> split(String line) {
+
+		List<String> values = new ArrayList<>();
+
+		StringBuilder value = new StringBuilder();
+
+		boolean quoted = false;
+
+		for (int index = 0, length = line.length(); index < length; index++) {
+
+			char character = line.charAt(index);
+
+			if (quoted) {
+				if (character != '"') {
+					value.append(character);
+				}
+				else if (index + 1 < length && line.charAt(index + 1) == '"') {
+					value.append(character);
+					index++;
+				}
+				else {
+					quoted = false;
+				}
+			}
+			else if (character == '"') {
+				quoted = true;
+			}
+			else if (character == ',') {
+				values.add(value.toString().trim());
+				value.setLength(0);
+			}
+			else {
+				value.append(character);
+			}
+		}
+
+		Assert.isTrue(!quoted, String.format("Line [%s] has an unterminated quoted value", line));
+
+		values.add(value.toString().trim());
+
+		return values;
+	}
+
+	/* (non-Javadoc) */
+	private static Contact toContact(List<String> values, Map<String, Integer> columns) {
+
+		Function<String, Optional<String>> column = name ->
+			Optional.ofNullable(columns.get(name)).filter(index -> index < values.size()).map(values::get)
+				.filter(StringUtils::hasText);
+
+		Person person = newPerson(column.apply("firstname").orElse(null), column.apply("lastname").orElse(null));
+
+		column.apply("personid").map(Long::valueOf).ifPresent(person::setId);
+		column.apply("gender").map(gender -> Gender.valueOf(gender.toUpperCase(Locale.ROOT)))
+			.ifPresent(person::setGender);
+		column.apply("age").map(Integer::parseInt).ifPresent(person::setBirthDateFor);
+		column.apply("birthdate").map(LocalDate::parse).ifPresent(person::setBirthDate);
+
+		Optional<Address> address = column.apply("street").map(street -> newAddress(street,
+			column.apply("city").orElse(null), column.apply("state").map(ContactImportFormat::toState).orElse(null),
+			column.apply("zipcode").orElse(null)));
+
+		Optional<String> email = column.apply("email");
+
+		Optional<PhoneNumber> phoneNumber =
+			column.apply("phonenumber").map(StringToPhoneNumberConverter.INSTANCE::convert);
+
+		Contact contact = email.map(it -> newContact(person, it))
+			.orElseGet(() -> address.map(it -> newContact(person, it))
+				.orElseGet(() -> phoneNumber.map(it -> newContact(person, it))
+					.orElseThrow(() -> new IllegalArgumentException(String.format(
+						"Contact for Person [%s] requires an address, email or phone number", person)))));
+
+		address.ifPresent(contact::setAddress);
+		phoneNumber.ifPresent(contact::setPhoneNumber);
+		column.apply("id").map(Long::valueOf).ifPresent(contact::setId);
+
+		return contact;
+	}
+
+	/* (non-Javadoc) */
+	private static State toState(String value) {
+
+		State state = Optional.ofNullable(State.valueOfAbbreviation(value)).orElseGet(() -> State.valueOfName(value));
+
+		Assert.notNull(state, String.format("State [%s] is not valid", value));
+
+		return state;
+	}
+
+	/**
+	 * Determines whether the first line of a file in this format is a header describing the remaining lines.
+	 *
+	 * @return a boolean value indicating whether files in this format start with a header line.
+	 */
+	public abstract boolean hasHeader();
+
+	/**
+	 * Returns a thread-safe {@link Function} parsing a single line of a file in this format
+	 * into a {@link Contact}.
+	 *
+	 * @param header header line of the file, or {@literal null} if this format {@link #hasHeader() has no header}.
+	 * @return a {@link Function} parsing a single line into a {@link Contact}.
+	 * @throws IllegalArgumentException if the header is not valid.
+	 */
+	public abstract Function<String, Contact> newParser(String header);
+}
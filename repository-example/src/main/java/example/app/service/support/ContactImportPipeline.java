@@ -0,0 +1,429 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import example.app.config.gemfire.support.ColocatedIdGenerator;
+import example.app.model.Contact;
+
+/**
+ * The {@link ContactImportPipeline} class imports {@link Contact Contacts} from a line-oriented file
+ * (see {@link ContactImportFormat}) in 3 concurrent stages connected by bounded buffers:
+ *
+ * <ol>
+ *   <li>the calling thread reads the file and hands chunks of lines to the workers,</li>
+ *   <li>a pool of workers parses, validates and identifies the {@link Contact Contacts} of each chunk
+ *   in parallel, rejecting and reporting bad records without failing the import,</li>
+ *   <li>a single writer groups the {@link Contact Contacts} by target bucket and writes each bucket
+ *   in {@literal putAll} batches.</li>
+ * </ol>
+ *
+ * The reader blocks when {@link #getQueueCapacity()} chunks are waiting for or being processed by the workers,
+ * and the workers block when {@link #getQueueCapacity()} chunks are waiting for the writer, therefore the memory
+ * used by an import is bounded regardless of the size of the file, and the import runs at the speed of
+ * the slowest stage.
+ *
+ * @author John Blum
+ * @see example.app.model.Contact
+ * @see example.app.service.support.ContactImportFormat
+ * @see example.app.service.support.ContactImportReport
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ContactImportPipeline {
+
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+	public static final int DEFAULT_CHUNK_SIZE = 500;
+	public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+	public static final int DEFAULT_QUEUE_CAPACITY = 16;
+
+	public static final long DEFAULT_PROGRESS_INTERVAL = TimeUnit.SECONDS.toMillis(5);
+
+	protected static final int PENDING_BATCHES = 16;
+
+	private static final List<Contact> END_OF_INPUT = Collections.emptyList();
+
+	protected final Logger logger = LoggerFactory.getLogger(getClass());
+
+	private final Consumer<Map<Long, Contact>> writer;
+
+	private Function<Contact, Contact> validator = Function.identity();
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+	private int parallelism = DEFAULT_PARALLELISM;
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	private LongSupplier idGenerator = ColocatedIdGenerator.INSTANCE;
+
+	private long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+	private final ToIntFunction<Long> bucketResolver;
+
+	/**
+	 * Constructs a new {@link ContactImportPipeline} writing batches of {@link Contact Contacts} with
+	 * the given {@code writer}.
+	 *
+	 * @param writer {@link Consumer} writing a batch of {@link Contact Contacts} keyed by ID,
+	 * e.g. {@link org.apache.geode.cache.Region#putAll(Map)}.
+	 * @param bucketResolver {@link ToIntFunction} resolving the target bucket of a {@link Contact} ID;
+	 * the {@link Contact Contacts} of a batch all belong to the same bucket.
+	 * @throws IllegalArgumentException if {@code writer} or {@code bucketResolver} is {@literal null}.
+	 */
+	public ContactImportPipeline(Consumer<Map<Long, Contact>> writer, ToIntFunction<Long> bucketResolver) {
+
+		Assert.notNull(writer, "Writer must not be null");
+		Assert.notNull(bucketResolver, "Bucket resolver must not be null");
+
+		this.writer = writer;
+		this.bucketResolver = bucketResolver;
+	}
+
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, String.format("Batch size [%d] must be greater than 0", batchSize));
+		this.batchSize = batchSize;
+	}
+
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	public void setChunkSize(int chunkSize) {
+		Assert.isTrue(chunkSize > 0, String.format("Chunk size [%d] must be greater than 0", chunkSize));
+		this.chunkSize = chunkSize;
+	}
+
+	public int getChunkSize() {
+		return this.chunkSize;
+	}
+
+	/**
+	 * Sets the {@link LongSupplier} used to identify new {@link example.app.model.Person People}; the supplier
+	 * must be thread-safe.  {@link Contact Contacts} are identified by the colocated ID of their
+	 * {@link example.app.model.Person} (see {@link ColocatedIdGenerator#identify(Contact, LongSupplier)}).
+	 *
+	 * @param idGenerator {@link LongSupplier} generating unique, never negative IDs.
+	 */
+	public void setIdGenerator(LongSupplier idGenerator) {
+		Assert.notNull(idGenerator, "ID generator must not be null");
+		this.idGenerator = idGenerator;
+	}
+
+	public LongSupplier getIdGenerator() {
+		return this.idGenerator;
+	}
+
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, String.format("Parallelism [%d] must be greater than 0", parallelism));
+		this.parallelism = parallelism;
+	}
+
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	public void setProgressInterval(long progressInterval) {
+		this.progressInterval = progressInterval;
+	}
+
+	public long getProgressInterval() {
+		return this.progressInterval;
+	}
+
+	public void setQueueCapacity(int queueCapacity) {
+		Assert.isTrue(queueCapacity > 0, String.format("Queue capacity [%d] must be greater than 0", queueCapacity));
+		this.queueCapacity = queueCapacity;
+	}
+
+	public int getQueueCapacity() {
+		return this.queueCapacity;
+	}
+
+	/**
+	 * Sets the {@link Function} validating each parsed {@link Contact}; the function must be thread-safe
+	 * and throws an {@link IllegalArgumentException} to reject a {@link Contact}.
+	 *
+	 * @param validator {@link Function} validating a {@link Contact}.
+	 */
+	public void setValidator(Function<Contact, Contact> validator) {
+		Assert.notNull(validator, "Validator must not be null");
+		this.validator = validator;
+	}
+
+	public Function<Contact, Contact> getValidator() {
+		return this.validator;
+	}
+
+	/**
+	 * Imports all {@link Contact Contacts} read from the given {@link BufferedReader} in the given format.
+	 *
+	 * @param source description of the file or stream imported, used in the {@link ContactImportReport}.
+	 * @param reader {@link BufferedReader} to read.
+	 * @param format {@link ContactImportFormat} of the lines read.
+	 * @return the {@link ContactImportReport} of the completed import.
+	 * @throws IOException if reading fails.
+	 * @throws IllegalArgumentException if {@code reader} or {@code format} is {@literal null}
+	 * or the header is not valid.
+	 * @throws IllegalStateException if writing a batch fails or the import is interrupted.
+	 */
+	public ContactImportReport importContacts(String source, BufferedReader reader, ContactImportFormat format)
+			throws IOException {
+
+		Assert.notNull(reader, "Reader must not be null");
+		Assert.notNull(format, "Format must not be null");
+
+		ContactImportReport report = new ContactImportReport(source);
+
+		Function<String, Contact> parser = format.newParser(format.hasHeader() ? reader.readLine() : null);
+
+		BlockingQueue<List<Contact>> identifiedContacts = new ArrayBlockingQueue<>(getQueueCapacity());
+
+		Semaphore chunksInProgress = new Semaphore(getQueueCapacity());
+
+		ExecutorService workers =
+			Executors.newFixedThreadPool(getParallelism(), newThreadFactory("contact-import-worker-"));
+
+		ExecutorService writer = Executors.newSingleThreadExecutor(newThreadFactory("contact-import-writer-"));
+
+		AtomicReference<RuntimeException> writeFailure = new AtomicReference<>();
+
+		try {
+			Future<ContactImportReport> written =
+				writer.submit(() -> write(identifiedContacts, report, writeFailure));
+
+			long lineNumber = (format.hasHeader() ? 1L : 0L);
+
+			List<String> chunk = new ArrayList<>(getChunkSize());
+
+			// NOTE stop reading early when the writer failed; the import fails anyway
+			for (String line = reader.readLine(); line != null && writeFailure.get() == null;
+					line = reader.readLine()) {
+
+				chunk.add(line);
+
+				if (chunk.size() == getChunkSize()) {
+					submit(workers, chunksInProgress, chunk, lineNumber, parser, identifiedContacts, report);
+					lineNumber += chunk.size();
+					chunk = new ArrayList<>(getChunkSize());
+				}
+			}
+
+			submit(workers, chunksInProgress, chunk, lineNumber, parser, identifiedContacts, report);
+
+			chunksInProgress.acquire(getQueueCapacity());
+			identifiedContacts.put(END_OF_INPUT);
+			written.get();
+
+			return report.complete();
+		}
+		catch (ExecutionException cause) {
+			throw new IllegalStateException(String.format("Failed to import Contacts from [%s]", source),
+				cause.getCause());
+		}
+		catch (InterruptedException cause) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(String.format("Import of Contacts from [%s] was interrupted", source),
+				cause);
+		}
+		finally {
+			workers.shutdownNow();
+			writer.shutdownNow();
+		}
+	}
+
+	/* (non-Javadoc) */
+	private CustomizableThreadFactory newThreadFactory(String threadNamePrefix) {
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+
+		threadFactory.setDaemon(true);
+
+		return threadFactory;
+	}
+
+	/* (non-Javadoc) */
+	private void submit(ExecutorService workers, Semaphore chunksInProgress, List<String> chunk, long lineNumber,
+			Function<String, Contact> parser, BlockingQueue<List<Contact>> identifiedContacts,
+			ContactImportReport report) throws InterruptedException {
+
+		if (!chunk.isEmpty()) {
+
+			chunksInProgress.acquire();
+
+			try {
+				workers.execute(() -> {
+					try {
+						List<Contact> contacts = process(chunk, lineNumber, parser, report);
+
+						if (!contacts.isEmpty()) {
+							identifiedContacts.put(contacts);
+						}
+					}
+					catch (InterruptedException ignore) {
+						Thread.currentThread().interrupt();
+					}
+					finally {
+						chunksInProgress.release();
+					}
+				});
+			}
+			catch (RuntimeException cause) {
+				chunksInProgress.release();
+				throw cause;
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	List<Contact> process(List<String> chunk, long lineNumber, Function<String, Contact> parser,
+			ContactImportReport report) {
+
+		List<Contact> contacts = new ArrayList<>(chunk.size());
+
+		for (String line : chunk) {
+
+			lineNumber++;
+
+			if (StringUtils.hasText(line)) {
+
+				report.read();
+
+				try {
+					contacts.add(identify(getValidator().apply(parser.apply(line))));
+				}
+				catch (RuntimeException cause) {
+					report.rejected(lineNumber, cause);
+				}
+			}
+		}
+
+		return contacts;
+	}
+
+	// NOTE a Contact identified in the file by an ID other than the colocated ID of its Person is rejected
+	/* (non-Javadoc) */
+	private Contact identify(Contact contact) {
+		return ColocatedIdGenerator.identify(contact, getIdGenerator());
+	}
+
+	// NOTE a batch only holds Contacts of the same bucket so each putAll is sent to the one member hosting
+	// the primary bucket; batches of buckets that fill slowly are flushed, fullest first, to bound memory
+	/* (non-Javadoc) */
+	private ContactImportReport write(BlockingQueue<List<Contact>> identifiedContacts, ContactImportReport report,
+			AtomicReference<RuntimeException> failure) throws InterruptedException {
+
+		Map<Integer, Map<Long, Contact>> batches = new HashMap<>();
+
+		int batchSize = getBatchSize();
+		int maximumPendingContacts = batchSize * PENDING_BATCHES;
+		int pendingContacts = 0;
+
+		long lastProgress = System.currentTimeMillis();
+
+		for (List<Contact> contacts = identifiedContacts.take(); contacts != END_OF_INPUT;
+				contacts = identifiedContacts.take()) {
+
+			// NOTE after a failure, drain the queue so the workers are not blocked forever
+			if (failure.get() == null) {
+				try {
+					for (Contact contact : contacts) {
+
+						Integer bucket = this.bucketResolver.applyAsInt(contact.getId());
+
+						Map<Long, Contact> batch = batches.computeIfAbsent(bucket, key -> new HashMap<>(batchSize));
+
+						if (batch.put(contact.getId(), contact) == null) {
+							pendingContacts++;
+						}
+
+						if (batch.size() >= batchSize) {
+							pendingContacts -= flush(batches.remove(bucket), report);
+						}
+					}
+
+					while (pendingContacts >= maximumPendingContacts) {
+						pendingContacts -= flush(batches.remove(fullestBucket(batches)), report);
+					}
+
+					long now = System.currentTimeMillis();
+
+					if (now - lastProgress >= getProgressInterval()) {
+						logger.info("{}", report);
+						lastProgress = now;
+					}
+				}
+				catch (RuntimeException cause) {
+					failure.set(cause);
+				}
+			}
+		}
+
+		if (failure.get() != null) {
+			throw failure.get();
+		}
+
+		for (Map<Long, Contact> batch : batches.values()) {
+			flush(batch, report);
+		}
+
+		return report;
+	}
+
+	/* (non-Javadoc) */
+	private Integer fullestBucket(Map<Integer, Map<Long, Contact>> batches) {
+
+		return batches.entrySet().stream()
+			.max((one, two) -> Integer.compare(one.getValue().size(), two.getValue().size()))
+			.map(Map.Entry::getKey)
+			.orElse(null);
+	}
+
+	/* (non-Javadoc) */
+	private int flush(Map<Long, Contact> batch, ContactImportReport report) {
+
+		this.writer.accept(batch);
+		report.imported(batch.size());
+
+		return batch.size();
+	}
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link ContactImportReport} class records the progress of a single run of the {@link ContactImportPipeline}
+ * and, once complete, summarizes the run: how many records were read, imported and rejected, in how many
+ * {@link org.apache.geode.cache.Region#putAll(java.util.Map) putAll} batches, and at what throughput.
+ *
+ * The counters are updated concurrently by the stages of the pipeline; only the first {@link #MAXIMUM_ERRORS}
+ * rejected records are described in the report.
+ *
+ * @author John Blum
+ * @see example.app.service.support.ContactImportPipeline
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ContactImportReport {
+
+	public static final int MAXIMUM_ERRORS = 100;
+
+	private final List<String> errors = new ArrayList<>();
+
+	private final LongAdder batchCount = new LongAdder();
+	private final LongAdder importedCount = new LongAdder();
+	private final LongAdder readCount = new LongAdder();
+	private final LongAdder rejectedCount = new LongAdder();
+
+	private final long startTime = System.nanoTime();
+
+	private volatile long endTime;
+
+	private final String source;
+
+	/**
+	 * Constructs a new {@link ContactImportReport} for an import from the given source, starting now.
+	 *
+	 * @param source description of the file or stream imported.
+	 */
+	public ContactImportReport(String source) {
+		this.source = source;
+	}
+
+	/* (non-Javadoc) */
+	void read() {
+		this.readCount.increment();
+	}
+
+	/* (non-Javadoc) */
+	void rejected(long lineNumber, Exception cause) {
+
+		this.rejectedCount.increment();
+
+		synchronized (this.errors) {
+			if (this.errors.size() < MAXIMUM_ERRORS) {
+				this.errors.add(String.format("Line [%d]: %s", lineNumber, cause.getMessage()));
+			}
+		}
+	}
+
+	/* (non-Javadoc) */
+	void imported(int count) {
+		this.batchCount.increment();
+		this.importedCount.add(count);
+	}
+
+	/* (non-Javadoc) */
+	ContactImportReport complete() {
+		this.endTime = System.nanoTime();
+		return this;
+	}
+
+	/**
+	 * Determines whether the import has completed.
+	 *
+	 * @return a boolean value indicating whether the import has completed.
+	 */
+	public boolean isComplete() {
+		return (this.endTime != 0L);
+	}
+
+	/**
+	 * Returns the number of {@link org.apache.geode.cache.Region#putAll(java.util.Map) putAll} batches written.
+	 *
+	 * @return the number of batches written.
+	 */
+	public long getBatchCount() {
+		return this.batchCount.sum();
+	}
+
+	/**
+	 * Returns the number of milliseconds the import has been running, or ran if complete.
+	 *
+	 * @return the elapsed time in milliseconds.
+	 */
+	public long getElapsedTime() {
+		return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+	}
+
+	/* (non-Javadoc) */
+	private long elapsedNanos() {
+		return ((isComplete() ? this.endTime : System.nanoTime()) - this.startTime);
+	}
+
+	/**
+	 * Returns descriptions of the first {@link #MAXIMUM_ERRORS} rejected records.
+	 *
+	 * @return a {@link List} of error descriptions.
+	 */
+	public List<String> getErrors() {
+
+		synchronized (this.errors) {
+			return Collections.unmodifiableList(new ArrayList<>(this.errors));
+		}
+	}
+
+	/**
+	 * Returns the number of {@link example.app.model.Contact Contacts} written to the Region.
+	 *
+	 * @return the number of imported {@link example.app.model.Contact Contacts}.
+	 */
+	public long getImportedCount() {
+		return this.importedCount.sum();
+	}
+
+	/**
+	 * Returns the number of records read from the source.
+	 *
+	 * @return the number of records read.
+	 */
+	public long getReadCount() {
+		return this.readCount.sum();
+	}
+
+	/**
+	 * Returns the number of records that could not be parsed or failed validation.
+	 *
+	 * @return the number of rejected records.
+	 */
+	public long getRejectedCount() {
+		return this.rejectedCount.sum();
+	}
+
+	/**
+	 * Returns the description of the file or stream imported.
+	 *
+	 * @return the description of the source.
+	 */
+	public String getSource() {
+		return this.source;
+	}
+
+	/**
+	 * Returns the number of {@link example.app.model.Contact Contacts} imported per second.
+	 *
+	 * @return the import throughput.
+	 */
+	public long getThroughput() {
+		return (getImportedCount() * TimeUnit.SECONDS.toNanos(1) / Math.max(1L, elapsedNanos()));
+	}
+
+	/**
+	 * @inheritDoc
+	 */
+	@Override
+	public String toString() {
+
+		return String.format("%1$s Contacts from [%2$s]: [%3$d] read, [%4$d] imported in [%5$d] batches,"
+				+ " [%6$d] rejected in [%7$d] ms, [%8$d] Contacts/s", (isComplete() ? "Imported" : "Importing"),
+			getSource(), getReadCount(), getImportedCount(), getBatchCount(), getRejectedCount(), getElapsedTime(),
+			getThroughput());
+	}
+}
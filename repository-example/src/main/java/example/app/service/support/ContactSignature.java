@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.util.Assert;
+
+import example.app.model.Address;
+import example.app.model.Contact;
+import example.app.model.Person;
+import example.app.model.PhoneNumber;
+
+/**
+ * The {@link ContactSignature} class is a compact, normalized projection of a {@link Contact} used to detect
+ * duplicate {@link Contact Contacts} that differ only in case, whitespace, punctuation or formatting.
+ *
+ * Names and streets are lower-cased, stripped of punctuation and have their whitespace collapsed; common street
+ * suffixes and directions are abbreviated (e.g. {@literal Street} to {@literal st}).  Phone numbers are reduced
+ * to their digits, zip codes to their first 5 digits and email addresses are lower-cased.
+ *
+ * {@link #getBlockingKeys()} returns the keys used to group candidate duplicates (last name, zip code and
+ * phone digits), so only {@link Contact Contacts} sharing at least one key are ever compared.
+ *
+ * @author John Blum
+ * @see example.app.model.Contact
+ * @see example.app.service.support.ContactSimilarity
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class ContactSignature implements Serializable {
+
+	private static final long serialVersionUID = 4613020427935173346L;
+
+	protected static final int MINIMUM_PHONE_DIGITS = 7;
+
+	protected static final int ZIP_CODE_DIGITS = 5;
+
+	private static final Map<String, String> STREET_ABBREVIATIONS = new HashMap<>();
+
+	static {
+		STREET_ABBREVIATIONS.put("avenue", "ave");
+		STREET_ABBREVIATIONS.put("boulevard", "blvd");
+		STREET_ABBREVIATIONS.put("court", "ct");
+		STREET_ABBREVIATIONS.put("drive", "dr");
+		STREET_ABBREVIATIONS.put("east", "e");
+		STREET_ABBREVIATIONS.put("highway", "hwy");
+		STREET_ABBREVIATIONS.put("lane", "ln");
+		STREET_ABBREVIATIONS.put("north", "n");
+		STREET_ABBREVIATIONS.put("parkway", "pkwy");
+		STREET_ABBREVIATIONS.put("place", "pl");
+		STREET_ABBREVIATIONS.put("road", "rd");
+		STREET_ABBREVIATIONS.put("south", "s");
+		STREET_ABBREVIATIONS.put("street", "st");
+		STREET_ABBREVIATIONS.put("west", "w");
+	}
+
+	private final long id;
+
+	private final String email;
+	private final String firstName;
+	private final String lastName;
+	private final String phoneDigits;
+	private final String street;
+	private final String zipCode;
+
+	/**
+	 * Factory method used to construct the {@link ContactSignature} of the given {@link Contact}.
+	 *
+	 * @param contact {@link Contact} to project.
+	 * @return the {@link ContactSignature} of the {@link Contact}.
+	 * @throws IllegalArgumentException if the {@link Contact} or its ID is {@literal null}.
+	 */
+	public static ContactSignature of(Contact contact) {
+
+		Assert.notNull(contact, "Contact must not be null");
+		Assert.notNull(contact.getId(), "Contact must be identified");
+
+		Optional<Person> person = Optional.ofNullable(contact.getPerson());
+		Optional<Address> address = Optional.ofNullable(contact.getAddress());
+		Optional<PhoneNumber> phoneNumber = Optional.ofNullable(contact.getPhoneNumber());
+
+		return new ContactSignature(contact.getId(),
+			person.map(Person::getFirstName).map(ContactSignature::normalizeName).orElse(""),
+			person.map(Person::getLastName).map(ContactSignature::normalizeName).orElse(""),
+			Optional.ofNullable(contact.getEmail()).map(ContactSignature::normalizeEmail).orElse(""),
+			phoneNumber.map(ContactSignature::toPhoneDigits).orElse(""),
+			address.map(Address::getStreet).map(ContactSignature::normalizeStreet).orElse(""),
+			address.map(Address::getZipCode).map(ContactSignature::normalizeZipCode).orElse(""));
+	}
+
+	/* (non-Javadoc) */
+	static String normalizeEmail(String email) {
+		return email.trim().toLowerCase(Locale.ROOT);
+	}
+
+	/* (non-Javadoc) */
+	static String normalizeName(String name) {
+		return name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{Nd}]+", " ").trim();
+	}
+
+	/* (non-Javadoc) */
+	static String normalizeStreet(String street) {
+
+		StringBuilder normalizedStreet = new StringBuilder(street.length());
+
+		for (String word : normalizeName(street).split(" ")) {
+			if (!word.isEmpty()) {
+				normalizedStreet.append(normalizedStreet.length() > 0 ? " " : "")
+					.append(STREET_ABBREVIATIONS.getOrDefault(word, word));
+			}
+		}
+
+		return normalizedStreet.toString();
+	}
+
+	/* (non-Javadoc) */
+	static String normalizeZipCode(String zipCode) {
+
+		String digits = toDigits(zipCode);
+
+		return (digits.length() > ZIP_CODE_DIGITS ? digits.substring(0, ZIP_CODE_DIGITS) : digits);
+	}
+
+	/* (non-Javadoc) */
+	static String toPhoneDigits(PhoneNumber phoneNumber) {
+		return toDigits(nullSafe(phoneNumber.getAreaCode()) + nullSafe(phoneNumber.getPrefix())
+			+ nullSafe(phoneNumber.getSuffix()));
+	}
+
+	/* (non-Javadoc) */
+	private static String toDigits(String value) {
+		return (value != null ? value.replaceAll("\\D+", "") : "");
+	}
+
+	/* (non-Javadoc) */
+	private static String nullSafe(String value) {
+		return (value != null ? value : "");
+	}
+
+	ContactSignature(long id, String firstName, String lastName, String email, String phoneDigits, String street,
+			String zipCode) {
+
+		this.id = id;
+		this.firstName = firstName;
+		this.lastName = lastName;
+		this.email = email;
+		this.phoneDigits = phoneDigits;
+		this.street = street;
+		this.zipCode = zipCode;
+	}
+
+	public long getId() {
+		return this.id;
+	}
+
+	public String getEmail() {
+		return this.email;
+	}
+
+	public String getFirstName() {
+		return this.firstName;
+	}
+
+	public String getLastName() {
+		return this.lastName;
+	}
+
+	public String getPhoneDigits() {
+		return this.phoneDigits;
+	}
+
+	public String getStreet() {
+		return this.street;
+	}
+
+	public String getZipCode() {
+		return this.zipCode;
+	}
+
+	/**
+	 * Returns the keys of the blocks of candidate duplicates this {@link Contact} belongs to.
+	 *
+	 * @return a {@link List} of blocking keys; empty if the {@link Contact} has no blocking information.
+	 */
+	public List<String> getBlockingKeys() {
+
+		List<String> blockingKeys = new ArrayList<>(3);
+
+		if (!getLastName().isEmpty()) {
+			blockingKeys.add("L:".concat(getLastName()));
+		}
+
+		if (getZipCode().length() == ZIP_CODE_DIGITS) {
+			blockingKeys.add("Z:".concat(getZipCode()));
+		}
+
+		if (getPhoneDigits().length() >= MINIMUM_PHONE_DIGITS) {
+			blockingKeys.add("P:".concat(getPhoneDigits()));
+		}
+
+		return blockingKeys;
+	}
+
+	/**
+	 * Returns the key used to order the {@link Contact Contacts} of a block too large to compare every pair,
+	 * so that likely duplicates are near each other.
+	 *
+	 * @return the sort key of this {@link Contact}.
+	 */
+	public String getSortKey() {
+		return getLastName() + ' ' + getFirstName() + ' ' + getStreet();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return (obj == this || (obj instanceof ContactSignature && ((ContactSignature) obj).getId() == getId()));
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(getId());
+	}
+
+	@Override
+	public String toString() {
+		return String.format("{ @type = %1$s, id = %2$d, name = %3$s %4$s, email = %5$s, phone = %6$s,"
+				+ " street = %7$s, zipCode = %8$s }", getClass().getName(), getId(), getFirstName(), getLastName(),
+			getEmail(), getPhoneDigits(), getStreet(), getZipCode());
+	}
+}
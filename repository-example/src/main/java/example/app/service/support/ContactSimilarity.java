@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+/**
+ * The {@link ContactSimilarity} class scores how likely 2 {@link ContactSignature ContactSignatures} describe
+ * the same person, from {@literal 0.0} (different) to {@literal 1.0} (identical).
+ *
+ * Names are compared with the Jaro-Winkler similarity, which tolerates typos and short forms (e.g. {@literal Jon}
+ * and {@literal John}).  {@link ContactSignature Signatures} with dissimilar first names are never duplicates,
+ * so family members sharing a last name, address and phone number are not merged.  The name similarity is then
+ * averaged with the evidence of the other fields present in both {@link ContactSignature signatures}: equal email
+ * addresses, equal phone numbers and similar streets in the same zip code.
+ *
+ * @author John Blum
+ * @see example.app.service.support.ContactSignature
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public abstract class ContactSimilarity {
+
+	protected static final double FIRST_NAME_WEIGHT = 0.4d;
+	protected static final double LAST_NAME_WEIGHT = 0.6d;
+	protected static final double MINIMUM_FIRST_NAME_SIMILARITY = 0.85d;
+	protected static final double NAME_ONLY_PENALTY = 0.9d;
+
+	/**
+	 * Scores the similarity of the given {@link ContactSignature ContactSignatures}.
+	 *
+	 * @param one {@link ContactSignature} to compare.
+	 * @param two {@link ContactSignature} to compare.
+	 * @return the similarity score, from {@literal 0.0} to {@literal 1.0}.
+	 */
+	public static double score(ContactSignature one, ContactSignature two) {
+
+		if (one.getFirstName().isEmpty() || one.getLastName().isEmpty()
+				|| two.getFirstName().isEmpty() || two.getLastName().isEmpty()) {
+
+			return 0.0d;
+		}
+
+		double firstNameSimilarity = jaroWinkler(one.getFirstName(), two.getFirstName());
+
+		if (firstNameSimilarity < MINIMUM_FIRST_NAME_SIMILARITY) {
+			return 0.0d;
+		}
+
+		double nameSimilarity = FIRST_NAME_WEIGHT * firstNameSimilarity
+			+ LAST_NAME_WEIGHT * jaroWinkler(one.getLastName(), two.getLastName());
+
+		double evidence = 0.0d;
+
+		int fields = 0;
+
+		if (!one.getEmail().isEmpty() && !two.getEmail().isEmpty()) {
+			evidence += (one.getEmail().equals(two.getEmail()) ? 1.0d : 0.0d);
+			fields++;
+		}
+
+		if (!one.getPhoneDigits().isEmpty() && !two.getPhoneDigits().isEmpty()) {
+			evidence += (one.getPhoneDigits().equals(two.getPhoneDigits()) ? 1.0d : 0.0d);
+			fields++;
+		}
+
+		if (!one.getStreet().isEmpty() && !two.getStreet().isEmpty()) {
+			evidence += (one.getZipCode().equals(two.getZipCode()) ? jaroWinkler(one.getStreet(), two.getStreet())
+				: 0.0d);
+			fields++;
+		}
+
+		return (fields > 0 ? (nameSimilarity + evidence / fields) / 2.0d : nameSimilarity * NAME_ONLY_PENALTY);
+	}
+
+	/**
+	 * Computes the Jaro-Winkler similarity of the given {@link String Strings}.
+	 *
+	 * @param one {@link String} to compare.
+	 * @param two {@link String} to compare.
+	 * @return the Jaro-Winkler similarity, from {@literal 0.0} to {@literal 1.0}.
+	 */
+	public static double jaroWinkler(String one, String two) {
+
+		if (one.equals(two)) {
+			return 1.0d;
+		}
+
+		int lengthOne = one.length();
+		int lengthTwo = two.length();
+
+		if (lengthOne == 0 || lengthTwo == 0) {
+			return 0.0d;
+		}
+
+		int matchDistance = Math.max(0, Math.max(lengthOne, lengthTwo) / 2 - 1);
+
+		boolean[] matchedOne = new boolean[lengthOne];
+		boolean[] matchedTwo = new boolean[lengthTwo];
+
+		int matches = 0;
+
+		for (int indexOne = 0; indexOne < lengthOne; indexOne++) {
+
+			int start = Math.max(0, indexOne - matchDistance);
+			int end = Math.min(indexOne + matchDistance + 1, lengthTwo);
+
+			for (int indexTwo = start; indexTwo < end; indexTwo++) {
+				if (!matchedTwo[indexTwo] && one.charAt(indexOne) == two.charAt(indexTwo)) {
+					matchedOne[indexOne] = true;
+					matchedTwo[indexTwo] = true;
+					matches++;
+					break;
+				}
+			}
+		}
+
+		if (matches == 0) {
+			return 0.0d;
+		}
+
+		int transpositions = 0;
+
+		for (int indexOne = 0, indexTwo = 0; indexOne < lengthOne; indexOne++) {
+			if (matchedOne[indexOne]) {
+
+				while (!matchedTwo[indexTwo]) {
+					indexTwo++;
+				}
+
+				if (one.charAt(indexOne) != two.charAt(indexTwo)) {
+					transpositions++;
+				}
+
+				indexTwo++;
+			}
+		}
+
+		double jaro = ((double) matches / lengthOne + (double) matches / lengthTwo
+			+ (matches - transpositions / 2.0d) / matches) / 3.0d;
+
+		int prefix = 0;
+
+		while (prefix < Math.min(4, Math.min(lengthOne, lengthTwo)) && one.charAt(prefix) == two.charAt(prefix)) {
+			prefix++;
+		}
+
+		return jaro + prefix * 0.1d * (1.0d - jaro);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.io.Serializable;
+
+/**
+ * The {@link DuplicateContact} class is a merge candidate: a pair of {@link example.app.model.Contact} IDs
+ * likely describing the same person, along with their similarity score.
+ *
+ * The pair is unordered; the lower ID is always the {@link #getContactId() contact ID}, so the same pair found
+ * in different blocks is equal.
+ *
+ * @author John Blum
+ * @see example.app.service.support.ContactSimilarity
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class DuplicateContact implements Serializable {
+
+	private static final long serialVersionUID = -3126412838219052561L;
+
+	private final double score;
+
+	private final long contactId;
+	private final long duplicateContactId;
+
+	public DuplicateContact(long contactId, long duplicateContactId, double score) {
+		this.contactId = Math.min(contactId, duplicateContactId);
+		this.duplicateContactId = Math.max(contactId, duplicateContactId);
+		this.score = score;
+	}
+
+	public long getContactId() {
+		return this.contactId;
+	}
+
+	public long getDuplicateContactId() {
+		return this.duplicateContactId;
+	}
+
+	public double getScore() {
+		return this.score;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+
+		if (obj == this) {
+			return true;
+		}
+
+		if (!(obj instanceof DuplicateContact)) {
+			return false;
+		}
+
+		DuplicateContact that = (DuplicateContact) obj;
+
+		return (this.getContactId() == that.getContactId()
+			&& this.getDuplicateContactId() == that.getDuplicateContactId());
+	}
+
+	@Override
+	public int hashCode() {
+
+		int hashValue = 17;
+
+		hashValue = 37 * hashValue + Long.hashCode(getContactId());
+		hashValue = 37 * hashValue + Long.hashCode(getDuplicateContactId());
+
+		return hashValue;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("{ @type = %1$s, contactId = %2$d, duplicateContactId = %3$d, score = %4$.3f }",
+			getClass().getName(), getContactId(), getDuplicateContactId(), getScore());
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.util.Assert;
+
+/**
+ * The {@link DuplicateContactDetector} class finds the {@link DuplicateContact duplicate} pairs among blocks
+ * of {@link ContactSignature ContactSignatures} sharing a blocking key.
+ *
+ * Blocks are scored in parallel.  Within a block of at most {@link #getMaximumBlockSize()} signatures every pair
+ * is compared; larger blocks (e.g. a common last name) are sorted by {@link ContactSignature#getSortKey()} and
+ * each signature is only compared with the next {@link #getWindowSize()} signatures (sorted neighborhood), which
+ * bounds the work to {@literal O(n * window)} per block instead of {@literal O(n^2)}.  Pairs found in more than
+ * one block are reported once, with their highest score.
+ *
+ * @author John Blum
+ * @see example.app.service.support.ContactSignature
+ * @see example.app.service.support.ContactSimilarity
+ * @see example.app.service.support.DuplicateContact
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class DuplicateContactDetector {
+
+	public static final double DEFAULT_THRESHOLD = 0.9d;
+
+	public static final int DEFAULT_MAXIMUM_BLOCK_SIZE = 500;
+	public static final int DEFAULT_WINDOW_SIZE = 20;
+
+	private volatile double threshold = DEFAULT_THRESHOLD;
+
+	private volatile int maximumBlockSize = DEFAULT_MAXIMUM_BLOCK_SIZE;
+	private volatile int windowSize = DEFAULT_WINDOW_SIZE;
+
+	/**
+	 * Sets the minimum {@link ContactSimilarity#score(ContactSignature, ContactSignature) score} of a duplicate.
+	 *
+	 * @param threshold minimum score of a duplicate, between {@literal 0.0} and {@literal 1.0}.
+	 * @throws IllegalArgumentException if {@code threshold} is not between {@literal 0.0} and {@literal 1.0}.
+	 */
+	public void setThreshold(double threshold) {
+		Assert.isTrue(threshold >= 0.0d && threshold <= 1.0d,
+			String.format("Threshold [%s] must be between 0.0 and 1.0", threshold));
+		this.threshold = threshold;
+	}
+
+	public double getThreshold() {
+		return this.threshold;
+	}
+
+	/**
+	 * Sets the maximum size of a block in which every pair of signatures is compared.
+	 *
+	 * @param maximumBlockSize maximum size of a fully compared block.
+	 * @throws IllegalArgumentException if {@code maximumBlockSize} is less than 2.
+	 */
+	public void setMaximumBlockSize(int maximumBlockSize) {
+		Assert.isTrue(maximumBlockSize > 1,
+			String.format("Maximum block size [%d] must be greater than 1", maximumBlockSize));
+		this.maximumBlockSize = maximumBlockSize;
+	}
+
+	public int getMaximumBlockSize() {
+		return this.maximumBlockSize;
+	}
+
+	/**
+	 * Sets the number of following signatures each signature of a large, sorted block is compared with.
+	 *
+	 * @param windowSize number of neighbors compared in large blocks.
+	 * @throws IllegalArgumentException if {@code windowSize} is less than 1.
+	 */
+	public void setWindowSize(int windowSize) {
+		Assert.isTrue(windowSize > 0, String.format("Window size [%d] must be greater than 0", windowSize));
+		this.windowSize = windowSize;
+	}
+
+	public int getWindowSize() {
+		return this.windowSize;
+	}
+
+	/**
+	 * Finds the duplicate pairs within each of the given blocks.
+	 *
+	 * @param blocks {@link Collection} of blocks of {@link ContactSignature ContactSignatures}.
+	 * @return a {@link List} of {@link DuplicateContact duplicates}, highest score first.
+	 */
+	public List<DuplicateContact> detect(Collection<? extends List<ContactSignature>> blocks) {
+
+		ConcurrentMap<DuplicateContact, DuplicateContact> duplicates = new ConcurrentHashMap<>();
+
+		blocks.parallelStream().filter(block -> block.size() > 1).forEach(block -> detect(block, duplicates));
+
+		List<DuplicateContact> result = new ArrayList<>(duplicates.values());
+
+		result.sort(Comparator.comparingDouble(DuplicateContact::getScore).reversed());
+
+		return result;
+	}
+
+	/* (non-Javadoc) */
+	private void detect(List<ContactSignature> block, ConcurrentMap<DuplicateContact, DuplicateContact> duplicates) {
+
+		List<ContactSignature> signatures = block;
+
+		int window = signatures.size();
+
+		if (signatures.size() > getMaximumBlockSize()) {
+			signatures = new ArrayList<>(block);
+			signatures.sort(Comparator.comparing(ContactSignature::getSortKey));
+			window = getWindowSize() + 1;
+		}
+
+		double threshold = getThreshold();
+
+		for (int index = 0, size = signatures.size(); index < size; index++) {
+
+			ContactSignature signature = signatures.get(index);
+
+			for (int neighbor = index + 1, end = Math.min(size, index + window); neighbor < end; neighbor++) {
+
+				ContactSignature candidate = signatures.get(neighbor);
+
+				if (signature.getId() != candidate.getId()) {
+
+					double score = ContactSimilarity.score(signature, candidate);
+
+					if (score >= threshold) {
+						DuplicateContact duplicate = new DuplicateContact(signature.getId(), candidate.getId(), score);
+
+						duplicates.merge(duplicate, duplicate,
+							(one, two) -> (one.getScore() >= two.getScore() ? one : two));
+					}
+				}
+			}
+		}
+	}
+}
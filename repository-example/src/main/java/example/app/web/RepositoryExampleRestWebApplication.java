@@ -21,6 +21,10 @@ import static example.app.model.Contact.newContact;
 import static example.app.model.Customer.newCustomer;
 import static example.app.model.PhoneNumber.newPhoneNumber;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,6 +38,7 @@ import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
 import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurerAdapter;
 
 import example.app.config.ApplicationConfiguration;
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
 import example.app.core.convert.converter.StringToPhoneNumberConverter;
 import example.app.core.mapping.json.jackson.serialization.LocalDateDeserializer;
 import example.app.model.Contact;
@@ -42,6 +47,7 @@ import example.app.model.Gender;
 import example.app.model.State;
 import example.app.repo.gemfire.ContactRepository;
 import example.app.repo.gemfire.CustomerRepository;
+import example.app.service.ContactImportService;
 
 /**
  * The RepositoryExampleRestWebApplication class is a {@link SpringBootApplication} demonstrating how to make
@@ -87,6 +93,9 @@ public class RepositoryExampleRestWebApplication implements CommandLineRunner {
 		};
 	}
 
+	@Autowired
+	private ContactImportService contactImportService;
+
 	@Autowired
 	private ContactRepository contactRepository;
 
@@ -102,8 +111,20 @@ public class RepositoryExampleRestWebApplication implements CommandLineRunner {
 		Contact jonDoeContact = newContact(jonDoe, "jonDoe@work.com")
 			.with(newAddress("100 Main St.", "Portland", State.OREGON, "97205"))
 			.with(newPhoneNumber("503", "541", "1234"))
-			.identifiedBy(1L);
+			.identifiedBy(CustomerIdPartitionResolver.toContactId(jonDoe.getId()));
 
 		contactRepository.save(jonDoeContact);
+
+		// NOTE CSV and NDJSON files of Contacts named on the command-line are bulk loaded on startup
+		for (String arg : args) {
+			if (!arg.startsWith("--")) {
+
+				Path path = Paths.get(arg);
+
+				if (Files.isRegularFile(path)) {
+					contactImportService.importContacts(path);
+				}
+			}
+		}
 	}
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import example.app.model.Customer;
+import example.app.repo.gemfire.CustomerRepository;
+
+/**
+ * Spring Web MVC {@link RestController} serving the {@link Customer Customers} in the {@literal Customers} Region
+ * a page at a time, or as a streamed JSON array.
+ *
+ * @author John Blum
+ * @see example.app.model.Customer
+ * @see example.app.repo.gemfire.CustomerRepository
+ * @see example.app.web.controller.KeysetPagingController
+ * @since 1.0.0
+ */
+@RestController
+@RequestMapping("/customers")
+@SuppressWarnings("unused")
+public class CustomersController extends KeysetPagingController<Customer> {
+
+	@Autowired
+	public CustomersController(CustomerRepository customerRepository, ObjectMapper objectMapper) {
+		super(customerRepository, objectMapper);
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.web.controller;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.cp.elements.lang.Identifiable;
+
+/**
+ * The {@link KeysetPage} class is a page of entities read by ID order, along with the ID to pass as
+ * the {@literal after} request parameter to read the next page.
+ *
+ * @author John Blum
+ * @see example.app.repo.gemfire.KeysetPagingRepository
+ * @see example.app.web.controller.KeysetPagingController
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public class KeysetPage<T extends Identifiable<Long>> {
+
+	private final List<T> content;
+
+	private final Long next;
+
+	public KeysetPage(List<T> content, int size) {
+		this.content = (content != null ? Collections.unmodifiableList(content) : Collections.emptyList());
+		this.next = (this.content.size() == size ? this.content.get(this.content.size() - 1).getId() : null);
+	}
+
+	public List<T> getContent() {
+		return this.content;
+	}
+
+	public Long getNext() {
+		return this.next;
+	}
+
+	public boolean hasNext() {
+		return (getNext() != null);
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.web.controller;
+
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.cp.elements.lang.Identifiable;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import example.app.repo.gemfire.KeysetPagingRepository;
+
+/**
+ * The {@link KeysetPagingController} class is an abstract base class for Spring Web MVC controllers serving
+ * the entities of an Apache Geode (or Pivotal GemFire) Region a page at a time, using a
+ * {@link KeysetPagingRepository}, or as a streamed JSON array, alongside the Spring Data REST endpoints
+ * of the Region's Repository.
+ *
+ * Pages carry an {@literal ETag} computed from the JSON representation of the entities in the page, so a client
+ * sending the {@literal ETag} in an {@literal If-None-Match} header receives a {@literal 304 Not Modified}
+ * when none of the entities in the page changed.
+ *
+ * @author John Blum
+ * @see org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+ * @see example.app.repo.gemfire.KeysetPagingRepository
+ * @see example.app.web.controller.KeysetPage
+ * @since 1.0.0
+ */
+@SuppressWarnings("unused")
+public abstract class KeysetPagingController<T extends Identifiable<Long>> {
+
+	protected static final int MAXIMUM_PAGE_SIZE = 1000;
+
+	private final KeysetPagingRepository<T> repository;
+
+	private final ObjectMapper objectMapper;
+
+	protected KeysetPagingController(KeysetPagingRepository<T> repository, ObjectMapper objectMapper) {
+
+		Assert.notNull(repository, "Repository is required");
+		Assert.notNull(objectMapper, "ObjectMapper is required");
+
+		this.repository = repository;
+		this.objectMapper = objectMapper;
+	}
+
+	protected KeysetPagingRepository<T> getRepository() {
+		return this.repository;
+	}
+
+	protected ObjectMapper getObjectMapper() {
+		return this.objectMapper;
+	}
+
+	@GetMapping("/page")
+	public KeysetPage<T> page(@RequestParam(name = "after", required = false) Long after,
+			@RequestParam(name = "size", defaultValue = "100") int size, WebRequest webRequest) {
+
+		int resolvedSize = resolvePageSize(size);
+
+		List<T> content = (after != null ? getRepository().findPageAfter(after, resolvedSize)
+			: getRepository().findFirstPage(resolvedSize));
+
+		return (webRequest.checkNotModified(etag(content)) ? null : new KeysetPage<>(content, resolvedSize));
+	}
+
+	@GetMapping(path = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+	public StreamingResponseBody stream(@RequestParam(name = "pageSize", defaultValue = "1000") int pageSize) {
+
+		int resolvedPageSize = resolvePageSize(pageSize);
+
+		return outputStream -> {
+
+			try (JsonGenerator jsonGenerator = getObjectMapper().getFactory().createGenerator(outputStream)) {
+
+				jsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+				jsonGenerator.writeStartArray();
+
+				for (T entity : getRepository().findAllInPages(resolvedPageSize)) {
+					jsonGenerator.writeObject(entity);
+				}
+
+				jsonGenerator.writeEndArray();
+			}
+		};
+	}
+
+	/* (non-Javadoc) */
+	protected int resolvePageSize(int size) {
+		return Math.min(Math.max(size, 1), MAXIMUM_PAGE_SIZE);
+	}
+
+	// NOTE the ETag is derived from the page data already in hand, rather than looking up the Region entry
+	// of every entity; the entities' hash codes do not cover every property, so the JSON sent is digested instead
+	/* (non-Javadoc) */
+	protected String etag(List<T> page) {
+
+		try {
+			return DigestUtils.md5DigestAsHex(getObjectMapper().writeValueAsBytes(page));
+		}
+		catch (JsonProcessingException cause) {
+			throw new IllegalStateException("Failed to compute the ETag of the page", cause);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.config.gemfire.support;
+
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toContactId;
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import example.app.model.Contact;
+
+/**
+ * Unit tests for {@link ColocatedIdGenerator}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.config.gemfire.support.ColocatedIdGenerator
+ * @since 1.0.0
+ */
+public class ColocatedIdGeneratorTests {
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private final ColocatedIdGenerator idGenerator = new ColocatedIdGenerator();
+
+	@Test
+	public void generatedIdsAreNotNegativeAndIncrease() {
+
+		long lastId = -1L;
+
+		for (int count = 0; count < 10000; count++) {
+
+			long id = idGenerator.getAsLong();
+
+			assertThat(id).isGreaterThan(lastId);
+
+			lastId = id;
+		}
+	}
+
+	@Test
+	public void identifyNewContactByColocatedIdOfNewPerson() {
+
+		Contact contact = idGenerator.identify(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com"));
+
+		assertThat(contact.getPerson().getId()).isNotNegative();
+		assertThat(contact.getId()).isEqualTo(toContactId(contact.getPerson().getId()));
+	}
+
+	@Test
+	public void identifyNewPersonByColocatedIdOfContact() {
+
+		Contact contact = newContact(newPerson("Jon", "Doe"), "jonDoe@home.com").identifiedBy(toContactId(42L));
+
+		ColocatedIdGenerator.identify(contact, () -> 1L);
+
+		assertThat(contact.getPerson().getId()).isEqualTo(42L);
+		assertThat(contact.getId()).isEqualTo(toContactId(42L));
+	}
+
+	@Test
+	public void identifyContactWithOtherIdThrowsIllegalArgumentException() {
+
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage(String.format("Contact ID [42] must be [%d], the colocated ID of Person [1]",
+			toContactId(1L)));
+
+		ColocatedIdGenerator.identify(newContact(newPerson("Jon", "Doe").identifiedBy(1L), "jonDoe@home.com")
+			.<Contact>identifiedBy(42L), () -> 2L);
+	}
+}
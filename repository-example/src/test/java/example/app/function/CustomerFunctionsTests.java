@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.function;
+
+import static example.app.model.Contact.newContact;
+import static example.app.model.Customer.newCustomer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.execute.RegionFunctionContext;
+import org.apache.geode.cache.execute.ResultSender;
+
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
+import example.app.model.Contact;
+import example.app.model.Customer;
+
+/**
+ * Unit tests for {@link CustomerFunctions}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.function.CustomerFunctions
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CustomerFunctionsTests {
+
+	@Mock
+	private Region<Long, Contact> mockContacts;
+
+	@Mock
+	private Region<Long, Customer> mockCustomers;
+
+	@Mock
+	private RegionFunctionContext mockFunctionContext;
+
+	@Mock
+	private ResultSender<Object> mockResultSender;
+
+	private CustomerFunctions customerFunctions;
+
+	@Before
+	public void setup() {
+
+		customerFunctions = new CustomerFunctions() {
+
+			@Override
+			protected Region<Long, Contact> getContactsRegion(RegionFunctionContext functionContext) {
+				return mockContacts;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			protected <K, V> Region<K, V> getRegion(RegionFunctionContext functionContext) {
+				return (Region<K, V>) mockCustomers;
+			}
+
+			@Override
+			protected Region<Long, Contact> getContactsRegion(Region<?, ?> customers) {
+				return mockContacts;
+			}
+		};
+	}
+
+	@Test
+	public void joinCustomersWithContactsLooksUpContactsByColocatedKey() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe").identifiedBy(1L);
+		Customer janeDoe = newCustomer("Jane", "Doe").identifiedBy(2L);
+		Customer jackHandy = newCustomer("Jack", "Handy").identifiedBy(3L);
+
+		when(mockFunctionContext.getResultSender()).thenReturn(mockResultSender);
+		when(mockCustomers.values()).thenReturn(Arrays.asList(jonDoe, janeDoe, jackHandy));
+		when(mockContacts.containsKey(CustomerIdPartitionResolver.toContactId(1L))).thenReturn(true);
+		when(mockContacts.containsKey(CustomerIdPartitionResolver.toContactId(3L))).thenReturn(true);
+
+		List<Customer> customers = customerFunctions.joinCustomersWithContactsInFunctionContext(mockFunctionContext);
+
+		assertThat(customers).containsExactly(jonDoe, jackHandy);
+
+		verify(mockContacts).containsKey(CustomerIdPartitionResolver.toContactId(2L));
+		verify(mockResultSender, never()).sendResult(any());
+	}
+
+	@Test
+	public void joinCustomersWithContactsSendsFullChunks() {
+
+		List<Customer> allCustomers = new ArrayList<>();
+
+		for (long id = 1; id <= FunctionSupport.RESULT_CHUNK_SIZE + 1; id++) {
+			allCustomers.add(newCustomer("Jon", "Doe" + id).identifiedBy(id));
+		}
+
+		when(mockFunctionContext.getResultSender()).thenReturn(mockResultSender);
+		when(mockCustomers.values()).thenReturn(allCustomers);
+		when(mockContacts.containsKey(anyLong())).thenReturn(true);
+
+		List<Customer> customers = customerFunctions.joinCustomersWithContactsInFunctionContext(mockFunctionContext);
+
+		assertThat(customers).containsExactly(allCustomers.get(FunctionSupport.RESULT_CHUNK_SIZE));
+
+		verify(mockResultSender).sendResult(allCustomers.subList(0, FunctionSupport.RESULT_CHUNK_SIZE));
+	}
+
+	@Test
+	public void upsertContactInformationMergesExistingContact() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe").with("123").identifiedBy(1L);
+
+		Contact existingContact = newContact(jonDoe, "jonDoe@home.com")
+			.identifiedBy(CustomerIdPartitionResolver.toContactId(1L));
+
+		Contact contactInformation = newContact(newCustomer("Jon", "Doe").identifiedBy(1L), "jonDoe@work.com");
+
+		when(mockFunctionContext.<Long, Customer>getDataSet()).thenReturn(mockCustomers);
+		when(mockCustomers.get(1L)).thenReturn(jonDoe);
+		when(mockContacts.get(CustomerIdPartitionResolver.toContactId(1L))).thenReturn(existingContact);
+
+		Contact contact = customerFunctions.upsertContactInformation(mockFunctionContext, contactInformation);
+
+		assertThat(contact).isSameAs(existingContact);
+		assertThat(contact.getEmail()).isEqualTo("jonDoe@work.com");
+
+		verify(mockContacts).put(CustomerIdPartitionResolver.toContactId(1L), existingContact);
+	}
+
+	@Test
+	public void upsertContactInformationCreatesContactUnderColocatedKey() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe").with("123").identifiedBy(1L);
+
+		Contact contactInformation = newContact(newCustomer("Jon", "Doe").identifiedBy(1L), "jonDoe@work.com");
+
+		when(mockFunctionContext.<Long, Customer>getDataSet()).thenReturn(mockCustomers);
+		when(mockCustomers.get(1L)).thenReturn(jonDoe);
+
+		Contact contact = customerFunctions.upsertContactInformation(mockFunctionContext, contactInformation);
+
+		assertThat(contact).isSameAs(contactInformation);
+		assertThat(contact.getId()).isEqualTo(CustomerIdPartitionResolver.toContactId(1L));
+
+		verify(mockContacts).put(CustomerIdPartitionResolver.toContactId(1L), contactInformation);
+	}
+}
@@ -16,6 +16,7 @@
 
 package example.app.repo.gemfire;
 
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toContactId;
 import static example.app.model.Address.newAddress;
 import static example.app.model.Contact.newContact;
 import static example.app.model.Person.newPerson;
@@ -69,8 +70,8 @@ public class ContactRepositoryIntegrationTests {
 	}
 
 	protected Contact save(Contact contact) {
-		if (contact.isNew()) {
-			contact.setId(newId());
+		if (contact.getPerson().isNew()) {
+			contact.getPerson().setId(newId());
 		}
 
 		return contactRepository.save(contact);
@@ -84,13 +85,14 @@ public class ContactRepositoryIntegrationTests {
 	@Test
 	public void saveFindAndDeleteIsSuccessful() {
 
-		Contact savedJonDoe = newContact(newPerson("Jon", "Doe"), "jonDoe@home.com")
+		Contact savedJonDoe = newContact(newPerson("Jon", "Doe").identifiedBy(newId()), "jonDoe@home.com")
 			.with(newAddress("100 Main St.", "Portland", State.OREGON, "12345"))
-			.with(newPhoneNumber("503", "555", "1234"))
-			.identifiedBy(newId());
+			.with(newPhoneNumber("503", "555", "1234"));
 
 		contactRepository.save(savedJonDoe);
 
+		assertThat(savedJonDoe.getId()).isEqualTo(toContactId(savedJonDoe.getPerson().getId()));
+
 		Contact loadedJonDoe = contactRepository.findById(savedJonDoe.getId()).orElse(null);
 
 		assertThat(loadedJonDoe).isEqualTo(savedJonDoe);
@@ -254,6 +256,18 @@ public class ContactRepositoryIntegrationTests {
 		assertThat(contacts.size()).isEqualTo(1);
 		assertThat(contacts).containsAll(Collections.singletonList(jackHandy));
 
+		contacts = contactRepository.findByPersonFirstNameIgnoreCaseAndPersonLastNameIgnoreCase(" jane ", "Doe ");
+
+		assertThat(contacts).isNotNull();
+		assertThat(contacts.size()).isEqualTo(1);
+		assertThat(contacts).containsAll(Collections.singletonList(janeDoe));
+
+		contacts = contactRepository.findByPersonFirstNameAndPersonLastNameAllIgnoreCase("JON", "bloom");
+
+		assertThat(contacts).isNotNull();
+		assertThat(contacts.size()).isEqualTo(1);
+		assertThat(contacts).containsAll(Collections.singletonList(jonBloom));
+
 		contacts = contactRepository.findByPersonFirstNameIgnoreCaseAndPersonLastNameIgnoreCase("Jack", "Black");
 
 		assertThat(contacts).isNotNull();
@@ -278,6 +292,31 @@ public class ContactRepositoryIntegrationTests {
 		assertThat(contact).isNull();
 	}
 
+	@Test
+	public void findPageAfterReturnsContactsInIdOrder() {
+		Contact jonDoe = save(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com"));
+		Contact janeDoe = save(newContact(newPerson("Jane", "Doe"), "janeDoe@home.com"));
+		Contact pieDoe = save(newContact(newPerson("Pie", "Doe"), "pieDoe@home.com"));
+
+		List<Contact> contacts = contactRepository.findFirstPage(2);
+
+		assertThat(contacts).containsExactly(jonDoe, janeDoe);
+
+		contacts = contactRepository.findPageAfter(janeDoe.getId(), 2);
+
+		assertThat(contacts).containsExactly(pieDoe);
+		assertThat(contactRepository.findAllInPages(2)).containsExactly(jonDoe, janeDoe, pieDoe);
+	}
+
+	@Test
+	public void findFirstPageIncludesContactWithSmallestId() {
+		Contact jonDoe = save(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com"));
+		Contact janeDoe = save(newContact(newPerson("Jane", "Doe").identifiedBy(0L), "janeDoe@home.com"));
+
+		assertThat(janeDoe.getId()).isEqualTo(Long.MIN_VALUE);
+		assertThat(contactRepository.findFirstPage(2)).containsExactly(janeDoe, jonDoe);
+	}
+
 	@Test
 	public void findByPersonLastName() {
 		Contact jonDoe = save(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com"));
@@ -16,12 +16,14 @@
 
 package example.app.repo.gemfire;
 
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toContactId;
 import static example.app.model.Address.newAddress;
 import static example.app.model.Contact.newContact;
 import static example.app.model.Customer.newCustomer;
 import static example.app.model.PhoneNumber.newPhoneNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -109,12 +111,13 @@ public class CustomerRepositoryIntegrationTests {
 		Customer jackHandy = newCustomer("Jack", "Handy").with(newAccountNumber()).identifiedBy(newId());
 
 		contactRepository.save(newContact(customerRepository.save(jonDoe), "jonDoe@home.com")
-			.with(newPhoneNumber("503", "555", "1234")).<Contact>identifiedBy(newId()));
+			.with(newPhoneNumber("503", "555", "1234")).<Contact>identifiedBy(toContactId(jonDoe.getId())));
 
 		customerRepository.save(janeDoe);
 
 		contactRepository.save(newContact(customerRepository.save(jackHandy), "jackHandy@office.com")
-			.with(newAddress("100 Main St.", "Portland", State.OREGON, "97205")).<Contact>identifiedBy(newId()));
+			.with(newAddress("100 Main St.", "Portland", State.OREGON, "97205"))
+			.<Contact>identifiedBy(toContactId(jackHandy.getId())));
 
 		List<Customer> customers = customerRepository.findAllCustomersWithContactInformation();
 
@@ -130,12 +133,13 @@ public class CustomerRepositoryIntegrationTests {
 		Customer jackHandy = newCustomer("Jack", "Handy").with(newAccountNumber()).identifiedBy(newId());
 
 		contactRepository.save(newContact(customerRepository.save(jonDoe), "jonDoe@home.com")
-			.with(newPhoneNumber("503", "555", "1234")).<Contact>identifiedBy(newId()));
+			.with(newPhoneNumber("503", "555", "1234")).<Contact>identifiedBy(toContactId(jonDoe.getId())));
 
 		customerRepository.save(janeDoe);
 
 		contactRepository.save(newContact(customerRepository.save(jackHandy), "jackHandy@office.com")
-			.with(newAddress("100 Main St.", "Portland", State.OREGON, "97205")).<Contact>identifiedBy(newId()));
+			.with(newAddress("100 Main St.", "Portland", State.OREGON, "97205"))
+			.<Contact>identifiedBy(toContactId(jackHandy.getId())));
 
 		List<?> results = customerFunctionExecutions.findAllCustomersWithContactInformation();
 
@@ -148,8 +152,13 @@ public class CustomerRepositoryIntegrationTests {
 
 	@SuppressWarnings("unchecked")
 	protected List<Customer> toCustomerList(List<?> list) {
-		assertThat(list.size()).isEqualTo(1);
-		assertThat(list.get(0)).isInstanceOf(List.class);
-		return (List<Customer>) list.get(0);
+		List<Customer> customers = new ArrayList<>();
+
+		for (Object chunk : list) {
+			assertThat(chunk).isInstanceOf(List.class);
+			customers.addAll((List<Customer>) chunk);
+		}
+
+		return customers;
 	}
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire;
+
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import example.app.model.Contact;
+
+/**
+ * Unit tests for {@link KeysetPagingRepository}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.repo.gemfire.KeysetPagingRepository
+ * @since 1.0.0
+ */
+public class KeysetPagingRepositoryTests {
+
+	private final AtomicInteger pageReads = new AtomicInteger(0);
+
+	private final List<Contact> contacts = new ArrayList<>();
+
+	private final KeysetPagingRepository<Contact> repository = new KeysetPagingRepository<Contact>() {
+
+		@Override
+		public List<Contact> findFirstPage(int size) {
+
+			pageReads.incrementAndGet();
+
+			return contacts.stream()
+				.limit(size)
+				.collect(Collectors.toList());
+		}
+
+		@Override
+		public List<Contact> findPageAfter(Long id, int size) {
+
+			pageReads.incrementAndGet();
+
+			return contacts.stream()
+				.filter(contact -> contact.getId() > id)
+				.limit(size)
+				.collect(Collectors.toList());
+		}
+	};
+
+	protected void saveContacts(int count) {
+		for (long id = 1; id <= count; id++) {
+			contacts.add(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com").identifiedBy(id));
+		}
+	}
+
+	@Test
+	public void findAllInPagesReadsAllEntitiesInPages() {
+
+		saveContacts(7);
+
+		List<Long> ids = new ArrayList<>();
+
+		repository.findAllInPages(3).forEach(contact -> ids.add(contact.getId()));
+
+		assertThat(ids).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+		assertThat(pageReads.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void findAllInPagesReadsEntityWithSmallestId() {
+
+		contacts.add(newContact(newPerson("Jon", "Doe"), "jonDoe@home.com").identifiedBy(Long.MIN_VALUE));
+
+		saveContacts(2);
+
+		List<Long> ids = new ArrayList<>();
+
+		repository.findAllInPages(2).forEach(contact -> ids.add(contact.getId()));
+
+		assertThat(ids).containsExactly(Long.MIN_VALUE, 1L, 2L);
+	}
+
+	@Test
+	public void findAllInPagesReadsOneMorePageWhenLastPageIsFull() {
+
+		saveContacts(6);
+
+		assertThat(repository.findAllInPages(3)).hasSize(6);
+		assertThat(pageReads.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void findAllInPagesWithNoEntitiesIsEmpty() {
+		assertThat(repository.findAllInPages(3)).isEmpty();
+		assertThat(pageReads.get()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.geo.Box;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.geo.Point;
+
+/**
+ * Unit tests for {@link GeoIndex}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.repo.gemfire.support.GeoIndex
+ * @since 1.0.0
+ */
+public class GeoIndexTests {
+
+	private static final Point PORTLAND = new Point(45.5152d, -122.6784d);
+	private static final Point SEATTLE = new Point(47.6062d, -122.3321d);
+	private static final Point SAN_FRANCISCO = new Point(37.7749d, -122.4194d);
+	private static final Point NEW_YORK = new Point(40.7128d, -74.0060d);
+	private static final Point FIJI = new Point(-17.7134d, 178.0650d);
+	private static final Point SAMOA = new Point(-13.7590d, -172.1046d);
+
+	private final GeoIndex<String, Point> index = new GeoIndex<>("location", Function.identity());
+
+	@Before
+	public void setup() {
+		index.put("Portland", PORTLAND);
+		index.put("Seattle", SEATTLE);
+		index.put("San Francisco", SAN_FRANCISCO);
+		index.put("New York", NEW_YORK);
+		index.put("Fiji", FIJI);
+		index.put("Samoa", SAMOA);
+	}
+
+	@Test
+	public void distanceIsGreatCircleDistanceInKilometers() {
+		assertThat(GeoIndex.distance(PORTLAND, SEATTLE)).isCloseTo(233.0d, within(5.0d));
+		assertThat(GeoIndex.distance(PORTLAND, PORTLAND)).isZero();
+	}
+
+	@Test
+	public void findKeysWithinBox() {
+		assertThat(index.findKeysWithin(new Box(new Point(37.0d, -125.0d), new Point(48.0d, -120.0d))))
+			.containsOnly("Portland", "Seattle", "San Francisco");
+		assertThat(index.findKeysWithin(new Box(new Point(37.0d, -125.0d), new Point(46.0d, -120.0d))))
+			.containsOnly("Portland", "San Francisco");
+	}
+
+	@Test
+	public void findKeysWithinBoxWithWestLongitudeGreaterThanEastLongitudeCrossesTheAntimeridian() {
+		assertThat(index.findKeysWithin(new Box(new Point(-20.0d, 170.0d), new Point(-10.0d, -170.0d))))
+			.containsOnly("Fiji", "Samoa");
+		assertThat(index.findKeysWithin(new Box(new Point(-20.0d, 179.0d), new Point(-10.0d, -179.0d)))).isEmpty();
+		assertThat(index.findKeysWithin(new Box(new Point(37.0d, 170.0d), new Point(48.0d, -170.0d)))).isEmpty();
+	}
+
+	@Test
+	public void findKeysWithinBoxWithEastLongitudeGreaterThanWestLongitudeDoesNotCrossTheAntimeridian() {
+		assertThat(index.findKeysWithin(new Box(new Point(-20.0d, -170.0d), new Point(-10.0d, 170.0d))))
+			.isEmpty();
+		assertThat(index.findKeysWithin(new Box(new Point(30.0d, -170.0d), new Point(50.0d, 170.0d))))
+			.containsOnly("Portland", "Seattle", "San Francisco", "New York");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void findKeysWithinBoxWithSouthWestCornerNorthOfNorthEastCornerThrowsIllegalArgumentException() {
+		index.findKeysWithin(new Box(new Point(48.0d, -125.0d), new Point(37.0d, -120.0d)));
+	}
+
+	@Test
+	public void findKeysWithinCircle() {
+		assertThat(index.findKeysWithin(new Circle(PORTLAND, new Distance(250.0d, Metrics.KILOMETERS))))
+			.containsOnly("Portland", "Seattle");
+		assertThat(index.findKeysWithin(new Circle(PORTLAND, new Distance(600.0d, Metrics.MILES))))
+			.containsOnly("Portland", "Seattle", "San Francisco");
+	}
+
+	@Test
+	public void findKeysWithinCircleAcrossTheAntimeridian() {
+		assertThat(index.findKeysWithin(new Circle(FIJI, new Distance(1500.0d, Metrics.KILOMETERS))))
+			.containsOnly("Fiji", "Samoa");
+	}
+
+	@Test
+	public void findNearestKeysOrdersByDistance() {
+
+		List<GeoResult<String>> nearest = index.findNearestKeys(new Point(46.0d, -122.0d), 3);
+
+		assertThat(nearest.stream().map(GeoResult::getContent).collect(Collectors.toList()))
+			.containsExactly("Portland", "Seattle", "San Francisco");
+		assertThat(nearest.get(0).getDistance().getMetric()).isEqualTo(Metrics.KILOMETERS);
+		assertThat(index.findNearestKeys(FIJI, 1, key -> !key.equals("Fiji")).get(0).getContent()).isEqualTo("Samoa");
+	}
+
+	@Test
+	public void findNearestKeysMatchesExhaustiveSearch() {
+
+		GeoIndex<Integer, Point> denseIndex = new GeoIndex<>("location", Function.identity(), 1.0d);
+
+		Random random = new Random(2016L);
+
+		List<Point> locations = new ArrayList<>();
+
+		for (int key = 0; key < 2000; key++) {
+			Point location = new Point(random.nextDouble() * 180.0d - 90.0d, random.nextDouble() * 360.0d - 180.0d);
+			locations.add(location);
+			denseIndex.put(key, location);
+		}
+
+		for (Point point : Arrays.asList(PORTLAND, FIJI, SAMOA, new Point(89.5d, 0.0d), new Point(-89.9d, 179.9d))) {
+
+			List<Double> expectedDistances = locations.stream().map(location -> GeoIndex.distance(point, location))
+				.sorted().limit(10).collect(Collectors.toList());
+
+			assertThat(denseIndex.findNearestKeys(point, 10).stream()
+				.map(result -> result.getDistance().getValue()).collect(Collectors.toList()))
+				.containsExactlyElementsOf(expectedDistances);
+		}
+	}
+
+	@Test
+	public void putMovesAndRemoveUnindexesLocations() {
+
+		index.put("Portland", NEW_YORK);
+		index.remove("Seattle");
+
+		assertThat(index.findKeysWithin(new Circle(NEW_YORK, new Distance(10.0d, Metrics.KILOMETERS))))
+			.containsOnly("Portland", "New York");
+		assertThat(index.findKeysWithin(new Circle(PORTLAND, new Distance(250.0d, Metrics.KILOMETERS)))).isEmpty();
+		assertThat(index.size()).isEqualTo(5);
+	}
+}
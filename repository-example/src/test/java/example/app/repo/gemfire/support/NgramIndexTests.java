@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link NgramIndex}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.repo.gemfire.support.NgramIndex
+ * @since 1.0.0
+ */
+public class NgramIndexTests {
+
+	private final NgramIndex<Long, String> index = new NgramIndex<>("email", Function.identity());
+
+	@Before
+	public void setup() {
+		index.put(1L, "jonDoe@gmail.com");
+		index.put(2L, "janeDoe@yahoo.com");
+		index.put(3L, "joeDirt@aol.com");
+		index.put(4L, "jackHandy@gmail.com");
+		index.put(5L, "sandy@gmail.co");
+	}
+
+	@Test
+	public void findKeysLikeWithLeadingWildcard() {
+		assertThat(index.findKeysLike("%@gmail.com")).containsOnly(1L, 4L);
+		assertThat(index.findKeysLike("%@aol.com")).containsOnly(3L);
+	}
+
+	@Test
+	public void findKeysLikeWithTrailingWildcard() {
+		assertThat(index.findKeysLike("j%")).containsOnly(1L, 2L, 3L, 4L);
+		assertThat(index.findKeysLike("ja%")).containsOnly(2L, 4L);
+		assertThat(index.findKeysLike("J%")).isEmpty();
+	}
+
+	@Test
+	public void findKeysLikeWithInfixWildcards() {
+		assertThat(index.findKeysLike("%and%")).containsOnly(4L, 5L);
+		assertThat(index.findKeysLike("%Doe%")).containsOnly(1L, 2L);
+		assertThat(index.findKeysLike("%o%")).containsOnly(1L, 2L, 3L, 4L, 5L);
+	}
+
+	@Test
+	public void findKeysLikeWithSingleCharacterWildcard() {
+		assertThat(index.findKeysLike("j_eD%")).containsOnly(3L);
+		assertThat(index.findKeysLike("jonDoe@gmail.co_")).containsOnly(1L);
+		assertThat(index.findKeysLike("_")).isEmpty();
+	}
+
+	@Test
+	public void findKeysLikeWithoutWildcardsMatchesExactly() {
+		assertThat(index.findKeysLike("sandy@gmail.co")).containsOnly(5L);
+		assertThat(index.findKeysLike("sandy@gmail")).isEmpty();
+	}
+
+	@Test
+	public void findKeysLikeWithEscapedWildcard() {
+
+		index.put(6L, "100%@percent.com");
+
+		assertThat(index.findKeysLike("100\\%%")).containsOnly(6L);
+		assertThat(index.findKeysLike("%.%")).containsOnly(1L, 2L, 3L, 4L, 5L, 6L);
+	}
+
+	@Test
+	public void putReplacesAndRemoveUnindexesValues() {
+
+		index.put(1L, "jonDoe@aol.com");
+
+		assertThat(index.findKeysLike("%@gmail.com")).containsOnly(4L);
+		assertThat(index.findKeysLike("%@aol.com")).containsOnly(1L, 3L);
+
+		index.remove(3L);
+		index.put(4L, null);
+
+		assertThat(index.findKeysLike("%@aol.com")).containsOnly(1L);
+		assertThat(index.findKeysLike("%@gmail.com")).isEmpty();
+		assertThat(index.size()).isEqualTo(3);
+
+		index.clear();
+
+		assertThat(index.findKeysLike("%")).isEmpty();
+		assertThat(index.size()).isZero();
+	}
+}
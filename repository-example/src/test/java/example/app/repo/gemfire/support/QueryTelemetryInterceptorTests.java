@@ -0,0 +1,199 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.query.Index;
+import org.apache.geode.cache.query.IndexStatistics;
+import org.springframework.data.gemfire.repository.query.annotation.Hint;
+import org.springframework.data.gemfire.repository.query.annotation.Trace;
+
+import example.app.model.Contact;
+import example.app.repo.gemfire.ContactRepository;
+import example.app.repo.gemfire.support.QueryTelemetry.QueryMetrics;
+
+/**
+ * Unit tests for {@link QueryTelemetryInterceptor} and {@link QueryTelemetry}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.repo.gemfire.support.QueryTelemetry
+ * @see example.app.repo.gemfire.support.QueryTelemetryInterceptor
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class QueryTelemetryInterceptorTests {
+
+	@Mock
+	private Index mockEmailIndex;
+
+	@Mock
+	private Index mockLastNameIndex;
+
+	@Mock
+	private IndexStatistics mockEmailIndexStatistics;
+
+	@Mock
+	private IndexStatistics mockLastNameIndexStatistics;
+
+	@Mock
+	private MethodInvocation mockMethodInvocation;
+
+	private QueryTelemetry queryTelemetry;
+
+	private QueryTelemetryInterceptor interceptor;
+
+	@Before
+	public void setup() {
+
+		queryTelemetry = new QueryTelemetry();
+
+		interceptor = new QueryTelemetryInterceptor(queryTelemetry,
+			() -> Arrays.asList(mockEmailIndex, mockLastNameIndex));
+	}
+
+	protected void mockIndexUses(long emailIndexUses, long lastNameIndexUses) {
+
+		when(mockEmailIndex.getName()).thenReturn("EmailIdx");
+		when(mockEmailIndex.getStatistics()).thenReturn(mockEmailIndexStatistics);
+		when(mockEmailIndexStatistics.getTotalUses()).thenReturn(0L, emailIndexUses);
+		when(mockLastNameIndex.getName()).thenReturn("PersonLastNameIdx");
+		when(mockLastNameIndex.getStatistics()).thenReturn(mockLastNameIndexStatistics);
+		when(mockLastNameIndexStatistics.getTotalUses()).thenReturn(0L, lastNameIndexUses);
+	}
+
+	@Test
+	public void invokeRecordsTracedQueryWithHonoredHint() throws Throwable {
+
+		mockIndexUses(1L, 0L);
+
+		when(mockMethodInvocation.getMethod()).thenReturn(TestRepository.class.getMethod("findByEmail", String.class));
+		when(mockMethodInvocation.getArguments()).thenReturn(new Object[] { "jonDoe@home.com" });
+		when(mockMethodInvocation.proceed()).thenReturn(Collections.singletonList("jonDoe"));
+
+		assertThat(interceptor.invoke(mockMethodInvocation)).isEqualTo(Collections.singletonList("jonDoe"));
+
+		QueryMetrics queryMetrics = queryTelemetry.getMetrics().get("TestRepository.findByEmail");
+
+		assertThat(queryMetrics).isNotNull();
+		assertThat(queryMetrics.getCount()).isEqualTo(1L);
+		assertThat(queryMetrics.getRows()).isEqualTo(1L);
+		assertThat(queryMetrics.getIndexUses()).containsOnlyKeys("EmailIdx");
+		assertThat(queryMetrics.getHintedCount()).isEqualTo(1L);
+		assertThat(queryMetrics.getHintHonoredCount()).isEqualTo(1L);
+		assertThat(queryTelemetry.getUnindexedQueries()).isEmpty();
+	}
+
+	@Test
+	public void invokeRecordsIgnoredHintAndUnindexedQuery() throws Throwable {
+
+		mockIndexUses(0L, 0L);
+
+		when(mockMethodInvocation.getMethod())
+			.thenReturn(TestRepository.class.getMethod("findByLastNameLike", String.class));
+		when(mockMethodInvocation.getArguments()).thenReturn(new Object[] { "%oe" });
+		when(mockMethodInvocation.proceed()).thenReturn(Arrays.asList("jonDoe", "janeDoe"));
+
+		interceptor.invoke(mockMethodInvocation);
+
+		QueryMetrics queryMetrics = queryTelemetry.getMetrics().get("TestRepository.findByLastNameLike");
+
+		assertThat(queryMetrics.getRows()).isEqualTo(2L);
+		assertThat(queryMetrics.isIndexed()).isFalse();
+		assertThat(queryMetrics.getHintedCount()).isEqualTo(1L);
+		assertThat(queryMetrics.getHintHonoredCount()).isZero();
+		assertThat(queryTelemetry.getUnindexedQueries()).containsExactly(queryMetrics);
+	}
+
+	@Test
+	public void invokeRecordsTracedRepositoryFragmentMethod() throws Throwable {
+
+		mockIndexUses(0L, 0L);
+
+		when(mockMethodInvocation.getMethod())
+			.thenReturn(ContactRepository.class.getMethod("findByEmailLike", String.class));
+		when(mockMethodInvocation.getArguments()).thenReturn(new Object[] { "%@home.com" });
+		when(mockMethodInvocation.proceed()).thenReturn(Collections.<Contact>emptyList());
+
+		interceptor.invoke(mockMethodInvocation);
+
+		QueryMetrics queryMetrics = queryTelemetry.getMetrics().get("ContactRepositoryExtension.findByEmailLike");
+
+		assertThat(queryMetrics).isNotNull();
+		assertThat(queryMetrics.getCount()).isEqualTo(1L);
+		assertThat(queryMetrics.getRows()).isZero();
+	}
+
+	@Test
+	public void invokeDoesNotRecordUntracedMethods() throws Throwable {
+
+		when(mockMethodInvocation.getMethod()).thenReturn(TestRepository.class.getMethod("count"));
+		when(mockMethodInvocation.proceed()).thenReturn(2L);
+
+		assertThat(interceptor.invoke(mockMethodInvocation)).isEqualTo(2L);
+		assertThat(queryTelemetry.getMetrics()).isEmpty();
+
+		verify(mockMethodInvocation).proceed();
+	}
+
+	@Test
+	public void recordAggregatesSlowQueries() {
+
+		queryTelemetry.setSlowQueryThreshold(0L);
+		queryTelemetry.record("TestRepository.count", 2000000L, 1L, Collections.emptyList(), new String[0],
+			new Object[0]);
+		queryTelemetry.record("TestRepository.count", 4000000L, 1L, Collections.emptyList(), new String[0],
+			new Object[0]);
+
+		QueryMetrics queryMetrics = queryTelemetry.getMetrics().get("TestRepository.count");
+
+		assertThat(queryMetrics.getCount()).isEqualTo(2L);
+		assertThat(queryMetrics.getSlowCount()).isEqualTo(2L);
+		assertThat(queryMetrics.getAverageTime()).isEqualTo(3000000L);
+		assertThat(queryMetrics.getMaximumTime()).isEqualTo(4000000L);
+	}
+
+	interface TestRepository {
+
+		long count();
+
+		@Trace
+		@Hint("EmailIdx")
+		List<String> findByEmail(String email);
+
+		@Trace
+		@Hint("PersonLastNameIdx")
+		List<String> findByLastNameLike(String lastName);
+
+	}
+}
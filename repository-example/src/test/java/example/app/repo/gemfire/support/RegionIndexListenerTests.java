@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.Region;
+
+/**
+ * Unit tests for {@link RegionIndexListener}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.repo.gemfire.support.RegionIndexListener
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RegionIndexListenerTests {
+
+	@Mock
+	private Region<Long, String> mockLocalData;
+
+	@Mock
+	private Region<Long, String> mockRegion;
+
+	@Mock
+	private RegionIndex<Long, String> mockIndex;
+
+	private RegionIndexListener<Long, String> listener;
+
+	@Before
+	public void setup() {
+
+		listener = new RegionIndexListener<Long, String>(mockIndex) {
+
+			@Override
+			protected Region<Long, String> getLocalData(Region<Long, String> region) {
+				return region == mockRegion ? mockLocalData : region;
+			}
+		};
+
+		listener.afterRegionCreate(mockRegion);
+	}
+
+	@Test
+	public void afterBucketCreatedIndexesValuesReadFromLocalData() {
+
+		when(mockLocalData.get(1L)).thenReturn("one");
+		when(mockLocalData.get(2L)).thenReturn("two");
+
+		listener.afterBucketCreated(0, Arrays.asList(1L, 2L));
+
+		verify(mockIndex).put(1L, "one");
+		verify(mockIndex).put(2L, "two");
+		verify(mockRegion, never()).get(any());
+	}
+
+	@Test
+	public void afterBucketRemovedUnindexesKeys() {
+
+		listener.afterBucketRemoved(0, Arrays.asList(1L, 2L));
+
+		verify(mockIndex).remove(1L);
+		verify(mockIndex).remove(2L);
+	}
+}
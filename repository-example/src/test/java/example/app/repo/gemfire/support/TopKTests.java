@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.gemfire.support;
+
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import example.app.model.Contact;
+
+/**
+ * Unit tests for {@link TopK}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.repo.gemfire.support.TopK
+ * @since 1.0.0
+ */
+public class TopKTests {
+
+	@Test
+	public void offerKeepsFirstElementsInOrder() {
+
+		TopK<Integer> topK = new TopK<>(Comparator.naturalOrder(), 3);
+
+		for (int element : Arrays.asList(9, 4, 7, 1, 8, 2, 6)) {
+			topK.offer(element);
+		}
+
+		assertThat(topK.isFull()).isTrue();
+		assertThat(topK.isComplete()).isFalse();
+		assertThat(topK.toList()).containsExactly(1, 2, 4);
+	}
+
+	@Test
+	public void offerWithoutComparatorKeepsFirstElementsOffered() {
+
+		TopK<Integer> topK = new TopK<>(null, 2);
+
+		assertThat(topK.offer(9)).isTrue();
+		assertThat(topK.isComplete()).isFalse();
+		assertThat(topK.offer(4)).isTrue();
+		assertThat(topK.isComplete()).isTrue();
+		assertThat(topK.offer(1)).isFalse();
+		assertThat(topK.toList()).containsExactly(9, 4);
+	}
+
+	@Test
+	public void mergeCombinesSortedResults() {
+
+		List<List<Integer>> results = Arrays.asList(Arrays.asList(1, 5, 9), Arrays.asList(2, 3, 10),
+			Arrays.asList(4, 6));
+
+		assertThat(TopK.merge(results, Comparator.<Integer>naturalOrder(), 4)).containsExactly(1, 2, 3, 4);
+		assertThat(TopK.merge(results, Comparator.<Integer>reverseOrder(), 2)).containsExactly(10, 9);
+		assertThat(TopK.merge(results, null, 4)).containsExactly(1, 5, 9, 2);
+	}
+
+	@Test
+	public void comparingSortOrdersByAllProperties() {
+
+		Contact jonDoe = newContact(newPerson("Jon", "Doe"), "jonDoe@home.com");
+		Contact janeDoe = newContact(newPerson("Jane", "Doe"), "janeDoe@home.com");
+		Contact joeDirt = newContact(newPerson("Joe", "Dirt"), "joeDirt@home.com");
+
+		Comparator<Contact> comparator = TopK.comparing(Sort.by(Sort.Order.asc("person.lastName"),
+			Sort.Order.desc("person.firstName")));
+
+		TopK<Contact> topK = new TopK<>(comparator, 2);
+
+		Arrays.asList(janeDoe, jonDoe, joeDirt).forEach(topK::offer);
+
+		assertThat(topK.toList()).containsExactly(joeDirt, jonDoe);
+		assertThat(TopK.<Contact>comparing(null)).isNull();
+	}
+}
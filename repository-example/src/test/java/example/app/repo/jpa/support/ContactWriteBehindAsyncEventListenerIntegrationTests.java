@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.jpa.support;
+
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toContactId;
+import static example.app.model.Address.newAddress;
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static example.app.model.PhoneNumber.newPhoneNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import example.app.config.jpa.JpaConfiguration;
+import example.app.model.Address;
+import example.app.model.Contact;
+import example.app.model.Person;
+import example.app.model.PhoneNumber;
+import example.app.model.State;
+import example.app.repo.jpa.ContactRepository;
+import example.app.service.WriteBehindContactsService;
+
+/**
+ * Integration tests for {@link ContactWriteBehindAsyncEventListener} writing {@link Contact Contacts}
+ * behind to a relational database using JPA.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.springframework.boot.test.context.SpringBootTest
+ * @see org.springframework.test.context.junit4.SpringRunner
+ * @see example.app.config.jpa.JpaConfiguration
+ * @see example.app.repo.jpa.support.ContactWriteBehindAsyncEventListener
+ * @see example.app.service.WriteBehindContactsService
+ * @since 1.0.0
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, classes = JpaConfiguration.class)
+@DirtiesContext
+@SuppressWarnings("all")
+public class ContactWriteBehindAsyncEventListenerIntegrationTests {
+
+	@Autowired
+	private ContactRepository contactRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private ContactWriteBehindAsyncEventListener listener;
+
+	private EntityManager entityManager;
+
+	private WriteBehindContactsService contactsService;
+
+	@Before
+	public void setup() {
+
+		example.app.repo.gemfire.ContactRepository mockGemFireContactRepository =
+			mock(example.app.repo.gemfire.ContactRepository.class);
+
+		when(mockGemFireContactRepository.save(any(Contact.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+		contactsService = new WriteBehindContactsService(mockGemFireContactRepository);
+		entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+		listener = new ContactWriteBehindAsyncEventListener(contactRepository, entityManagerFactory,
+			transactionManager);
+	}
+
+	protected AsyncEvent<Long, Contact> newAsyncEvent(Operation operation, Contact contact) {
+
+		AsyncEvent<Long, Contact> mockAsyncEvent = mock(AsyncEvent.class);
+
+		when(mockAsyncEvent.getOperation()).thenReturn(operation);
+		when(mockAsyncEvent.getKey()).thenReturn(contact.getId());
+		when(mockAsyncEvent.getDeserializedValue()).thenReturn(contact);
+
+		return mockAsyncEvent;
+	}
+
+	protected long countRows(Class<?> entityType) {
+
+		return entityManager.createQuery(String.format("SELECT count(entity) FROM %s entity",
+			entityType.getSimpleName()), Long.class).getSingleResult();
+	}
+
+	@Test
+	public void writingSameContactBehindTwiceWritesOneRowPerEntity() {
+
+		Contact jonDoe = contactsService.save(newContact(newPerson("Jon", "Doe"),
+			newAddress("100 Main St.", "Portland", State.OREGON, "97205"), "jonDoe@home.com",
+				newPhoneNumber("503", "541", "1234")));
+
+		assertThat(jonDoe.getId()).isEqualTo(toContactId(jonDoe.getPerson().getId()));
+		assertThat(jonDoe.getAddress().getId()).isNotEqualTo(jonDoe.getPhoneNumber().getId());
+
+		assertThat(listener.processEvents(Collections.singletonList(newAsyncEvent(Operation.CREATE, jonDoe))))
+			.isTrue();
+
+		jonDoe.setEmail("jonDoe@work.com");
+
+		assertThat(listener.processEvents(Collections.singletonList(newAsyncEvent(Operation.UPDATE, jonDoe))))
+			.isTrue();
+
+		assertThat(countRows(Contact.class)).isEqualTo(1L);
+		assertThat(countRows(Person.class)).isEqualTo(1L);
+		assertThat(countRows(Address.class)).isEqualTo(1L);
+		assertThat(countRows(PhoneNumber.class)).isEqualTo(1L);
+
+		Contact actualContact = contactRepository.findById(jonDoe.getId()).orElse(null);
+
+		assertThat(actualContact).isNotNull();
+		assertThat(actualContact.getEmail()).isEqualTo("jonDoe@work.com");
+		assertThat(actualContact.getPerson().getId()).isEqualTo(jonDoe.getPerson().getId());
+		assertThat(actualContact.getAddress().getId()).isEqualTo(jonDoe.getAddress().getId());
+		assertThat(actualContact.getPhoneNumber().getId()).isEqualTo(jonDoe.getPhoneNumber().getId());
+	}
+}
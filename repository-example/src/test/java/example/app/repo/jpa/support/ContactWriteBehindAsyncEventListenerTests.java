@@ -0,0 +1,284 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.jpa.support;
+
+import static example.app.model.Address.newAddress;
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.contains;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.Operation;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import example.app.model.Address;
+import example.app.model.Contact;
+import example.app.model.Person;
+import example.app.model.State;
+import example.app.repo.jpa.ContactRepository;
+
+/**
+ * Unit tests for {@link ContactWriteBehindAsyncEventListener}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.repo.jpa.support.ContactWriteBehindAsyncEventListener
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ContactWriteBehindAsyncEventListenerTests {
+
+	@Mock
+	private ContactRepository mockContactRepository;
+
+	@Mock
+	private EntityManager mockEntityManager;
+
+	@Mock
+	private EntityManagerFactory mockEntityManagerFactory;
+
+	@Mock
+	private PlatformTransactionManager mockTransactionManager;
+
+	@Mock
+	private Session mockSession;
+
+	private ContactWriteBehindAsyncEventListener listener;
+
+	@Before
+	public void setup() {
+
+		listener = new ContactWriteBehindAsyncEventListener(mockContactRepository, mockEntityManagerFactory,
+				mockTransactionManager) {
+
+			@Override
+			protected EntityManager getEntityManager() {
+				return mockEntityManager;
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	protected AsyncEvent<Long, Contact> newAsyncEvent(Operation operation, Long id, Contact contact) {
+
+		AsyncEvent<Long, Contact> mockAsyncEvent = mock(AsyncEvent.class);
+
+		when(mockAsyncEvent.getOperation()).thenReturn(operation);
+		when(mockAsyncEvent.getKey()).thenReturn(id);
+
+		if (contact != null) {
+			when(mockAsyncEvent.getDeserializedValue()).thenReturn(contact);
+		}
+
+		return mockAsyncEvent;
+	}
+
+	protected Contact newContactWithEmail(String email) {
+		return newContact(newPerson("Jon", "Doe"), email);
+	}
+
+	protected Contact newContactIdentifiedBy(Long id, String email) {
+
+		Contact contact = newContactWithEmail(email);
+
+		contact.setId(id);
+
+		return contact;
+	}
+
+	@SuppressWarnings("unchecked")
+	protected TypedQuery<Long> newIdQuery(List<Long> existingIds) {
+
+		TypedQuery<Long> mockQuery = mock(TypedQuery.class);
+
+		when(mockQuery.setParameter(eq("ids"), any())).thenReturn(mockQuery);
+		when(mockQuery.getResultList()).thenReturn(existingIds);
+
+		return mockQuery;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void processEventsConflatesBatchByKey() {
+
+		Contact jonDoe = newContactIdentifiedBy(1L, "jonDoe@home.com");
+		Contact jonDoeUpdated = newContactIdentifiedBy(1L, "jonDoe@work.com");
+		Contact janeDoe = newContactIdentifiedBy(2L, "janeDoe@home.com");
+
+		List<AsyncEvent> events = Arrays.asList(
+			newAsyncEvent(Operation.CREATE, 1L, jonDoe),
+			newAsyncEvent(Operation.CREATE, 2L, janeDoe),
+			newAsyncEvent(Operation.UPDATE, 1L, jonDoeUpdated),
+			newAsyncEvent(Operation.DESTROY, 2L, null));
+
+		when(mockContactRepository.findAllWithDetailsById(anyCollection())).thenReturn(Collections.emptyList());
+		when(mockContactRepository.findAllById(any(Iterable.class))).thenReturn(Collections.singletonList(janeDoe));
+		when(mockEntityManager.unwrap(Session.class)).thenReturn(mockSession);
+
+		assertThat(listener.processEvents(events)).isTrue();
+
+		ArgumentCaptor<Collection<Long>> savedContactIds = ArgumentCaptor.forClass(Collection.class);
+		ArgumentCaptor<Iterable<Long>> deletedContactIds = ArgumentCaptor.forClass(Iterable.class);
+
+		verify(mockContactRepository).findAllWithDetailsById(savedContactIds.capture());
+		verify(mockSession).save(jonDoeUpdated.getPerson());
+		verify(mockSession).save(jonDoeUpdated);
+		verify(mockSession, never()).save(jonDoe);
+		verify(mockSession, never()).save(janeDoe);
+		verify(mockContactRepository).findAllById(deletedContactIds.capture());
+		verify(mockContactRepository).deleteInBatch(Collections.singletonList(janeDoe));
+
+		assertThat(savedContactIds.getValue()).containsExactly(1L);
+		assertThat(deletedContactIds.getValue()).containsExactly(2L);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void processEventsMergesExistingContactsAndSavesNewContacts() {
+
+		Contact jonDoe = newContactIdentifiedBy(1L, "jonDoe@work.com");
+		Contact janeDoe = newContactIdentifiedBy(2L, "janeDoe@home.com");
+
+		Person janeDoePerson = janeDoe.getPerson();
+		Address janeDoeAddress = newAddress("100 Main St.", "Portland", State.OREGON, "97205");
+
+		janeDoePerson.setId(20L);
+		janeDoeAddress.setId(21L);
+		janeDoe.setAddress(janeDoeAddress);
+
+		List<AsyncEvent> events = Arrays.asList(
+			newAsyncEvent(Operation.UPDATE, 1L, jonDoe),
+			newAsyncEvent(Operation.CREATE, 2L, janeDoe));
+
+		TypedQuery<Long> personIdQuery = newIdQuery(Collections.singletonList(20L));
+		TypedQuery<Long> addressIdQuery = newIdQuery(Collections.emptyList());
+
+		when(mockContactRepository.findAllWithDetailsById(anyCollection()))
+			.thenReturn(Collections.singletonList(newContactIdentifiedBy(1L, "jonDoe@home.com")));
+		when(mockEntityManager.createQuery(contains("FROM Person"), eq(Long.class))).thenReturn(personIdQuery);
+		when(mockEntityManager.createQuery(contains("FROM Address"), eq(Long.class))).thenReturn(addressIdQuery);
+		when(mockEntityManager.unwrap(Session.class)).thenReturn(mockSession);
+
+		assertThat(listener.processEvents(events)).isTrue();
+
+		verify(mockEntityManager).merge(jonDoe);
+		verify(mockEntityManager, never()).merge(janeDoe);
+		verify(mockSession).update(janeDoePerson);
+		verify(mockSession).save(janeDoeAddress);
+		verify(mockSession).save(janeDoe);
+		verify(mockSession, never()).save(jonDoe);
+		verify(personIdQuery).setParameter("ids", Collections.singleton(20L));
+		verify(addressIdQuery).setParameter("ids", Collections.singleton(21L));
+	}
+
+	@Test
+	public void processEventsMergesNewContactSharingAnAddressAttachedAsAnotherObject() {
+
+		Address address = newAddress("100 Main St.", "Portland", State.OREGON, "97205");
+		Address sameAddress = newAddress("100 Main St.", "Portland", State.OREGON, "97205");
+
+		address.setId(21L);
+		sameAddress.setId(21L);
+
+		Contact jonDoe = newContactIdentifiedBy(1L, "jonDoe@home.com");
+		Contact janeDoe = newContactIdentifiedBy(2L, "janeDoe@home.com");
+
+		jonDoe.setAddress(address);
+		janeDoe.setAddress(sameAddress);
+
+		List<AsyncEvent> events = Arrays.asList(
+			newAsyncEvent(Operation.CREATE, 1L, jonDoe),
+			newAsyncEvent(Operation.CREATE, 2L, janeDoe));
+
+		TypedQuery<Long> addressIdQuery = newIdQuery(Collections.emptyList());
+
+		when(mockContactRepository.findAllWithDetailsById(anyCollection())).thenReturn(Collections.emptyList());
+		when(mockEntityManager.createQuery(contains("FROM Address"), eq(Long.class))).thenReturn(addressIdQuery);
+		when(mockEntityManager.unwrap(Session.class)).thenReturn(mockSession);
+
+		assertThat(listener.processEvents(events)).isTrue();
+
+		verify(mockSession).save(address);
+		verify(mockSession).save(jonDoe);
+		verify(mockSession, never()).save(sameAddress);
+		verify(mockSession, never()).save(janeDoe);
+		verify(mockEntityManager).merge(janeDoe);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void processEventsReturnsFalseWhenBatchFails() {
+
+		List<AsyncEvent> events = Collections.singletonList(
+			newAsyncEvent(Operation.CREATE, 1L, newContactIdentifiedBy(1L, "jonDoe@home.com")));
+
+		when(mockContactRepository.findAllWithDetailsById(anyCollection()))
+			.thenThrow(new DataAccessResourceFailureException("test"));
+
+		assertThat(listener.processEvents(events)).isFalse();
+
+		verify(mockContactRepository, never()).deleteInBatch(any(Iterable.class));
+		verify(mockTransactionManager).rollback(any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void processEventsIgnoresContactsLoadedFromDatabase() {
+
+		AsyncEvent<Long, Contact> warmUpEvent = mock(AsyncEvent.class);
+
+		when(warmUpEvent.getOperation()).thenReturn(Operation.PUTALL_CREATE);
+		when(warmUpEvent.getKey()).thenReturn(2L);
+		when(warmUpEvent.getCallbackArgument()).thenReturn(JpaContactCacheLoader.LOADED_FROM_DATABASE);
+
+		List<AsyncEvent> events = Arrays.asList(
+			newAsyncEvent(Operation.LOCAL_LOAD_CREATE, 1L, null), warmUpEvent);
+
+		assertThat(listener.processEvents(events)).isTrue();
+
+		verify(mockContactRepository, never()).findAllWithDetailsById(anyCollection());
+		verify(mockContactRepository, never()).deleteInBatch(any(Iterable.class));
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.repo.jpa.support;
+
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.apache.geode.cache.Region;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import example.app.model.Contact;
+import example.app.repo.jpa.ContactRepository;
+
+/**
+ * Unit tests for {@link JpaContactCacheLoader}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.repo.jpa.support.JpaContactCacheLoader
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JpaContactCacheLoaderTests {
+
+	@Mock
+	private ContactRepository mockContactRepository;
+
+	@Mock
+	private EntityManagerFactory mockEntityManagerFactory;
+
+	@Mock
+	private PlatformTransactionManager mockTransactionManager;
+
+	private JpaContactCacheLoader cacheLoader;
+
+	@Before
+	public void setup() {
+		cacheLoader = new JpaContactCacheLoader(mockContactRepository, mockEntityManagerFactory,
+			mockTransactionManager);
+	}
+
+	@After
+	public void tearDown() {
+		cacheLoader.close();
+	}
+
+	protected Contact newContactIdentifiedBy(Long id) {
+
+		Contact contact = newContact(newPerson("Jon", "Doe"), String.format("jonDoe%d@home.com", id));
+
+		contact.setId(id);
+
+		return contact;
+	}
+
+	@Test
+	public void splitDividesKeysIntoRanges() {
+
+		List<long[]> keyRanges = JpaContactCacheLoader.split(LongStream.range(1L, 11L).boxed().iterator(), 10L, 4);
+
+		assertThat(keyRanges).hasSize(4);
+		assertThat(keyRanges.get(0)).containsExactly(1L, 4L);
+		assertThat(keyRanges.get(1)).containsExactly(4L, 7L);
+		assertThat(keyRanges.get(2)).containsExactly(7L, 10L);
+		assertThat(keyRanges.get(3)).containsExactly(10L, 11L);
+	}
+
+	@Test
+	public void splitNarrowKeyRangeReturnsSingleKeyRanges() {
+		assertThat(JpaContactCacheLoader.split(Arrays.asList(5L, 6L).iterator(), 2L, 16)).hasSize(2);
+	}
+
+	@Test
+	public void splitSparseKeysByRowCount() {
+
+		List<long[]> keyRanges = JpaContactCacheLoader.split(
+			Arrays.asList(1L, 2L, 3L, 1000L, 1001L, 1000000L).iterator(), 6L, 3);
+
+		assertThat(keyRanges).hasSize(3);
+		assertThat(keyRanges.get(0)).containsExactly(1L, 3L);
+		assertThat(keyRanges.get(1)).containsExactly(3L, 1001L);
+		assertThat(keyRanges.get(2)).containsExactly(1001L, 1000001L);
+	}
+
+	@Test
+	public void splitWithoutKeysReturnsNoKeyRanges() {
+		assertThat(JpaContactCacheLoader.split(Collections.<Long>emptyIterator(), 0L, 4)).isEmpty();
+	}
+
+	@Test
+	public void loadAllReturnsContactsByIdentifier() {
+
+		Contact one = newContactIdentifiedBy(1L);
+		Contact two = newContactIdentifiedBy(2L);
+
+		when(mockContactRepository.findAllById(Arrays.asList(1L, 2L, 3L))).thenReturn(Arrays.asList(one, two));
+
+		assertThat(cacheLoader.loadAll(Arrays.asList(1L, 2L, 3L))).hasSize(2)
+			.containsEntry(1L, one)
+			.containsEntry(2L, two);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void warmUpStreamsKeyRangesIntoRegion() throws Exception {
+
+		Region<Long, Contact> mockRegion = mock(Region.class);
+
+		when(mockRegion.getFullPath()).thenReturn("/Contacts");
+		when(mockEntityManagerFactory.createEntityManager()).thenReturn(mock(EntityManager.class));
+		when(mockContactRepository.count()).thenReturn(3L);
+		when(mockContactRepository.streamIds()).thenAnswer(invocation -> Stream.of(1L, 2L, 3L));
+		when(mockContactRepository.streamByIdRange(1L, 2L))
+			.thenAnswer(invocation -> Arrays.asList(newContactIdentifiedBy(1L)).stream());
+		when(mockContactRepository.streamByIdRange(2L, 3L))
+			.thenAnswer(invocation -> Arrays.asList(newContactIdentifiedBy(2L)).stream());
+		when(mockContactRepository.streamByIdRange(3L, 4L))
+			.thenAnswer(invocation -> Arrays.asList(newContactIdentifiedBy(3L)).stream());
+
+		cacheLoader.setConcurrency(1);
+
+		assertThat(cacheLoader.warmUp(mockRegion).get(5, TimeUnit.SECONDS)).isEqualTo(3L);
+
+		verify(mockRegion, times(3)).putAll(anyMap(), eq(JpaContactCacheLoader.LOADED_FROM_DATABASE));
+	}
+}
@@ -19,6 +19,7 @@ package example.app.service;
 import static example.app.model.Address.newAddress;
 import static example.app.model.Contact.newContact;
 import static example.app.model.Customer.newCustomer;
+import static example.app.model.Person.newPerson;
 import static example.app.model.PhoneNumber.newPhoneNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -34,7 +35,10 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
@@ -51,6 +55,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import org.cp.elements.lang.Identifiable;
 
+import example.app.config.gemfire.support.CustomerIdPartitionResolver;
+import example.app.function.executions.CustomerFunctionExecutions;
 import example.app.model.Address;
 import example.app.model.Contact;
 import example.app.model.Customer;
@@ -79,6 +85,9 @@ public class CustomerServiceTests {
 	@Mock
 	private ContactRepository mockContactRepository;
 
+	@Mock
+	private CustomerFunctionExecutions mockCustomerFunctionExecutions;
+
 	@Mock
 	private CustomerRepository mockCustomerRepository;
 
@@ -86,7 +95,8 @@ public class CustomerServiceTests {
 
 	@Before
 	public void setup() {
-		customerService = new CustomerService(mockContactRepository, mockCustomerRepository);
+		customerService = new CustomerService(mockContactRepository, mockCustomerRepository,
+			mockCustomerFunctionExecutions);
 	}
 
 	@Test
@@ -143,6 +153,31 @@ public class CustomerServiceTests {
 		assertThat(identifiers.size()).isEqualTo(COUNT);
 	}
 
+	@Test
+	public void newContactIdIsRoutedWithCustomer() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe").identifiedBy(123456789L);
+
+		long contactId = customerService.newContactId(jonDoe);
+
+		assertThat(contactId).isNotEqualTo(jonDoe.getId());
+		assertThat(CustomerIdPartitionResolver.toRoutingObject(contactId))
+			.isEqualTo(CustomerIdPartitionResolver.toRoutingObject(jonDoe.getId()));
+	}
+
+	@Test
+	public void newContactIdIsUniqueToCustomer() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe").identifiedBy(123456789L);
+		Customer janeDoe = newCustomer("Jane", "Doe").identifiedBy(123456789L + (1L << 16));
+
+		long contactId = customerService.newContactId(jonDoe);
+
+		assertThat(customerService.newContactId(jonDoe)).isEqualTo(contactId);
+		assertThat(customerService.newContactId(janeDoe)).isNotEqualTo(contactId);
+		assertThat(contactId).isNegative();
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void setIdForIdentifiedObject() {
@@ -553,4 +588,67 @@ public class CustomerServiceTests {
 
 		customerService.validate(newPhoneNumber("503", "555", "1234"));
 	}
+
+	@Test
+	public void contactInformationValidationDoesNotRequireCustomer() {
+
+		Contact contact = newContact(newPerson("Jon", "Doe"), "jonDoe@work.com")
+			.with(newPhoneNumber("503", "541", "1234"));
+
+		assertThat(customerService.validateContactInformation(contact)).isSameAs(contact);
+
+		verify(mockCustomerRepository, never()).findByAccountNumber(anyString());
+	}
+
+	@Test
+	public void invalidContactInformationThrowsIllegalArgumentException() {
+
+		exception.expect(IllegalArgumentException.class);
+		exception.expectCause(is(nullValue(Throwable.class)));
+		exception.expectMessage("Email [jonDoe@work.biz] is not valid");
+
+		customerService.validateContactInformation(
+			newContact(newPerson("Jon", "Doe"), "jonDoe@work.biz"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void upsertContactInformationRoutesToCustomer() {
+
+		Customer jonDoe = newCustomer("Jon", "Doe");
+
+		when(mockCustomerFunctionExecutions.upsertContactInformation(any(Set.class), any(Contact.class)))
+			.thenAnswer(invocation -> invocation.getArgument(1));
+
+		Contact contact = customerService.upsertContactInformation(jonDoe, "jonDoe@home.com");
+
+		assertThat(jonDoe.getId()).isNotNull();
+		assertThat(contact.getPerson()).isSameAs(jonDoe);
+		assertThat(contact.getEmail()).isEqualTo("jonDoe@home.com");
+
+		verify(mockCustomerFunctionExecutions, times(1))
+			.upsertContactInformation(eq(Collections.singleton(jonDoe.getId())), eq(contact));
+		verify(mockCustomerRepository, never()).findByAccountNumber(anyString());
+		verify(mockContactRepository, never()).save(any(Contact.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void upsertAllContactInformationSendsContactsInBatches() {
+
+		List<Contact> contacts = new ArrayList<>();
+
+		for (int count = 0; count < CustomerService.DEFAULT_UPSERT_BATCH_SIZE + 1; count++) {
+			contacts.add(newContact(newCustomer("Jon", "Doe"), newPhoneNumber("503", "541", "1234")));
+		}
+
+		when(mockCustomerFunctionExecutions.upsertAllContactInformation(any(Set.class), any(List.class)))
+			.thenAnswer(invocation -> Collections.singletonList(invocation.<List<?>>getArgument(1).size()));
+
+		assertThat(customerService.upsertAllContactInformation(contacts)).isEqualTo(contacts.size());
+
+		contacts.forEach(contact -> assertThat(contact.getPerson().getId()).isNotNull());
+
+		verify(mockCustomerFunctionExecutions, times(2)).upsertAllContactInformation(any(Set.class), any(List.class));
+	}
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toContactId;
+import static example.app.config.gemfire.support.CustomerIdPartitionResolver.toRoutingObject;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import example.app.model.Contact;
+import example.app.model.Gender;
+import example.app.model.State;
+
+/**
+ * Unit tests for {@link ContactImportPipeline} and {@link ContactImportFormat}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.service.support.ContactImportFormat
+ * @see example.app.service.support.ContactImportPipeline
+ * @since 1.0.0
+ */
+public class ContactImportPipelineTests {
+
+	private static final int BUCKETS = 7;
+
+	@Rule
+	public ExpectedException exception = ExpectedException.none();
+
+	private final List<Map<Long, Contact>> batches = new CopyOnWriteArrayList<>();
+
+	private ContactImportPipeline pipeline;
+
+	@Before
+	public void setup() {
+
+		pipeline = new ContactImportPipeline(batch -> batches.add(new HashMap<>(batch)),
+			id -> (int) (toRoutingObject(id) % BUCKETS));
+		pipeline.setBatchSize(10);
+		pipeline.setChunkSize(25);
+		pipeline.setParallelism(4);
+		pipeline.setQueueCapacity(2);
+	}
+
+	/* (non-Javadoc) */
+	private static BufferedReader newReader(List<String> lines) {
+		return new BufferedReader(new StringReader(String.join("\n", lines)));
+	}
+
+	/* (non-Javadoc) */
+	private static String toJson(long personId, String firstName, String email) {
+		return String.format("{ \"person\" : { \"id\" : %1$d, \"firstName\" : \"%2$s\", \"lastName\" : \"Doe\" },"
+			+ " \"email\" : \"%3$s\" }", personId, firstName, email);
+	}
+
+	@Test
+	public void formatIsDeterminedByFileExtension() {
+
+		assertThat(ContactImportFormat.from("contacts.csv")).isEqualTo(ContactImportFormat.CSV);
+		assertThat(ContactImportFormat.from("contacts.ndjson")).isEqualTo(ContactImportFormat.NDJSON);
+		assertThat(ContactImportFormat.from("/tmp/Contacts.JSONL")).isEqualTo(ContactImportFormat.NDJSON);
+	}
+
+	@Test
+	public void formatFromUnsupportedFileExtensionThrowsIllegalArgumentException() {
+
+		exception.expect(IllegalArgumentException.class);
+		exception.expectMessage("Cannot import Contacts from file [contacts.xml]");
+
+		ContactImportFormat.from("contacts.xml");
+	}
+
+	@Test
+	public void csvParsesColumnsByHeaderName() {
+
+		Contact contact = ContactImportFormat.CSV
+			.newParser("email,lastName,firstName,gender,street,city,state,zipCode,phoneNumber,id,personId")
+			.apply("jonDoe@home.com,Doe,Jon,male,\"100 Main St., Apt. \"\"B\"\"\",Portland,Oregon,97205,"
+				+ "(503) 541-1234,-42,42");
+
+		assertThat(contact.getId()).isEqualTo(-42L);
+		assertThat(contact.getPerson().getId()).isEqualTo(42L);
+		assertThat(contact.getPerson().getFirstName()).isEqualTo("Jon");
+		assertThat(contact.getPerson().getLastName()).isEqualTo("Doe");
+		assertThat(contact.getPerson().getGender()).isEqualTo(Gender.MALE);
+		assertThat(contact.getEmail()).isEqualTo("jonDoe@home.com");
+		assertThat(contact.getAddress().getStreet()).isEqualTo("100 Main St., Apt. \"B\"");
+		assertThat(contact.getAddress().getState()).isEqualTo(State.OREGON);
+		assertThat(contact.getPhoneNumber().getPrefix()).isEqualTo("541");
+	}
+
+	@Test
+	public void ndjsonParsesContactPerLine() {
+
+		Contact contact = ContactImportFormat.NDJSON.newParser(null).apply(toJson(2L, "Jane", "janeDoe@home.com"));
+
+		assertThat(contact.getId()).isNull();
+		assertThat(contact.getPerson().getId()).isEqualTo(2L);
+		assertThat(contact.getPerson().getName()).isEqualTo("Jane Doe");
+		assertThat(contact.getEmail()).isEqualTo("janeDoe@home.com");
+	}
+
+	@Test
+	public void importWritesAllContactsInBatchesOfOneBucket() throws Exception {
+
+		List<String> lines = new ArrayList<>();
+
+		lines.add("firstName,lastName,email");
+
+		for (int id = 1; id <= 500; id++) {
+			lines.add(String.format("Jon%1$d,Doe,jonDoe%1$d@home.com", id));
+		}
+
+		ContactImportReport report = pipeline.importContacts("test.csv", newReader(lines), ContactImportFormat.CSV);
+
+		assertThat(report.isComplete()).isTrue();
+		assertThat(report.getReadCount()).isEqualTo(500L);
+		assertThat(report.getImportedCount()).isEqualTo(500L);
+		assertThat(report.getRejectedCount()).isZero();
+		assertThat(report.getBatchCount()).isEqualTo(batches.size());
+		assertThat(batches.stream().mapToInt(Map::size).sum()).isEqualTo(500);
+
+		for (Map<Long, Contact> batch : batches) {
+			assertThat(batch.size()).isLessThanOrEqualTo(10);
+			assertThat(batch.keySet().stream().map(id -> toRoutingObject(id) % BUCKETS).distinct().count())
+				.isEqualTo(1L);
+		}
+
+		assertThat(batches.stream().flatMap(batch -> batch.values().stream()))
+			.allMatch(contact -> contact.getId().equals(toContactId(contact.getPerson().getId())));
+	}
+
+	@Test
+	public void importRejectsInvalidContactsAndIdentifiesNewContacts() throws Exception {
+
+		pipeline.setIdGenerator(() -> 1000L);
+		pipeline.setValidator(contact -> {
+			if (contact.getEmail().endsWith(".biz")) {
+				throw new IllegalArgumentException(String.format("Email [%s] is not valid", contact.getEmail()));
+			}
+			return contact;
+		});
+
+		List<String> lines = new ArrayList<>();
+
+		lines.add(toJson(1L, "Jon", "jonDoe@home.com"));
+		lines.add("");
+		lines.add(toJson(2L, "Jane", "janeDoe@home.biz"));
+		lines.add("{ not json }");
+		lines.add(toJson(3L, "Pie", "pieDoe@home.com").replace("\"id\" : 3, ", ""));
+		lines.add(toJson(4L, "Joe", "joeDoe@home.com").replace("{ \"person\"", "{ \"id\" : 7, \"person\""));
+
+		ContactImportReport report =
+			pipeline.importContacts("test.ndjson", newReader(lines), ContactImportFormat.NDJSON);
+
+		assertThat(report.getReadCount()).isEqualTo(5L);
+		assertThat(report.getImportedCount()).isEqualTo(2L);
+		assertThat(report.getRejectedCount()).isEqualTo(3L);
+		assertThat(report.getErrors()).hasSize(3);
+		assertThat(report.getErrors()).contains("Line [3]: Email [janeDoe@home.biz] is not valid");
+		assertThat(report.getErrors()).anyMatch(error -> error.startsWith("Line [6]: Contact ID [7] must be"));
+		assertThat(batches.stream().flatMap(batch -> batch.keySet().stream()))
+			.containsOnly(toContactId(1L), toContactId(1000L));
+	}
+
+	@Test
+	public void importFailsWhenBatchCannotBeWritten() throws Exception {
+
+		pipeline = new ContactImportPipeline(batch -> { throw new IllegalStateException("Region is closed"); },
+			id -> 0);
+
+		pipeline.setBatchSize(1);
+		pipeline.setChunkSize(1);
+		pipeline.setQueueCapacity(1);
+
+		List<String> lines = new ArrayList<>();
+
+		for (int id = 1; id <= 100; id++) {
+			lines.add(toJson(id, "Jon", "jonDoe@home.com"));
+		}
+
+		exception.expect(IllegalStateException.class);
+		exception.expectMessage("Failed to import Contacts from [test.ndjson]");
+
+		pipeline.importContacts("test.ndjson", newReader(lines), ContactImportFormat.NDJSON);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.service.support;
+
+import static example.app.model.Address.newAddress;
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static example.app.model.PhoneNumber.newPhoneNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import example.app.model.Contact;
+import example.app.model.State;
+
+/**
+ * Unit tests for {@link DuplicateContactDetector}, {@link ContactSignature} and {@link ContactSimilarity}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see example.app.service.support.ContactSignature
+ * @see example.app.service.support.ContactSimilarity
+ * @see example.app.service.support.DuplicateContactDetector
+ * @since 1.0.0
+ */
+public class DuplicateContactDetectorTests {
+
+	private final DuplicateContactDetector detector = new DuplicateContactDetector();
+
+	/* (non-Javadoc) */
+	private static Collection<List<ContactSignature>> block(Contact... contacts) {
+
+		Map<String, List<ContactSignature>> blocks = new TreeMap<>();
+
+		for (Contact contact : contacts) {
+
+			ContactSignature signature = ContactSignature.of(contact);
+
+			for (String blockingKey : signature.getBlockingKeys()) {
+				blocks.computeIfAbsent(blockingKey, key -> new ArrayList<>()).add(signature);
+			}
+		}
+
+		return blocks.values();
+	}
+
+	/* (non-Javadoc) */
+	private static Contact newHomeContact(long id, String firstName, String lastName, String street, String email) {
+
+		return newContact(newPerson(firstName, lastName),
+			newAddress(street, "Portland", State.valueOfAbbreviation("OR"), "97205"), email,
+			newPhoneNumber("503", "555", "1234")).identifiedBy(id);
+	}
+
+	@Test
+	public void signatureNormalizesContactInformation() {
+
+		ContactSignature signature =
+			ContactSignature.of(newHomeContact(1L, "  JON ", "Doe", "100 Main Street", "JonDoe@Home.com "));
+
+		assertThat(signature.getFirstName()).isEqualTo("jon");
+		assertThat(signature.getLastName()).isEqualTo("doe");
+		assertThat(signature.getEmail()).isEqualTo("jondoe@home.com");
+		assertThat(signature.getPhoneDigits()).isEqualTo("5035551234");
+		assertThat(signature.getStreet()).isEqualTo("100 main st");
+		assertThat(signature.getZipCode()).isEqualTo("97205");
+		assertThat(signature.getBlockingKeys()).containsExactly("L:doe", "Z:97205", "P:5035551234");
+	}
+
+	@Test
+	public void jaroWinklerIsSuccessful() {
+
+		assertThat(ContactSimilarity.jaroWinkler("martha", "marhta")).isCloseTo(0.961d, within(0.001d));
+		assertThat(ContactSimilarity.jaroWinkler("jon", "john")).isCloseTo(0.933d, within(0.001d));
+		assertThat(ContactSimilarity.jaroWinkler("doe", "doe")).isEqualTo(1.0d);
+		assertThat(ContactSimilarity.jaroWinkler("abc", "xyz")).isEqualTo(0.0d);
+	}
+
+	@Test
+	public void detectFindsNearDuplicatesOnce() {
+
+		List<DuplicateContact> duplicates = detector.detect(block(
+			newHomeContact(1L, "Jon", "Doe", "100 Main Street", "jonDoe@home.com"),
+			newHomeContact(2L, "JON", " doe", "100 main st.", "JonDoe@Home.com"),
+			newContact(newPerson("John", "Doe"), newPhoneNumber("503", "555", "1234")).identifiedBy(3L),
+			newHomeContact(4L, "Jane", "Doe", "100 Main Street", "janeDoe@home.com"),
+			newHomeContact(5L, "Cookie", "Doe", "100 Main Street", "cookieDoe@home.com")));
+
+		assertThat(duplicates).containsOnly(new DuplicateContact(1L, 2L, 1.0d), new DuplicateContact(1L, 3L, 1.0d),
+			new DuplicateContact(2L, 3L, 1.0d));
+
+		assertThat(duplicates).hasSize(3);
+	}
+
+	@Test
+	public void detectDoesNotFlagFamilyMembers() {
+
+		assertThat(detector.detect(block(
+			newHomeContact(1L, "Jon", "Doe", "100 Main Street", "jonDoe@home.com"),
+			newHomeContact(2L, "Jane", "Doe", "100 Main Street", "janeDoe@home.com"),
+			newHomeContact(3L, "Pie", "Doe", "100 Main Street", "pieDoe@home.com")))).isEmpty();
+	}
+
+	@Test
+	public void detectComparesOnlyNeighborsInLargeBlocks() {
+
+		detector.setMaximumBlockSize(2);
+		detector.setWindowSize(1);
+
+		List<DuplicateContact> duplicates = detector.detect(block(
+			newHomeContact(1L, "Jon", "Doe", "100 Main Street", "jonDoe@home.com"),
+			newHomeContact(2L, "Jon", "Doe", "100 Main Street", "jonDoe@home.com"),
+			newHomeContact(3L, "Jon", "Doe", "100 Main Street", "jonDoe@home.com")));
+
+		assertThat(duplicates).containsOnly(new DuplicateContact(1L, 2L, 1.0d), new DuplicateContact(2L, 3L, 1.0d));
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package example.app.web.controller;
+
+import static example.app.model.Contact.newContact;
+import static example.app.model.Person.newPerson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import example.app.model.Contact;
+import example.app.model.Gender;
+import example.app.repo.gemfire.ContactRepository;
+
+/**
+ * Unit tests for {@link KeysetPagingController}.
+ *
+ * @author John Blum
+ * @see org.junit.Test
+ * @see org.mockito.Mockito
+ * @see example.app.web.controller.KeysetPagingController
+ * @since 1.0.0
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class KeysetPagingControllerTests {
+
+	@Mock
+	private ContactRepository mockContactRepository;
+
+	private ContactsController controller;
+
+	private List<Contact> contacts;
+
+	@Before
+	public void setup() {
+
+		controller = new ContactsController(mockContactRepository, new ObjectMapper());
+
+		contacts = Arrays.asList(
+			newContact(newPerson("Jon", "Doe"), "jonDoe@home.com").identifiedBy(1L),
+			newContact(newPerson("Jane", "Doe"), "janeDoe@home.com").identifiedBy(2L));
+	}
+
+	protected ServletWebRequest newWebRequest(String ifNoneMatch) {
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/contacts/page");
+
+		if (ifNoneMatch != null) {
+			request.addHeader("If-None-Match", ifNoneMatch);
+		}
+
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+
+	@Test
+	public void pageReturnsContentAndNextId() {
+
+		when(mockContactRepository.findPageAfter(0L, 2)).thenReturn(contacts);
+
+		ServletWebRequest webRequest = newWebRequest(null);
+
+		KeysetPage<Contact> page = controller.page(0L, 2, webRequest);
+
+		assertThat(page.getContent()).containsExactlyElementsOf(contacts);
+		assertThat(page.getNext()).isEqualTo(2L);
+		assertThat(webRequest.getResponse().getHeader("ETag")).isNotEmpty();
+	}
+
+	@Test
+	public void lastPageHasNoNextId() {
+
+		when(mockContactRepository.findFirstPage(100)).thenReturn(contacts);
+
+		KeysetPage<Contact> page = controller.page(null, 100, newWebRequest(null));
+
+		assertThat(page.getContent()).hasSize(2);
+		assertThat(page.hasNext()).isFalse();
+	}
+
+	@Test
+	public void unchangedPageIsNotModified() {
+
+		when(mockContactRepository.findPageAfter(0L, 2)).thenReturn(contacts);
+
+		ServletWebRequest webRequest = newWebRequest(null);
+
+		controller.page(0L, 2, webRequest);
+
+		String etag = webRequest.getResponse().getHeader("ETag");
+
+		ServletWebRequest conditionalWebRequest = newWebRequest(etag);
+
+		assertThat(controller.page(0L, 2, conditionalWebRequest)).isNull();
+		assertThat(conditionalWebRequest.getResponse().getStatus()).isEqualTo(304);
+
+		contacts.get(1).setEmail("janeDoe@work.com");
+
+		conditionalWebRequest = newWebRequest(etag);
+
+		assertThat(controller.page(0L, 2, conditionalWebRequest)).isNotNull();
+		assertThat(conditionalWebRequest.getResponse().getStatus()).isEqualTo(200);
+	}
+
+	@Test
+	public void etagCoversEveryPropertySent() {
+
+		String etag = controller.etag(contacts);
+
+		contacts.get(0).getPerson().setGender(Gender.MALE);
+
+		assertThat(controller.etag(contacts)).isNotEqualTo(etag);
+		assertThat(controller.etag(contacts)).isEqualTo(controller.etag(contacts));
+	}
+}